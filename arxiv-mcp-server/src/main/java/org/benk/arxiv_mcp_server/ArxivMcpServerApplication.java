@@ -2,14 +2,23 @@ package org.benk.arxiv_mcp_server;
 
 import com.logaritex.mcp.spring.SpringAiMcpAnnotationProvider;
 import io.modelcontextprotocol.server.McpServerFeatures;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
 import org.benk.arxiv_mcp_server.mcp.ArxivTools;
 import org.benk.arxiv_mcp_server.mcp.ArxivPromptProvider;
 import org.benk.arxiv_mcp_server.mcp.ArxivResourceProvider;
+import org.benk.arxiv_mcp_server.mcp.AsyncMcpSpecifications;
 import org.benk.arxiv_mcp_server.mcp.AutocompleteProvider;
+import org.benk.arxiv_mcp_server.mcp.McpMetrics;
+import org.benk.arxiv_mcp_server.mcp.ReactiveArxivPromptProvider;
+import org.benk.arxiv_mcp_server.mcp.ReactiveArxivResourceProvider;
+import org.benk.arxiv_mcp_server.mcp.ReactiveArxivTools;
+import org.benk.arxiv_mcp_server.mcp.ReactiveAutocompleteProvider;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -22,6 +31,7 @@ import java.util.List;
  */
 @SpringBootApplication
 @EnableFeignClients
+@EnableConfigurationProperties(ArxivProperties.class)
 @ComponentScan(basePackages = {"org.benk.arxiv_mcp_server", "org.springframework.ai.mcp"})
 public class ArxivMcpServerApplication {
 
@@ -35,13 +45,25 @@ public class ArxivMcpServerApplication {
 	 * @return a ToolCallbackProvider for the arXiv service
 	 */
 	@Bean
-	public ToolCallbackProvider weatherTools(ArxivTools tools) {
-		return MethodToolCallbackProvider.builder().toolObjects(tools).build();
+	@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "SYNC", matchIfMissing = true)
+	public ToolCallbackProvider weatherTools(ArxivTools tools, McpMetrics mcpMetrics) {
+		return mcpMetrics.tools(MethodToolCallbackProvider.builder().toolObjects(tools).build());
+	}
+
+	/**
+	 * The sync tools that need the MCP request itself, such as searchPapers for its progress token.
+	 * They are served alongside the tool callbacks above.
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "SYNC", matchIfMissing = true)
+	public List<McpServerFeatures.SyncToolSpecification> toolSpecs(ArxivTools tools, McpMetrics mcpMetrics) {
+		return mcpMetrics.syncTools(List.of(tools.searchPapersSpecification()));
 	}
 
 	@Bean
-	public List<McpServerFeatures.SyncResourceSpecification> resourceSpecs(ArxivResourceProvider arxivResourceProvider) {
-		return SpringAiMcpAnnotationProvider.createSyncResourceSpecifications(List.of(arxivResourceProvider));
+	public List<McpServerFeatures.SyncResourceSpecification> resourceSpecs(ArxivResourceProvider arxivResourceProvider, McpMetrics mcpMetrics) {
+		return mcpMetrics.syncResources(
+				SpringAiMcpAnnotationProvider.createSyncResourceSpecifications(List.of(arxivResourceProvider)));
 	}
 
 	@Bean
@@ -54,4 +76,33 @@ public class ArxivMcpServerApplication {
 		return SpringAiMcpAnnotationProvider.createSyncCompleteSpecifications(List.of(autocompleteProvider));
 	}
 
+	/*
+	 * Async specifications, used instead of the sync ones when spring.ai.mcp.server.type=ASYNC.
+	 * They are served by the reactive service and never block the calling thread on arXiv.
+	 */
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "ASYNC")
+	public List<McpServerFeatures.AsyncToolSpecification> asyncToolSpecs(ReactiveArxivTools reactiveArxivTools, McpMetrics mcpMetrics) {
+		return mcpMetrics.asyncTools(reactiveArxivTools.toolSpecifications());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "ASYNC")
+	public List<McpServerFeatures.AsyncResourceSpecification> asyncResourceSpecs(ReactiveArxivResourceProvider reactiveArxivResourceProvider, McpMetrics mcpMetrics) {
+		return mcpMetrics.asyncResources(AsyncMcpSpecifications.resources(List.of(reactiveArxivResourceProvider)));
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "ASYNC")
+	public List<McpServerFeatures.AsyncPromptSpecification> asyncPromptSpecs(ReactiveArxivPromptProvider reactiveArxivPromptProvider) {
+		return AsyncMcpSpecifications.prompts(List.of(reactiveArxivPromptProvider));
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "ASYNC")
+	public List<McpServerFeatures.AsyncCompletionSpecification> asyncCompletionSpecs(ReactiveAutocompleteProvider reactiveAutocompleteProvider) {
+		return AsyncMcpSpecifications.completions(List.of(reactiveAutocompleteProvider));
+	}
+
 }
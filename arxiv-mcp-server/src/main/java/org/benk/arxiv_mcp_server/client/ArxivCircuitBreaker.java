@@ -0,0 +1,267 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker of the arXiv API, shared by {@link CircuitBreakingArxivClient} and {@link ReactiveArxivClient}
+ * so that failures seen by either client fail the calls of both.
+ * <p>
+ * The circuit is {@code CLOSED} while calls go through. It opens when, over the last {@code window-size}
+ * calls and once at least {@code min-calls} were made, the share of calls failing with a transient error
+ * reaches {@code failure-rate-threshold}. An {@code OPEN} circuit throws {@link ArxivUnavailableException}
+ * without sending anything for {@code open-duration}, then turns {@code HALF_OPEN} and lets
+ * {@code half-open-calls} trial calls through: the circuit closes if they all succeed and opens again on the
+ * first failure. Error responses other than transient ones show the API is up and count as successes.
+ * <p>
+ * Metrics: {@code arxiv.circuit.state} (0 closed, 1 half-open, 2 open), {@code arxiv.circuit.transitions}
+ * (per {@code from} and {@code to} state) and {@code arxiv.circuit.rejected}. A disabled circuit breaker lets
+ * every call through and registers no metrics.
+ */
+@Slf4j
+public final class ArxivCircuitBreaker {
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final boolean enabled;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final boolean[] window;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<State, Map<State, Counter>> transitions = new EnumMap<>(State.class);
+    private Counter rejected;
+
+    private volatile State state = State.CLOSED;
+    /**
+     * Incremented on every transition, so that calls let through in an earlier state do not count in the current one.
+     */
+    private long generation;
+    private int calls;
+    private int failures;
+    private int next;
+    private long openedAt;
+    private int trials;
+    private int trialSuccesses;
+
+    public ArxivCircuitBreaker(ArxivProperties.CircuitBreaker properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.window = new boolean[Math.max(1, properties.getWindowSize())];
+        this.minCalls = Math.clamp(properties.getMinCalls(), 1, window.length);
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenCalls = Math.max(1, properties.getHalfOpenCalls());
+        if (!enabled) {
+            return;
+        }
+        for (State from : State.values()) {
+            Map<State, Counter> counters = new EnumMap<>(State.class);
+            for (State to : State.values()) {
+                if (to != from) {
+                    counters.put(to, Counter.builder("arxiv.circuit.transitions")
+                            .description("State transitions of the circuit breaker of the arXiv API")
+                            .tag("from", name(from))
+                            .tag("to", name(to))
+                            .register(meterRegistry));
+                }
+            }
+            transitions.put(from, counters);
+        }
+        this.rejected = Counter.builder("arxiv.circuit.rejected")
+                .description("Calls to the arXiv API failed fast by the open circuit")
+                .register(meterRegistry);
+        Gauge.builder("arxiv.circuit.state", this, breaker -> breaker.state.ordinal())
+                .description("State of the circuit breaker of the arXiv API: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    private static String name(State state) {
+        return state.name().toLowerCase().replace('_', '-');
+    }
+
+    State state() {
+        return state;
+    }
+
+    /**
+     * Let a call through, to be followed by {@link #complete} once it is done.
+     *
+     * @return The generation the call is let through in
+     * @throws ArxivUnavailableException If the circuit is open and the call must fail fast
+     */
+    long permit() {
+        if (!enabled) {
+            return 0;
+        }
+        long permitted = tryAcquire();
+        if (permitted < 0) {
+            rejected.increment();
+            throw new ArxivUnavailableException("The arXiv API is failing, calls are suspended for a while");
+        }
+        return permitted;
+    }
+
+    /**
+     * Record the outcome of a call let through by {@link #permit}.
+     *
+     * @param permitted The generation returned by {@link #permit}
+     * @param error     The error the call failed with, null if it succeeded
+     */
+    void complete(long permitted, Throwable error) {
+        if (!enabled) {
+            return;
+        }
+        if (error != null && isTransient(error)) {
+            onFailure(permitted);
+        } else if (error == null || error instanceof FeignException || error instanceof WebClientResponseException) {
+            onSuccess(permitted);
+        } else {
+            onIgnored(permitted);
+        }
+    }
+
+    /**
+     * Record that a call let through by {@link #permit} was given up before it told anything about the API.
+     *
+     * @param permitted The generation returned by {@link #permit}
+     */
+    void release(long permitted) {
+        if (enabled) {
+            onIgnored(permitted);
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        // Failed connections, and 5xx and 429 responses, of either client
+        return RetryingArxivClient.isTransient(e)
+                || e instanceof WebClientRequestException
+                || e instanceof WebClientResponseException response
+                && (response.getStatusCode().value() == 429 || response.getStatusCode().is5xxServerError());
+    }
+
+    /**
+     * @return The generation the call is let through in, or -1 if it must fail fast
+     */
+    private long tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return -1;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trials >= halfOpenCalls) {
+                    return -1;
+                }
+                trials++;
+            }
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long permitted) {
+        lock.lock();
+        try {
+            if (permitted != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (++trialSuccesses >= halfOpenCalls) {
+                    transition(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure(long permitted) {
+        lock.lock();
+        try {
+            if (permitted != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                transition(State.OPEN);
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (calls >= minCalls && failures >= failureRateThreshold * calls) {
+                    transition(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onIgnored(long permitted) {
+        lock.lock();
+        try {
+            // A trial call that tells nothing about the API frees its slot for another one
+            if (permitted == generation && state == State.HALF_OPEN) {
+                trials--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record the outcome of a call in the window, replacing the oldest one once the window is full.
+     * Must be called with the lock held.
+     */
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    /**
+     * Must be called with the lock held.
+     */
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        generation++;
+        calls = 0;
+        failures = 0;
+        next = 0;
+        trials = 0;
+        trialSuccesses = 0;
+        if (to == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        transitions.get(from).get(to).increment();
+        log.warn("Circuit to the arXiv API went from {} to {}", name(from), name(to));
+    }
+}
@@ -1,5 +1,6 @@
 package org.benk.arxiv_mcp_server.client;
 
+import org.benk.arxiv_mcp_server.config.ArxivFeignConfig;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,8 +8,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Feign client for the arXiv API.
+ * The Feign proxy is registered as {@code arxivFeignClient}; the primary {@link ArxivClient} bean
+ * wraps it with retries, rate limiting, a circuit breaker and caching (see {@link org.benk.arxiv_mcp_server.config.ArxivClientConfig}).
+ * Responses are decoded with the streaming {@link AtomFeedDecoder}.
  */
-@FeignClient(name = "arxiv-api", url = "${arxiv.api.url}")
+@FeignClient(name = "arxiv-api", url = "${arxiv.api.url}", qualifiers = "arxivFeignClient", primary = false,
+        configuration = ArxivFeignConfig.class)
 public interface ArxivClient {
     
     /**
@@ -26,6 +31,21 @@ public interface ArxivClient {
             @RequestParam(value = "max_results", defaultValue = "10") int maxResults
     );
     
+    /**
+     * Search for the papers most recently submitted to arXiv that match a query, newest first.
+     *
+     * @param search     The search query
+     * @param start      The start index (for pagination)
+     * @param maxResults The maximum number of results to return
+     * @return The arXiv API response
+     */
+    @GetMapping(params = {"sortBy=submittedDate", "sortOrder=descending"})
+    ArxivResponse searchNewest(
+            @RequestParam("search_query") String search,
+            @RequestParam("start") int start,
+            @RequestParam("max_results") int maxResults
+    );
+
     /**
      * Get a specific paper by ID.
      *
@@ -34,4 +54,14 @@ public interface ArxivClient {
      */
     @GetMapping
     ArxivResponse getPaper(@RequestParam("id_list") String id);
-}
\ No newline at end of file
+
+    /**
+     * Get several papers by ID in one request.
+     *
+     * @param idList     Comma-separated list of paper IDs
+     * @param maxResults The maximum number of results to return (arXiv defaults to 10)
+     * @return The arXiv API response
+     */
+    @GetMapping
+    ArxivResponse getPapers(@RequestParam("id_list") String idList, @RequestParam("max_results") int maxResults);
+}
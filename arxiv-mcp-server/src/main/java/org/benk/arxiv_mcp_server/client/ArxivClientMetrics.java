@@ -0,0 +1,67 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the requests sent to the arXiv API, shared by the Feign and the reactive client.
+ * <ul>
+ *     <li>{@code arxiv.requests}: time until the response headers arrive, tagged with the operation
+ *     ({@code searchPapers}, {@code searchNewest}, {@code getPaper}, {@code getPapers}) and the HTTP status, or {@code IO_ERROR}
+ *     when no response was received</li>
+ *     <li>{@code arxiv.decode}: time to read and decode an Atom feed</li>
+ *     <li>{@code arxiv.response.size}: size of the decoded Atom feeds</li>
+ * </ul>
+ * Timers are registered on first use of each operation and status and looked up without allocating afterwards.
+ */
+@Component
+public class ArxivClientMetrics {
+
+    static final int IO_ERROR = -1;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<Integer, Timer>> requestTimers = new ConcurrentHashMap<>();
+    private final Timer decodeTimer;
+    private final DistributionSummary responseSize;
+
+    public ArxivClientMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.decodeTimer = Timer.builder("arxiv.decode")
+                .description("Time to read and decode an arXiv Atom feed")
+                .register(meterRegistry);
+        this.responseSize = DistributionSummary.builder("arxiv.response.size")
+                .description("Size of the arXiv Atom feeds decoded")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param operation The client method that sent the request
+     * @param status    The HTTP status of the response, or {@link #IO_ERROR}
+     * @param nanos     Time until the response headers arrived
+     */
+    public void recordRequest(String operation, int status, long nanos) {
+        requestTimers.computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> Timer.builder("arxiv.requests")
+                        .description("Requests sent to the arXiv API")
+                        .tag("operation", operation)
+                        .tag("status", status == IO_ERROR ? "IO_ERROR" : String.valueOf(status))
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param nanos Time to read and decode the feed
+     * @param bytes Size of the feed
+     */
+    public void recordDecode(long nanos, long bytes) {
+        decodeTimer.record(nanos, TimeUnit.NANOSECONDS);
+        responseSize.record(bytes);
+    }
+}
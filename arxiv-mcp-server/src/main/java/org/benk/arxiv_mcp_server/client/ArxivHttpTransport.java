@@ -0,0 +1,107 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.Client;
+import feign.Request;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP transport of the Feign arXiv client, selected with {@code arxiv.http.transport}.
+ * <ul>
+ *     <li>{@code hc5}: Apache HttpClient 5 with a bounded connection pool, idle connections kept alive for
+ *     {@code arxiv.http.keep-alive}, and transparent gzip/deflate decompression. Pool usage is published
+ *     as the {@code httpcomponents.httpclient.pool} meters tagged {@code httpclient=arxiv}.</li>
+ *     <li>{@code jdk}: the JDK HttpClient, see {@link JdkHttpFeignClient}.</li>
+ * </ul>
+ * Both hand the decompressed body to the decoder as a stream, without buffering it.
+ * The {@link #client() client} applies the read timeout configured for each {@link ArxivClient} operation.
+ * The transport owns the connections and is closed with the Feign client context.
+ */
+@Slf4j
+public class ArxivHttpTransport implements AutoCloseable {
+
+    private final Client transport;
+    private final Runnable closeResources;
+    private final Map<String, Duration> readTimeouts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public ArxivHttpTransport(ArxivProperties.Http properties, MeterRegistry meterRegistry) {
+        switch (properties.getTransport()) {
+            case "hc5" -> {
+                CloseableHttpClient httpClient = apacheHttpClient(properties, meterRegistry);
+                this.transport = new ApacheHttp5Client(httpClient);
+                this.closeResources = () -> httpClient.close(CloseMode.GRACEFUL);
+            }
+            case "jdk" -> {
+                JdkHttpFeignClient httpClient = new JdkHttpFeignClient(properties);
+                this.transport = httpClient;
+                this.closeResources = httpClient::close;
+            }
+            default -> throw new IllegalArgumentException("Unknown arXiv HTTP transport: " + properties.getTransport());
+        }
+        // Keys of bound maps may lose their case, so operations are matched ignoring it
+        this.readTimeouts.putAll(properties.getOperationReadTimeouts());
+        log.info("Using the {} HTTP transport for the arXiv API", properties.getTransport());
+    }
+
+    private static CloseableHttpClient apacheHttpClient(ArxivProperties.Http properties, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        // A connection idle for a while may have been closed by the server, check it before reuse
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "arxiv").bindTo(meterRegistry);
+        TimeValue keepAlive = TimeValue.of(properties.getKeepAlive());
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                // Retries, including those after a 503 with Retry-After, are left to the callers of the client
+                .disableAutomaticRetries();
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The Feign client sending requests over this transport
+     */
+    public Client client() {
+        return (request, options) -> transport.execute(request, options(request, options));
+    }
+
+    private Request.Options options(Request request, Request.Options options) {
+        Duration readTimeout = readTimeouts.get(MeteredFeignClient.operation(request));
+        if (readTimeout == null) {
+            return options;
+        }
+        return new Request.Options(options.connectTimeout(), options.connectTimeoutUnit(),
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, options.isFollowRedirects());
+    }
+
+    @Override
+    public void close() {
+        closeResources.run();
+    }
+}
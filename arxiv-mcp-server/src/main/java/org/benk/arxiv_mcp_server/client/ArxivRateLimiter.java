@@ -0,0 +1,264 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Global token bucket for requests to the arXiv API.
+ * <p>
+ * The bucket holds up to {@code burst} permits and earns one permit per {@code interval}. Requests that find
+ * the bucket empty wait in a queue ordered by {@link RequestPriority} and then by arrival, so interactive
+ * requests overtake queued background work. A single timer thread hands out permits as they are earned.
+ * <p>
+ * Permits are handed out as futures, which lets blocking callers wait on a virtual thread and reactive
+ * callers wait without a thread at all. The time of the last interactive request tells background work such
+ * as prefetching whether the API is quiet. Metrics: {@code arxiv.ratelimiter.queue} (gauge of waiting requests)
+ * and {@code arxiv.ratelimiter.wait} (timer per priority).
+ */
+@Slf4j
+public final class ArxivRateLimiter implements AutoCloseable {
+
+    private static final Comparator<Waiter> ORDER = Comparator
+            .comparing(Waiter::priority)
+            .thenComparingLong(Waiter::sequence);
+
+    private final boolean enabled;
+    private final long intervalNanos;
+    private final int burst;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<RequestPriority, Timer> waitTimers = new EnumMap<>(RequestPriority.class);
+    private final ScheduledExecutorService timer;
+    private final AtomicLong lastInteractive = new AtomicLong(System.nanoTime());
+
+    private double permits;
+    private long refilledAt;
+    private boolean dispatchScheduled;
+
+    public ArxivRateLimiter(ArxivProperties.RateLimit properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.intervalNanos = properties.getInterval().toNanos();
+        this.burst = Math.max(1, properties.getBurst());
+        this.permits = burst;
+        this.refilledAt = System.nanoTime();
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (RequestPriority priority : RequestPriority.values()) {
+            waitTimers.put(priority, Timer.builder("arxiv.ratelimiter.wait")
+                    .description("Time requests to the arXiv API wait for a rate limit permit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("arxiv.ratelimiter.queue", this, ArxivRateLimiter::queueDepth)
+                .description("Number of requests to the arXiv API waiting for a rate limit permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Request a permit to send one request to the arXiv API.
+     * A caller that gives up waiting cancels the returned future, which releases its place in the queue.
+     *
+     * @param priority The priority of the request
+     * @return A future completed once the request may be sent
+     */
+    public CompletableFuture<Void> acquire(RequestPriority priority) {
+        if (priority == RequestPriority.INTERACTIVE) {
+            lastInteractive.set(System.nanoTime());
+        }
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Waiter waiter = new Waiter(priority, sequence.getAndIncrement(), System.nanoTime(), new CompletableFuture<>());
+        List<Waiter> granted;
+        lock.lock();
+        try {
+            waiters.add(waiter);
+            granted = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+        waiter.permit().whenComplete((ignored, e) -> {
+            if (waiter.permit().isCancelled()) {
+                remove(waiter.permit());
+            }
+        });
+        return waiter.permit();
+    }
+
+    /**
+     * Raise the priority of a permit request still in the queue, such as a background request that an
+     * interactive caller now waits for too. The request keeps its place in arrival order; a permit already
+     * granted or a priority that is not higher leaves it as it is.
+     *
+     * @param permit   A future returned by {@link #acquire(RequestPriority)}
+     * @param priority The new priority of the request
+     */
+    public void promote(CompletableFuture<Void> permit, RequestPriority priority) {
+        if (priority == RequestPriority.INTERACTIVE) {
+            lastInteractive.set(System.nanoTime());
+        }
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (Waiter waiter : waiters) {
+                if (waiter.permit() == permit) {
+                    if (priority.compareTo(waiter.priority()) < 0) {
+                        waiters.remove(waiter);
+                        waiters.add(new Waiter(priority, waiter.sequence(), waiter.queuedAt(), permit));
+                    }
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block the current thread until it may send one request to the arXiv API.
+     *
+     * @param priority The priority of the request
+     * @param maxWait  How long to wait before giving up
+     * @throws RuntimeException If no permit was granted within {@code maxWait}
+     */
+    public void await(RequestPriority priority, Duration maxWait) {
+        await(acquire(priority), maxWait);
+    }
+
+    /**
+     * Block the current thread until a permit requested with {@link #acquire(RequestPriority)} is granted.
+     *
+     * @param permit  The requested permit
+     * @param maxWait How long to wait before giving up
+     * @throws RuntimeException If the permit was not granted within {@code maxWait}
+     */
+    public void await(CompletableFuture<Void> permit, Duration maxWait) {
+        try {
+            permit.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            permit.cancel(false);
+            log.error("Timed out after {} waiting for the arXiv rate limit", maxWait);
+            throw new RuntimeException("Timed out waiting for the arXiv rate limit", e);
+        } catch (InterruptedException e) {
+            permit.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for the arXiv rate limit", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error waiting for the arXiv rate limit", e.getCause());
+        }
+    }
+
+    /**
+     * @return The number of requests waiting for a permit
+     */
+    public int queueDepth() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The time elapsed since the last interactive request asked for a permit, or since the rate limiter was created
+     */
+    public Duration sinceLastInteractive() {
+        return Duration.ofNanos(System.nanoTime() - lastInteractive.get());
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Hand out the available permits to the head of the queue and schedule the next hand-out.
+     * Must be called with the lock held; the granted futures are completed after the lock is released,
+     * so that no caller continuation runs under the lock.
+     */
+    private List<Waiter> dispatch() {
+        long now = System.nanoTime();
+        permits = Math.min(burst, permits + (double) (now - refilledAt) / intervalNanos);
+        refilledAt = now;
+
+        List<Waiter> granted = new ArrayList<>();
+        while (!waiters.isEmpty() && permits >= 1) {
+            Waiter waiter = waiters.poll();
+            if (waiter.permit().isDone()) {
+                // Cancelled by a caller that stopped waiting
+                continue;
+            }
+            permits -= 1;
+            granted.add(waiter);
+        }
+
+        if (!waiters.isEmpty() && !dispatchScheduled) {
+            long delay = (long) Math.ceil((1 - permits) * intervalNanos);
+            dispatchScheduled = true;
+            timer.schedule(this::scheduledDispatch, delay, TimeUnit.NANOSECONDS);
+        }
+        return granted;
+    }
+
+    private void remove(CompletableFuture<Void> permit) {
+        lock.lock();
+        try {
+            // Looked up by permit, since a promotion replaces the queued waiter
+            waiters.removeIf(waiter -> waiter.permit() == permit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduledDispatch() {
+        List<Waiter> granted;
+        lock.lock();
+        try {
+            dispatchScheduled = false;
+            granted = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+    }
+
+    private void complete(List<Waiter> granted) {
+        long now = System.nanoTime();
+        for (Waiter waiter : granted) {
+            waitTimers.get(waiter.priority()).record(now - waiter.queuedAt(), TimeUnit.NANOSECONDS);
+            if (!waiter.permit().complete(null)) {
+                log.debug("Rate limit permit for a cancelled {} request was dropped", waiter.priority());
+            }
+        }
+    }
+
+    private record Waiter(RequestPriority priority, long sequence, long queuedAt, CompletableFuture<Void> permit) {
+    }
+}
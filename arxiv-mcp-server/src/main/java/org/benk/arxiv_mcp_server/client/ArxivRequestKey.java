@@ -0,0 +1,17 @@
+package org.benk.arxiv_mcp_server.client;
+
+/**
+ * Identity of an arXiv API request, used to share responses between identical requests.
+ * Search requests are keyed on (search_query, start, max_results) and their sort order, paper lookups on id_list.
+ */
+sealed interface ArxivRequestKey {
+
+    record Search(String search, int start, int maxResults) implements ArxivRequestKey {
+    }
+
+    record Newest(String search, int start, int maxResults) implements ArxivRequestKey {
+    }
+
+    record IdList(String idList) implements ArxivRequestKey {
+    }
+}
@@ -0,0 +1,115 @@
+package org.benk.arxiv_mcp_server.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivAuthor;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivLink;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, TTL-based cache of arXiv API responses keyed on their {@link ArxivRequestKey}, shared by
+ * {@link CachingArxivClient} and {@link ReactiveArxivClient}.
+ * <p>
+ * Concurrent callers for the same key share the response of the first one, so a cached key is also
+ * fetched once at a time. A failed or empty response is not kept. A disabled cache fetches every call.
+ */
+public class ArxivResponseCache {
+
+    private static final int OBJECT_OVERHEAD = 64;
+
+    private final AsyncCache<ArxivRequestKey, ArxivResponse> cache;
+
+    public ArxivResponseCache(ArxivProperties.Cache properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((ArxivRequestKey key, ArxivResponse response) -> estimateSize(response))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "arxiv.responses");
+    }
+
+    /**
+     * Get a response, fetching it on the calling thread on a miss while concurrent callers for the same
+     * key wait on its future. No lock is held during the fetch, so a virtual thread waiting on arXiv does
+     * not pin its carrier.
+     */
+    ArxivResponse get(ArxivRequestKey key, Supplier<ArxivResponse> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        CompletableFuture<ArxivResponse> created = new CompletableFuture<>();
+        CompletableFuture<ArxivResponse> response = cache.get(key, (k, executor) -> created);
+        if (response == created) {
+            // This caller won the miss; a failed future is dropped from the cache by Caffeine
+            try {
+                created.complete(loader.get());
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get a response without blocking. On a miss the loader starts the fetch, whose future concurrent
+     * callers for the same key share.
+     *
+     * @return The response, completing with null for an empty one
+     */
+    CompletableFuture<ArxivResponse> getAsync(ArxivRequestKey key, Supplier<CompletableFuture<ArxivResponse>> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        return cache.get(key, (k, executor) -> loader.get());
+    }
+
+    /**
+     * Estimate the retained size of a response in bytes.
+     * Strings are counted as two bytes per character plus a fixed per-object overhead.
+     */
+    static int estimateSize(ArxivResponse response) {
+        long size = OBJECT_OVERHEAD;
+        if (response.getEntries() != null) {
+            for (ArxivEntry entry : response.getEntries()) {
+                size += OBJECT_OVERHEAD + sizeOf(entry.getId()) + sizeOf(entry.getTitle())
+                        + sizeOf(entry.getSummary()) + sizeOf(entry.getPublished()) + sizeOf(entry.getUpdated());
+                if (entry.getAuthors() != null) {
+                    for (ArxivAuthor author : entry.getAuthors()) {
+                        size += OBJECT_OVERHEAD + sizeOf(author.getName());
+                    }
+                }
+                if (entry.getLinks() != null) {
+                    for (ArxivLink link : entry.getLinks()) {
+                        size += OBJECT_OVERHEAD + sizeOf(link.getHref()) + sizeOf(link.getRel())
+                                + sizeOf(link.getType()) + sizeOf(link.getTitle());
+                    }
+                }
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : OBJECT_OVERHEAD + 2L * value.length();
+    }
+}
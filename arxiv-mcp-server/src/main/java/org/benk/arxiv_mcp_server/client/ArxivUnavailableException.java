@@ -0,0 +1,11 @@
+package org.benk.arxiv_mcp_server.client;
+
+/**
+ * Thrown instead of sending a request while the circuit to the arXiv API is open.
+ */
+public class ArxivUnavailableException extends RuntimeException {
+
+    public ArxivUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Feign decoder that reads arXiv Atom feeds with {@link AtomFeedReader} directly from the response body stream.
+ * The time spent reading and decoding the body and its size are recorded in {@link ArxivClientMetrics}.
+ */
+public class AtomFeedDecoder implements Decoder {
+
+    private final ArxivClientMetrics metrics;
+
+    public AtomFeedDecoder(ArxivClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.status() == 404 || response.status() == 204 || response.body() == null) {
+            return Util.emptyValueOf(type);
+        }
+        if (type != ArxivResponse.class) {
+            throw new DecodeException(response.status(), "Unsupported response type: " + type, response.request());
+        }
+        long start = System.nanoTime();
+        CountingInputStream body = new CountingInputStream(response.body().asInputStream());
+        try (AtomFeedReader reader = new AtomFeedReader(body)) {
+            ArxivResponse arxivResponse = reader.readResponse();
+            metrics.recordDecode(System.nanoTime() - start, body.count);
+            return arxivResponse;
+        } catch (RuntimeException e) {
+            throw new DecodeException(response.status(), "Error decoding arXiv Atom feed", response.request(), e);
+        }
+    }
+
+    /**
+     * Counts the bytes read from the response body, which has no length when it is chunked.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.benk.arxiv_mcp_server.client;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivAuthor;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivLink;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Pull-based reader for arXiv Atom feeds.
+ * Entries are decoded one at a time straight from the stream, so a consumer can process an entry
+ * before the rest of the feed has been read. Elements are matched on their local name, like the
+ * Jackson XML binding of {@link ArxivResponse} does.
+ */
+public class AtomFeedReader implements Iterator<ArxivEntry>, Closeable {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final XMLStreamReader reader;
+
+    private int totalResults;
+    private int startIndex;
+    private int itemsPerPage;
+    private boolean atEntry;
+
+    /**
+     * Open a reader on an Atom feed and consume the feed header up to the first entry.
+     *
+     * @param inputStream The feed, typically the HTTP response body
+     */
+    public AtomFeedReader(InputStream inputStream) {
+        try {
+            this.reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            advanceToEntry();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Error parsing Atom feed", e);
+        }
+    }
+
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    public int getItemsPerPage() {
+        return itemsPerPage;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return atEntry;
+    }
+
+    @Override
+    public ArxivEntry next() {
+        if (!atEntry) {
+            throw new NoSuchElementException();
+        }
+        try {
+            ArxivEntry entry = readEntry();
+            advanceToEntry();
+            return entry;
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Error parsing Atom feed", e);
+        }
+    }
+
+    /**
+     * Read the remaining entries into an {@link ArxivResponse}.
+     *
+     * @return The arXiv API response
+     */
+    public ArxivResponse readResponse() {
+        List<ArxivEntry> entries = new ArrayList<>();
+        while (hasNext()) {
+            entries.add(next());
+        }
+        return new ArxivResponse(totalResults, startIndex, itemsPerPage, entries);
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Error closing Atom feed", e);
+        }
+    }
+
+    /**
+     * Move to the next entry start tag, picking up feed-level fields on the way.
+     */
+    private void advanceToEntry() throws XMLStreamException {
+        atEntry = false;
+        while (reader.hasNext()) {
+            if (reader.next() != START_ELEMENT) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "entry" -> {
+                    atEntry = true;
+                    return;
+                }
+                case "totalResults" -> totalResults = parseInt(reader.getElementText());
+                case "startIndex" -> startIndex = parseInt(reader.getElementText());
+                case "itemsPerPage" -> itemsPerPage = parseInt(reader.getElementText());
+                default -> {
+                    // feed title, id, updated and links are not mapped
+                }
+            }
+        }
+    }
+
+    private ArxivEntry readEntry() throws XMLStreamException {
+        ArxivEntry entry = new ArxivEntry();
+        List<ArxivAuthor> authors = new ArrayList<>();
+        List<ArxivLink> links = new ArrayList<>();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == END_ELEMENT) {
+                depth--;
+            } else if (event == START_ELEMENT) {
+                if (depth > 1) {
+                    depth++;
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "id" -> entry.setId(reader.getElementText());
+                    case "title" -> entry.setTitle(reader.getElementText());
+                    case "summary" -> entry.setSummary(reader.getElementText());
+                    case "published" -> entry.setPublished(reader.getElementText());
+                    case "updated" -> entry.setUpdated(reader.getElementText());
+                    case "author" -> authors.add(readAuthor());
+                    case "link" -> {
+                        links.add(new ArxivLink(
+                                reader.getAttributeValue(null, "href"),
+                                reader.getAttributeValue(null, "rel"),
+                                reader.getAttributeValue(null, "type"),
+                                reader.getAttributeValue(null, "title")));
+                        depth++;
+                    }
+                    default -> depth++;
+                }
+            }
+        }
+        entry.setAuthors(authors);
+        entry.setLinks(links);
+        return entry;
+    }
+
+    private ArxivAuthor readAuthor() throws XMLStreamException {
+        ArxivAuthor author = new ArxivAuthor();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == END_ELEMENT) {
+                depth--;
+            } else if (event == START_ELEMENT) {
+                if (depth == 1 && "name".equals(reader.getLocalName())) {
+                    author.setName(reader.getElementText());
+                } else {
+                    depth++;
+                }
+            }
+        }
+        return author;
+    }
+
+    private static int parseInt(String text) {
+        return Integer.parseInt(text.trim());
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = new WstxInputFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
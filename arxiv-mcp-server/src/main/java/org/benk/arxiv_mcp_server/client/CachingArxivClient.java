@@ -0,0 +1,45 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+/**
+ * {@link ArxivClient} decorator that keeps arXiv API responses in an {@link ArxivResponseCache}.
+ * <p>
+ * A miss is fetched on the calling thread while concurrent callers for the same key wait on its future.
+ */
+public class CachingArxivClient implements ArxivClient {
+
+    private final ArxivClient delegate;
+    private final ArxivResponseCache cache;
+
+    public CachingArxivClient(ArxivClient delegate, ArxivProperties.Cache properties, MeterRegistry meterRegistry) {
+        this(delegate, new ArxivResponseCache(properties, meterRegistry));
+    }
+
+    public CachingArxivClient(ArxivClient delegate, ArxivResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public ArxivResponse searchPapers(String search, int start, int maxResults) {
+        return cache.get(new ArxivRequestKey.Search(search, start, maxResults), () -> delegate.searchPapers(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse searchNewest(String search, int start, int maxResults) {
+        return cache.get(new ArxivRequestKey.Newest(search, start, maxResults), () -> delegate.searchNewest(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse getPaper(String id) {
+        return cache.get(new ArxivRequestKey.IdList(id), () -> delegate.getPaper(id));
+    }
+
+    @Override
+    public ArxivResponse getPapers(String idList, int maxResults) {
+        return cache.get(new ArxivRequestKey.IdList(idList), () -> delegate.getPapers(idList, maxResults));
+    }
+}
@@ -0,0 +1,68 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link ArxivClient} decorator failing calls fast while the arXiv API keeps failing, as decided by an
+ * {@link ArxivCircuitBreaker}.
+ * <p>
+ * The decorator sits above the rate limiter, so calls failing fast do not wait for a permit. Outcomes are
+ * those of whole calls, after retries.
+ */
+public final class CircuitBreakingArxivClient implements ArxivClient {
+
+    private final ArxivClient delegate;
+    private final ArxivCircuitBreaker circuitBreaker;
+
+    public CircuitBreakingArxivClient(ArxivClient delegate,
+                                      ArxivProperties.CircuitBreaker properties,
+                                      MeterRegistry meterRegistry) {
+        this(delegate, new ArxivCircuitBreaker(properties, meterRegistry));
+    }
+
+    public CircuitBreakingArxivClient(ArxivClient delegate, ArxivCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public ArxivResponse searchPapers(String search, int start, int maxResults) {
+        return call(() -> delegate.searchPapers(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse searchNewest(String search, int start, int maxResults) {
+        return call(() -> delegate.searchNewest(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse getPaper(String id) {
+        return call(() -> delegate.getPaper(id));
+    }
+
+    @Override
+    public ArxivResponse getPapers(String idList, int maxResults) {
+        return call(() -> delegate.getPapers(idList, maxResults));
+    }
+
+    ArxivCircuitBreaker.State state() {
+        return circuitBreaker.state();
+    }
+
+    private ArxivResponse call(Supplier<ArxivResponse> request) {
+        long permitted = circuitBreaker.permit();
+        ArxivResponse response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            circuitBreaker.complete(permitted, e);
+            throw e;
+        }
+        circuitBreaker.complete(permitted, null);
+        return response;
+    }
+}
@@ -0,0 +1,121 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Feign {@link Client} on the JDK {@link HttpClient}, which keeps connections alive for reuse and negotiates
+ * HTTP/2 with servers offering it over TLS. Plain http URLs use HTTP/1.1, sparing an h2c upgrade attempt
+ * that servers rarely accept.
+ * <p>
+ * The response body is handed to the decoder as the stream it arrives on. When compression is enabled,
+ * gzip and deflate are requested and the body is decompressed while the decoder reads it.
+ */
+public class JdkHttpFeignClient implements Client, AutoCloseable {
+
+    /**
+     * Headers the JDK client sets itself and refuses from callers.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private final HttpClient httpClient;
+    private final boolean compression;
+
+    public JdkHttpFeignClient(ArxivProperties.Http properties) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.compression = properties.isCompression();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        URI uri = URI.create(request.url());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .version("https".equalsIgnoreCase(uri.getScheme()) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .timeout(Duration.ofMillis(options.readTimeoutMillis()))
+                .method(request.httpMethod().name(), request.body() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        request.headers().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        if (compression && !request.headers().containsKey(ACCEPT_ENCODING)) {
+            builder.header(ACCEPT_ENCODING, "gzip, deflate");
+        }
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + request.url());
+        }
+
+        String encoding = response.headers().firstValue(CONTENT_ENCODING).orElse("identity").trim().toLowerCase(Locale.ROOT);
+        boolean empty = response.statusCode() == 204 || response.statusCode() == 304
+                || request.httpMethod() == Request.HttpMethod.HEAD;
+        InputStream body = empty ? response.body() : decompress(encoding, response.body());
+        boolean decompressed = body != response.body();
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            // The length and encoding of a decompressed body are no longer those sent by the server
+            if (!decompressed || !(name.equalsIgnoreCase(CONTENT_ENCODING) || name.equalsIgnoreCase(CONTENT_LENGTH))) {
+                headers.put(name, values);
+            }
+        });
+        OptionalLong length = response.headers().firstValueAsLong(CONTENT_LENGTH);
+        Integer bodyLength = !decompressed && length.isPresent() && length.getAsLong() <= Integer.MAX_VALUE
+                ? (int) length.getAsLong() : null;
+
+        return Response.builder()
+                .status(response.statusCode())
+                .headers(headers)
+                .body(body, bodyLength)
+                .request(request)
+                .protocolVersion(response.version() == HttpClient.Version.HTTP_2
+                        ? Request.ProtocolVersion.HTTP_2 : Request.ProtocolVersion.HTTP_1_1)
+                .build();
+    }
+
+    private static InputStream decompress(String encoding, InputStream body) throws IOException {
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, 8192);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        };
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,55 @@
+package org.benk.arxiv_mcp_server.client;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latency percentile over the most recent samples of one operation.
+ * The samples are kept in a ring buffer and the percentile is recomputed every few samples, so reading it
+ * costs a volatile read.
+ */
+class LatencyTracker {
+
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final double percentile;
+    private final int minSamples;
+    private final long[] samples = new long[SAMPLES];
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int size;
+    private int next;
+    private long recorded;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile, int minSamples) {
+        this.percentile = percentile;
+        this.minSamples = Math.max(1, Math.min(minSamples, SAMPLES));
+    }
+
+    void record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLES;
+            size = Math.min(size + 1, SAMPLES);
+            recorded++;
+            if (size >= minSamples && (size == minSamples || recorded % RECOMPUTE_EVERY == 0)) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile * size) - 1;
+                percentileNanos = sorted[Math.clamp(rank, 0, size - 1)];
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The latency percentile in nanoseconds, or -1 until enough samples were recorded
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,47 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Feign {@link Client} decorator timing each request sent to the arXiv API, including retries,
+ * as {@code arxiv.requests} (see {@link ArxivClientMetrics}). The time ends when the response headers
+ * arrive; reading the body is part of decoding.
+ */
+public class MeteredFeignClient implements Client {
+
+    private final Client delegate;
+    private final ArxivClientMetrics metrics;
+
+    public MeteredFeignClient(Client delegate, ArxivClientMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String operation = operation(request);
+        long start = System.nanoTime();
+        try {
+            Response response = delegate.execute(request, options);
+            metrics.recordRequest(operation, response.status(), System.nanoTime() - start);
+            return response;
+        } catch (IOException e) {
+            metrics.recordRequest(operation, ArxivClientMetrics.IO_ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * @return Name of the {@link ArxivClient} method that sent the request
+     */
+    static String operation(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null) {
+            return "unknown";
+        }
+        return request.requestTemplate().methodMetadata().method().getName();
+    }
+}
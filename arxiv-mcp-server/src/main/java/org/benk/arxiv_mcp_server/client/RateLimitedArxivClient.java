@@ -0,0 +1,143 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link ArxivClient} decorator that sends requests through the {@link ArxivRateLimiter}.
+ * <p>
+ * Identical requests are coalesced: while a request is queued or in flight, callers asking for the same
+ * search or id_list wait on its response instead of queueing a request of their own. The number of
+ * coalesced calls is counted as {@code arxiv.requests.coalesced}. A shared request runs at the highest priority
+ * of its callers: an interactive caller joining a queued background request promotes it in the rate limiter queue.
+ */
+public class RateLimitedArxivClient implements ArxivClient {
+
+    private final ArxivClient delegate;
+    private final ArxivRateLimiter rateLimiter;
+    private final Duration maxWait;
+    private final Counter coalesced;
+    private final Map<ArxivRequestKey, Call> inFlight = new ConcurrentHashMap<>();
+
+    public RateLimitedArxivClient(ArxivClient delegate,
+                                  ArxivRateLimiter rateLimiter,
+                                  ArxivProperties.RateLimit properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.maxWait = properties.getMaxWait();
+        this.coalesced = Counter.builder("arxiv.requests.coalesced")
+                .description("Calls to the arXiv API served by an identical request already in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ArxivResponse searchPapers(String search, int start, int maxResults) {
+        return get(new ArxivRequestKey.Search(search, start, maxResults),
+                () -> delegate.searchPapers(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse searchNewest(String search, int start, int maxResults) {
+        return get(new ArxivRequestKey.Newest(search, start, maxResults),
+                () -> delegate.searchNewest(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse getPaper(String id) {
+        return get(new ArxivRequestKey.IdList(id), () -> delegate.getPaper(id));
+    }
+
+    @Override
+    public ArxivResponse getPapers(String idList, int maxResults) {
+        return get(new ArxivRequestKey.IdList(idList), () -> delegate.getPapers(idList, maxResults));
+    }
+
+    private ArxivResponse get(ArxivRequestKey key, Supplier<ArxivResponse> request) {
+        RequestPriority priority = RequestPriority.current();
+        Call created = new Call(priority);
+        Call call = inFlight.putIfAbsent(key, created);
+        if (call == null) {
+            // This caller leads the request; later callers for the same key join its response
+            try {
+                CompletableFuture<Void> permit = rateLimiter.acquire(priority);
+                RequestPriority joined = created.attach(permit);
+                if (joined != priority) {
+                    rateLimiter.promote(permit, joined);
+                }
+                rateLimiter.await(permit, maxWait);
+                created.response.complete(RequestPriority.with(created.priority(), request));
+            } catch (RuntimeException e) {
+                created.response.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+            call = created;
+        } else {
+            coalesced.increment();
+            CompletableFuture<Void> permit = call.join(priority);
+            if (permit != null) {
+                rateLimiter.promote(permit, priority);
+            }
+        }
+        try {
+            return call.response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A request shared by its callers, at the highest priority among them.
+     */
+    private static final class Call {
+
+        private final CompletableFuture<ArxivResponse> response = new CompletableFuture<>();
+        private RequestPriority priority;
+        private CompletableFuture<Void> permit;
+
+        Call(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        synchronized RequestPriority priority() {
+            return priority;
+        }
+
+        /**
+         * Record the permit requested by the leading caller.
+         *
+         * @return The priority of the request, higher than requested if a caller joined it meanwhile
+         */
+        synchronized RequestPriority attach(CompletableFuture<Void> permit) {
+            this.permit = permit;
+            return priority;
+        }
+
+        /**
+         * Join the request at the priority of the joining caller.
+         *
+         * @return The permit to promote in the rate limiter, or null if the priority did not rise
+         *         or the permit was not requested yet
+         */
+        synchronized CompletableFuture<Void> join(RequestPriority priority) {
+            if (priority.compareTo(this.priority) >= 0) {
+                return null;
+            }
+            this.priority = priority;
+            return permit;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.benk.arxiv_mcp_server.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link ArxivClient} on the {@link WebClient} bean.
+ * The response body is collected without blocking and decoded with {@link AtomFeedReader},
+ * so no thread waits on arXiv. Like the Feign decoder, a 404 or 204 response completes empty.
+ * <p>
+ * Requests share the {@link ArxivResponseCache}, the {@link ArxivCircuitBreaker} and the {@link ArxivRateLimiter}
+ * with the Feign client, so identical requests of either client are sent once and an open circuit fails both.
+ * Requests are queued as interactive requests for at most {@code arxiv.rate-limit.max-wait}; cancelling the
+ * subscription while a request is queued gives up its place in the queue, unless other callers share it
+ * through the cache. Requests and decoding are timed in the same {@link ArxivClientMetrics} as the Feign client.
+ * Failed requests are not retried.
+ */
+@Slf4j
+@Component
+public class ReactiveArxivClient {
+
+    private final WebClient webClient;
+    private final ArxivRateLimiter rateLimiter;
+    private final ArxivClientMetrics metrics;
+    private final ArxivResponseCache responseCache;
+    private final ArxivCircuitBreaker circuitBreaker;
+    private final Duration maxWait;
+
+    public ReactiveArxivClient(WebClient webClient,
+                               ArxivRateLimiter rateLimiter,
+                               ArxivClientMetrics metrics,
+                               ArxivResponseCache responseCache,
+                               ArxivCircuitBreaker circuitBreaker,
+                               ArxivProperties properties) {
+        this.webClient = webClient;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.responseCache = responseCache;
+        this.circuitBreaker = circuitBreaker;
+        this.maxWait = properties.getRateLimit().getMaxWait();
+    }
+
+    /**
+     * Search for papers on arXiv based on a query.
+     *
+     * @param search     The search query
+     * @param start      The start index (for pagination)
+     * @param maxResults The maximum number of results to return
+     * @return The arXiv API response
+     */
+    public Mono<ArxivResponse> searchPapers(String search, int start, int maxResults) {
+        return get("searchPapers", new ArxivRequestKey.Search(search, start, maxResults), uri -> uri
+                .queryParam("search_query", "{search}")
+                .queryParam("start", start)
+                .queryParam("max_results", maxResults)
+                .build(search));
+    }
+
+    /**
+     * Get a specific paper by ID.
+     *
+     * @param id The ID of the paper
+     * @return The arXiv API response
+     */
+    public Mono<ArxivResponse> getPaper(String id) {
+        return get("getPaper", new ArxivRequestKey.IdList(id), uri -> uri.queryParam("id_list", "{id}").build(id));
+    }
+
+    /**
+     * Get several papers by ID in one request.
+     *
+     * @param idList     Comma-separated list of paper IDs
+     * @param maxResults The maximum number of results to return (arXiv defaults to 10)
+     * @return The arXiv API response
+     */
+    public Mono<ArxivResponse> getPapers(String idList, int maxResults) {
+        return get("getPapers", new ArxivRequestKey.IdList(idList), uri -> uri
+                .queryParam("id_list", "{idList}")
+                .queryParam("max_results", maxResults)
+                .build(idList));
+    }
+
+    private Mono<ArxivResponse> get(String operation, ArxivRequestKey key, Function<UriBuilder, URI> uri) {
+        // A shared request is not cancelled with the subscription of one of its callers
+        return Mono.fromFuture(() -> responseCache.getAsync(key, () -> call(operation, uri).toFuture()), true);
+    }
+
+    private Mono<ArxivResponse> call(String operation, Function<UriBuilder, URI> uri) {
+        return Mono.defer(() -> {
+            long permitted = circuitBreaker.permit();
+            return Mono.fromFuture(() -> rateLimiter.acquire(RequestPriority.INTERACTIVE))
+                    .timeout(maxWait)
+                    .onErrorMap(TimeoutException.class, e -> {
+                        log.error("Timed out after {} waiting for the arXiv rate limit", maxWait);
+                        return new RuntimeException("Timed out waiting for the arXiv rate limit", e);
+                    })
+                    .then(Mono.defer(() -> exchange(operation, uri)))
+                    .doOnSuccess(response -> circuitBreaker.complete(permitted, null))
+                    .doOnError(e -> circuitBreaker.complete(permitted, e))
+                    .doOnCancel(() -> circuitBreaker.release(permitted));
+        });
+    }
+
+    private Mono<ArxivResponse> exchange(String operation, Function<UriBuilder, URI> uri) {
+        long start = System.nanoTime();
+        return webClient.get()
+                .uri(uri)
+                .exchangeToMono(response -> {
+                    metrics.recordRequest(operation, response.statusCode().value(), System.nanoTime() - start);
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+                            || response.statusCode().isSameCodeAs(HttpStatus.NO_CONTENT)) {
+                        return response.releaseBody().then(Mono.empty());
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class))
+                            .map(this::decode);
+                })
+                .doOnError(WebClientRequestException.class, e ->
+                        metrics.recordRequest(operation, ArxivClientMetrics.IO_ERROR, System.nanoTime() - start));
+    }
+
+    private ArxivResponse decode(DataBuffer body) {
+        long start = System.nanoTime();
+        int bytes = body.readableByteCount();
+        try (AtomFeedReader reader = new AtomFeedReader(body.asInputStream(true))) {
+            ArxivResponse response = reader.readResponse();
+            metrics.recordDecode(System.nanoTime() - start, bytes);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.benk.arxiv_mcp_server.client;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority of arXiv API requests made by the current thread.
+ * Requests default to {@link #INTERACTIVE}; background work such as prefetching runs its calls through
+ * {@link #background(Supplier)} so that the {@link ArxivRateLimiter} serves waiting tool calls first.
+ */
+public enum RequestPriority {
+
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    /**
+     * @return The priority of requests made by the current thread
+     */
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run an action whose arXiv requests are queued behind interactive requests.
+     *
+     * @param action The action to run on the current thread
+     * @return The result of the action
+     */
+    public static <T> T background(Supplier<T> action) {
+        return with(BACKGROUND, action);
+    }
+
+    /**
+     * Run an action whose arXiv requests have the given priority.
+     *
+     * @param priority The priority of the requests
+     * @param action   The action to run on the current thread
+     * @return The result of the action
+     */
+    public static <T> T with(RequestPriority priority, Supplier<T> action) {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
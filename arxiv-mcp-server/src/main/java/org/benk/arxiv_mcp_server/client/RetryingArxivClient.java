@@ -0,0 +1,251 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link ArxivClient} decorator retrying requests that fail with a transient error and hedging slow ones.
+ * <p>
+ * A request failing with an I/O error, a 5xx or a 429 is attempted up to {@code arxiv.retry.max-attempts}
+ * times. Each retry waits a random delay below a bound that doubles with every attempt (full jitter), so
+ * callers failing together do not retry together. A retry after a Retry-After header waits at least as long
+ * as asked; one asking for more than {@code arxiv.retry.max-retry-after} is not waited out.
+ * <p>
+ * An attempt still running after the {@code arxiv.hedge.percentile} of the recent latencies of its operation
+ * is hedged with an identical request, and the first successful response wins.
+ * <p>
+ * The first attempt is sent with the permit its caller got from the {@link ArxivRateLimiter}. Retries and
+ * hedges are extra requests and each waits for a permit of its own, at the priority of the caller; a hedge
+ * whose permit arrives after the first attempt completed is not sent. Metrics: {@code arxiv.retries} and
+ * {@code arxiv.hedges} ({@code sent} and {@code won}), per operation.
+ */
+@Slf4j
+public class RetryingArxivClient implements ArxivClient {
+
+    private static final List<String> OPERATIONS = List.of("searchPapers", "searchNewest", "getPaper", "getPapers");
+
+    private final ArxivClient delegate;
+    private final ArxivRateLimiter rateLimiter;
+    private final Duration maxWait;
+    private final ArxivProperties.Retry retry;
+    private final ArxivProperties.Hedge hedge;
+    private final Map<String, LatencyTracker> latencies = new HashMap<>();
+    private final Map<String, Counter> retries = new HashMap<>();
+    private final Map<String, Counter> hedgesSent = new HashMap<>();
+    private final Map<String, Counter> hedgesWon = new HashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RetryingArxivClient(ArxivClient delegate,
+                               ArxivRateLimiter rateLimiter,
+                               ArxivProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.maxWait = properties.getRateLimit().getMaxWait();
+        this.retry = properties.getRetry();
+        this.hedge = properties.getHedge();
+        for (String operation : OPERATIONS) {
+            latencies.put(operation, new LatencyTracker(hedge.getPercentile(), hedge.getMinSamples()));
+            retries.put(operation, Counter.builder("arxiv.retries")
+                    .description("Requests to the arXiv API retried after a transient failure")
+                    .tag("operation", operation)
+                    .register(meterRegistry));
+            hedgesSent.put(operation, hedges(meterRegistry, operation, "sent"));
+            hedgesWon.put(operation, hedges(meterRegistry, operation, "won"));
+        }
+    }
+
+    private static Counter hedges(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Counter.builder("arxiv.hedges")
+                .description("Hedged requests sent to the arXiv API, and those answering before the first attempt")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ArxivResponse searchPapers(String search, int start, int maxResults) {
+        return call("searchPapers", () -> delegate.searchPapers(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse searchNewest(String search, int start, int maxResults) {
+        return call("searchNewest", () -> delegate.searchNewest(search, start, maxResults));
+    }
+
+    @Override
+    public ArxivResponse getPaper(String id) {
+        return call("getPaper", () -> delegate.getPaper(id));
+    }
+
+    @Override
+    public ArxivResponse getPapers(String idList, int maxResults) {
+        return call("getPapers", () -> delegate.getPapers(idList, maxResults));
+    }
+
+    /**
+     * @return Whether a request failing with this exception may succeed when sent again
+     */
+    static boolean isTransient(Throwable e) {
+        // Feign reports I/O errors, and 5xx and 429 responses carrying a Retry-After, as retryable
+        return e instanceof RetryableException
+                || e instanceof FeignException feignException && (feignException.status() == 429 || feignException.status() >= 500);
+    }
+
+    private ArxivResponse call(String operation, Supplier<ArxivResponse> request) {
+        // Retries and hedges may run on other threads, which must queue at the caller's priority
+        RequestPriority priority = RequestPriority.current();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(operation, priority, request);
+            } catch (RuntimeException e) {
+                if (attempt >= retry.getMaxAttempts() || !isTransient(e)) {
+                    throw e;
+                }
+                Duration delay = retryDelay(attempt, e);
+                if (delay == null) {
+                    log.warn("Not retrying {}, arXiv asked to retry after more than {}", operation, retry.getMaxRetryAfter());
+                    throw e;
+                }
+                log.warn("Retrying {} in {} ms after attempt {} failed: {}", operation, delay.toMillis(), attempt, e.getMessage());
+                retries.get(operation).increment();
+                sleep(delay);
+                rateLimiter.await(priority, maxWait);
+            }
+        }
+    }
+
+    /**
+     * @return The delay before the retry following an attempt, or null if the API asked to wait too long
+     */
+    Duration retryDelay(int attempt, RuntimeException failure) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (failure instanceof RetryableException retryable && retryable.retryAfter() != null) {
+            long retryAfter = Math.max(0, retryable.retryAfter() - System.currentTimeMillis());
+            if (retryAfter > retry.getMaxRetryAfter().toMillis()) {
+                return null;
+            }
+            // Callers throttled at the same time are spread over the initial backoff after the requested delay
+            return Duration.ofMillis(retryAfter).plusNanos(random.nextLong(retry.getInitialBackoff().toNanos() + 1));
+        }
+        long bound = Math.min(retry.getMaxBackoff().toNanos(),
+                retry.getInitialBackoff().toNanos() << Math.min(attempt - 1, 20));
+        return Duration.ofNanos(random.nextLong(Math.max(0, bound) + 1));
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting to retry a request to the arXiv API", e);
+        }
+    }
+
+    private ArxivResponse attempt(String operation, RequestPriority priority, Supplier<ArxivResponse> request) {
+        LatencyTracker latency = latencies.get(operation);
+        long hedgeAfter = latency.percentileNanos();
+        if (!hedge.isEnabled() || hedgeAfter < 0) {
+            return timed(latency, request);
+        }
+        CompletableFuture<ArxivResponse> primary = CompletableFuture.supplyAsync(() -> timed(latency, request), executor);
+        try {
+            return primary.get(Math.max(hedgeAfter, hedge.getMinDelay().toNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return join(hedged(operation, priority, latency, primary, request));
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for the arXiv API", e);
+        }
+    }
+
+    /**
+     * Send a second request once a permit is granted, unless the first attempt has completed by then.
+     *
+     * @return The first successful response, or the failure of the first attempt if neither succeeds
+     */
+    private CompletableFuture<ArxivResponse> hedged(String operation,
+                                                    RequestPriority priority,
+                                                    LatencyTracker latency,
+                                                    CompletableFuture<ArxivResponse> primary,
+                                                    Supplier<ArxivResponse> request) {
+        CompletableFuture<Void> permit = rateLimiter.acquire(priority);
+        CompletableFuture<ArxivResponse> second = permit.thenComposeAsync(ignored -> {
+            if (primary.isDone()) {
+                return primary;
+            }
+            hedgesSent.get(operation).increment();
+            return CompletableFuture.supplyAsync(() -> timed(latency, request), executor);
+        }, executor);
+        // Leave the rate limiter queue when the first attempt completes before the hedge could be sent
+        primary.whenComplete((response, e) -> permit.cancel(false));
+
+        CompletableFuture<ArxivResponse> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, e) -> {
+            if (e == null) {
+                winner.complete(response);
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(e);
+            }
+        });
+        second.whenComplete((response, e) -> {
+            if (e == null) {
+                if (winner.complete(response)) {
+                    hedgesWon.get(operation).increment();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                // The hedge may not have been sent at all, the first attempt tells what went wrong
+                winner.completeExceptionally(primary.exceptionNow());
+            }
+        });
+        return winner;
+    }
+
+    private static ArxivResponse timed(LatencyTracker latency, Supplier<ArxivResponse> request) {
+        long started = System.nanoTime();
+        ArxivResponse response = request.get();
+        latency.record(System.nanoTime() - started);
+        return response;
+    }
+
+    private static ArxivResponse join(CompletableFuture<ArxivResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(e);
+    }
+}
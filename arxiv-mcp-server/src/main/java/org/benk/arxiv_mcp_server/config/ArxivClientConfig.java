@@ -0,0 +1,69 @@
+package org.benk.arxiv_mcp_server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.benk.arxiv_mcp_server.client.ArxivCircuitBreaker;
+import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.client.ArxivRateLimiter;
+import org.benk.arxiv_mcp_server.client.ArxivResponseCache;
+import org.benk.arxiv_mcp_server.client.CachingArxivClient;
+import org.benk.arxiv_mcp_server.client.CircuitBreakingArxivClient;
+import org.benk.arxiv_mcp_server.client.RateLimitedArxivClient;
+import org.benk.arxiv_mcp_server.client.RetryingArxivClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuration class assembling the {@link ArxivClient} used by the services
+ * from the Feign client and its decorators.
+ */
+@Configuration
+public class ArxivClientConfig {
+
+    /**
+     * Rate limiter shared by every client talking to the arXiv API.
+     */
+    @Bean
+    public ArxivRateLimiter arxivRateLimiter(ArxivProperties properties, MeterRegistry meterRegistry) {
+        return new ArxivRateLimiter(properties.getRateLimit(), meterRegistry);
+    }
+
+    /**
+     * Response cache shared by every client talking to the arXiv API.
+     */
+    @Bean
+    public ArxivResponseCache arxivResponseCache(ArxivProperties properties, MeterRegistry meterRegistry) {
+        return new ArxivResponseCache(properties.getCache(), meterRegistry);
+    }
+
+    /**
+     * Circuit breaker shared by every client talking to the arXiv API.
+     */
+    @Bean
+    public ArxivCircuitBreaker arxivCircuitBreaker(ArxivProperties properties, MeterRegistry meterRegistry) {
+        return new ArxivCircuitBreaker(properties.getCircuitBreaker(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public ArxivClient arxivClient(@Qualifier("arxivFeignClient") ArxivClient feignClient,
+                                   ArxivRateLimiter rateLimiter,
+                                   ArxivResponseCache responseCache,
+                                   ArxivCircuitBreaker circuitBreaker,
+                                   ArxivProperties properties,
+                                   MeterRegistry meterRegistry) {
+        // Retries and hedges take permits of their own, below the permit of the first attempt
+        ArxivClient client = new RetryingArxivClient(feignClient, rateLimiter, properties, meterRegistry);
+        client = new RateLimitedArxivClient(client, rateLimiter, properties.getRateLimit(), meterRegistry);
+        // An open circuit fails calls before they queue for a permit
+        if (properties.getCircuitBreaker().isEnabled()) {
+            client = new CircuitBreakingArxivClient(client, circuitBreaker);
+        }
+        // Cache hits are answered before they reach the rate limiter
+        if (properties.getCache().isEnabled()) {
+            client = new CachingArxivClient(client, responseCache);
+        }
+        return client;
+    }
+}
@@ -0,0 +1,45 @@
+package org.benk.arxiv_mcp_server.config;
+
+import feign.Client;
+import feign.Request;
+import feign.codec.Decoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.benk.arxiv_mcp_server.client.ArxivClientMetrics;
+import org.benk.arxiv_mcp_server.client.ArxivHttpTransport;
+import org.benk.arxiv_mcp_server.client.AtomFeedDecoder;
+import org.benk.arxiv_mcp_server.client.MeteredFeignClient;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign configuration for the arXiv client.
+ * Deliberately not annotated with {@code @Configuration}: it is referenced from
+ * {@code @FeignClient(configuration = ...)} and must not apply to other Feign clients.
+ */
+public class ArxivFeignConfig {
+
+    @Bean
+    public Decoder arxivDecoder(ArxivClientMetrics metrics) {
+        return new AtomFeedDecoder(metrics);
+    }
+
+    /**
+     * Pooled HTTP transport, closed with the Feign client context.
+     */
+    @Bean
+    public ArxivHttpTransport arxivHttpTransport(ArxivProperties properties, MeterRegistry meterRegistry) {
+        return new ArxivHttpTransport(properties.getHttp(), meterRegistry);
+    }
+
+    @Bean
+    public Client arxivHttpClient(ArxivHttpTransport transport, ArxivClientMetrics metrics) {
+        return new MeteredFeignClient(transport.client(), metrics);
+    }
+
+    /**
+     * Default timeouts; read timeouts of single operations are overridden by the transport.
+     */
+    @Bean
+    public Request.Options arxivRequestOptions(ArxivProperties properties) {
+        return new Request.Options(properties.getHttp().getConnectTimeout(), properties.getHttp().getReadTimeout(), true);
+    }
+}
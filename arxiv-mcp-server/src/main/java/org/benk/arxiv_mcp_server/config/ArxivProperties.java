@@ -0,0 +1,564 @@
+package org.benk.arxiv_mcp_server.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the arXiv MCP server.
+ */
+@Data
+@ConfigurationProperties(prefix = "arxiv")
+public class ArxivProperties {
+
+    /**
+     * Root directory holding one sub-directory per topic.
+     */
+    private String papersDirectory = "c:/temp/papers";
+
+    private final Cache cache = new Cache();
+
+    private final Batch batch = new Batch();
+
+    private final Search search = new Search();
+
+    private final Store store = new Store();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final Semantic semantic = new Semantic();
+
+    private final Markdown markdown = new Markdown();
+
+    private final Http http = new Http();
+
+    private final Retry retry = new Retry();
+
+    private final Hedge hedge = new Hedge();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private final Freshness freshness = new Freshness();
+
+    private final Prefetch prefetch = new Prefetch();
+
+    private final Ingest ingest = new Ingest();
+
+    private final Pdf pdf = new Pdf();
+
+    /**
+     * Cache of arXiv API responses.
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Whether responses from the arXiv API are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a response stays in the cache after it was fetched.
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /**
+         * Upper bound for the estimated size of all cached responses.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * Batch paper lookups.
+     */
+    @Data
+    public static class Batch {
+
+        /**
+         * Maximum number of IDs sent in a single id_list request.
+         */
+        private int chunkSize = 100;
+    }
+
+    /**
+     * Paginated topic searches.
+     */
+    @Data
+    public static class Search {
+
+        /**
+         * Number of entries requested from arXiv per page.
+         */
+        private int pageSize = 100;
+    }
+
+    /**
+     * Local paper store.
+     */
+    @Data
+    public static class Store {
+
+        /**
+         * Store implementation: "json" for one papers_info.json per topic directory,
+         * "log" for a single append-only binary log in the papers directory.
+         */
+        private String type = "json";
+
+        /**
+         * File name of the paper log, relative to the papers directory.
+         */
+        private String logFile = "papers.log";
+
+        /**
+         * Whether each append to the paper log is forced to disk.
+         */
+        private boolean fsync = false;
+
+        /**
+         * Number of lock stripes over topic names; writes to topics on different stripes run in parallel.
+         */
+        private int lockStripes = 64;
+
+        private final Journal journal = new Journal();
+    }
+
+    /**
+     * Per-topic write journal of the JSON store.
+     */
+    @Data
+    public static class Journal {
+
+        /**
+         * Whether new papers are appended to a per-topic journal instead of rewriting the snapshot.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How often the compactor looks for journals to fold into their snapshot.
+         */
+        private Duration compactInterval = Duration.ofSeconds(30);
+
+        /**
+         * Journal size from which a journal is compacted.
+         */
+        private DataSize compactThreshold = DataSize.ofKilobytes(256);
+
+        /**
+         * Age of the last journal write after which a journal is compacted regardless of its size.
+         */
+        private Duration maxAge = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Client-side rate limit for requests sent to the arXiv API.
+     */
+    @Data
+    public static class RateLimit {
+
+        /**
+         * Whether requests to the arXiv API are rate limited.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time it takes to earn one request; arXiv asks for no more than one request every three seconds.
+         */
+        private Duration interval = Duration.ofSeconds(3);
+
+        /**
+         * Number of requests that may be sent back to back after an idle period.
+         */
+        private int burst = 1;
+
+        /**
+         * How long a request may wait in the queue before it fails.
+         */
+        private Duration maxWait = Duration.ofMinutes(2);
+    }
+
+    /**
+     * Semantic search over paper embeddings.
+     */
+    @Data
+    public static class Semantic {
+
+        /**
+         * Whether stored papers are embedded and indexed for semantic search.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Memory-mapped vector file, relative to the papers directory.
+         */
+        private String vectorFile = "vectors.bin";
+
+        /**
+         * Number of dimensions of the built-in hashing embedder.
+         */
+        private int dimensions = 256;
+
+        /**
+         * Number of neighbours per node in the HNSW graph; the bottom layer keeps twice as many.
+         */
+        private int m = 16;
+
+        /**
+         * Size of the candidate list while inserting into the HNSW graph.
+         */
+        private int efConstruction = 100;
+
+        /**
+         * Size of the candidate list while searching the HNSW graph.
+         */
+        private int efSearch = 64;
+    }
+
+    /**
+     * Rendered Markdown of topics.
+     */
+    @Data
+    public static class Markdown {
+
+        /**
+         * Upper bound for the size of all cached rendered topics.
+         */
+        private DataSize cacheMaxSize = DataSize.ofMegabytes(32);
+
+        /**
+         * Topics with more papers are never rendered whole: they are streamed over REST and paged over MCP.
+         */
+        private int streamThreshold = 1000;
+
+        /**
+         * Number of papers per page of the paged {@code papers://{topic}} resource.
+         */
+        private int pageSize = 100;
+    }
+
+    /**
+     * HTTP transport of the Feign arXiv client.
+     */
+    @Data
+    public static class Http {
+
+        /**
+         * Transport: "hc5" for a pooled Apache HttpClient 5, "jdk" for the JDK HttpClient,
+         * which also negotiates HTTP/2 with servers offering it over TLS.
+         */
+        private String transport = "hc5";
+
+        /**
+         * Maximum number of pooled connections to the arXiv API (hc5).
+         */
+        private int maxConnections = 8;
+
+        /**
+         * How long an idle pooled connection is kept open for reuse (hc5).
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /**
+         * Time allowed to establish a connection.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Time allowed for the response to arrive, unless overridden for the operation.
+         */
+        private Duration readTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Read timeouts per {@code ArxivClient} method, such as {@code searchPapers}, overriding the default.
+         */
+        private Map<String, Duration> operationReadTimeouts = new HashMap<>();
+
+        /**
+         * Whether gzip and deflate compressed responses are accepted.
+         */
+        private boolean compression = true;
+    }
+
+    /**
+     * Retries of arXiv API requests failing with a transient error: an I/O error, a 5xx or a 429.
+     */
+    @Data
+    public static class Retry {
+
+        /**
+         * Attempts per request, including the first; 1 disables retries.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Upper bound of the random delay before the first retry; the bound doubles with each retry.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Cap of the bound of the random delay between attempts.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(20);
+
+        /**
+         * Longest Retry-After asked for by the API that is waited out; a longer one fails the request.
+         */
+        private Duration maxRetryAfter = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Hedged requests: a second, identical request sent when the first is slower than most.
+     */
+    @Data
+    public static class Hedge {
+
+        /**
+         * Whether slow requests are hedged.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Latency percentile of recent successful requests, per operation, after which a hedge is sent.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Number of recent requests of an operation needed before its requests are hedged.
+         */
+        private int minSamples = 20;
+
+        /**
+         * Shortest time waited for the first request before hedging it.
+         */
+        private Duration minDelay = Duration.ofMillis(500);
+    }
+
+    /**
+     * Circuit breaker failing calls fast while the arXiv API keeps failing.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Whether the circuit breaker is enabled.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of most recent calls over which the failure rate is computed.
+         */
+        private int windowSize = 20;
+
+        /**
+         * Number of calls in the window before the failure rate may open the circuit.
+         */
+        private int minCalls = 10;
+
+        /**
+         * Failure rate, between 0 and 1, from which the circuit opens.
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * How long an open circuit fails calls before letting trial calls through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Number of trial calls that must succeed to close a half-open circuit.
+         */
+        private int halfOpenCalls = 2;
+    }
+
+    /**
+     * Stale-while-revalidate reads of stored papers and topics.
+     */
+    @Data
+    public static class Freshness {
+
+        /**
+         * Whether stored papers and topics past their time-to-live are refreshed in the background.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Age from which a stored paper is refreshed when read.
+         */
+        private Duration paperTtl = Duration.ofDays(7);
+
+        /**
+         * Age of the most recently fetched paper of a topic from which the topic is searched again when read.
+         */
+        private Duration topicTtl = Duration.ofDays(1);
+
+        /**
+         * Number of refreshes running at once; each still waits for a rate limit permit.
+         */
+        private int workers = 2;
+
+        /**
+         * Number of refreshes that may wait for a worker; further stale reads are not refreshed.
+         */
+        private int maxPending = 256;
+
+        /**
+         * How much newer a fetch of an unchanged paper must be than the stored one to be written to the store;
+         * unchanged papers fetched again within it cost no write.
+         */
+        private Duration resolution = Duration.ofHours(1);
+    }
+
+    /**
+     * Background search of watched topics for newly submitted papers while the arXiv API is quiet.
+     */
+    @Data
+    public static class Prefetch {
+
+        /**
+         * Whether watched topics are searched for new papers in the background.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Topics always watched, ahead of the most accessed and the stored ones.
+         */
+        private List<String> topics = new ArrayList<>();
+
+        /**
+         * Maximum number of topics watched.
+         */
+        private int maxTopics = 20;
+
+        /**
+         * Minimum time between two runs over the watched topics.
+         */
+        private Duration interval = Duration.ofHours(6);
+
+        /**
+         * How often the scheduler checks whether a run is due and the API is quiet.
+         */
+        private Duration checkInterval = Duration.ofMinutes(1);
+
+        /**
+         * Delay after startup before the first check.
+         */
+        private Duration initialDelay = Duration.ofMinutes(5);
+
+        /**
+         * Time without interactive requests to the arXiv API after which a run may start; a run stops when
+         * interactive requests come back.
+         */
+        private Duration quietPeriod = Duration.ofMinutes(2);
+
+        /**
+         * Maximum number of requests sent to the arXiv API per run.
+         */
+        private int requestBudget = 50;
+
+        /**
+         * Maximum number of new papers fetched per topic and run.
+         */
+        private int maxNewPerTopic = 100;
+
+        /**
+         * Time after which the access count of a topic weighs half as much in choosing the watched topics.
+         */
+        private Duration accessHalfLife = Duration.ofDays(7);
+    }
+
+    /**
+     * Bulk import of arXiv metadata snapshots from local files.
+     */
+    @Data
+    public static class Ingest {
+
+        /**
+         * Snapshot files, or directories of them, imported in the background at startup: JSON-lines files
+         * ({@code .json}, {@code .jsonl}) of the Kaggle snapshot and OAI-PMH pages ({@code .xml}).
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Category prefixes, such as {@code cs.}, of the papers to import; empty to import every paper.
+         */
+        private List<String> categories = new ArrayList<>();
+
+        /**
+         * Number of threads parsing and saving papers.
+         */
+        private int workers = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Size of the chunks JSON-lines files are read in, and of the OAI-PMH files parsed whole by one worker.
+         */
+        private DataSize chunkSize = DataSize.ofMegabytes(4);
+
+        /**
+         * Number of papers saved at once from a large OAI-PMH file.
+         */
+        private int batchSize = 2000;
+
+        /**
+         * Number of imported papers added to the search indexes at once. Larger batches take the index locks
+         * less often, but imported papers only become searchable once their batch is indexed.
+         */
+        private int indexBatchSize = 20_000;
+
+        /**
+         * Import progress file, relative to the papers directory.
+         */
+        private String checkpointFile = "ingest.checkpoint";
+    }
+
+    /**
+     * Download, cache and text extraction of paper PDFs.
+     */
+    @Data
+    public static class Pdf {
+
+        /**
+         * URL the paper ID is appended to, to download its PDF.
+         */
+        private String baseUrl = "https://arxiv.org/pdf/";
+
+        /**
+         * Directory of the PDF cache, relative to the papers directory.
+         */
+        private String cacheDirectory = "pdfs";
+
+        /**
+         * Upper bound for the size of the cached PDFs and their extracted text; the least recently used are evicted first.
+         */
+        private DataSize maxCacheSize = DataSize.ofGigabytes(1);
+
+        /**
+         * Maximum number of PDFs downloaded at once.
+         */
+        private int maxDownloads = 2;
+
+        /**
+         * Time allowed to download one PDF, including the wait for a download slot.
+         */
+        private Duration downloadTimeout = Duration.ofMinutes(2);
+
+        /**
+         * Largest PDF downloaded; larger ones are rejected.
+         */
+        private DataSize maxPdfSize = DataSize.ofMegabytes(50);
+
+        /**
+         * Number of threads extracting text from PDFs.
+         */
+        private int extractWorkers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Maximum number of PDFs waiting for text extraction; further requests are rejected.
+         */
+        private int maxPendingExtractions = 32;
+    }
+}
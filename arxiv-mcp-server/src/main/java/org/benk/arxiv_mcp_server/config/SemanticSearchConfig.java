@@ -0,0 +1,21 @@
+package org.benk.arxiv_mcp_server.config;
+
+import org.benk.arxiv_mcp_server.search.Embedder;
+import org.benk.arxiv_mcp_server.search.HashingEmbedder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class providing the {@link Embedder} for semantic search
+ * unless the application defines its own.
+ */
+@Configuration
+public class SemanticSearchConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Embedder embedder(ArxivProperties properties) {
+        return new HashingEmbedder(properties.getSemantic().getDimensions());
+    }
+}
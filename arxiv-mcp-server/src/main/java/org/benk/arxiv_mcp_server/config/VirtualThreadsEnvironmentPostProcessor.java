@@ -0,0 +1,27 @@
+package org.benk.arxiv_mcp_server.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Extends {@code spring.threads.virtual.enabled} to the MCP sync handlers.
+ * <p>
+ * Spring Boot switches the servlet container and its task executors to virtual threads, and Feign calls
+ * run on the calling thread. The MCP server however runs sync tool, resource and prompt handlers on
+ * Reactor's bounded elastic scheduler, which is capped at ten platform threads per core. Reactor reads
+ * its virtual-thread switch once, when the {@code Schedulers} class initializes, so the system property
+ * is set here, before any bean touches Reactor.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String REACTOR_VIRTUAL_THREADS = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        boolean enabled = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (enabled && System.getProperty(REACTOR_VIRTUAL_THREADS) == null) {
+            System.setProperty(REACTOR_VIRTUAL_THREADS, "true");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.benk.arxiv_mcp_server.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -12,9 +13,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(@Value("${arxiv.api.url}") String apiUrl) {
         return WebClient.builder()
-                .baseUrl("http://export.arxiv.org/api/query")
+                .baseUrl(apiUrl)
                 .build();
     }
     
@@ -1,17 +1,43 @@
 package org.benk.arxiv_mcp_server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
 import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.PaperLookupResult;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
 import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.TopicCursor;
+import org.benk.arxiv_mcp_server.service.TopicMarkdownRenderer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import static org.springframework.http.ResponseEntity.badRequest;
 import static org.springframework.http.ResponseEntity.notFound;
 import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
 
 /**
  * Controller for arXiv API.
@@ -22,7 +48,25 @@ import static org.springframework.http.ResponseEntity.ok;
 @RequiredArgsConstructor
 public class ArxivMcpController {
 
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    /**
+     * Response header carrying the cursor of the next page of a topic.
+     */
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    /*
+     * Request attributes through which Tomcat offers sendfile and takes over writing a file as the response body.
+     */
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ArxivService arxivService;
+    private final PdfService pdfService;
+    private final ArxivProperties properties;
+    private final ObjectMapper objectMapper;
 
     /**
      * Search for papers on arXiv based on a topic.
@@ -55,6 +99,97 @@ public class ArxivMcpController {
         return notFound().build();
     }
 
+    /**
+     * Get the PDF of a paper, downloaded to the local PDF cache on first use.
+     * When the connector supports it, Tomcat sends the file with sendfile, without copying it into the JVM.
+     * Otherwise it is written with {@link FileChannel#transferTo} to the response stream, which, not being a
+     * file channel, copies it through a heap buffer a chunk at a time. Cached PDFs are stored by the hash of
+     * their content, which makes the hash a strong ETag.
+     *
+     * @param paperId     The ID of the paper
+     * @param ifNoneMatch ETags of the copies the client already holds
+     * @param request     The request, to hand the file over to sendfile
+     * @return The PDF, or 404 if arXiv has none for the paper
+     */
+    @GetMapping("/paper/{paperId}/pdf")
+    public ResponseEntity<StreamingResponseBody> getPaperPdf(
+            @PathVariable String paperId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request) throws IOException {
+        log.info("Getting PDF for paper: {}", paperId);
+        PdfService.CachedPdf pdf;
+        try {
+            pdf = pdfService.getPdf(paperId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejecting PDF request: {}", e.getMessage());
+            return badRequest().build();
+        }
+        if (pdf == null) {
+            return notFound().build();
+        }
+        String etag = "\"" + pdf.hash() + "\"";
+        if (matchesETag(ifNoneMatch, etag)) {
+            return status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(pdf.size())
+                .eTag(etag)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.inline().filename(paperId.replace('/', '_') + ".pdf").build().toString());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, pdf.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, pdf.size());
+            return response.build();
+        }
+        // Opened now, so that the file stays readable if it is evicted before the body is written. The
+        // response stream is no file channel, so transferTo copies through a heap buffer here
+        FileChannel channel = FileChannel.open(pdf.path());
+        StreamingResponseBody body = out -> {
+            try (channel) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                while (position < pdf.size()) {
+                    long transferred = channel.transferTo(position, pdf.size() - position, target);
+                    if (transferred == 0) {
+                        throw new EOFException("PDF ended after " + position + " bytes: " + pdf.path());
+                    }
+                    position += transferred;
+                }
+            }
+        };
+        return response.body(body);
+    }
+
+    /**
+     * Extract information about several papers at once.
+     *
+     * @param ids The IDs of the papers to look for
+     * @return Lookup result per paper ID, with either the paper information or an error message
+     */
+    @GetMapping("/papers")
+    public ResponseEntity<Map<String, PaperLookupResult>> extractInfos(@RequestParam List<String> ids) {
+        log.info("Extracting info for papers: {}", ids);
+        return ok(arxivService.extractPapersInfo(ids));
+    }
+
+    /**
+     * Search the papers held in the local store by title, summary and authors.
+     *
+     * @param query      Terms, "quoted phrases" and prefix* terms that must all match
+     * @param maxResults Maximum number of results to return (default: 10)
+     * @return Matching papers ordered by relevance
+     */
+    @GetMapping("/local-search")
+    public ResponseEntity<List<LocalSearchHit>> localSearch(
+            @RequestParam String query,
+            @RequestParam(required = false, defaultValue = "10") Integer maxResults) {
+        log.info("Searching local papers: query={}, maxResults={}", query, maxResults);
+        return ok(arxivService.localSearch(query, maxResults));
+    }
+
     /**
      * List all available topic folders in the papers directory.
      *
@@ -68,57 +203,94 @@ public class ArxivMcpController {
 
     /**
      * Get detailed information about papers on a specific topic.
+     * The JSON object is written one paper at a time while papers are read from the store, so even very
+     * large topics are served in constant memory. Passing a cursor or a limit returns a single page,
+     * and the cursor of the next page is sent in the {@value #NEXT_CURSOR} header.
      *
-     * @param topic The research topic to retrieve papers for
+     * @param topic  The research topic to retrieve papers for
+     * @param cursor Cursor of the page to return, from a previous {@value #NEXT_CURSOR} header
+     * @param limit  Maximum number of papers to return
      * @return Map of paper IDs to paper information
      */
     @GetMapping("/topic/{topic}")
-    public ResponseEntity<Map<String, PaperInfo>> getTopicPapers(@PathVariable String topic) {
-        log.info("Getting papers for topic: {}", topic);
-        Map<String, PaperInfo> papersData = arxivService.getTopicPapers(topic);
-
-        if (papersData.isEmpty()) {
+    public ResponseEntity<StreamingResponseBody> getTopicPapers(
+            @PathVariable String topic,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Getting papers for topic: {}, cursor={}, limit={}", topic, cursor, limit);
+        Page page = page(cursor, limit);
+        if (page == null) {
+            return badRequest().build();
+        }
+        int total = arxivService.countTopicPapers(topic);
+        if (total == 0) {
             return notFound().build();
         }
 
-        return ok(papersData);
+        ObjectWriter paperWriter = objectMapper.writerFor(PaperInfo.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                 Stream<Map.Entry<String, PaperInfo>> papers = arxivService.streamTopicPapers(topic, page.offset())) {
+                generator.writeStartObject();
+                Iterator<Map.Entry<String, PaperInfo>> iterator = papers.limit(page.limit()).iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, PaperInfo> entry = iterator.next();
+                    generator.writeFieldName(entry.getKey());
+                    paperWriter.writeValue(generator, entry.getValue());
+                }
+                generator.writeEndObject();
+            }
+        };
+        return page(ok().contentType(MediaType.APPLICATION_JSON), page, total).body(body);
     }
 
     /**
      * Get detailed information about papers on a specific topic in Markdown format.
+     * The rendered document is cached until the topic changes and carries an ETag, so a client
+     * revalidating with If-None-Match gets a 304 without a body. Topics too large to be cached are
+     * written one paper at a time instead. Passing a cursor or a limit returns a single page, and the
+     * cursor of the next page is sent in the {@value #NEXT_CURSOR} header.
      *
-     * @param topic The research topic to retrieve papers for
+     * @param topic       The research topic to retrieve papers for
+     * @param cursor      Cursor of the page to return, from a previous {@value #NEXT_CURSOR} header
+     * @param limit       Maximum number of papers to return
+     * @param ifNoneMatch ETags of the copies the client already holds
      * @return Markdown content with paper details
      */
     @GetMapping("/topic/{topic}/markdown")
-    public ResponseEntity<String> getTopicPapersMarkdown(@PathVariable String topic) {
-        log.info("Getting papers for topic in markdown: {}", topic);
-        Map<String, PaperInfo> papersData = arxivService.getTopicPapers(topic);
-
-        if (papersData.isEmpty()) {
-            return ok("# No papers found for topic: " + topic + "\n\nTry searching for papers on this topic first.");
+    public ResponseEntity<StreamingResponseBody> getTopicPapersMarkdown(
+            @PathVariable String topic,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Getting papers for topic in markdown: {}, cursor={}, limit={}", topic, cursor, limit);
+        Page page = page(cursor, limit);
+        if (page == null) {
+            return badRequest().build();
         }
 
-        StringBuilder content = new StringBuilder("# Papers on " + topic.replace("_", " ").toUpperCase() + "\n\n");
-        content.append("Total papers: ").append(papersData.size()).append("\n\n");
-
-        for (Map.Entry<String, PaperInfo> entry : papersData.entrySet()) {
-            String paperId = entry.getKey();
-            PaperInfo paperInfo = entry.getValue();
-
-            content.append("## ").append(paperInfo.getTitle()).append("\n");
-            content.append("- **Paper ID**: ").append(paperId).append("\n");
-            content.append("- **Authors**: ").append(String.join(", ", paperInfo.getAuthors())).append("\n");
-            content.append("- **Published**: ").append(paperInfo.getPublished()).append("\n");
-            content.append("- **PDF URL**: [").append(paperInfo.getPdfUrl()).append("](")
-                    .append(paperInfo.getPdfUrl()).append(")\n\n");
-            //noinspection StringOperationCanBeSimplified
-            content.append("### Summary\n").append(paperInfo.getSummary().substring(0, Math.min(500, paperInfo.getSummary().length())))
-                    .append("...\n\n");
-            content.append("---\n\n");
+        if (page.offset() == 0 && page.limit() == Integer.MAX_VALUE) {
+            TopicMarkdownRenderer.RenderedTopic rendered = arxivService.getTopicMarkdown(topic);
+            if (rendered != null) {
+                if (rendered.papers() == 0) {
+                    return emptyTopic(topic);
+                }
+                if (matchesETag(ifNoneMatch, rendered.etag())) {
+                    return status(HttpStatus.NOT_MODIFIED).eTag(rendered.etag()).build();
+                }
+                byte[] bytes = rendered.bytes();
+                return ok().contentType(TEXT_PLAIN_UTF8).eTag(rendered.etag()).body(out -> out.write(bytes));
+            }
         }
 
-        return ok(content.toString());
+        int total = arxivService.countTopicPapers(topic);
+        if (total == 0) {
+            return emptyTopic(topic);
+        }
+        StreamingResponseBody body = out -> arxivService.writeTopicMarkdown(topic, page.offset(), page.limit(), out);
+        return page(ok().contentType(TEXT_PLAIN_UTF8), page, total).body(body);
     }
 
     /**
@@ -162,4 +334,58 @@ public class ArxivMcpController {
 
         return ok(prompt);
     }
+
+    private ResponseEntity<StreamingResponseBody> emptyTopic(String topic) {
+        byte[] content = ("# No papers found for topic: " + topic + "\n\nTry searching for papers on this topic first.")
+                .getBytes(StandardCharsets.UTF_8);
+        return ok().contentType(TEXT_PLAIN_UTF8).body(out -> out.write(content));
+    }
+
+    /**
+     * Resolve the requested page; without a cursor or a limit, the whole topic is one page.
+     *
+     * @return The page, or null if the cursor or the limit is invalid
+     */
+    private Page page(String cursor, Integer limit) {
+        if (limit != null && limit <= 0) {
+            return null;
+        }
+        int offset;
+        try {
+            offset = TopicCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejecting topic page request: {}", e.getMessage());
+            return null;
+        }
+        if (limit != null) {
+            return new Page(offset, limit);
+        }
+        return new Page(offset, cursor == null ? Integer.MAX_VALUE : properties.getMarkdown().getPageSize());
+    }
+
+    private static ResponseEntity.BodyBuilder page(ResponseEntity.BodyBuilder response, Page page, int total) {
+        if ((long) page.offset() + page.limit() < total) {
+            response.header(NEXT_CURSOR, TopicCursor.encode(page.offset() + page.limit()));
+        }
+        return response;
+    }
+
+    private record Page(int offset, int limit) {
+    }
+
+    /**
+     * Check an If-None-Match header against an ETag, using the weak comparison RFC 9110 requires for it.
+     */
+    static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
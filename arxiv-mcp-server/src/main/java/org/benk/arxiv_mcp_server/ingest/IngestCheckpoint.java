@@ -0,0 +1,72 @@
+package org.benk.arxiv_mcp_server.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Progress of a snapshot import, persisted so that an interrupted import resumes where it stopped.
+ * <p>
+ * Each snapshot file maps to the position up to which its papers are saved: a byte offset for JSON-lines
+ * files, a record count for OAI-PMH files, or {@link #COMPLETE}. The checkpoint is rewritten to a temporary
+ * file and moved over the previous one, so a crash leaves either the old or the new progress.
+ */
+@Slf4j
+class IngestCheckpoint {
+
+    static final long COMPLETE = -1;
+
+    private final Path file;
+    private final Properties positions = new Properties();
+
+    IngestCheckpoint(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                positions.load(reader);
+            } catch (IOException e) {
+                log.error("Error reading import checkpoint: {}", file, e);
+                throw new RuntimeException("Error reading import checkpoint", e);
+            }
+        }
+    }
+
+    /**
+     * @return The position up to which the papers of a snapshot file are saved, 0 if none are
+     */
+    synchronized long position(Path snapshot) {
+        return Long.parseLong(positions.getProperty(key(snapshot), "0"));
+    }
+
+    synchronized boolean isComplete(Path snapshot) {
+        return position(snapshot) == COMPLETE;
+    }
+
+    /**
+     * Record that the papers of a snapshot file are saved up to a position.
+     */
+    synchronized void save(Path snapshot, long position) {
+        positions.setProperty(key(snapshot), Long.toString(position));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                positions.store(writer, "arXiv snapshot import progress");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Error writing import checkpoint: {}", file, e);
+            throw new RuntimeException("Error writing import checkpoint", e);
+        }
+    }
+
+    private static String key(Path snapshot) {
+        return snapshot.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,134 @@
+package org.benk.arxiv_mcp_server.ingest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parser for the JSON-lines arXiv metadata snapshot published on Kaggle, one record per line.
+ * <p>
+ * Records are bound straight from the bytes of a chunk of lines, so chunks can be parsed on several threads.
+ * The ID of an imported paper carries the suffix of its latest version, like the IDs returned by the API.
+ */
+class KaggleSnapshotParser {
+
+    private static final ObjectReader READER = new ObjectMapper().readerFor(KaggleRecord.class);
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record KaggleRecord(String id,
+                        String title,
+                        @JsonProperty("abstract") String summary,
+                        String authors,
+                        @JsonProperty("authors_parsed") List<List<String>> authorsParsed,
+                        String categories,
+                        List<KaggleVersion> versions) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record KaggleVersion(String version, String created) {
+    }
+
+    private final long fetchedAt;
+
+    /**
+     * @param fetchedAt When the snapshot was taken, in epoch milliseconds
+     */
+    KaggleSnapshotParser(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * Parse the lines of a chunk.
+     *
+     * @param chunk     Buffer holding whole lines
+     * @param length    Number of bytes of the buffer to parse
+     * @param papers    Receives each paper parsed
+     * @param malformed Receives the error of each line that is not a valid record
+     */
+    void parse(byte[] chunk, int length, Consumer<SnapshotPaper> papers, Consumer<String> malformed) {
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && chunk[end] != '\n') {
+                end++;
+            }
+            if (!isBlank(chunk, start, end)) {
+                try {
+                    papers.accept(toPaper(READER.readValue(chunk, start, end - start)));
+                } catch (IOException | RuntimeException e) {
+                    malformed.accept(e.getMessage());
+                }
+            }
+            start = end + 1;
+        }
+    }
+
+    private static boolean isBlank(byte[] chunk, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(chunk[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SnapshotPaper toPaper(KaggleRecord record) {
+        if (record.id() == null || record.title() == null) {
+            throw new IllegalArgumentException("Record without id or title");
+        }
+        List<KaggleVersion> versions = record.versions() != null ? record.versions() : List.of();
+        Integer version = null;
+        String published = null;
+        String updated = null;
+        if (!versions.isEmpty()) {
+            KaggleVersion latest = versions.getLast();
+            version = latest.version() != null && latest.version().startsWith("v")
+                    ? Integer.valueOf(latest.version().substring(1))
+                    : versions.size();
+            published = versions.getFirst().created();
+            updated = latest.created();
+        }
+        return SnapshotPaper.of(record.id(), version, record.title(), record.summary(), authors(record),
+                record.categories(), published, updated, fetchedAt);
+    }
+
+    /**
+     * Names of the authors from their parsed [last name, first names, suffix] form, or else from the raw list.
+     */
+    private static List<String> authors(KaggleRecord record) {
+        List<String> authors = new ArrayList<>();
+        if (record.authorsParsed() != null && !record.authorsParsed().isEmpty()) {
+            for (List<String> parts : record.authorsParsed()) {
+                StringBuilder name = new StringBuilder();
+                append(name, parts, 1);
+                append(name, parts, 0);
+                append(name, parts, 2);
+                if (!name.isEmpty()) {
+                    authors.add(name.toString());
+                }
+            }
+        } else if (record.authors() != null) {
+            for (String name : record.authors().split(",\\s*|\\s+and\\s+")) {
+                if (!name.isBlank()) {
+                    authors.add(name);
+                }
+            }
+        }
+        return authors;
+    }
+
+    private static void append(StringBuilder name, List<String> parts, int index) {
+        if (parts.size() > index && parts.get(index) != null && !parts.get(index).isBlank()) {
+            if (!name.isEmpty()) {
+                name.append(' ');
+            }
+            name.append(parts.get(index).trim());
+        }
+    }
+}
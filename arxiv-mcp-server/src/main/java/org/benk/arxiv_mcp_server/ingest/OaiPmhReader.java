@@ -0,0 +1,232 @@
+package org.benk.arxiv_mcp_server.ingest;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Pull-based reader for OAI-PMH ListRecords responses of the arXiv metadata formats {@code arXiv} and
+ * {@code arXivRaw}, as saved page by page by a harvester.
+ * <p>
+ * Records are decoded one at a time straight from the stream, so a whole harvest saved as one file is read in
+ * bounded memory. Elements are matched on their local name, like {@link org.benk.arxiv_mcp_server.client.AtomFeedReader}
+ * does. Deleted records, and records without an ID or a title, are skipped and counted.
+ */
+public class OaiPmhReader implements Iterator<SnapshotPaper>, Closeable {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final XMLStreamReader reader;
+    private final long fetchedAt;
+
+    private SnapshotPaper next;
+    private int skipped;
+
+    /**
+     * Open a reader on an OAI-PMH response and read up to its first record.
+     *
+     * @param inputStream The response, typically a saved page of a harvest
+     * @param fetchedAt   When the response was harvested, in epoch milliseconds
+     */
+    public OaiPmhReader(InputStream inputStream, long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+        try {
+            this.reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            advance();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Error parsing OAI-PMH response", e);
+        }
+    }
+
+    /**
+     * @return The number of records skipped so far
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public SnapshotPaper next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        SnapshotPaper paper = next;
+        try {
+            advance();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Error parsing OAI-PMH response", e);
+        }
+        return paper;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Error closing OAI-PMH response", e);
+        }
+    }
+
+    /**
+     * Read up to the next record that can be imported.
+     */
+    private void advance() throws XMLStreamException {
+        next = null;
+        while (next == null && reader.hasNext()) {
+            if (reader.next() == START_ELEMENT && "record".equals(reader.getLocalName())) {
+                next = readRecord();
+                if (next == null) {
+                    skipped++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The paper of the record the reader is at, or null if it cannot be imported
+     */
+    private SnapshotPaper readRecord() throws XMLStreamException {
+        boolean deleted = false;
+        String id = null;
+        String title = null;
+        String summary = null;
+        String categories = null;
+        String created = null;
+        String updated = null;
+        List<String> authors = new ArrayList<>();
+        Integer version = null;
+        String firstVersionDate = null;
+        String lastVersionDate = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != START_ELEMENT) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "header" -> {
+                    deleted = "deleted".equals(reader.getAttributeValue(null, "status"));
+                    depth++;
+                }
+                case "id" -> id = reader.getElementText();
+                case "title" -> title = reader.getElementText();
+                case "abstract" -> summary = reader.getElementText();
+                case "categories" -> categories = reader.getElementText();
+                case "created" -> created = reader.getElementText();
+                case "updated" -> updated = reader.getElementText();
+                case "authors" -> readAuthors(authors);
+                case "version" -> {
+                    // arXivRaw lists every version with its date
+                    String name = reader.getAttributeValue(null, "version");
+                    if (name != null && name.startsWith("v")) {
+                        version = Integer.valueOf(name.substring(1));
+                    }
+                    depth++;
+                }
+                case "date" -> {
+                    lastVersionDate = reader.getElementText();
+                    if (firstVersionDate == null) {
+                        firstVersionDate = lastVersionDate;
+                    }
+                }
+                default -> depth++;
+            }
+        }
+        if (deleted || id == null || title == null) {
+            return null;
+        }
+        return SnapshotPaper.of(id.trim(), version, title, summary, authors, categories,
+                firstVersionDate != null ? firstVersionDate : created,
+                lastVersionDate != null ? lastVersionDate : updated,
+                fetchedAt);
+    }
+
+    /**
+     * Read the authors of the {@code arXiv} format, one element each, or the comma-separated list of {@code arXivRaw}.
+     */
+    private void readAuthors(List<String> authors) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == END_ELEMENT) {
+                depth--;
+            } else if (event == CHARACTERS && depth == 1) {
+                text.append(reader.getText());
+            } else if (event == START_ELEMENT) {
+                if ("author".equals(reader.getLocalName())) {
+                    authors.add(readAuthor());
+                } else {
+                    depth++;
+                }
+            }
+        }
+        if (authors.isEmpty()) {
+            for (String name : SnapshotPaper.normalize(text.toString()).split(",\\s*|\\s+and\\s+")) {
+                if (!name.isBlank()) {
+                    authors.add(name);
+                }
+            }
+        }
+    }
+
+    private String readAuthor() throws XMLStreamException {
+        String keyname = null;
+        String forenames = null;
+        String suffix = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == END_ELEMENT) {
+                depth--;
+            } else if (event == START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "keyname" -> keyname = reader.getElementText();
+                    case "forenames" -> forenames = reader.getElementText();
+                    case "suffix" -> suffix = reader.getElementText();
+                    default -> depth++;
+                }
+            }
+        }
+        StringBuilder name = new StringBuilder();
+        for (String part : new String[]{forenames, keyname, suffix}) {
+            if (part != null && !part.isBlank()) {
+                if (!name.isEmpty()) {
+                    name.append(' ');
+                }
+                name.append(part.trim());
+            }
+        }
+        return name.toString();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = new WstxInputFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
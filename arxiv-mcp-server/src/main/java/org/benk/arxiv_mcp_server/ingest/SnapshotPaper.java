@@ -0,0 +1,87 @@
+package org.benk.arxiv_mcp_server.ingest;
+
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A paper read from an arXiv metadata snapshot.
+ *
+ * @param paperId    The arXiv ID, with the vN suffix of the latest version when the snapshot lists versions
+ * @param categories The arXiv categories of the paper, primary category first
+ * @param paper      The paper information, as the arXiv API would have returned it
+ */
+public record SnapshotPaper(String paperId, List<String> categories, PaperInfo paper) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * @return The primary category, which names the topic the paper is imported into
+     */
+    public String primaryCategory() {
+        return categories.isEmpty() ? "uncategorized" : categories.getFirst();
+    }
+
+    /**
+     * Map the fields of a snapshot record, which keep the line breaks of the submitted metadata.
+     *
+     * @param id         The arXiv ID without version
+     * @param version    The latest version number, or null if unknown
+     * @param title      The title
+     * @param summary    The abstract
+     * @param authors    The author names
+     * @param categories The space-separated categories
+     * @param published  The date of the first version, RFC 1123 or ISO
+     * @param updated    The date of the latest version, RFC 1123 or ISO
+     * @param fetchedAt  When the snapshot was taken, in epoch milliseconds
+     */
+    static SnapshotPaper of(String id, Integer version, String title, String summary, List<String> authors,
+                            String categories, String published, String updated, long fetchedAt) {
+        String paperId = version != null ? id + "v" + version : id;
+        return new SnapshotPaper(paperId, split(categories), PaperInfo.builder()
+                .title(normalize(title))
+                .authors(authors.stream().map(SnapshotPaper::normalize).toList())
+                .summary(normalize(summary))
+                .pdfUrl("https://arxiv.org/pdf/" + paperId + ".pdf")
+                .published(toInstant(published))
+                .updated(toInstant(updated != null ? updated : published))
+                .version(version)
+                .fetchedAt(fetchedAt)
+                .build());
+    }
+
+    static String normalize(String text) {
+        return text == null ? null : WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    private static List<String> split(String categories) {
+        String normalized = normalize(categories);
+        return normalized == null || normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    /**
+     * Convert a snapshot date to the ISO instant format of the arXiv API, keeping dates that cannot be parsed as is.
+     */
+    static String toInstant(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        String trimmed = date.trim();
+        try {
+            if (Character.isDigit(trimmed.charAt(0))) {
+                return trimmed.length() == 10
+                        ? LocalDate.parse(trimmed).atStartOfDay(ZoneOffset.UTC).format(DateTimeFormatter.ISO_INSTANT)
+                        : trimmed;
+            }
+            return ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).format(DateTimeFormatter.ISO_INSTANT);
+        } catch (DateTimeParseException e) {
+            return trimmed;
+        }
+    }
+}
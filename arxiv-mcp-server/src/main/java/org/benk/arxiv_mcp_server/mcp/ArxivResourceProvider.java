@@ -5,18 +5,21 @@ import io.modelcontextprotocol.spec.McpSchema.ReadResourceRequest;
 import io.modelcontextprotocol.spec.McpSchema.ReadResourceResult;
 import io.modelcontextprotocol.spec.McpSchema.TextResourceContents;
 import lombok.RequiredArgsConstructor;
-import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.pdf.PaperText;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
 import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.TopicCursor;
+import org.benk.arxiv_mcp_server.service.TopicMarkdownRenderer;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ArxivResourceProvider {
 
     private final ArxivService arxivService;
+    private final PdfService pdfService;
 
     /**
      *  List all available topic folders in the papers directory.
@@ -25,8 +28,10 @@ public class ArxivResourceProvider {
     @McpResource(uri = "papers://folders", name = "Papers Folders", description = "Returns a list of folders containing papers")
     public ReadResourceResult listPapersFolders(ReadResourceRequest request) {
         // Get the list of topic folders from the arXiv service
-        var folders = arxivService.getAvailableFolders();
+        return foldersResult(request.uri(), arxivService.getAvailableFolders());
+    }
 
+    static ReadResourceResult foldersResult(String uri, List<String> folders) {
         // Create a simple markdown list
         StringBuilder content = new StringBuilder("# Available Topics\n\n");
         if (folders != null && !folders.isEmpty()) {
@@ -37,7 +42,7 @@ public class ArxivResourceProvider {
         } else {
             content.append("No topics found.\n");
         }
-        return new ReadResourceResult(List.of(new TextResourceContents(request.uri(), "text/plain", content.toString())));
+        return new ReadResourceResult(List.of(new TextResourceContents(uri, "text/plain", content.toString())));
     }
 
 
@@ -48,41 +53,95 @@ public class ArxivResourceProvider {
      */
     @McpResource(uri = "papers://{topic}", name = "Papers by Topic", description = "Returns a list of papers for a specific topic")
     public ReadResourceResult getTopicPapers(String topic) {
-        var papers = arxivService.getTopicPapers(topic);
-
         try {
-            // Load papers data from the arXiv service (simulate reading from file)
-            StringBuilder content = new StringBuilder("# Papers on ")
-                    .append(topic.replace("_", " ").substring(0, 1).toUpperCase())
-                    .append(topic.replace("_", " ").substring(1))
-                    .append("\n\n");
-
-            content.append("Total papers: ").append(papers.size()).append("\n\n");
-
-            for (Map.Entry<String, PaperInfo> entry : papers.entrySet()) {
-                String paperId = entry.getKey();
-                PaperInfo paperInfo = entry.getValue();
-
-                content.append("## ").append(paperInfo.getTitle()).append("\n");
-                content.append("- **Paper ID**: ").append(paperId).append("\n");
-                content.append("- **Authors**: ").append(String.join(", ", paperInfo.getAuthors())).append("\n");
-                content.append("- **Published**: ").append(paperInfo.getPublished()).append("\n");
-                content.append("- **PDF URL**: [").append(paperInfo.getPdfUrl()).append("](").append(paperInfo.getPdfUrl()).append(")\n\n");
-                content.append("### Summary\n")
-                        .append(paperInfo.getSummary().length() > 500
-                                ? paperInfo.getSummary().substring(0, 500) + "..."
-                                : paperInfo.getSummary())
-                        .append("\n\n---\n\n");
+            TopicMarkdownRenderer.RenderedTopic rendered = arxivService.getTopicMarkdown(topic);
+            if (rendered == null) {
+                // Too large to be read whole, serve the first page and point to the next one
+                return topicPageResult(topic, "papers://" + topic, arxivService.getTopicMarkdownPage(topic, 0));
             }
+            return topicPapersResult(topic, rendered);
+        } catch (RuntimeException e) {
+            return topicPapersError(topic);
+        }
+    }
 
-            return new ReadResourceResult(List.of(
-                    new TextResourceContents("papers://" + topic, "text/plain", content.toString())
-            ));
-        } catch (Exception e) {
-            String errorMsg = "# Error reading papers data for " + topic + "\n\nThe papers data is corrupted or unavailable.";
-            return new ReadResourceResult(List.of(
-                    new TextResourceContents("papers://" + topic, "text/plain", errorMsg)
-            ));
+    /**
+     *     Get one page of the papers on a specific topic, for topics too large to be read at once.
+     *     ReadResourceRequest has no cursor, so the cursor is part of the resource URI.
+     *     Args:
+     *         topic: The research topic to retrieve papers for
+     *         cursor: The cursor named at the end of the previous page
+     */
+    @McpResource(uri = "papers://{topic}/page/{cursor}", name = "Page of Papers by Topic",
+            description = "Returns one page of the papers for a specific topic")
+    public ReadResourceResult getTopicPapersPage(String topic, String cursor) {
+        String uri = "papers://" + topic + "/page/" + cursor;
+        int offset;
+        try {
+            offset = TopicCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(uri, cursor);
+        }
+        try {
+            return topicPageResult(topic, uri, arxivService.getTopicMarkdownPage(topic, offset));
+        } catch (RuntimeException e) {
+            return topicPapersError(topic);
         }
     }
+
+    /**
+     *     Get the full text of a paper, extracted from its PDF.
+     *     The PDF is downloaded on first use and kept in the local PDF cache.
+     *     Args:
+     *         paperId: The ID of the paper
+     */
+    @McpResource(uri = "papers://{paperId}/fulltext", name = "Paper Full Text",
+            description = "Returns the full text of a paper, extracted from its PDF")
+    public ReadResourceResult getPaperFullText(String paperId) {
+        try {
+            return fullTextResult(paperId, pdfService.getText(paperId));
+        } catch (RuntimeException e) {
+            return fullTextError(paperId, e);
+        }
+    }
+
+    static ReadResourceResult fullTextResult(String paperId, PaperText text) {
+        String content = text != null ? text.text() : "# No PDF found for paper " + paperId;
+        return new ReadResourceResult(List.of(
+                new TextResourceContents("papers://" + paperId + "/fulltext", "text/plain", content)
+        ));
+    }
+
+    static ReadResourceResult fullTextError(String paperId, RuntimeException e) {
+        String errorMsg = "# Error reading the full text of paper " + paperId + "\n\n" + e.getMessage();
+        return new ReadResourceResult(List.of(
+                new TextResourceContents("papers://" + paperId + "/fulltext", "text/plain", errorMsg)
+        ));
+    }
+
+    static ReadResourceResult topicPapersResult(String topic, TopicMarkdownRenderer.RenderedTopic rendered) {
+        return new ReadResourceResult(List.of(
+                new TextResourceContents("papers://" + topic, "text/plain", rendered.markdown())
+        ));
+    }
+
+    static ReadResourceResult topicPageResult(String topic, String uri, TopicMarkdownRenderer.RenderedPage page) {
+        String content = page.markdown();
+        if (page.nextCursor() != null) {
+            content += "More papers: papers://" + topic + "/page/" + page.nextCursor() + "\n";
+        }
+        return new ReadResourceResult(List.of(new TextResourceContents(uri, "text/plain", content)));
+    }
+
+    static ReadResourceResult invalidCursor(String uri, String cursor) {
+        String errorMsg = "# Invalid cursor: " + cursor + "\n\nUse the cursor named at the end of the previous page.";
+        return new ReadResourceResult(List.of(new TextResourceContents(uri, "text/plain", errorMsg)));
+    }
+
+    static ReadResourceResult topicPapersError(String topic) {
+        String errorMsg = "# Error reading papers data for " + topic + "\n\nThe papers data is corrupted or unavailable.";
+        return new ReadResourceResult(List.of(
+                new TextResourceContents("papers://" + topic, "text/plain", errorMsg)
+        ));
+    }
 }
@@ -1,24 +1,70 @@
 package org.benk.arxiv_mcp_server.mcp;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ProgressNotification;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
 import lombok.RequiredArgsConstructor;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
 import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.PaperLookupResult;
+import org.benk.arxiv_mcp_server.pdf.PaperText;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
 import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.SearchProgressListener;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ArxivTools {
     private final ArxivService arxivService;
+    private final PdfService pdfService;
+    private final ObjectMapper objectMapper;
 
-    @Tool(description = "Given a topic, return up to maxResults academic paper titles/URLs related to that topic.")
-    public List<String> searchPapers(String topic, int maxResults) {
-        if (maxResults <= 0) {
-            throw new IllegalArgumentException("maxResults must be greater than 0");
+    /**
+     * The searchPapers tool, built by hand rather than from a {@code @Tool} method because Spring AI tool
+     * callbacks do not see the request's {@code progressToken}. Each saved page of results is reported to
+     * clients that sent one, like the async tool of {@link ReactiveArxivTools} does.
+     */
+    public SyncToolSpecification searchPapersSpecification() {
+        return SyncToolSpecification.builder()
+                .tool(McpSchema.Tool.builder()
+                        .name("searchPapers")
+                        .description("Given a topic, return up to maxResults academic paper titles/URLs related to that topic.")
+                        .inputSchema("""
+                                {"type":"object","properties":{"topic":{"type":"string"},"maxResults":{"type":"integer","format":"int32"}},"required":["topic","maxResults"],"additionalProperties":false}""")
+                        .build())
+                .callHandler(this::searchPapers)
+                .build();
+    }
+
+    CallToolResult searchPapers(McpSyncServerExchange exchange, CallToolRequest request) {
+        String topic = (String) request.arguments().get("topic");
+        Number maxResults = (Number) request.arguments().get("maxResults");
+        if (maxResults == null || maxResults.intValue() <= 0) {
+            return error("maxResults must be greater than 0");
+        }
+        // Progress is only reported to clients that asked for it with a token
+        Object progressToken = request.meta() != null ? request.meta().get("progressToken") : null;
+        SearchProgressListener listener = exchange == null || progressToken == null ? SearchProgressListener.NONE
+                : (paperIds, fetched, total) -> exchange.progressNotification(new ProgressNotification(
+                        progressToken.toString(), fetched, (double) total, "Saved " + fetched + " of " + total + " papers"));
+        try {
+            return result(arxivService.searchPapers(topic, maxResults.intValue(), listener));
+        } catch (RuntimeException e) {
+            // Reported to the client as a failed call, as Spring AI does for the @Tool methods
+            return error(e.getMessage());
         }
-        return arxivService.searchPapers(topic, maxResults);
     }
 
     @Tool(description = "Given a paper ID, return the title, authors, summary, and PDF URL of the paper.")
@@ -29,4 +75,73 @@ public class ArxivTools {
         return arxivService.extractPaperInfo(paperId);
     }
 
+    @Tool(description = "Given a list of paper IDs, return the title, authors, summary, and PDF URL of each paper, or an error per ID that could not be found.")
+    public Map<String, PaperLookupResult> extractPapersInfo(List<String> paperIds) {
+        if (paperIds == null || paperIds.isEmpty()) {
+            throw new IllegalArgumentException("paperIds cannot be null or empty");
+        }
+        return arxivService.extractPapersInfo(paperIds);
+    }
+
+    @Tool(description = "Search the papers already stored locally by title, summary and authors, without calling arXiv. "
+            + "All terms must match; use \"quoted phrases\" for exact phrases and a trailing * for prefixes. Results are ranked by relevance.")
+    public List<LocalSearchHit> localSearch(String query, int maxResults) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query cannot be null or empty");
+        }
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be greater than 0");
+        }
+        return arxivService.localSearch(query, maxResults);
+    }
+
+    @Tool(description = "Find papers already stored locally that are related in meaning to a free-text query, "
+            + "even when they use different words. Results are ranked by similarity.")
+    public List<LocalSearchHit> semanticSearch(String query, int maxResults) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query cannot be null or empty");
+        }
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be greater than 0");
+        }
+        return arxivService.semanticSearch(query, maxResults);
+    }
+
+    @Tool(description = "Given a paper ID, return the full text of the paper extracted from its PDF, preceded by the outline of its sections. "
+            + "Pass a section number or title, such as \"3\" or \"Introduction\", to return only that section.")
+    public String getPaperFullText(String paperId, @ToolParam(required = false) String section) {
+        if (paperId == null || paperId.isEmpty()) {
+            throw new IllegalArgumentException("paperId cannot be null or empty");
+        }
+        return fullText(paperId, pdfService.getText(paperId), section);
+    }
+
+    /**
+     * Render the full text of a paper, or one of its sections, as returned by the getPaperFullText tool.
+     */
+    static String fullText(String paperId, PaperText text, String section) {
+        if (text == null) {
+            return "No PDF found for paper " + paperId;
+        }
+        if (section == null || section.isBlank()) {
+            return "# Sections\n\n" + text.outline() + "\n# Full text\n\n" + text.text();
+        }
+        String content = text.section(section);
+        if (content == null) {
+            return "No section \"" + section + "\" in paper " + paperId + ". Sections:\n\n" + text.outline();
+        }
+        return content;
+    }
+
+    private CallToolResult result(Object value) {
+        try {
+            return new CallToolResult(List.of(new TextContent(objectMapper.writeValueAsString(value))), false);
+        } catch (JsonProcessingException e) {
+            return error("Error serializing tool result: " + e.getMessage());
+        }
+    }
+
+    private static CallToolResult error(String message) {
+        return new CallToolResult(List.of(new TextContent(message)), true);
+    }
 }
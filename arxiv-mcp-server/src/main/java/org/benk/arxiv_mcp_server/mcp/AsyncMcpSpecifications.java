@@ -0,0 +1,86 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.logaritex.mcp.annotation.CompleteAdapter;
+import com.logaritex.mcp.annotation.McpComplete;
+import com.logaritex.mcp.annotation.McpPrompt;
+import com.logaritex.mcp.annotation.McpResource;
+import com.logaritex.mcp.annotation.PromptAdaptor;
+import com.logaritex.mcp.method.complete.AsyncMcpCompleteMethodCallback;
+import com.logaritex.mcp.method.prompt.AsyncMcpPromptMethodCallback;
+import com.logaritex.mcp.method.resource.AsyncMcpResourceMethodCallback;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncCompletionSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncPromptSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncResourceSpecification;
+import io.modelcontextprotocol.spec.McpSchema.Resource;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds async MCP specifications from {@link McpResource}, {@link McpPrompt} and {@link McpComplete} methods
+ * returning {@link Mono},
+ * the async counterpart of {@code SpringAiMcpAnnotationProvider}, which only creates sync specifications.
+ */
+public final class AsyncMcpSpecifications {
+
+    private AsyncMcpSpecifications() {
+    }
+
+    public static List<AsyncResourceSpecification> resources(List<Object> providers) {
+        return providers.stream()
+                .flatMap(provider -> monoMethods(provider, McpResource.class).stream().map(method -> {
+                    McpResource annotation = method.getAnnotation(McpResource.class);
+                    String name = annotation.name().isEmpty() ? method.getName() : annotation.name();
+                    Resource resource = Resource.builder()
+                            .uri(annotation.uri())
+                            .name(name)
+                            .description(annotation.description())
+                            .mimeType(annotation.mimeType())
+                            .build();
+                    AsyncMcpResourceMethodCallback callback = AsyncMcpResourceMethodCallback.builder()
+                            .method(method)
+                            .bean(provider)
+                            .resource(resource)
+                            .build();
+                    return new AsyncResourceSpecification(resource, callback);
+                }))
+                .toList();
+    }
+
+    public static List<AsyncPromptSpecification> prompts(List<Object> providers) {
+        return providers.stream()
+                .flatMap(provider -> monoMethods(provider, McpPrompt.class).stream().map(method -> {
+                    var prompt = PromptAdaptor.asPrompt(method.getAnnotation(McpPrompt.class), method);
+                    AsyncMcpPromptMethodCallback callback = AsyncMcpPromptMethodCallback.builder()
+                            .method(method)
+                            .bean(provider)
+                            .prompt(prompt)
+                            .build();
+                    return new AsyncPromptSpecification(prompt, callback);
+                }))
+                .toList();
+    }
+
+    public static List<AsyncCompletionSpecification> completions(List<Object> providers) {
+        return providers.stream()
+                .flatMap(provider -> monoMethods(provider, McpComplete.class).stream().map(method -> {
+                    McpComplete annotation = method.getAnnotation(McpComplete.class);
+                    AsyncMcpCompleteMethodCallback callback = AsyncMcpCompleteMethodCallback.builder()
+                            .method(method)
+                            .bean(provider)
+                            .complete(annotation)
+                            .build();
+                    return new AsyncCompletionSpecification(CompleteAdapter.asCompleteReference(annotation, method), callback);
+                }))
+                .toList();
+    }
+
+    private static List<Method> monoMethods(Object provider, Class<? extends java.lang.annotation.Annotation> annotation) {
+        return Arrays.stream(provider.getClass().getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(annotation))
+                .filter(method -> Mono.class.isAssignableFrom(method.getReturnType()))
+                .toList();
+    }
+}
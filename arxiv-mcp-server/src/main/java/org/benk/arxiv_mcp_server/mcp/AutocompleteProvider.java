@@ -1,85 +1,79 @@
 package org.benk.arxiv_mcp_server.mcp;
 
+import com.logaritex.mcp.annotation.McpComplete;
+import io.modelcontextprotocol.spec.McpSchema.CompleteRequest;
+import io.modelcontextprotocol.spec.McpSchema.CompleteRequest.CompleteArgument;
+import io.modelcontextprotocol.spec.McpSchema.CompleteResult;
+import io.modelcontextprotocol.spec.McpSchema.CompleteResult.CompleteCompletion;
+import lombok.RequiredArgsConstructor;
+import org.benk.arxiv_mcp_server.search.AutocompleteIndex;
+import org.benk.arxiv_mcp_server.search.CompletionTrie.Completions;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
+/**
+ * Completion of prompt arguments and resource URIs from the topics, authors and titles of the stored papers.
+ */
 @Service
+@RequiredArgsConstructor
 public class AutocompleteProvider {
 
-    private final Map<String, List<String>> countryDatabase = new HashMap<>();
+    static final int MAX_VALUES = 10;
 
-    private final Map<String, List<String>> usernameDatabase = new HashMap<>();
+    private static final List<String> PAPER_COUNTS = List.of("5", "10", "20", "50");
 
-    public AutocompleteProvider() {
+    private final AutocompleteIndex autocompleteIndex;
 
-        usernameDatabase.put("a", List.of("alex123", "admin", "alice_wonder", "andrew99"));
-        usernameDatabase.put("b", List.of("bob_builder", "blue_sky", "batman", "butterfly"));
-        usernameDatabase.put("c", List.of("charlie", "cool_cat", "coder42", "captain_marvel"));
-        usernameDatabase.put("d", List.of("david_dev", "dragon_slayer", "diamond_hand", "dancer"));
-        usernameDatabase.put("j", List.of("john_doe", "java_expert", "jazz_lover", "jupiter"));
-        usernameDatabase.put("m", List.of("martin123", "moon_walker", "master_chef", "music_fan"));
-        usernameDatabase.put("s", List.of("sarah", "super_coder", "star_gazer", "swift_dev"));
-        usernameDatabase.put("t", List.of("tech_guru", "traveler", "tiger", "tester101"));
+    /**
+     * Complete the arguments of the search prompt.
+     * The topic is completed from stored topics first, then from author names and paper titles.
+     */
+    @McpComplete(prompt = "generate-search-prompt")
+    public CompleteResult completeSearchPrompt(CompleteRequest request) {
+        return searchPromptCompletion(autocompleteIndex, request.argument());
+    }
+
+    /**
+     * Complete the topic of a papers resource URI from the stored topic directories.
+     */
+    @McpComplete(uri = "papers://{topic}")
+    public CompleteResult completeTopic(CompleteRequest request) {
+        return topicCompletion(autocompleteIndex, request.argument().value());
+    }
+
+    static CompleteResult searchPromptCompletion(AutocompleteIndex index, CompleteArgument argument) {
+        String prefix = argument.value() == null ? "" : argument.value();
+        if ("numPapers".equals(argument.name())) {
+            List<String> counts = PAPER_COUNTS.stream().filter(count -> count.startsWith(prefix)).toList();
+            return result(counts, false);
+        }
 
-        countryDatabase.put("a", List.of("Afghanistan", "Albania", "Algeria", "Argentina", "Australia", "Austria"));
-        countryDatabase.put("b", List.of("Bahamas", "Belgium", "Brazil", "Bulgaria"));
-        countryDatabase.put("c", List.of("Canada", "Chile", "China", "Colombia", "Croatia"));
-        countryDatabase.put("f", List.of("Finland", "France"));
-        countryDatabase.put("g", List.of("Germany", "Greece"));
-        countryDatabase.put("i", List.of("Iceland", "India", "Indonesia", "Ireland", "Italy"));
-        countryDatabase.put("j", List.of("Japan"));
-        countryDatabase.put("u", List.of("Uganda", "Ukraine", "United Kingdom", "United States"));
+        Set<String> values = new LinkedHashSet<>();
+        Completions topics = index.completeTopic(prefix, MAX_VALUES);
+        topics.values().forEach(topic -> values.add(topic.replace('_', ' ')));
+        boolean hasMore = topics.hasMore();
+        if (values.size() < MAX_VALUES) {
+            Completions authors = index.completeAuthor(prefix, MAX_VALUES - values.size());
+            values.addAll(authors.values());
+            hasMore |= authors.hasMore();
+        }
+        if (values.size() < MAX_VALUES) {
+            Completions titles = index.completeTitle(prefix, MAX_VALUES - values.size());
+            values.addAll(titles.values());
+            hasMore |= titles.hasMore();
+        }
+        return result(List.copyOf(values), hasMore || values.size() == MAX_VALUES);
     }
 
-//    /**
-//     * Complete method for usernames in a user status prompt.
-//     */
-//    @McpComplete(uri = "user-status://{username}")
-//    public List<String> completeUsername(String usernamePrefix) {
-//        String prefix = usernamePrefix.toLowerCase();
-//        if (prefix.isEmpty()) {
-//            return List.of("Enter a username");
-//        }
-//
-//        String firstLetter = prefix.substring(0, 1);
-//        List<String> usernames = usernameDatabase.getOrDefault(firstLetter, List.of());
-//
-//        return usernames.stream().filter(username -> username.toLowerCase().startsWith(prefix)).toList();
-//    }
-//
-//    @McpComplete(prompt = "personalized-message")
-//    public List<String> completeName(String name) {
-//        String prefix = name.toLowerCase();
-//        if (prefix.isEmpty()) {
-//            return List.of("Enter a username");
-//        }
-//
-//        String firstLetter = prefix.substring(0, 1);
-//        List<String> usernames = usernameDatabase.getOrDefault(firstLetter, List.of());
-//
-//        return usernames.stream().filter(username -> username.toLowerCase().startsWith(prefix)).toList();
-//    }
-//
-//    /**
-//     * Complete method for country names in a travel prompt.
-//     */
-//    @McpComplete(prompt = "travel-planner")
-//    public CompleteResult completeCountryName(CompleteRequest request) {
-//        String prefix = request.argument().value().toLowerCase();
-//        if (prefix.isEmpty()) {
-//            return new CompleteResult(new CompleteCompletion(List.of("Enter a country name"), 1, false));
-//        }
-//
-//        String firstLetter = prefix.substring(0, 1);
-//        List<String> countries = countryDatabase.getOrDefault(firstLetter, List.of());
-//
-//        List<String> matches = countries.stream()
-//                .filter(country -> country.toLowerCase().startsWith(prefix))
-//                .toList();
-//
-//        return new CompleteResult(new CompleteCompletion(matches, matches.size(), false));
-//    }
+    static CompleteResult topicCompletion(AutocompleteIndex index, String prefix) {
+        Completions topics = index.completeTopic(prefix == null ? "" : prefix, MAX_VALUES);
+        return result(topics.values(), topics.hasMore());
+    }
+
+    private static CompleteResult result(List<String> values, boolean hasMore) {
+        return new CompleteResult(new CompleteCompletion(values, values.size(), hasMore));
+    }
 }
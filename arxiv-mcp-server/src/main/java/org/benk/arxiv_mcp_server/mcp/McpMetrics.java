@@ -0,0 +1,164 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncResourceSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncResourceSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ReadResourceResult;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times MCP tool calls as {@code mcp.tool.calls} and resource reads as {@code mcp.resource.reads}
+ * by wrapping the handlers of the sync and async specifications.
+ * <p>
+ * Timers are tagged with the tool name or the resource URI template, never the concrete URI, and with
+ * an {@code outcome} of {@code success} or {@code error}; a tool result flagged as an error counts as an error.
+ * They are registered when the specifications are built, so a call only adds two clock reads.
+ */
+@Component
+public class McpMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public McpMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ToolCallbackProvider tools(ToolCallbackProvider provider) {
+        return ToolCallbackProvider.from(Arrays.stream(provider.getToolCallbacks())
+                .map(callback -> new MeteredToolCallback(callback, timers("mcp.tool.calls", "tool",
+                        callback.getToolDefinition().name())))
+                .toList());
+    }
+
+    public List<SyncToolSpecification> syncTools(List<SyncToolSpecification> specifications) {
+        return specifications.stream().map(specification -> {
+            Timers timers = timers("mcp.tool.calls", "tool", specification.tool().name());
+            return SyncToolSpecification.builder()
+                    .tool(specification.tool())
+                    .callHandler((exchange, request) -> {
+                        long start = System.nanoTime();
+                        try {
+                            CallToolResult result = specification.callHandler().apply(exchange, request);
+                            timers.record(!isError(result), start);
+                            return result;
+                        } catch (RuntimeException e) {
+                            timers.record(false, start);
+                            throw e;
+                        }
+                    })
+                    .build();
+        }).toList();
+    }
+
+    public List<SyncResourceSpecification> syncResources(List<SyncResourceSpecification> specifications) {
+        return specifications.stream().map(specification -> {
+            Timers timers = timers("mcp.resource.reads", "resource", specification.resource().uri());
+            return new SyncResourceSpecification(specification.resource(), (exchange, request) -> {
+                long start = System.nanoTime();
+                try {
+                    ReadResourceResult result = specification.readHandler().apply(exchange, request);
+                    timers.record(true, start);
+                    return result;
+                } catch (RuntimeException e) {
+                    timers.record(false, start);
+                    throw e;
+                }
+            });
+        }).toList();
+    }
+
+    public List<AsyncToolSpecification> asyncTools(List<AsyncToolSpecification> specifications) {
+        return specifications.stream().map(specification -> {
+            Timers timers = timers("mcp.tool.calls", "tool", specification.tool().name());
+            return AsyncToolSpecification.builder()
+                    .tool(specification.tool())
+                    .callHandler((exchange, request) -> Mono.defer(() -> {
+                        long start = System.nanoTime();
+                        return specification.callHandler().apply(exchange, request)
+                                .doOnSuccess(result -> timers.record(!isError(result), start))
+                                .doOnError(e -> timers.record(false, start));
+                    }))
+                    .build();
+        }).toList();
+    }
+
+    public List<AsyncResourceSpecification> asyncResources(List<AsyncResourceSpecification> specifications) {
+        return specifications.stream().map(specification -> {
+            Timers timers = timers("mcp.resource.reads", "resource", specification.resource().uri());
+            return new AsyncResourceSpecification(specification.resource(), (exchange, request) -> Mono.defer(() -> {
+                long start = System.nanoTime();
+                return specification.readHandler().apply(exchange, request)
+                        .doOnSuccess(result -> timers.record(true, start))
+                        .doOnError(e -> timers.record(false, start));
+            }));
+        }).toList();
+    }
+
+    private static boolean isError(CallToolResult result) {
+        return result != null && Boolean.TRUE.equals(result.isError());
+    }
+
+    private Timers timers(String name, String tag, String value) {
+        return new Timers(timer(name, tag, value, "success"), timer(name, tag, value, "error"));
+    }
+
+    private Timer timer(String name, String tag, String value, String outcome) {
+        return Timer.builder(name)
+                .description(tag.equals("tool") ? "MCP tool calls" : "MCP resource reads")
+                .tag(tag, value)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Timers(Timer success, Timer error) {
+
+        void record(boolean success, long startNanos) {
+            (success ? this.success : error).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record MeteredToolCallback(ToolCallback delegate, Timers timers) implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return call(toolInput, null);
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            long start = System.nanoTime();
+            try {
+                String result = delegate.call(toolInput, toolContext);
+                timers.record(true, start);
+                return result;
+            } catch (RuntimeException e) {
+                timers.record(false, start);
+                throw e;
+            }
+        }
+    }
+}
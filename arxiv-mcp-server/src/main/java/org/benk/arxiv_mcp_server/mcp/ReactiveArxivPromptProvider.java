@@ -0,0 +1,32 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.logaritex.mcp.annotation.McpArg;
+import com.logaritex.mcp.annotation.McpPrompt;
+import io.modelcontextprotocol.spec.McpSchema.GetPromptResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ArxivPromptProvider}, registered when the MCP server runs in ASYNC mode.
+ * The prompts do no I/O, so the sync provider's text is returned as is.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveArxivPromptProvider {
+
+    private final ArxivPromptProvider promptProvider;
+
+    @McpPrompt(name = "generate-search-prompt", description = "Generate a prompt to find and discuss academic papers on a topic")
+    public Mono<String> generateSearchPrompt(
+            @McpArg(name = "topic", description = "The topic to search for", required = true) String topic,
+            @McpArg(name = "numPapers", description = "Number of papers to find", required = false) Integer numPapers) {
+        return Mono.fromSupplier(() -> promptProvider.generateSearchPrompt(topic, numPapers));
+    }
+
+    @McpPrompt(name = "greeting", description = "A simple greeting prompt")
+    public Mono<GetPromptResult> greetingPrompt(
+            @McpArg(name = "name", description = "The name to greet", required = true) String name) {
+        return Mono.fromSupplier(() -> promptProvider.greetingPrompt(name));
+    }
+}
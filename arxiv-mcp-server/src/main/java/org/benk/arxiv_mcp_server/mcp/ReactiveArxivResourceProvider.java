@@ -0,0 +1,64 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.logaritex.mcp.annotation.McpResource;
+import io.modelcontextprotocol.spec.McpSchema.ReadResourceRequest;
+import io.modelcontextprotocol.spec.McpSchema.ReadResourceResult;
+import lombok.RequiredArgsConstructor;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
+import org.benk.arxiv_mcp_server.service.ReactiveArxivService;
+import org.benk.arxiv_mcp_server.service.TopicCursor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive counterpart of {@link ArxivResourceProvider}, registered when the MCP server runs in ASYNC mode.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveArxivResourceProvider {
+
+    private final ReactiveArxivService arxivService;
+    private final PdfService pdfService;
+
+    @McpResource(uri = "papers://folders", name = "Papers Folders", description = "Returns a list of folders containing papers")
+    public Mono<ReadResourceResult> listPapersFolders(ReadResourceRequest request) {
+        return arxivService.getAvailableFolders()
+                .map(folders -> ArxivResourceProvider.foldersResult(request.uri(), folders));
+    }
+
+    @McpResource(uri = "papers://{topic}", name = "Papers by Topic", description = "Returns a list of papers for a specific topic")
+    public Mono<ReadResourceResult> getTopicPapers(String topic) {
+        return arxivService.getTopicMarkdown(topic)
+                .map(rendered -> ArxivResourceProvider.topicPapersResult(topic, rendered))
+                .switchIfEmpty(Mono.defer(() -> arxivService.getTopicMarkdownPage(topic, 0)
+                        .map(page -> ArxivResourceProvider.topicPageResult(topic, "papers://" + topic, page))))
+                .onErrorResume(RuntimeException.class, e -> Mono.just(ArxivResourceProvider.topicPapersError(topic)));
+    }
+
+    @McpResource(uri = "papers://{topic}/page/{cursor}", name = "Page of Papers by Topic",
+            description = "Returns one page of the papers for a specific topic")
+    public Mono<ReadResourceResult> getTopicPapersPage(String topic, String cursor) {
+        String uri = "papers://" + topic + "/page/" + cursor;
+        int offset;
+        try {
+            offset = TopicCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ArxivResourceProvider.invalidCursor(uri, cursor));
+        }
+        return arxivService.getTopicMarkdownPage(topic, offset)
+                .map(page -> ArxivResourceProvider.topicPageResult(topic, uri, page))
+                .onErrorResume(RuntimeException.class, e -> Mono.just(ArxivResourceProvider.topicPapersError(topic)));
+    }
+
+    /**
+     * Downloading and parsing a PDF blocks, so it runs on the bounded elastic scheduler.
+     */
+    @McpResource(uri = "papers://{paperId}/fulltext", name = "Paper Full Text",
+            description = "Returns the full text of a paper, extracted from its PDF")
+    public Mono<ReadResourceResult> getPaperFullText(String paperId) {
+        return Mono.fromCallable(() -> ArxivResourceProvider.fullTextResult(paperId, pdfService.getText(paperId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(RuntimeException.class, e -> Mono.just(ArxivResourceProvider.fullTextError(paperId, e)));
+    }
+}
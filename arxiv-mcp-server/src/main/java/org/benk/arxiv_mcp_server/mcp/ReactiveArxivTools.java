@@ -0,0 +1,172 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ProgressNotification;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import lombok.RequiredArgsConstructor;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
+import org.benk.arxiv_mcp_server.service.ReactiveArxivService;
+import org.benk.arxiv_mcp_server.service.SearchPage;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Reactive counterpart of {@link ArxivTools}, registered when the MCP server runs in ASYNC mode.
+ * The tools keep the names, descriptions and input schemas of the sync tools; results are returned
+ * as JSON text like Spring AI does for {@code @Tool} methods.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveArxivTools {
+
+    private final ReactiveArxivService arxivService;
+    private final PdfService pdfService;
+    private final ObjectMapper objectMapper;
+
+    public List<AsyncToolSpecification> toolSpecifications() {
+        return List.of(
+                tool("searchPapers",
+                        "Given a topic, return up to maxResults academic paper titles/URLs related to that topic.",
+                        """
+                        {"type":"object","properties":{"topic":{"type":"string"},"maxResults":{"type":"integer","format":"int32"}},"required":["topic","maxResults"],"additionalProperties":false}""",
+                        this::searchPapers),
+                tool("extractPaperInfo",
+                        "Given a paper ID, return the title, authors, summary, and PDF URL of the paper.",
+                        """
+                        {"type":"object","properties":{"paperId":{"type":"string"}},"required":["paperId"],"additionalProperties":false}""",
+                        this::extractPaperInfo),
+                tool("extractPapersInfo",
+                        "Given a list of paper IDs, return the title, authors, summary, and PDF URL of each paper, or an error per ID that could not be found.",
+                        """
+                        {"type":"object","properties":{"paperIds":{"type":"array","items":{"type":"string"}}},"required":["paperIds"],"additionalProperties":false}""",
+                        this::extractPapersInfo),
+                tool("localSearch",
+                        "Search the papers already stored locally by title, summary and authors, without calling arXiv. "
+                                + "All terms must match; use \"quoted phrases\" for exact phrases and a trailing * for prefixes. Results are ranked by relevance.",
+                        """
+                        {"type":"object","properties":{"query":{"type":"string"},"maxResults":{"type":"integer","format":"int32"}},"required":["query","maxResults"],"additionalProperties":false}""",
+                        this::localSearch),
+                tool("semanticSearch",
+                        "Find papers already stored locally that are related in meaning to a free-text query, "
+                                + "even when they use different words. Results are ranked by similarity.",
+                        """
+                        {"type":"object","properties":{"query":{"type":"string"},"maxResults":{"type":"integer","format":"int32"}},"required":["query","maxResults"],"additionalProperties":false}""",
+                        this::semanticSearch),
+                tool("getPaperFullText",
+                        "Given a paper ID, return the full text of the paper extracted from its PDF, preceded by the outline of its sections. "
+                                + "Pass a section number or title, such as \"3\" or \"Introduction\", to return only that section.",
+                        """
+                        {"type":"object","properties":{"paperId":{"type":"string"},"section":{"type":"string"}},"required":["paperId"],"additionalProperties":false}""",
+                        this::getPaperFullText));
+    }
+
+    Mono<CallToolResult> searchPapers(McpAsyncServerExchange exchange, CallToolRequest request) {
+        String topic = (String) request.arguments().get("topic");
+        Number maxResults = (Number) request.arguments().get("maxResults");
+        if (maxResults == null || maxResults.intValue() <= 0) {
+            return Mono.just(error("maxResults must be greater than 0"));
+        }
+        // Progress is only reported to clients that asked for it with a token
+        Object progressToken = request.meta() != null ? request.meta().get("progressToken") : null;
+        return arxivService.searchPages(topic, maxResults.intValue())
+                .concatMap(page -> {
+                    if (exchange == null || progressToken == null) {
+                        return Mono.just(page);
+                    }
+                    return exchange.progressNotification(new ProgressNotification(progressToken.toString(),
+                                    page.fetched(), (double) page.total(),
+                                    "Saved " + page.fetched() + " of " + page.total() + " papers"))
+                            .thenReturn(page);
+                })
+                .concatMapIterable(SearchPage::paperIds)
+                .collectList()
+                .map(this::result);
+    }
+
+    Mono<CallToolResult> extractPaperInfo(McpAsyncServerExchange exchange, CallToolRequest request) {
+        String paperId = (String) request.arguments().get("paperId");
+        if (paperId == null || paperId.isEmpty()) {
+            return Mono.just(error("paperId cannot be null or empty"));
+        }
+        return arxivService.extractPaperInfo(paperId)
+                .map(this::result)
+                .defaultIfEmpty(result(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    Mono<CallToolResult> extractPapersInfo(McpAsyncServerExchange exchange, CallToolRequest request) {
+        List<String> paperIds = (List<String>) request.arguments().get("paperIds");
+        if (paperIds == null || paperIds.isEmpty()) {
+            return Mono.just(error("paperIds cannot be null or empty"));
+        }
+        return arxivService.extractPapersInfo(paperIds).map(this::result);
+    }
+
+    Mono<CallToolResult> localSearch(McpAsyncServerExchange exchange, CallToolRequest request) {
+        String query = (String) request.arguments().get("query");
+        Number maxResults = (Number) request.arguments().get("maxResults");
+        if (query == null || query.isBlank()) {
+            return Mono.just(error("query cannot be null or empty"));
+        }
+        if (maxResults == null || maxResults.intValue() <= 0) {
+            return Mono.just(error("maxResults must be greater than 0"));
+        }
+        return arxivService.localSearch(query, maxResults.intValue()).map(this::result);
+    }
+
+    Mono<CallToolResult> semanticSearch(McpAsyncServerExchange exchange, CallToolRequest request) {
+        String query = (String) request.arguments().get("query");
+        Number maxResults = (Number) request.arguments().get("maxResults");
+        if (query == null || query.isBlank()) {
+            return Mono.just(error("query cannot be null or empty"));
+        }
+        if (maxResults == null || maxResults.intValue() <= 0) {
+            return Mono.just(error("maxResults must be greater than 0"));
+        }
+        return arxivService.semanticSearch(query, maxResults.intValue()).map(this::result);
+    }
+
+    /**
+     * Downloading and parsing a PDF blocks, so it runs on the bounded elastic scheduler.
+     */
+    Mono<CallToolResult> getPaperFullText(McpAsyncServerExchange exchange, CallToolRequest request) {
+        String paperId = (String) request.arguments().get("paperId");
+        String section = (String) request.arguments().get("section");
+        if (paperId == null || paperId.isEmpty()) {
+            return Mono.just(error("paperId cannot be null or empty"));
+        }
+        return Mono.fromCallable(() -> ArxivTools.fullText(paperId, pdfService.getText(paperId), section))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(this::result);
+    }
+
+    private static AsyncToolSpecification tool(String name, String description, String inputSchema,
+                                               BiFunction<McpAsyncServerExchange, CallToolRequest, Mono<CallToolResult>> handler) {
+        return AsyncToolSpecification.builder()
+                .tool(Tool.builder().name(name).description(description).inputSchema(inputSchema).build())
+                .callHandler(handler)
+                .build();
+    }
+
+    private CallToolResult result(Object value) {
+        try {
+            return new CallToolResult(List.of(new TextContent(objectMapper.writeValueAsString(value))), false);
+        } catch (JsonProcessingException e) {
+            return error("Error serializing tool result: " + e.getMessage());
+        }
+    }
+
+    private static CallToolResult error(String message) {
+        return new CallToolResult(List.of(new TextContent(message)), true);
+    }
+}
@@ -0,0 +1,30 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.logaritex.mcp.annotation.McpComplete;
+import io.modelcontextprotocol.spec.McpSchema.CompleteRequest;
+import io.modelcontextprotocol.spec.McpSchema.CompleteResult;
+import lombok.RequiredArgsConstructor;
+import org.benk.arxiv_mcp_server.search.AutocompleteIndex;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link AutocompleteProvider}, registered when the MCP server runs in ASYNC mode.
+ * Completions are served from memory, so they are computed on the subscribing thread.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveAutocompleteProvider {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    @McpComplete(prompt = "generate-search-prompt")
+    public Mono<CompleteResult> completeSearchPrompt(CompleteRequest request) {
+        return Mono.fromSupplier(() -> AutocompleteProvider.searchPromptCompletion(autocompleteIndex, request.argument()));
+    }
+
+    @McpComplete(uri = "papers://{topic}")
+    public Mono<CompleteResult> completeTopic(CompleteRequest request) {
+        return Mono.fromSupplier(() -> AutocompleteProvider.topicCompletion(autocompleteIndex, request.argument().value()));
+    }
+}
@@ -0,0 +1,19 @@
+package org.benk.arxiv_mcp_server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class representing a paper matched by a local search, with its relevance score.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocalSearchHit {
+    private String paperId;
+    private double score;
+    private PaperInfo paper;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
@@ -22,4 +23,18 @@ public class PaperInfo {
     private String summary;
     private String pdfUrl;
     private String published;
-}
\ No newline at end of file
+    /**
+     * When arXiv last updated the paper, as reported by the API.
+     */
+    private String updated;
+    /**
+     * Version of the paper, from the vN suffix of its arXiv ID.
+     */
+    private Integer version;
+    /**
+     * When the paper was fetched from arXiv, in epoch milliseconds; null for papers stored before it was recorded.
+     * Freshness metadata rather than content, so it takes no part in equality.
+     */
+    @EqualsAndHashCode.Exclude
+    private Long fetchedAt;
+}
@@ -0,0 +1,30 @@
+package org.benk.arxiv_mcp_server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class representing the outcome of looking up a single paper in a batch request.
+ * Exactly one of {@code paper} and {@code error} is set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaperLookupResult {
+    private String paperId;
+    private PaperInfo paper;
+    private String error;
+
+    public static PaperLookupResult found(String paperId, PaperInfo paper) {
+        return PaperLookupResult.builder().paperId(paperId).paper(paper).build();
+    }
+
+    public static PaperLookupResult failed(String paperId, String error) {
+        return PaperLookupResult.builder().paperId(paperId).error(error).build();
+    }
+}
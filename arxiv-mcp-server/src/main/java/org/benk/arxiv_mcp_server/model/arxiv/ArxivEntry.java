@@ -1,6 +1,7 @@
 package org.benk.arxiv_mcp_server.model.arxiv;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,9 +30,14 @@ public class ArxivEntry {
     @JacksonXmlProperty(localName = "published")
     private String published;
     
+    @JacksonXmlProperty(localName = "updated")
+    private String updated;
+    
+    @JacksonXmlElementWrapper(useWrapping = false)
     @JacksonXmlProperty(localName = "author")
     private List<ArxivAuthor> authors;
     
+    @JacksonXmlElementWrapper(useWrapping = false)
     @JacksonXmlProperty(localName = "link")
     private List<ArxivLink> links;
 }
\ No newline at end of file
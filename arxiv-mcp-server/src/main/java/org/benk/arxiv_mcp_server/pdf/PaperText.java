@@ -0,0 +1,169 @@
+package org.benk.arxiv_mcp_server.pdf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Full text of a paper extracted from its PDF, split into sections.
+ * <p>
+ * Section headings are recognized line by line: numbered headings such as {@code 3 Method}, {@code 3.1 Model} or
+ * {@code II. RELATED WORK}, and the usual unnumbered ones such as {@code Abstract} or {@code References}.
+ * Top-level numbers must increase and subsection numbers must continue the current section, which rules out most
+ * numbered list items and table rows. A section runs up to the next heading of the same or a higher level, so it
+ * includes its subsections.
+ *
+ * @param paperId  The ID of the paper
+ * @param text     The extracted text
+ * @param sections The sections found, in order
+ */
+public record PaperText(String paperId, String text, List<Section> sections) {
+
+    /**
+     * A section of the text.
+     *
+     * @param number Number of the section, such as {@code 3.1}, or empty for an unnumbered section
+     * @param title  Title of the section
+     * @param level  1 for top-level sections, 2 for their subsections and so on
+     * @param start  Offset of the heading in the text
+     * @param end    Offset of the end of the section in the text
+     */
+    public record Section(String number, String title, int level, int start, int end) {
+    }
+
+    private static final Pattern NUMBERED = Pattern.compile("((?:\\d{1,2}\\.){0,3}\\d{1,2}|[IVX]{1,5})\\.?\\s+(\\p{Lu}.{0,100})");
+
+    private static final Pattern NAMED = Pattern.compile("(?i)abstract|introduction|related work|background|discussion"
+            + "|conclusions?|references|bibliography|acknowledge?ments?|appendix(?:\\s+\\S.*)?");
+
+    private static final int MAX_TITLE_WORDS = 12;
+
+    /**
+     * Extracted text split into sections.
+     */
+    public static PaperText of(String paperId, String text) {
+        List<Heading> headings = new ArrayList<>();
+        int topLevel = 0;
+        int offset = 0;
+        for (String line : text.split("\n", -1)) {
+            Heading heading = heading(line.strip(), offset, topLevel);
+            if (heading != null) {
+                headings.add(heading);
+                if (heading.level() == 1 && !heading.number().isEmpty()) {
+                    topLevel = topLevelNumber(heading.number());
+                }
+            }
+            offset += line.length() + 1;
+        }
+
+        List<Section> sections = new ArrayList<>(headings.size());
+        for (int i = 0; i < headings.size(); i++) {
+            Heading heading = headings.get(i);
+            int end = text.length();
+            for (int j = i + 1; j < headings.size(); j++) {
+                if (headings.get(j).level() <= heading.level()) {
+                    end = headings.get(j).start();
+                    break;
+                }
+            }
+            sections.add(new Section(heading.number(), heading.title(), heading.level(), heading.start(), end));
+        }
+        return new PaperText(paperId, text, List.copyOf(sections));
+    }
+
+    private record Heading(String number, String title, int level, int start) {
+    }
+
+    private static Heading heading(String line, int start, int topLevel) {
+        if (NAMED.matcher(line).matches()) {
+            return new Heading("", line, 1, start);
+        }
+        Matcher matcher = NUMBERED.matcher(line);
+        if (!matcher.matches() || !isTitle(matcher.group(2))) {
+            return null;
+        }
+        String number = matcher.group(1);
+        String[] parts = number.split("\\.");
+        int first = topLevelNumber(parts[0]);
+        if (parts.length == 1 ? first != topLevel + 1 : first != topLevel) {
+            return null;
+        }
+        return new Heading(number, matcher.group(2).strip(), parts.length, start);
+    }
+
+    /**
+     * A title is short, does not end like a sentence and is mostly letters, unlike table rows and list items.
+     */
+    private static boolean isTitle(String title) {
+        String stripped = title.strip();
+        if (stripped.endsWith(".") || stripped.endsWith(",") || stripped.endsWith(";")
+                || stripped.split("\\s+").length > MAX_TITLE_WORDS) {
+            return false;
+        }
+        long letters = stripped.chars().filter(Character::isLetter).count();
+        return letters * 2 > stripped.replace(" ", "").length();
+    }
+
+    private static int topLevelNumber(String number) {
+        String first = number.split("\\.")[0];
+        if (Character.isDigit(first.charAt(0))) {
+            return Integer.parseInt(first);
+        }
+        // Roman numeral: a digit smaller than the next one is subtracted
+        int value = 0;
+        for (int i = 0; i < first.length(); i++) {
+            int digit = romanDigit(first.charAt(i));
+            value += i + 1 < first.length() && digit < romanDigit(first.charAt(i + 1)) ? -digit : digit;
+        }
+        return value;
+    }
+
+    private static int romanDigit(char c) {
+        return switch (c) {
+            case 'I' -> 1;
+            case 'V' -> 5;
+            default -> 10;
+        };
+    }
+
+    /**
+     * Find a section by number, such as {@code 3} or {@code 3.1}, or by title. An exact title wins over a title
+     * that only contains the name.
+     *
+     * @param name Number or title of the section, case-insensitive
+     * @return The text of the section including its heading, or null if no section matches
+     */
+    public String section(String name) {
+        String query = name.strip().toLowerCase(Locale.ROOT);
+        String number = query.endsWith(".") ? query.substring(0, query.length() - 1) : query;
+        Section match = null;
+        for (Section section : sections) {
+            String title = section.title().toLowerCase(Locale.ROOT);
+            if (section.number().equalsIgnoreCase(number) || title.equals(query)) {
+                match = section;
+                break;
+            }
+            if (match == null && title.contains(query)) {
+                match = section;
+            }
+        }
+        return match != null ? text.substring(match.start(), match.end()) : null;
+    }
+
+    /**
+     * @return One line per section, indented by level
+     */
+    public String outline() {
+        StringBuilder outline = new StringBuilder();
+        for (Section section : sections) {
+            outline.append("  ".repeat(section.level() - 1)).append("- ");
+            if (!section.number().isEmpty()) {
+                outline.append(section.number()).append(' ');
+            }
+            outline.append(section.title()).append('\n');
+        }
+        return outline.toString();
+    }
+}
@@ -0,0 +1,353 @@
+package org.benk.arxiv_mcp_server.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed disk cache of paper PDFs and of the text extracted from them.
+ * <p>
+ * A PDF is stored under the SHA-256 of its content, in {@code blobs/<first two hex digits>/<hash>.pdf}, with its
+ * extracted text next to it in {@code <hash>.txt}; papers whose PDFs are identical share one entry. Each paper ID
+ * maps to its hash through a small file in {@code refs/}. Files are written to {@code tmp/} and moved into place,
+ * so a crash never leaves a partial entry.
+ * <p>
+ * Entries are evicted least recently used first once their total size exceeds the maximum. Recency survives a
+ * restart as the modification time of the PDF, which is updated on each access. A ref whose entry was evicted
+ * is dropped the next time it is looked up.
+ */
+@Slf4j
+class PdfCache {
+
+    private final Path blobs;
+    private final Path refs;
+    private final Path tmp;
+    private final long maxSize;
+    /**
+     * Guards the entries and the refs, including the file moves that publish them. A lock rather than a
+     * monitor, so that a virtual thread waiting on the disk does not pin its carrier.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Size of each entry by hash, least recently used first.
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> hashes = new HashMap<>();
+    private long size;
+    private long evictions;
+
+    /**
+     * Open the cache, creating its directories and loading the entries found in them.
+     *
+     * @param directory Root directory of the cache
+     * @param maxSize   Upper bound for the total size of the entries, in bytes
+     */
+    PdfCache(Path directory, long maxSize) {
+        this.blobs = directory.resolve("blobs");
+        this.refs = directory.resolve("refs");
+        this.tmp = directory.resolve("tmp");
+        this.maxSize = maxSize;
+        try {
+            Files.createDirectories(blobs);
+            Files.createDirectories(refs);
+            Files.createDirectories(tmp);
+            clearTemporaryFiles();
+            loadEntries();
+            loadRefs();
+        } catch (IOException e) {
+            log.error("Error opening PDF cache: {}", directory, e);
+            throw new RuntimeException("Error opening PDF cache", e);
+        }
+        delete(evict(null));
+    }
+
+    private void clearTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tmp)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void loadEntries() throws IOException {
+        Map<String, Long> sizes = new HashMap<>();
+        Map<String, FileTime> accessed = new HashMap<>();
+        try (Stream<Path> files = Files.walk(blobs, 2)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                String name = file.getFileName().toString();
+                String hash = name.substring(0, Math.max(0, name.lastIndexOf('.')));
+                sizes.merge(hash, Files.size(file), Long::sum);
+                if (name.endsWith(".pdf")) {
+                    accessed.put(hash, Files.getLastModifiedTime(file));
+                }
+            }
+        }
+        // Text left without its PDF by an interrupted eviction is of no use
+        for (String hash : sizes.keySet()) {
+            if (!accessed.containsKey(hash)) {
+                Files.deleteIfExists(text(hash));
+            }
+        }
+        accessed.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .forEach(entry -> {
+                    long entrySize = sizes.get(entry.getKey());
+                    entries.put(entry.getKey(), entrySize);
+                    size += entrySize;
+                });
+    }
+
+    private void loadRefs() throws IOException {
+        try (Stream<Path> files = Files.list(refs)) {
+            for (Path file : files.toList()) {
+                hashes.put(paperId(file.getFileName().toString()), Files.readString(file, StandardCharsets.UTF_8).trim());
+            }
+        }
+    }
+
+    /**
+     * Look up the PDF of a paper and mark it as the most recently used.
+     *
+     * @param paperId The ID of the paper
+     * @return The hash of the PDF, or null if it is not cached
+     */
+    String lookup(String paperId) {
+        String hash;
+        lock.lock();
+        try {
+            hash = hashes.get(paperId);
+            if (hash == null) {
+                return null;
+            }
+            if (entries.get(hash) == null) {
+                hashes.remove(paperId);
+                hash = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (hash == null) {
+            deleteQuietly(ref(paperId));
+            return null;
+        }
+        try {
+            Files.setLastModifiedTime(pdf(hash), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            // Evicted since, the caller finds it missing and downloads it again
+        } catch (IOException e) {
+            log.warn("Error updating access time of cached PDF {}: {}", hash, e.getMessage());
+        }
+        return hash;
+    }
+
+    /**
+     * @return A new temporary file for a download, to be moved into the cache by {@link #put}
+     */
+    Path temporaryFile() {
+        try {
+            return Files.createTempFile(tmp, "download-", ".pdf");
+        } catch (IOException e) {
+            log.error("Error creating temporary file in PDF cache: {}", tmp, e);
+            throw new RuntimeException("Error creating temporary file in PDF cache", e);
+        }
+    }
+
+    /**
+     * Move a downloaded PDF into the cache and map the paper to it, evicting older entries if the cache is full.
+     *
+     * @param paperId  The ID of the paper
+     * @param download The downloaded PDF, from {@link #temporaryFile()}
+     * @param hash     The SHA-256 of the PDF, in hex
+     */
+    void put(String paperId, Path download, String hash) {
+        Path pdf = pdf(hash);
+        List<String> evicted;
+        try {
+            long pdfSize = Files.size(download);
+            Files.createDirectories(pdf.getParent());
+            Path ref = tmp.resolve(refName(paperId));
+            Files.writeString(ref, hash, StandardCharsets.UTF_8);
+            lock.lock();
+            try {
+                if (entries.get(hash) == null) {
+                    Files.move(download, pdf, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    entries.put(hash, pdfSize);
+                    size += pdfSize;
+                }
+                Files.move(ref, ref(paperId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                hashes.put(paperId, hash);
+                evicted = evict(hash);
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            log.error("Error saving PDF of paper {} to the cache", paperId, e);
+            throw new RuntimeException("Error saving PDF to the cache", e);
+        } finally {
+            deleteQuietly(download);
+        }
+        delete(evicted);
+    }
+
+    /**
+     * @return The extracted text of a cached PDF, or null if it was not extracted yet
+     */
+    String getText(String hash) {
+        try {
+            return Files.readString(text(hash), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.error("Error reading extracted text of cached PDF {}", hash, e);
+            throw new RuntimeException("Error reading extracted text", e);
+        }
+    }
+
+    /**
+     * Save the text extracted from a cached PDF. The text is dropped if the PDF was evicted meanwhile.
+     */
+    void putText(String hash, String text) {
+        Path temp = tmp.resolve(hash + ".txt");
+        List<String> evicted;
+        try {
+            Files.writeString(temp, text, StandardCharsets.UTF_8);
+            long textSize = Files.size(temp);
+            lock.lock();
+            try {
+                Long entrySize = entries.get(hash);
+                if (entrySize == null) {
+                    return;
+                }
+                Files.move(temp, text(hash), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                entries.put(hash, entrySize + textSize);
+                size += textSize;
+                evicted = evict(hash);
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            log.error("Error saving extracted text of cached PDF {}", hash, e);
+            throw new RuntimeException("Error saving extracted text", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+        delete(evicted);
+    }
+
+    /**
+     * @return The path of a cached PDF
+     */
+    Path pdf(String hash) {
+        return blobs.resolve(hash.substring(0, 2)).resolve(hash + ".pdf");
+    }
+
+    private Path text(String hash) {
+        return blobs.resolve(hash.substring(0, 2)).resolve(hash + ".txt");
+    }
+
+    private Path ref(String paperId) {
+        return refs.resolve(refName(paperId));
+    }
+
+    /**
+     * Old-style IDs such as {@code hep-th/9901001} hold a slash, which cannot be part of a file name.
+     */
+    private static String refName(String paperId) {
+        return paperId.replace('/', '_');
+    }
+
+    private static String paperId(String refName) {
+        return refName.replace('_', '/');
+    }
+
+    /**
+     * Drop least recently used entries until the cache fits its maximum size. Called with the lock held.
+     *
+     * @param keep Hash of the entry just added, never evicted
+     * @return The hashes of the evicted entries, whose files are to be deleted
+     */
+    private List<String> evict(String keep) {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            size -= entry.getValue();
+            evicted.add(entry.getKey());
+            iterator.remove();
+        }
+        evictions += evicted.size();
+        return evicted;
+    }
+
+    private void delete(List<String> evicted) {
+        for (String hash : evicted) {
+            log.debug("Evicting cached PDF {}", hash);
+            deleteQuietly(text(hash));
+            deleteQuietly(pdf(hash));
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Still open on platforms that lock open files; it is picked up again at the next start
+            log.warn("Error deleting {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return The total size of the cached PDFs and extracted text, in bytes
+     */
+    long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of cached PDFs
+     */
+    int entries() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of entries evicted since the cache was opened
+     */
+    long evictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
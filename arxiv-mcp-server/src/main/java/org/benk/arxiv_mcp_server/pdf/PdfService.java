@@ -0,0 +1,358 @@
+package org.benk.arxiv_mcp_server.pdf;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.benk.arxiv_mcp_server.client.ArxivRateLimiter;
+import org.benk.arxiv_mcp_server.client.RequestPriority;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Full text of papers, extracted from their PDFs.
+ * <p>
+ * PDFs are downloaded from {@code arxiv.pdf.base-url}, at most {@code arxiv.pdf.max-downloads} at once and each
+ * behind a permit of the {@link ArxivRateLimiter}, so they share the request budget of the arXiv API. Concurrent
+ * requests for the same paper wait for a single download. PDFs and their text are kept in a content-addressed
+ * {@link PdfCache} bounded by {@code arxiv.pdf.max-cache-size}.
+ * <p>
+ * Text is extracted with PDFBox on {@code arxiv.pdf.extract-workers} threads, with at most
+ * {@code arxiv.pdf.max-pending-extractions} waiting; parsing a PDF is CPU-bound, so the pool keeps a burst of
+ * requests from taking every core. Metrics: {@code arxiv.pdf.requests} (per outcome), {@code arxiv.pdf.downloads}
+ * (per outcome), {@code arxiv.pdf.extraction}, {@code arxiv.pdf.cache.size} and {@code arxiv.pdf.cache.evictions}.
+ */
+@Slf4j
+@Service
+public class PdfService {
+
+    /**
+     * New-style IDs such as {@code 2101.00001v2} and old-style IDs such as {@code hep-th/9901001}.
+     */
+    private static final Pattern PAPER_ID = Pattern.compile("(?:\\d{4}\\.\\d{4,5}|[a-z\\-]+(?:\\.[A-Z]{2})?/\\d{7})(?:v\\d+)?");
+
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+
+    /**
+     * A cached PDF.
+     *
+     * @param paperId The ID of the paper
+     * @param hash    The SHA-256 of the PDF, in hex
+     * @param path    The file holding the PDF
+     * @param size    The size of the PDF, in bytes
+     */
+    public record CachedPdf(String paperId, String hash, Path path, long size) {
+    }
+
+    private final ArxivProperties.Pdf properties;
+    private final ArxivRateLimiter rateLimiter;
+    private final Duration rateLimitWait;
+    private final PdfCache cache;
+    private final HttpClient httpClient;
+    private final Semaphore downloadSlots;
+    private final ThreadPoolExecutor extractor;
+    private final Map<String, CompletableFuture<String>> downloads = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> extractions = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter downloaded;
+    private final Counter failed;
+    private final Timer extraction;
+
+    public PdfService(ArxivProperties properties, ArxivRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.properties = properties.getPdf();
+        this.rateLimiter = rateLimiter;
+        this.rateLimitWait = properties.getRateLimit().getMaxWait();
+        this.cache = new PdfCache(Paths.get(properties.getPapersDirectory()).resolve(this.properties.getCacheDirectory()),
+                this.properties.getMaxCacheSize().toBytes());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getHttp().getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.downloadSlots = new Semaphore(Math.max(1, this.properties.getMaxDownloads()), true);
+        int workers = Math.max(1, this.properties.getExtractWorkers());
+        this.extractor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, this.properties.getMaxPendingExtractions())),
+                Thread.ofPlatform().name("arxiv-pdf-text-", 0).daemon().factory());
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.downloaded = downloads(meterRegistry, "success");
+        this.failed = downloads(meterRegistry, "failure");
+        this.extraction = Timer.builder("arxiv.pdf.extraction")
+                .description("Time to extract the text of a PDF")
+                .register(meterRegistry);
+        Gauge.builder("arxiv.pdf.cache.size", cache, PdfCache::size)
+                .description("Total size of the cached PDFs and their extracted text")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("arxiv.pdf.cache.evictions", cache, PdfCache::evictions)
+                .description("PDFs evicted from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("arxiv.pdf.requests")
+                .description("Requests for the PDF of a paper, served from the cache or downloaded")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter downloads(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("arxiv.pdf.downloads")
+                .description("PDF downloads from arXiv")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the PDF of a paper, downloading it if it is not cached.
+     *
+     * @param paperId The ID of the paper, with or without version
+     * @return The cached PDF, or null if arXiv has no PDF for the paper
+     * @throws IllegalArgumentException If the paper ID is not a valid arXiv ID
+     */
+    public CachedPdf getPdf(String paperId) {
+        if (paperId == null || !PAPER_ID.matcher(paperId).matches()) {
+            throw new IllegalArgumentException("Invalid arXiv paper ID: " + paperId);
+        }
+        String hash = cache.lookup(paperId);
+        if (hash != null && Files.exists(cache.pdf(hash))) {
+            hits.increment();
+        } else {
+            misses.increment();
+            hash = once(downloads, paperId, () -> download(paperId));
+            if (hash == null) {
+                return null;
+            }
+        }
+        Path path = cache.pdf(hash);
+        try {
+            return new CachedPdf(paperId, hash, path, Files.size(path));
+        } catch (IOException e) {
+            log.error("Error reading cached PDF of paper {}", paperId, e);
+            throw new RuntimeException("Error reading cached PDF", e);
+        }
+    }
+
+    /**
+     * Get the full text of a paper, extracting it from its PDF if it was not extracted yet.
+     *
+     * @param paperId The ID of the paper, with or without version
+     * @return The text split into sections, or null if arXiv has no PDF for the paper
+     * @throws IllegalArgumentException If the paper ID is not a valid arXiv ID
+     */
+    public PaperText getText(String paperId) {
+        CachedPdf pdf = getPdf(paperId);
+        if (pdf == null) {
+            return null;
+        }
+        String text = cache.getText(pdf.hash());
+        if (text == null) {
+            text = once(extractions, pdf.hash(), () -> extract(pdf));
+        }
+        return PaperText.of(paperId, text);
+    }
+
+    /**
+     * Run a task unless one with the same key is running, in which case wait for its result instead.
+     */
+    private static String once(Map<String, CompletableFuture<String>> running, String key, Supplier<String> task) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = running.putIfAbsent(key, created);
+        if (existing == null) {
+            try {
+                String result = task.get();
+                created.complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            } finally {
+                running.remove(key, created);
+            }
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private String download(String paperId) {
+        Duration timeout = properties.getDownloadTimeout();
+        try {
+            if (!downloadSlots.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                failed.increment();
+                log.error("Timed out after {} waiting to download the PDF of paper {}", timeout, paperId);
+                throw new RuntimeException("Timed out waiting to download the PDF");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting to download the PDF", e);
+        }
+        try {
+            rateLimiter.await(RequestPriority.current(), rateLimitWait);
+            String hash = fetch(paperId, timeout);
+            if (hash != null) {
+                downloaded.increment();
+            }
+            return hash;
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        } finally {
+            downloadSlots.release();
+        }
+    }
+
+    /**
+     * Download a PDF into the cache, hashing it on the way.
+     *
+     * @return The hash of the PDF, or null if arXiv has none for the paper
+     */
+    private String fetch(String paperId, Duration timeout) {
+        URI uri = URI.create(properties.getBaseUrl() + paperId);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+        Path download = cache.temporaryFile();
+        try {
+            log.info("Downloading PDF of paper {} from {}", paperId, uri);
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == 404) {
+                    return null;
+                }
+                if (response.statusCode() != 200) {
+                    log.error("Error downloading PDF of paper {}: HTTP {}", paperId, response.statusCode());
+                    throw new RuntimeException("Error downloading PDF: HTTP " + response.statusCode());
+                }
+                String hash = copy(body, download, paperId);
+                cache.put(paperId, download, hash);
+                return hash;
+            }
+        } catch (IOException e) {
+            log.error("Error downloading PDF of paper {}", paperId, e);
+            throw new RuntimeException("Error downloading PDF", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted downloading PDF", e);
+        } finally {
+            try {
+                Files.deleteIfExists(download);
+            } catch (IOException e) {
+                log.warn("Error deleting PDF download {}: {}", download, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Copy a PDF to a file, checking that it is one and that it is not larger than the maximum.
+     *
+     * @return The SHA-256 of the PDF, in hex
+     */
+    private String copy(InputStream body, Path file, String paperId) throws IOException {
+        MessageDigest digest = sha256();
+        long maxSize = properties.getMaxPdfSize().toBytes();
+        long size = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.readNBytes(buffer, 0, buffer.length)) > 0) {
+                if (size == 0 && (read < PDF_MAGIC.length
+                        || !Arrays.equals(buffer, 0, PDF_MAGIC.length, PDF_MAGIC, 0, PDF_MAGIC.length))) {
+                    throw new IOException("Response for paper " + paperId + " is not a PDF");
+                }
+                size += read;
+                if (size > maxSize) {
+                    throw new IOException("PDF of paper " + paperId + " is larger than " + properties.getMaxPdfSize());
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        if (size == 0) {
+            throw new IOException("Empty response for paper " + paperId);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Extract the text of a PDF on the worker pool and save it to the cache.
+     */
+    private String extract(CachedPdf pdf) {
+        Future<String> future;
+        try {
+            future = extractor.submit(() -> extraction.recordCallable(() -> {
+                try (PDDocument document = Loader.loadPDF(pdf.path().toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+                    PDFTextStripper stripper = new PDFTextStripper();
+                    stripper.setLineSeparator("\n");
+                    return stripper.getText(document);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            log.warn("Text extraction queue is full, rejecting paper {}", pdf.paperId());
+            throw new RuntimeException("Too many PDFs waiting for text extraction, try again later", e);
+        }
+        try {
+            String text = future.get();
+            cache.putText(pdf.hash(), text);
+            return text;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted extracting text from PDF", e);
+        } catch (ExecutionException e) {
+            log.error("Error extracting text from PDF of paper {}", pdf.paperId(), e.getCause());
+            throw new RuntimeException("Error extracting text from PDF", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        extractor.shutdownNow();
+        httpClient.shutdownNow();
+    }
+}
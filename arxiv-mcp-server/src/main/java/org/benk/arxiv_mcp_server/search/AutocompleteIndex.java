@@ -0,0 +1,104 @@
+package org.benk.arxiv_mcp_server.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completion tries over the stored topics, author names and paper titles.
+ * <p>
+ * Topics are weighted by their number of papers and authors by their number of papers, so the most
+ * prolific ones are suggested first. Topics and authors also complete from any of their words.
+ * The tries are loaded from the {@link PaperStore} on startup and updated incrementally through
+ * {@link #add(String, Map)} whenever papers are saved. A paper counts once towards each topic it is saved
+ * under, and once towards its title and authors however many topics hold it.
+ */
+@Slf4j
+@Component
+public class AutocompleteIndex {
+
+    private final PaperStore paperStore;
+    private final CompletionTrie topics = new CompletionTrie(true);
+    private final CompletionTrie authors = new CompletionTrie(true);
+    private final CompletionTrie titles = new CompletionTrie(false);
+    private final Set<String> papers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<String>> topicPapers = new ConcurrentHashMap<>();
+
+    public AutocompleteIndex(PaperStore paperStore) {
+        this.paperStore = paperStore;
+    }
+
+    /**
+     * Load every topic and paper held in the store.
+     */
+    @PostConstruct
+    public void start() {
+        long started = System.nanoTime();
+        for (String topic : paperStore.getTopics()) {
+            add(topic, paperStore.getTopicPapers(topic));
+        }
+        log.info("Loaded {} topics, {} authors and {} titles for completion in {} ms", topics.size(),
+                authors.size(), titles.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Add the topic, titles and authors of saved papers.
+     *
+     * @param topic       The topic directory the papers were saved under
+     * @param topicPapers Map of paper IDs to paper information
+     */
+    public void add(String topic, Map<String, PaperInfo> topicPapers) {
+        Set<String> members = this.topicPapers.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet());
+        int added = 0;
+        for (Map.Entry<String, PaperInfo> entry : topicPapers.entrySet()) {
+            if (members.add(entry.getKey())) {
+                added++;
+            }
+            if (!papers.add(entry.getKey())) {
+                continue;
+            }
+            PaperInfo paper = entry.getValue();
+            if (paper.getTitle() != null) {
+                titles.add(paper.getTitle(), 1);
+            }
+            if (paper.getAuthors() != null) {
+                paper.getAuthors().forEach(author -> authors.add(author, 1));
+            }
+        }
+        topics.add(topic, added);
+    }
+
+    /**
+     * @param prefix The text typed so far
+     * @param limit  Maximum number of topics to return
+     * @return Topic directory names starting with the prefix, largest topics first
+     */
+    public CompletionTrie.Completions completeTopic(String prefix, int limit) {
+        return topics.complete(prefix, limit);
+    }
+
+    /**
+     * @param prefix The text typed so far, matched against the start of any word of the name
+     * @param limit  Maximum number of authors to return
+     * @return Author names matching the prefix, most prolific authors first
+     */
+    public CompletionTrie.Completions completeAuthor(String prefix, int limit) {
+        return authors.complete(prefix, limit);
+    }
+
+    /**
+     * @param prefix The text typed so far
+     * @param limit  Maximum number of titles to return
+     * @return Paper titles starting with the prefix
+     */
+    public CompletionTrie.Completions completeTitle(String prefix, int limit) {
+        return titles.complete(prefix, limit);
+    }
+}
@@ -0,0 +1,464 @@
+package org.benk.arxiv_mcp_server.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact radix trie of weighted values, answering "the best values starting with this prefix" lookups.
+ * <p>
+ * Values are keyed on their normalized form: lowercased, with every run of characters other than letters
+ * and digits folded into one space. Keys are stored as UTF-8 bytes in a single label array and nodes are
+ * parallel int arrays, so the trie holds no object per node or key. Each node records the highest weight
+ * in its subtree; a lookup walks down to the prefix and then expands nodes best-first on that weight,
+ * which yields the top values without visiting the rest of the subtree.
+ * <p>
+ * With word matching, a value is also reachable from the start of each later word, e.g. an author by
+ * surname. Those keys end in a terminator and the value number, so values sharing a word never collide.
+ * Lookups share a read lock and reuse pooled scratch buffers, inserts take the write lock.
+ */
+public class CompletionTrie {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int MAX_WORD_KEYS = 8;
+    private static final byte TERMINATOR = 0;
+    private static final long VALUE_ITEM = 0x8000_0000L;
+
+    private final boolean matchWords;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    private byte[] labels = new byte[1024];
+    private int labelsSize;
+
+    private int[] labelStart = new int[64];
+    private int[] labelLength = new int[64];
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int[] valueOf = new int[64];
+    private int[] maxWeight = new int[64];
+    private int nodeCount;
+
+    private String[] values = new String[64];
+    private int[] weights = new int[64];
+    private int valueCount;
+
+    /**
+     * @param matchWords Whether values also complete from the start of each of their words
+     */
+    public CompletionTrie(boolean matchWords) {
+        this.matchWords = matchWords;
+        newNode(0, 0);
+    }
+
+    /**
+     * Add a value, or add to its weight when a value with the same normalized form is already present.
+     *
+     * @param value  The value to complete to
+     * @param weight The weight to add; values with a higher weight are suggested first
+     */
+    public void add(String value, int weight) {
+        Scratch scratch = acquire();
+        try {
+            int length = normalize(value, scratch, false);
+            if (length == 0) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                add(value, weight, length, scratch);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            scratches.offer(scratch);
+        }
+    }
+
+    /**
+     * Find the values with the highest weight starting with a prefix.
+     *
+     * @param prefix The text typed so far; an empty prefix matches every value
+     * @param limit  Maximum number of values to return
+     * @return The matching values ordered by descending weight
+     */
+    public Completions complete(String prefix, int limit) {
+        if (limit <= 0) {
+            return Completions.EMPTY;
+        }
+        Scratch scratch = acquire();
+        try {
+            int length = normalize(prefix, scratch, true);
+            lock.readLock().lock();
+            try {
+                return complete(scratch, length, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        } finally {
+            scratches.offer(scratch);
+        }
+    }
+
+    /**
+     * @return The number of distinct values
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return valueCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(String value, int weight, int length, Scratch scratch) {
+        int terminal = insert(scratch.key, length, scratch);
+        int id = valueOf[terminal];
+        if (id == NONE) {
+            id = newValue(value);
+            valueOf[terminal] = id;
+        }
+        weights[id] = (int) Math.min((long) weights[id] + weight, Integer.MAX_VALUE);
+        raise(scratch, weights[id]);
+        if (!matchWords) {
+            return;
+        }
+        int words = 0;
+        for (int i = 0; i < length && words < MAX_WORD_KEYS; i++) {
+            if (scratch.key[i] == ' ') {
+                int keyLength = wordKey(scratch, i + 1, length, id);
+                // Inserting may grow the node arrays, so the node is resolved before valueOf is read
+                int node = insert(scratch.wordKey, keyLength, scratch);
+                valueOf[node] = id;
+                raise(scratch, weights[id]);
+                words++;
+            }
+        }
+    }
+
+    /**
+     * Copy the key from a word start to the end, followed by the terminator and the value number.
+     */
+    private static int wordKey(Scratch scratch, int from, int to, int id) {
+        int length = to - from;
+        scratch.wordKey = ensureCapacity(scratch.wordKey, length + 5);
+        System.arraycopy(scratch.key, from, scratch.wordKey, 0, length);
+        scratch.wordKey[length] = TERMINATOR;
+        scratch.wordKey[length + 1] = (byte) (id >>> 24);
+        scratch.wordKey[length + 2] = (byte) (id >>> 16);
+        scratch.wordKey[length + 3] = (byte) (id >>> 8);
+        scratch.wordKey[length + 4] = (byte) id;
+        return length + 5;
+    }
+
+    /**
+     * Find or create the node for a key, recording the nodes on the way in the scratch path.
+     */
+    private int insert(byte[] key, int length, Scratch scratch) {
+        scratch.pathLength = 0;
+        scratch.pushPath(ROOT);
+        int node = ROOT;
+        int i = 0;
+        while (i < length) {
+            int child = child(node, key[i]);
+            if (child == NONE) {
+                child = newNode(appendLabel(key, i, length - i), length - i);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+                scratch.pushPath(child);
+                return child;
+            }
+            int common = commonLength(child, key, i, length);
+            if (common < labelLength[child]) {
+                split(child, common);
+            }
+            scratch.pushPath(child);
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    /**
+     * Split a node's label, moving its tail, value and children to a new single child.
+     */
+    private void split(int node, int at) {
+        int tail = newNode(labelStart[node] + at, labelLength[node] - at);
+        firstChild[tail] = firstChild[node];
+        valueOf[tail] = valueOf[node];
+        maxWeight[tail] = maxWeight[node];
+        firstChild[node] = tail;
+        valueOf[node] = NONE;
+        labelLength[node] = at;
+    }
+
+    private void raise(Scratch scratch, int weight) {
+        for (int i = 0; i < scratch.pathLength; i++) {
+            int node = scratch.path[i];
+            if (maxWeight[node] < weight) {
+                maxWeight[node] = weight;
+            }
+        }
+    }
+
+    private Completions complete(Scratch scratch, int length, int limit) {
+        int node = find(scratch.key, length);
+        if (node == NONE) {
+            return Completions.EMPTY;
+        }
+        // Best-first expansion: an item's weight bounds every value below it, so values pop in weight order
+        scratch.heapSize = 0;
+        scratch.push(item(maxWeight[node], node, false));
+        scratch.resultCount = 0;
+        while (scratch.heapSize > 0 && scratch.resultCount < limit) {
+            long item = scratch.pop();
+            int id = (int) (0x7FFF_FFFFL - (item & 0x7FFF_FFFFL));
+            if ((item & VALUE_ITEM) != 0) {
+                // A value reachable through several word keys is only returned once
+                scratch.addResult(id);
+                continue;
+            }
+            if (valueOf[id] != NONE) {
+                scratch.push(item(weights[valueOf[id]], valueOf[id], true));
+            }
+            for (int child = firstChild[id]; child != NONE; child = nextSibling[child]) {
+                scratch.push(item(maxWeight[child], child, false));
+            }
+        }
+        List<String> matches = new ArrayList<>(scratch.resultCount);
+        for (int i = 0; i < scratch.resultCount; i++) {
+            matches.add(values[scratch.results[i]]);
+        }
+        return new Completions(matches, scratch.heapSize > 0);
+    }
+
+    /**
+     * Find the node whose subtree holds every key starting with the given bytes.
+     */
+    private int find(byte[] key, int length) {
+        int node = ROOT;
+        int i = 0;
+        while (i < length) {
+            int child = child(node, key[i]);
+            if (child == NONE) {
+                return NONE;
+            }
+            int compared = Math.min(labelLength[child], length - i);
+            if (commonLength(child, key, i, i + compared) < compared) {
+                return NONE;
+            }
+            node = child;
+            i += compared;
+        }
+        return node;
+    }
+
+    /**
+     * Encode a heap item: the weight in the high half, then a value flag and the inverted number, so that
+     * among equal weights values come before nodes and earlier entries before later ones.
+     */
+    private static long item(int weight, int id, boolean value) {
+        return (long) weight << 32 | (value ? VALUE_ITEM : 0) | (0x7FFF_FFFFL - id);
+    }
+
+    private int child(int node, byte first) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[labelStart[child]] == first) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private int commonLength(int node, byte[] key, int from, int to) {
+        int start = labelStart[node];
+        int max = Math.min(labelLength[node], to - from);
+        int i = 0;
+        while (i < max && labels[start + i] == key[from + i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private int appendLabel(byte[] key, int from, int length) {
+        labels = ensureCapacity(labels, labelsSize + length);
+        System.arraycopy(key, from, labels, labelsSize, length);
+        int start = labelsSize;
+        labelsSize += length;
+        return start;
+    }
+
+    private int newNode(int start, int length) {
+        if (nodeCount == labelStart.length) {
+            int capacity = labelStart.length * 2;
+            labelStart = Arrays.copyOf(labelStart, capacity);
+            labelLength = Arrays.copyOf(labelLength, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            valueOf = Arrays.copyOf(valueOf, capacity);
+            maxWeight = Arrays.copyOf(maxWeight, capacity);
+        }
+        int node = nodeCount++;
+        labelStart[node] = start;
+        labelLength[node] = length;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        valueOf[node] = NONE;
+        maxWeight[node] = 0;
+        return node;
+    }
+
+    private int newValue(String value) {
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, valueCount * 2);
+            weights = Arrays.copyOf(weights, valueCount * 2);
+        }
+        values[valueCount] = value;
+        return valueCount++;
+    }
+
+    /**
+     * Write the normalized UTF-8 form of the text into the scratch key.
+     *
+     * @param prefix Whether the text is a lookup prefix, which keeps a trailing separator as a space so
+     *               that "machine " only matches keys continuing with another word
+     * @return The key length in bytes
+     */
+    private static int normalize(String text, Scratch scratch, boolean prefix) {
+        int length = 0;
+        boolean separator = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                separator = true;
+                continue;
+            }
+            scratch.key = ensureCapacity(scratch.key, length + 5);
+            if (separator && length > 0) {
+                scratch.key[length++] = ' ';
+            }
+            separator = false;
+            length = putUtf8(scratch.key, length, Character.toLowerCase(codePoint));
+        }
+        if (prefix && separator && length > 0) {
+            scratch.key = ensureCapacity(scratch.key, length + 1);
+            scratch.key[length++] = ' ';
+        }
+        return length;
+    }
+
+    private static int putUtf8(byte[] bytes, int at, int codePoint) {
+        if (codePoint < 0x80) {
+            bytes[at++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            bytes[at++] = (byte) (0xC0 | codePoint >>> 6);
+            bytes[at++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            bytes[at++] = (byte) (0xE0 | codePoint >>> 12);
+            bytes[at++] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+            bytes[at++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            bytes[at++] = (byte) (0xF0 | codePoint >>> 18);
+            bytes[at++] = (byte) (0x80 | codePoint >>> 12 & 0x3F);
+            bytes[at++] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+            bytes[at++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+        return at;
+    }
+
+    private static byte[] ensureCapacity(byte[] bytes, int capacity) {
+        return bytes.length >= capacity ? bytes : Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+    }
+
+    private Scratch acquire() {
+        return Objects.requireNonNullElseGet(scratches.poll(), Scratch::new);
+    }
+
+    /**
+     * Values found for a prefix.
+     *
+     * @param values  The matching values, best first
+     * @param hasMore Whether more values may match the prefix
+     */
+    public record Completions(List<String> values, boolean hasMore) {
+
+        static final Completions EMPTY = new Completions(List.of(), false);
+    }
+
+    /**
+     * Per-call buffers, pooled rather than thread-local because callers run on short-lived virtual threads.
+     */
+    private static final class Scratch {
+
+        private byte[] key = new byte[128];
+        private byte[] wordKey = new byte[128];
+        private int[] path = new int[32];
+        private int pathLength;
+        private long[] heap = new long[64];
+        private int heapSize;
+        private int[] results = new int[16];
+        private int resultCount;
+
+        void pushPath(int node) {
+            if (pathLength == path.length) {
+                path = Arrays.copyOf(path, pathLength * 2);
+            }
+            path[pathLength++] = node;
+        }
+
+        void addResult(int id) {
+            for (int i = 0; i < resultCount; i++) {
+                if (results[i] == id) {
+                    return;
+                }
+            }
+            if (resultCount == results.length) {
+                results = Arrays.copyOf(results, resultCount * 2);
+            }
+            results[resultCount++] = id;
+        }
+
+        void push(long item) {
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] >= item) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = item;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--heapSize];
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (last >= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
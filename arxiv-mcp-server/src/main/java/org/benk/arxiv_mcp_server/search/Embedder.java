@@ -0,0 +1,26 @@
+package org.benk.arxiv_mcp_server.search;
+
+/**
+ * Text embedding model used by the {@link SemanticSearchIndex}.
+ * Provide an {@code Embedder} bean to replace the built-in {@link HashingEmbedder}.
+ */
+public interface Embedder {
+
+    /**
+     * @return Identifier of the model and its settings; stored vectors from another model are discarded
+     */
+    String id();
+
+    /**
+     * @return The number of dimensions of the embeddings
+     */
+    int dimensions();
+
+    /**
+     * Embed a text.
+     *
+     * @param text The text to embed
+     * @return Vector of unit length, so that the dot product of two embeddings is their cosine similarity
+     */
+    float[] embed(String text);
+}
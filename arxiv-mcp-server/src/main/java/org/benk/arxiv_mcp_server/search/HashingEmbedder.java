@@ -0,0 +1,65 @@
+package org.benk.arxiv_mcp_server.search;
+
+/**
+ * Deterministic embedder that hashes terms and character trigrams into a fixed number of dimensions.
+ * It needs no model files and captures lexical overlap, including between inflections of the same word,
+ * which makes it a baseline and a test stub rather than a model of meaning.
+ */
+public class HashingEmbedder implements Embedder {
+
+    private static final float TERM_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public HashingEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public String id() {
+        return "hashing-" + dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        for (String term : Tokenizer.tokenize(text)) {
+            add(vector, term.hashCode(), TERM_WEIGHT);
+            String padded = "^" + term + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, padded.substring(i, i + 3).hashCode() * 31 + 7, TRIGRAM_WEIGHT);
+            }
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, int hash, float weight) {
+        int mixed = mix(hash);
+        // The top bit picks the sign, so that colliding features cancel out instead of piling up
+        vector[Math.floorMod(mixed, dimensions)] += mixed < 0 ? -weight : weight;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
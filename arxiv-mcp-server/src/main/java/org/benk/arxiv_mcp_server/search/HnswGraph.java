@@ -0,0 +1,302 @@
+package org.benk.arxiv_mcp_server.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hierarchical navigable small world graph over the vectors of a {@link VectorStore}
+ * (Malkov and Yashunin, 2016). Similarity is the dot product of unit vectors.
+ * <p>
+ * Each node lives on layers 0 to a random level drawn with probability decaying by a factor M per layer.
+ * A search descends greedily from the entry point through the upper layers and then runs a best-first
+ * search with a candidate list of size ef on layer 0. Neighbours are chosen with the diversity heuristic,
+ * which keeps the graph navigable on clustered data.
+ * <p>
+ * The graph is not thread-safe for writers: {@link #add(int)} must not run concurrently with anything else,
+ * while concurrent searches are fine.
+ */
+final class HnswGraph {
+
+    private final VectorStore vectors;
+    private final int m;
+    private final int maxConnections0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final Queue<Visited> visitedPool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adjacency per node and layer; element 0 of each array holds the number of neighbours.
+     */
+    private int[][][] links = new int[1024][][];
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswGraph(VectorStore vectors, int m, int efConstruction) {
+        this.vectors = vectors;
+        this.m = m;
+        this.maxConnections0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(m);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Insert the next vector of the store; nodes are added in ordinal order.
+     *
+     * @param node The ordinal of the vector
+     */
+    void add(int node) {
+        if (node != size) {
+            throw new IllegalArgumentException("Expected node " + size + " but got " + node);
+        }
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+        if (node == links.length) {
+            links = Arrays.copyOf(links, node * 2);
+        }
+        links[node] = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            links[node][layer] = new int[maxConnections(layer) + 1];
+        }
+        size++;
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] vector = vectors.get(node);
+        Visited visited = borrowVisited();
+        try {
+            int current = entryPoint;
+            for (int layer = maxLevel; layer > level; layer--) {
+                current = greedy(vector, current, layer);
+            }
+            for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+                NodeQueue results = searchLayer(vector, current, efConstruction, layer, visited);
+                int[] neighbours = selectNeighbours(vector, sortedClosestFirst(results), m);
+                int[] nodeLinks = links[node][layer];
+                for (int neighbour : neighbours) {
+                    nodeLinks[++nodeLinks[0]] = neighbour;
+                    link(neighbour, node, layer);
+                }
+                current = neighbours.length > 0 ? neighbours[0] : current;
+            }
+        } finally {
+            visitedPool.offer(visited);
+        }
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+    }
+
+    /**
+     * Find the approximate nearest neighbours of a vector.
+     *
+     * @param vector The query vector of unit length
+     * @param k      The number of neighbours to return
+     * @param ef     The size of the candidate list, at least k; larger values trade speed for recall
+     * @return Up to k neighbours, most similar first
+     */
+    List<Neighbour> search(float[] vector, int k, int ef) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedy(vector, current, layer);
+        }
+        Visited visited = borrowVisited();
+        try {
+            NodeQueue results = searchLayer(vector, current, Math.max(ef, k), 0, visited);
+            while (results.size() > k) {
+                results.pop();
+            }
+            Neighbour[] neighbours = new Neighbour[results.size()];
+            for (int i = neighbours.length - 1; i >= 0; i--) {
+                float similarity = results.topSimilarity();
+                neighbours[i] = new Neighbour(results.pop(), similarity);
+            }
+            return List.of(neighbours);
+        } finally {
+            visitedPool.offer(visited);
+        }
+    }
+
+    private int maxConnections(int layer) {
+        return layer == 0 ? maxConnections0 : m;
+    }
+
+    /**
+     * Walk to the neighbour most similar to the vector until no neighbour improves on the current node.
+     */
+    private int greedy(float[] vector, int current, int layer) {
+        float best = vectors.dot(vector, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] nodeLinks = links[current][layer];
+            for (int i = 1; i <= nodeLinks[0]; i++) {
+                float similarity = vectors.dot(vector, nodeLinks[i]);
+                if (similarity > best) {
+                    best = similarity;
+                    current = nodeLinks[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search on one layer.
+     *
+     * @return The ef most similar nodes found, least similar on top
+     */
+    private NodeQueue searchLayer(float[] vector, int entry, int ef, int layer, Visited visited) {
+        visited.reset(size);
+        NodeQueue candidates = NodeQueue.closestFirst();
+        NodeQueue results = NodeQueue.furthestFirst();
+        float similarity = vectors.dot(vector, entry);
+        visited.add(entry);
+        candidates.push(entry, similarity);
+        results.push(entry, similarity);
+        while (!candidates.isEmpty()) {
+            if (results.size() >= ef && candidates.topSimilarity() < results.topSimilarity()) {
+                break;
+            }
+            int[] nodeLinks = links[candidates.pop()][layer];
+            for (int i = 1; i <= nodeLinks[0]; i++) {
+                int neighbour = nodeLinks[i];
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                similarity = vectors.dot(vector, neighbour);
+                if (results.size() < ef || similarity > results.topSimilarity()) {
+                    candidates.push(neighbour, similarity);
+                    results.push(neighbour, similarity);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Keep a candidate only if it is more similar to the base vector than to every neighbour kept so far.
+     *
+     * @param candidates Candidates, most similar to the base vector first
+     */
+    private int[] selectNeighbours(float[] base, List<Neighbour> candidates, int max) {
+        List<float[]> keptVectors = new ArrayList<>(max);
+        int[] kept = new int[Math.min(max, candidates.size())];
+        int count = 0;
+        for (Neighbour candidate : candidates) {
+            if (count == kept.length) {
+                break;
+            }
+            float[] candidateVector = vectors.get(candidate.node());
+            boolean diverse = true;
+            for (float[] keptVector : keptVectors) {
+                if (dot(candidateVector, keptVector) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                kept[count++] = candidate.node();
+                keptVectors.add(candidateVector);
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    /**
+     * Add a reverse link, pruning the neighbour list of the target when it is full.
+     */
+    private void link(int from, int to, int layer) {
+        int[] fromLinks = links[from][layer];
+        int max = maxConnections(layer);
+        if (fromLinks[0] < max) {
+            fromLinks[++fromLinks[0]] = to;
+            return;
+        }
+        float[] base = vectors.get(from);
+        List<Neighbour> candidates = new ArrayList<>(max + 1);
+        for (int i = 1; i <= fromLinks[0]; i++) {
+            candidates.add(new Neighbour(fromLinks[i], vectors.dot(base, fromLinks[i])));
+        }
+        candidates.add(new Neighbour(to, vectors.dot(base, to)));
+        candidates.sort((a, b) -> Float.compare(b.similarity(), a.similarity()));
+        int[] selected = selectNeighbours(base, candidates, max);
+        fromLinks[0] = selected.length;
+        System.arraycopy(selected, 0, fromLinks, 1, selected.length);
+    }
+
+    private static List<Neighbour> sortedClosestFirst(NodeQueue results) {
+        Neighbour[] sorted = new Neighbour[results.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            float similarity = results.topSimilarity();
+            sorted[i] = new Neighbour(results.pop(), similarity);
+        }
+        return Arrays.asList(sorted);
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private Visited borrowVisited() {
+        Visited visited = visitedPool.poll();
+        return visited != null ? visited : new Visited();
+    }
+
+    /**
+     * A node with its similarity to a query.
+     */
+    record Neighbour(int node, float similarity) {
+    }
+
+    /**
+     * Visited set marking nodes with a generation number, so that it can be reused without clearing.
+     */
+    private static final class Visited {
+
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length * 2)];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        boolean add(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package org.benk.arxiv_mcp_server.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the title, authors and summary of the papers in the {@link PaperStore}.
+ * <p>
+ * Each field keeps a sorted term dictionary of {@link Postings} with term positions, which gives phrase
+ * and prefix queries. Matches are ranked with BM25 per field, weighted by {@link SearchField#weight()}
+ * and summed over the fields. The index is loaded from the store on startup and updated incrementally
+ * through {@link #add(Map)} whenever papers are saved.
+ * <p>
+ * A paper saved again with changed content is re-indexed under a new document number and its old
+ * document is marked deleted; once deleted documents make up a quarter of the index it is rebuilt.
+ * Searches share a read lock, updates take the write lock.
+ */
+@Slf4j
+@Component
+public class LocalSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_DELETED_FOR_REBUILD = 1024;
+
+    private final PaperStore paperStore;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Scorer> scorers = new ConcurrentLinkedQueue<>();
+
+    private Map<String, Integer> docIds;
+    private String[] paperIds;
+    private PaperInfo[] papers;
+    private FieldIndex[] fields;
+    private BitSet deleted;
+    private int maxDoc;
+    private int liveDocs;
+
+    public LocalSearchIndex(PaperStore paperStore) {
+        this.paperStore = paperStore;
+        clear();
+    }
+
+    /**
+     * Index every paper held in the store.
+     */
+    @PostConstruct
+    public void start() {
+        long started = System.nanoTime();
+        for (String topic : paperStore.getTopics()) {
+            add(paperStore.getTopicPapers(topic));
+        }
+        log.info("Indexed {} papers for local search in {} ms", size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Add papers to the index, replacing earlier versions of papers that changed.
+     *
+     * @param papers Map of paper IDs to paper information
+     */
+    public void add(Map<String, PaperInfo> papers) {
+        lock.writeLock().lock();
+        try {
+            papers.forEach(this::addPaper);
+            if (deleted.cardinality() >= Math.max(MIN_DELETED_FOR_REBUILD, maxDoc / 4)) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of papers in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the indexed papers.
+     *
+     * @param query      Terms, "quoted phrases" and prefix* terms that must all match
+     * @param maxResults Maximum number of hits to return
+     * @return Hits ordered by descending score
+     */
+    public List<LocalSearchHit> search(String query, int maxResults) {
+        List<LocalSearchQuery.Clause> clauses = LocalSearchQuery.parse(query).clauses();
+        if (clauses.isEmpty() || maxResults <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return search(clauses, maxResults);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<LocalSearchHit> search(List<LocalSearchQuery.Clause> clauses, int maxResults) {
+        // Start with the rarest clause; only documents matching every earlier clause are scored further
+        List<LocalSearchQuery.Clause> ordered = clauses.stream()
+                .sorted(Comparator.comparingLong(this::estimateMatches))
+                .toList();
+        Scorer scorer = Objects.requireNonNullElseGet(scorers.poll(), Scorer::new);
+        try {
+            return search(ordered, maxResults, scorer);
+        } finally {
+            scorer.reset();
+            scorers.offer(scorer);
+        }
+    }
+
+    private List<LocalSearchHit> search(List<LocalSearchQuery.Clause> ordered, int maxResults, Scorer scorer) {
+        scorer.ensureCapacity(maxDoc);
+        for (int clause = 0; clause < ordered.size(); clause++) {
+            scorer.clause = clause;
+            for (FieldIndex field : fields) {
+                switch (ordered.get(clause)) {
+                    case LocalSearchQuery.Term term -> field.scoreTerm(term.term(), scorer);
+                    case LocalSearchQuery.Prefix prefix -> field.scorePrefix(prefix.prefix(), scorer);
+                    case LocalSearchQuery.Phrase phrase -> field.scorePhrase(phrase.terms(), scorer);
+                }
+            }
+            if (scorer.candidateCount == 0) {
+                return List.of();
+            }
+        }
+
+        int[] top = scorer.top(ordered.size(), maxResults);
+        List<LocalSearchHit> hits = new ArrayList<>(top.length);
+        for (int doc : top) {
+            hits.add(new LocalSearchHit(paperIds[doc], scorer.scores[doc], papers[doc]));
+        }
+        return hits;
+    }
+
+    private long estimateMatches(LocalSearchQuery.Clause clause) {
+        long matches = 0;
+        for (FieldIndex field : fields) {
+            matches += switch (clause) {
+                case LocalSearchQuery.Term term -> field.docFreq(term.term());
+                case LocalSearchQuery.Phrase phrase -> phrase.terms().stream().mapToLong(field::docFreq).min().orElse(0);
+                // Expanding a prefix is the most expensive clause; score it last
+                case LocalSearchQuery.Prefix prefix -> Integer.MAX_VALUE;
+            };
+        }
+        return matches;
+    }
+
+    private void addPaper(String paperId, PaperInfo paper) {
+        Integer existing = docIds.get(paperId);
+        if (existing != null) {
+            if (Objects.equals(papers[existing], paper)) {
+                // Same content, only fetched again: keep the newer copy without reindexing it
+                papers[existing] = paper;
+                return;
+            }
+            deleted.set(existing);
+            liveDocs--;
+            for (FieldIndex field : fields) {
+                field.totalLength -= field.lengths[existing];
+            }
+        }
+
+        int doc = maxDoc++;
+        if (doc == paperIds.length) {
+            paperIds = Arrays.copyOf(paperIds, doc * 2);
+            papers = Arrays.copyOf(papers, doc * 2);
+        }
+        paperIds[doc] = paperId;
+        papers[doc] = paper;
+        docIds.put(paperId, doc);
+        liveDocs++;
+        for (FieldIndex field : fields) {
+            field.add(doc, field.field.values(paper));
+        }
+    }
+
+    private void rebuild() {
+        log.info("Rebuilding local search index with {} deleted documents", deleted.cardinality());
+        Map<String, PaperInfo> live = new LinkedHashMap<>();
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (!deleted.get(doc)) {
+                live.put(paperIds[doc], papers[doc]);
+            }
+        }
+        clear();
+        live.forEach(this::addPaper);
+    }
+
+    private void clear() {
+        docIds = new HashMap<>();
+        paperIds = new String[1024];
+        papers = new PaperInfo[1024];
+        fields = Arrays.stream(SearchField.values()).map(FieldIndex::new).toArray(FieldIndex[]::new);
+        deleted = new BitSet();
+        maxDoc = 0;
+        liveDocs = 0;
+    }
+
+    /**
+     * Per-query accumulator. For each document it tracks the score and how many clauses in a row matched,
+     * so a document drops out as soon as it misses a clause.
+     * <p>
+     * Scorers are pooled rather than kept per thread, since every request runs on a new virtual thread.
+     * Only documents that matched the first clause are ever touched, so resetting a scorer costs
+     * no more than the query did.
+     */
+    private final class Scorer {
+
+        float[] scores = new float[0];
+        int[] matched = new int[0];
+        int[] candidates = new int[64];
+        int candidateCount;
+        int clause;
+
+        void ensureCapacity(int maxDoc) {
+            if (scores.length < maxDoc) {
+                scores = new float[maxDoc];
+                matched = new int[maxDoc];
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < candidateCount; i++) {
+                scores[candidates[i]] = 0;
+                matched[candidates[i]] = 0;
+            }
+            candidateCount = 0;
+            clause = 0;
+        }
+
+        /**
+         * @return Whether the document can still match every clause
+         */
+        boolean accepts(int doc) {
+            return !deleted.get(doc) && (matched[doc] == clause || matched[doc] == clause + 1);
+        }
+
+        void add(int doc, float score) {
+            if (matched[doc] == clause) {
+                matched[doc] = clause + 1;
+                if (clause == 0) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = doc;
+                }
+            }
+            scores[doc] += score;
+        }
+
+        /**
+         * Select the best documents among those that matched every clause, with a bounded min-heap.
+         *
+         * @return The selected documents ordered by descending score, ties by document number
+         */
+        int[] top(int required, int maxResults) {
+            int[] heap = new int[Math.min(maxResults, candidateCount)];
+            int size = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                int doc = candidates[i];
+                if (matched[doc] != required) {
+                    continue;
+                }
+                if (size < heap.length) {
+                    heap[size] = doc;
+                    siftUp(heap, size++);
+                } else if (better(doc, heap[0])) {
+                    heap[0] = doc;
+                    siftDown(heap, size);
+                }
+            }
+            int[] top = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                top[i] = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i);
+            }
+            return top;
+        }
+
+        private boolean better(int a, int b) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+        }
+
+        private void siftUp(int[] heap, int index) {
+            int doc = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(heap[parent], doc)) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = doc;
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int doc = heap[0];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && better(heap[child], heap[child + 1])) {
+                    child++;
+                }
+                if (!better(doc, heap[child])) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = doc;
+        }
+    }
+
+    /**
+     * Term dictionary and document lengths of one field.
+     */
+    private final class FieldIndex {
+
+        final SearchField field;
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        int[] lengths = new int[1024];
+        long totalLength;
+
+        FieldIndex(SearchField field) {
+            this.field = field;
+        }
+
+        void add(int doc, List<String> values) {
+            Map<String, int[]> termPositions = new HashMap<>();
+            Map<String, Integer> termCounts = new HashMap<>();
+            int position = 0;
+            for (String value : values) {
+                for (String token : Tokenizer.tokenize(value)) {
+                    int count = termCounts.merge(token, 1, Integer::sum);
+                    int[] positions = termPositions.computeIfAbsent(token, key -> new int[4]);
+                    if (count > positions.length) {
+                        positions = Arrays.copyOf(positions, positions.length * 2);
+                        termPositions.put(token, positions);
+                    }
+                    positions[count - 1] = position++;
+                }
+                // Keep a gap between values so that phrases do not match across two authors
+                position++;
+            }
+            int length = termCounts.values().stream().mapToInt(Integer::intValue).sum();
+            if (doc >= lengths.length) {
+                lengths = Arrays.copyOf(lengths, Math.max(lengths.length * 2, doc + 1));
+            }
+            lengths[doc] = length;
+            totalLength += length;
+            termPositions.forEach((term, positions) ->
+                    terms.computeIfAbsent(term, key -> new Postings()).add(doc, positions, termCounts.get(term)));
+        }
+
+        long docFreq(String term) {
+            Postings postings = terms.get(term);
+            return postings == null ? 0 : postings.size();
+        }
+
+        void scoreTerm(String term, Scorer scorer) {
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                return;
+            }
+            float weight = field.weight() * idf(postings);
+            float lengthWeight = lengthWeight();
+            for (int i = 0; i < postings.size(); i++) {
+                int doc = postings.doc(i);
+                if (scorer.accepts(doc)) {
+                    scorer.add(doc, bm25(weight, lengthWeight, postings.freq(i), doc));
+                }
+            }
+        }
+
+        void scorePrefix(String prefix, Scorer scorer) {
+            int expansions = 0;
+            for (String term : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                scoreTerm(term, scorer);
+            }
+        }
+
+        void scorePhrase(List<String> phrase, Scorer scorer) {
+            Postings[] postings = new Postings[phrase.size()];
+            float idf = 0;
+            for (int i = 0; i < postings.length; i++) {
+                postings[i] = terms.get(phrase.get(i));
+                if (postings[i] == null) {
+                    return;
+                }
+                idf += idf(postings[i]);
+            }
+            int[] indexes = new int[postings.length];
+            for (int i = 0; i < postings[0].size(); i++) {
+                int doc = postings[0].doc(i);
+                if (!scorer.accepts(doc)) {
+                    continue;
+                }
+                indexes[0] = i;
+                boolean all = true;
+                for (int t = 1; t < postings.length && all; t++) {
+                    indexes[t] = postings[t].indexOf(doc);
+                    all = indexes[t] >= 0;
+                }
+                if (!all) {
+                    continue;
+                }
+                int freq = 0;
+                for (int occurrence = 0; occurrence < postings[0].freq(i); occurrence++) {
+                    int start = postings[0].position(i, occurrence);
+                    boolean match = true;
+                    for (int t = 1; t < postings.length && match; t++) {
+                        match = postings[t].hasPosition(indexes[t], start + t);
+                    }
+                    if (match) {
+                        freq++;
+                    }
+                }
+                if (freq > 0) {
+                    scorer.add(doc, bm25(field.weight() * idf, lengthWeight(), freq, doc));
+                }
+            }
+        }
+
+        private float idf(Postings postings) {
+            // Deleted documents still count towards the document frequency until the next rebuild
+            double docFreq = Math.min(postings.size(), liveDocs);
+            return (float) Math.log(1 + (liveDocs - docFreq + 0.5) / (docFreq + 0.5));
+        }
+
+        /**
+         * @return The BM25 length normalization factor per token of field length
+         */
+        private float lengthWeight() {
+            float averageLength = liveDocs == 0 ? 1 : Math.max(1, (float) totalLength / liveDocs);
+            return K1 * B / averageLength;
+        }
+
+        private float bm25(float weight, float lengthWeight, int freq, int doc) {
+            float norm = K1 * (1 - B) + lengthWeight * lengths[doc];
+            return weight * freq * (K1 + 1) / (freq + norm);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.benk.arxiv_mcp_server.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsed local search query. Every clause must match a paper in at least one field.
+ * <ul>
+ *     <li>{@code transformer} matches a term</li>
+ *     <li>{@code "large language model"} matches the terms next to each other, in order</li>
+ *     <li>{@code transf*} matches any term starting with the prefix</li>
+ * </ul>
+ * Words that tokenize into several terms, like {@code GPT-4}, are matched as a phrase.
+ */
+record LocalSearchQuery(List<Clause> clauses) {
+
+    sealed interface Clause {
+    }
+
+    record Term(String term) implements Clause {
+    }
+
+    record Phrase(List<String> terms) implements Clause {
+    }
+
+    record Prefix(String prefix) implements Clause {
+    }
+
+    static LocalSearchQuery parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = query.length();
+                }
+                addTerms(clauses, Tokenizer.tokenize(query.substring(i + 1, end)));
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end))) {
+                    end++;
+                }
+                addWord(clauses, query.substring(i, end));
+                i = end;
+            }
+        }
+        return new LocalSearchQuery(clauses);
+    }
+
+    private static void addWord(List<Clause> clauses, String word) {
+        List<String> tokens = Tokenizer.tokenize(word);
+        if (word.endsWith("*") && !tokens.isEmpty()) {
+            addTerms(clauses, tokens.subList(0, tokens.size() - 1));
+            clauses.add(new Prefix(tokens.getLast()));
+        } else {
+            addTerms(clauses, tokens);
+        }
+    }
+
+    private static void addTerms(List<Clause> clauses, List<String> tokens) {
+        if (tokens.size() == 1) {
+            clauses.add(new Term(tokens.getFirst()));
+        } else if (tokens.size() > 1) {
+            clauses.add(new Phrase(List.copyOf(tokens)));
+        }
+    }
+}
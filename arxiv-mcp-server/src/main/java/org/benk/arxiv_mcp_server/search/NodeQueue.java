@@ -0,0 +1,97 @@
+package org.benk.arxiv_mcp_server.search;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of graph nodes keyed by similarity, without boxing.
+ * A queue either keeps the most similar node on top ({@link #closestFirst()}) or the least similar one
+ * ({@link #furthestFirst()}), which is how HNSW keeps its candidate and result lists.
+ */
+final class NodeQueue {
+
+    private final boolean closestFirst;
+    private int[] nodes = new int[16];
+    private float[] similarities = new float[16];
+    private int size;
+
+    private NodeQueue(boolean closestFirst) {
+        this.closestFirst = closestFirst;
+    }
+
+    static NodeQueue closestFirst() {
+        return new NodeQueue(true);
+    }
+
+    static NodeQueue furthestFirst() {
+        return new NodeQueue(false);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int topNode() {
+        return nodes[0];
+    }
+
+    float topSimilarity() {
+        return similarities[0];
+    }
+
+    void push(int node, float similarity) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            similarities = Arrays.copyOf(similarities, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!above(similarity, similarities[parent])) {
+                break;
+            }
+            nodes[index] = nodes[parent];
+            similarities[index] = similarities[parent];
+            index = parent;
+        }
+        nodes[index] = node;
+        similarities[index] = similarity;
+    }
+
+    int pop() {
+        int top = nodes[0];
+        size--;
+        int node = nodes[size];
+        float similarity = similarities[size];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && above(similarities[child + 1], similarities[child])) {
+                child++;
+            }
+            if (!above(similarities[child], similarity)) {
+                break;
+            }
+            nodes[index] = nodes[child];
+            similarities[index] = similarities[child];
+            index = child;
+        }
+        nodes[index] = node;
+        similarities[index] = similarity;
+        return top;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private boolean above(float a, float b) {
+        return closestFirst ? a > b : a < b;
+    }
+}
@@ -0,0 +1,68 @@
+package org.benk.arxiv_mcp_server.search;
+
+import java.util.Arrays;
+
+/**
+ * Postings list of one term in one field: the documents containing the term in ascending order,
+ * the term frequency per document and the token positions of every occurrence.
+ */
+final class Postings {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int[] positionStarts = new int[4];
+    private int[] positions = new int[4];
+    private int size;
+    private int positionCount;
+
+    /**
+     * Append a document; documents are always added in ascending order.
+     */
+    void add(int doc, int[] docPositions, int count) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+            positionStarts = Arrays.copyOf(positionStarts, size * 2);
+        }
+        if (positionCount + count > positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(positions.length * 2, positionCount + count));
+        }
+        docs[size] = doc;
+        freqs[size] = count;
+        positionStarts[size] = positionCount;
+        System.arraycopy(docPositions, 0, positions, positionCount, count);
+        positionCount += count;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+
+    /**
+     * @return The index of a document in this list, or a negative value if the term does not occur in it
+     */
+    int indexOf(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc);
+    }
+
+    /**
+     * @return Whether the term occurs at a position of the document at the given index
+     */
+    boolean hasPosition(int index, int position) {
+        int from = positionStarts[index];
+        return Arrays.binarySearch(positions, from, from + freqs[index], position) >= 0;
+    }
+
+    int position(int index, int occurrence) {
+        return positions[positionStarts[index] + occurrence];
+    }
+}
@@ -0,0 +1,37 @@
+package org.benk.arxiv_mcp_server.search;
+
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Paper fields covered by the local search index, with their weight in the combined BM25 score.
+ */
+enum SearchField {
+
+    TITLE(2.0f, paper -> paper.getTitle() == null ? List.of() : List.of(paper.getTitle())),
+    AUTHORS(1.5f, paper -> paper.getAuthors() == null ? List.of()
+            : paper.getAuthors().stream().filter(Objects::nonNull).toList()),
+    SUMMARY(1.0f, paper -> paper.getSummary() == null ? List.of() : List.of(paper.getSummary()));
+
+    private final float weight;
+    private final Function<PaperInfo, List<String>> values;
+
+    SearchField(float weight, Function<PaperInfo, List<String>> values) {
+        this.weight = weight;
+        this.values = values;
+    }
+
+    float weight() {
+        return weight;
+    }
+
+    /**
+     * @return The values of this field; authors are separate values so that phrases do not span two names
+     */
+    List<String> values(PaperInfo paper) {
+        return values.apply(paper);
+    }
+}
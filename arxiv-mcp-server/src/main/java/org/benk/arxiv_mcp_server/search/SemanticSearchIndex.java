@@ -0,0 +1,393 @@
+package org.benk.arxiv_mcp_server.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Semantic search over the title and summary of the papers in the {@link PaperStore}.
+ * <p>
+ * Papers are embedded with the {@link Embedder} bean and their vectors appended to a memory-mapped
+ * {@link VectorStore}, so the vectors stay off-heap and survive restarts without re-embedding. A sidecar
+ * {@code <vector-file>.ids} file records the embedder and, per vector ordinal, the paper ID and a 64-bit hash
+ * of the embedded text, the first eight bytes of its SHA-256; a 32-bit hash would miss one changed text
+ * in a few billion. The {@link HnswGraph} over the vectors is kept in memory.
+ * <p>
+ * Startup only reads the sidecar file. The graph is rebuilt on a background thread, a slice of nodes per
+ * write lock so that searches and saves go on meanwhile, and until it holds every vector searches scan the
+ * vectors exactly. The builder then embeds the stored papers that have no vector, such as those saved while
+ * semantic search was disabled; papers that have one are not read, their text having been hashed when saved.
+ * Bulk imports leave embedding to {@link #backfill()}, which makes the same pass once they are done.
+ * <p>
+ * A paper whose text changed gets a new vector; the old one stays in the graph and is skipped in results.
+ * Embedding runs outside the index lock, graph inserts take the write lock and searches the read lock.
+ */
+@Slf4j
+@Component
+public class SemanticSearchIndex {
+
+    private static final String EMBEDDER_HEADER = "embedder=";
+    private static final int BUILD_SLICE = 1024;
+
+    private final ArxivProperties.Semantic properties;
+    private final Path root;
+    private final PaperStore paperStore;
+    private final Embedder embedder;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<String> paperIds = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final Map<String, Long> textHashes = new ConcurrentHashMap<>();
+
+    private VectorStore vectors;
+    private HnswGraph graph;
+    private BufferedWriter idWriter;
+    private final CompletableFuture<Void> built = new CompletableFuture<>();
+    private volatile boolean graphComplete;
+    private Thread builder;
+    private final ExecutorService backfiller = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("semantic-index-backfill").daemon(true).factory());
+    private final ReentrantLock backfillLock = new ReentrantLock();
+    private CompletableFuture<Void> queuedBackfill;
+
+    public SemanticSearchIndex(ArxivProperties properties, PaperStore paperStore, Embedder embedder) {
+        this.properties = properties.getSemantic();
+        this.root = Paths.get(properties.getPapersDirectory());
+        this.paperStore = paperStore;
+        this.embedder = embedder;
+    }
+
+    /**
+     * Open the vector file and start rebuilding the graph and embedding the stored papers that have no
+     * vector yet in the background.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            built.complete(null);
+            return;
+        }
+        long started = System.nanoTime();
+        Path vectorFile = root.resolve(properties.getVectorFile());
+        Path idFile = root.resolve(properties.getVectorFile() + ".ids");
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(root);
+            List<String> lines = Files.exists(idFile) ? Files.readAllLines(idFile, StandardCharsets.UTF_8) : List.of();
+            if (lines.isEmpty() || !lines.getFirst().equals(EMBEDDER_HEADER + embedder.id())) {
+                if (!lines.isEmpty()) {
+                    log.info("Discarding vectors of another embedder in: {}", vectorFile);
+                }
+                Files.deleteIfExists(vectorFile);
+                Files.write(idFile, List.of(EMBEDDER_HEADER + embedder.id()), StandardCharsets.UTF_8);
+                lines = List.of();
+            }
+
+            int count = Math.max(0, lines.size() - 1);
+            vectors = new VectorStore(vectorFile, embedder.dimensions(), count);
+            graph = new HnswGraph(vectors, properties.getM(), properties.getEfConstruction());
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                String[] fields = lines.get(ordinal + 1).split("\t");
+                paperIds.add(fields[0]);
+                ordinals.put(fields[0], ordinal);
+                textHashes.put(fields[0], Long.parseLong(fields[1]));
+            }
+            idWriter = Files.newBufferedWriter(idFile, StandardCharsets.UTF_8, CREATE, APPEND);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error opening vector file: {}", vectorFile, e);
+            throw new RuntimeException("Error opening vector file", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        builder = Thread.ofPlatform().name("semantic-index-build").daemon(true).start(() -> {
+            try {
+                buildGraph();
+                embedMissing();
+                log.info("Indexed {} paper vectors for semantic search in {} ms", size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            } catch (InterruptedException e) {
+                log.info("Stopped building the semantic search index");
+            } catch (RuntimeException e) {
+                log.error("Error building the semantic search index", e);
+            } finally {
+                built.complete(null);
+            }
+        });
+    }
+
+    private void buildGraph() throws InterruptedException {
+        while (!graphComplete) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            lock.writeLock().lock();
+            try {
+                int end = Math.min(vectors.size(), graph.size() + BUILD_SLICE);
+                for (int ordinal = graph.size(); ordinal < end; ordinal++) {
+                    graph.add(ordinal);
+                }
+                // Vectors added from here on are inserted as they are added
+                graphComplete = graph.size() == vectors.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void embedMissing() throws InterruptedException {
+        for (String topic : paperStore.getTopics()) {
+            Map<String, PaperInfo> missing = new LinkedHashMap<>();
+            for (String paperId : paperStore.getTopicPaperIds(topic)) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                PaperInfo paper = ordinals.containsKey(paperId) ? null : paperStore.getPaper(paperId);
+                if (paper != null) {
+                    missing.put(paperId, paper);
+                }
+                if (missing.size() == BUILD_SLICE) {
+                    add(missing);
+                    missing.clear();
+                }
+            }
+            add(missing);
+        }
+    }
+
+    /**
+     * @return Completes once the graph holds every vector and the stored papers without one are embedded
+     */
+    CompletableFuture<Void> built() {
+        return built;
+    }
+
+    /**
+     * Embed the stored papers that have no vector yet on a background thread, once the startup build is done.
+     * A backfill asked for while another one waits to start is the same backfill, since it will see the
+     * same papers.
+     *
+     * @return Completes once the papers stored before the backfill started are embedded
+     */
+    public CompletableFuture<Void> backfill() {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        backfillLock.lock();
+        try {
+            if (queuedBackfill == null) {
+                queuedBackfill = built.thenRunAsync(this::runBackfill, backfiller);
+            }
+            return queuedBackfill;
+        } finally {
+            backfillLock.unlock();
+        }
+    }
+
+    private void runBackfill() {
+        backfillLock.lock();
+        try {
+            // Papers stored from here on need a backfill of their own
+            queuedBackfill = null;
+        } finally {
+            backfillLock.unlock();
+        }
+        long started = System.nanoTime();
+        int before = size();
+        try {
+            embedMissing();
+            log.info("Embedded {} stored papers for semantic search in {} ms", size() - before,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (InterruptedException e) {
+            log.info("Stopped embedding stored papers for semantic search");
+        } catch (RuntimeException e) {
+            log.error("Error embedding stored papers for semantic search", e);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        backfiller.shutdownNow();
+        if (builder != null) {
+            builder.interrupt();
+        }
+        try {
+            if (builder != null) {
+                builder.join();
+            }
+            backfiller.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            if (idWriter != null) {
+                idWriter.close();
+                vectors.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Embed and index papers that are new or whose title or summary changed.
+     *
+     * @param papers Map of paper IDs to paper information
+     */
+    public void add(Map<String, PaperInfo> papers) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<String, Embedding> embeddings = new LinkedHashMap<>();
+        papers.forEach((paperId, paper) -> {
+            String text = text(paper);
+            long textHash = textHash(text);
+            if (!Objects.equals(textHashes.get(paperId), textHash)) {
+                embeddings.put(paperId, new Embedding(textHash, embedder.embed(text)));
+            }
+        });
+        if (embeddings.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Embedding> entry : embeddings.entrySet()) {
+                String paperId = entry.getKey();
+                Embedding embedding = entry.getValue();
+                if (Objects.equals(textHashes.get(paperId), embedding.textHash())) {
+                    continue;
+                }
+                int ordinal = vectors.add(embedding.vector());
+                idWriter.write(paperId + "\t" + embedding.textHash());
+                idWriter.newLine();
+                paperIds.add(paperId);
+                ordinals.put(paperId, ordinal);
+                textHashes.put(paperId, embedding.textHash());
+                if (graphComplete) {
+                    graph.add(ordinal);
+                }
+            }
+            idWriter.flush();
+        } catch (IOException e) {
+            log.error("Error appending paper vectors", e);
+            throw new RuntimeException("Error appending paper vectors", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of papers with a vector
+     */
+    public int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * Find the papers most similar in meaning to a query.
+     *
+     * @param query      Free text describing the papers to find
+     * @param maxResults Maximum number of results to return
+     * @return Matching papers with their cosine similarity to the query, most similar first
+     */
+    public List<LocalSearchHit> search(String query, int maxResults) {
+        if (!properties.isEnabled() || maxResults <= 0) {
+            return List.of();
+        }
+        float[] vector = embedder.embed(query);
+        List<HnswGraph.Neighbour> neighbours;
+        List<String> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // Ask for extra neighbours to make up for superseded vectors
+            neighbours = graphComplete
+                    ? graph.search(vector, 2 * maxResults, properties.getEfSearch())
+                    : scan(vector, 2 * maxResults);
+            for (HnswGraph.Neighbour neighbour : neighbours) {
+                ids.add(paperIds.get(neighbour.node()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<LocalSearchHit> hits = new ArrayList<>(maxResults);
+        for (int i = 0; i < neighbours.size() && hits.size() < maxResults; i++) {
+            String paperId = ids.get(i);
+            if (ordinals.get(paperId) != neighbours.get(i).node()) {
+                continue;
+            }
+            PaperInfo paper = paperStore.getPaper(paperId);
+            if (paper != null) {
+                hits.add(new LocalSearchHit(paperId, neighbours.get(i).similarity(), paper));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Exact search over every vector, for use while the graph is being built.
+     */
+    private List<HnswGraph.Neighbour> scan(float[] vector, int k) {
+        NodeQueue results = NodeQueue.furthestFirst();
+        for (int ordinal = 0; ordinal < vectors.size(); ordinal++) {
+            float similarity = vectors.dot(vector, ordinal);
+            if (results.size() < k || similarity > results.topSimilarity()) {
+                results.push(ordinal, similarity);
+                if (results.size() > k) {
+                    results.pop();
+                }
+            }
+        }
+        HnswGraph.Neighbour[] neighbours = new HnswGraph.Neighbour[results.size()];
+        for (int i = neighbours.length - 1; i >= 0; i--) {
+            float similarity = results.topSimilarity();
+            neighbours[i] = new HnswGraph.Neighbour(results.pop(), similarity);
+        }
+        return List.of(neighbours);
+    }
+
+    private static String text(PaperInfo paper) {
+        return Objects.requireNonNullElse(paper.getTitle(), "") + "\n" + Objects.requireNonNullElse(paper.getSummary(), "");
+    }
+
+    private static long textHash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Embedding(long textHash, float[] vector) {
+    }
+}
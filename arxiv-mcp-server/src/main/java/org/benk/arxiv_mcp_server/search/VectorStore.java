@@ -0,0 +1,118 @@
+package org.benk.arxiv_mcp_server.search;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Fixed-size float vectors kept off-heap in a memory-mapped file.
+ * Vector {@code n} is stored at byte offset {@code n * dimensions * 4}; the file is mapped in segments
+ * of up to 64 MB that are added as the store grows, so the vectors never occupy the Java heap.
+ * The number of valid vectors is tracked by the caller.
+ */
+final class VectorStore implements AutoCloseable {
+
+    private static final long SEGMENT_BYTES = 64L << 20;
+
+    private final FileChannel channel;
+    private final int dimensions;
+    private final int vectorsPerSegment;
+    private final List<MappedByteBuffer> mapped = new ArrayList<>();
+    private final List<FloatBuffer> segments = new ArrayList<>();
+    private int size;
+
+    /**
+     * Open a vector file.
+     *
+     * @param file       The vector file, created if it does not exist
+     * @param dimensions The number of dimensions of every vector
+     * @param size       The number of valid vectors at the start of the file
+     */
+    VectorStore(Path file, int dimensions, int size) throws IOException {
+        this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+        this.dimensions = dimensions;
+        this.vectorsPerSegment = (int) Math.max(1, SEGMENT_BYTES / (4L * dimensions));
+        this.size = size;
+        while (segments.size() * (long) vectorsPerSegment < size) {
+            map();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Append a vector.
+     *
+     * @return The ordinal of the vector
+     */
+    int add(float[] vector) throws IOException {
+        if (size == segments.size() * vectorsPerSegment) {
+            map();
+        }
+        int ordinal = size;
+        segment(ordinal).put(offset(ordinal), vector, 0, dimensions);
+        size++;
+        return ordinal;
+    }
+
+    float[] get(int ordinal) {
+        float[] vector = new float[dimensions];
+        segment(ordinal).get(offset(ordinal), vector, 0, dimensions);
+        return vector;
+    }
+
+    /**
+     * @return The dot product of a vector with a stored vector
+     */
+    float dot(float[] vector, int ordinal) {
+        FloatBuffer segment = segment(ordinal);
+        int offset = offset(ordinal);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vector[i] * segment.get(offset + i);
+        }
+        return sum;
+    }
+
+    /**
+     * Write the mapped vectors through to the file.
+     */
+    void force() {
+        mapped.forEach(MappedByteBuffer::force);
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void map() throws IOException {
+        long position = segments.size() * (long) vectorsPerSegment * dimensions * 4;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) vectorsPerSegment * dimensions * 4);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        mapped.add(buffer);
+        segments.add(buffer.asFloatBuffer());
+    }
+
+    private FloatBuffer segment(int ordinal) {
+        return segments.get(ordinal / vectorsPerSegment);
+    }
+
+    private int offset(int ordinal) {
+        return (ordinal % vectorsPerSegment) * dimensions;
+    }
+}
@@ -1,37 +1,77 @@
 package org.benk.arxiv_mcp_server.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.client.RequestPriority;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
 import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.PaperLookupResult;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivAuthor;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivLink;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.benk.arxiv_mcp_server.search.AutocompleteIndex;
+import org.benk.arxiv_mcp_server.search.LocalSearchIndex;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.store.PaperStore;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the ArxivService interface.
+ * <p>
+ * Stored papers and topics are served stale-while-revalidate: a read always answers from the store, and a
+ * paper fetched longer than {@code arxiv.freshness.paper-ttl} ago, or a topic whose newest paper was fetched
+ * longer than {@code arxiv.freshness.topic-ttl} ago, is refreshed in the background by the {@link PaperRefresher}.
+ * <p>
+ * Interactive reads and searches of a topic are counted, so that the {@link TopicPrefetcher} can keep the most
+ * used topics up to date with {@link #searchNewPapers(String, int, int)}.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ArxivService {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Pattern VERSION_SUFFIX = Pattern.compile("v(\\d+)$");
+    /**
+     * Topic directories named after an arXiv category by snapshot imports, such as cs.cl or hep-th.
+     */
+    private static final Pattern CATEGORY_TOPIC = Pattern.compile(
+            "(astro-ph|cond-mat|cs|econ|eess|math|nlin|physics|q-bio|q-fin|stat)\\.[a-z-]+"
+                    + "|astro-ph|cond-mat|gr-qc|hep-ex|hep-lat|hep-ph|hep-th|math-ph|nucl-ex|nucl-th|quant-ph");
+
     private final ArxivClient arxivClient;
+    private final ArxivProperties properties;
+    private final PaperStore paperStore;
+    private final LocalSearchIndex localSearchIndex;
+    private final SemanticSearchIndex semanticSearchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final TopicMarkdownRenderer topicMarkdownRenderer;
+    private final PaperRefresher paperRefresher;
+    private final Map<String, LongAdder> topicAccesses = new ConcurrentHashMap<>();
+    private final Map<String, Long> topicsFreshUntil = new ConcurrentHashMap<>();
 
-    private final String papersDirectory = "c:/temp/papers";
+    /**
+     * Papers found by {@link #searchNewPapers(String, int, int)}.
+     *
+     * @param paperIds IDs of the papers submitted since the topic was last searched, newest first
+     * @param requests Number of requests sent to the arXiv API
+     */
+    public record NewPapers(List<String> paperIds, int requests) {
+    }
 
     /**
      * Search for papers on arXiv based on a topic.
@@ -41,75 +81,261 @@ public class ArxivService {
      * @return List of paper IDs found in the search
      */
     public List<String> searchPapers(String topic, int maxResults) {
+        return searchPapers(topic, maxResults, SearchProgressListener.NONE);
+    }
+
+    /**
+     * Search for papers on arXiv based on a topic, walking the results in pages of
+     * {@code arxiv.search.page-size} entries. Each page is saved to the store before the next one
+     * is requested, and the listener is notified once per page.
+     * <p>
+     * When arXiv fails, papers already found are returned; when it fails on the first page, the search is
+     * answered from the papers stored locally for the topic, or else from the local full-text index.
+     *
+     * @param topic       The topic to search for
+     * @param maxResults  Maximum number of results to retrieve
+     * @param listener    Listener notified after each page has been saved
+     * @return List of paper IDs found in the search
+     */
+    public List<String> searchPapers(String topic, int maxResults, SearchProgressListener listener) {
         log.info("Searching for papers on topic: {} with max results: {}", topic, maxResults);
 
-        // Create a directory for this topic
         String topicDir = formatTopicDirectory(topic);
-        Path path = Paths.get(papersDirectory, topicDir);
-        try {
-            Files.createDirectories(path);
-        } catch (IOException e) {
-            log.error("Error creating directory: {}", path, e);
-            throw new RuntimeException("Error creating directory", e);
+        recordAccess(topicDir);
+        List<String> paperIds = new ArrayList<>();
+        int pageSize = properties.getSearch().getPageSize();
+        int start = 0;
+        while (start < maxResults) {
+            // Search arXiv API using the Feign client
+            ArxivResponse response;
+            try {
+                response = arxivClient.searchPapers("all:" + topic, start, Math.min(pageSize, maxResults - start));
+            } catch (RuntimeException e) {
+                if (start > 0) {
+                    log.warn("arXiv search for topic: {} failed after {} papers, returning those: {}", topic, start, e.getMessage());
+                    break;
+                }
+                List<String> stored = searchLocally(topic, maxResults, e);
+                listener.onPage(stored, stored.size(), stored.size());
+                return stored;
+            }
+            if (response == null || response.getEntries() == null || response.getEntries().isEmpty()) {
+                break;
+            }
+
+            Map<String, PaperInfo> papersInfo = new LinkedHashMap<>();
+            for (ArxivEntry entry : response.getEntries()) {
+                String paperId = getPaperId(entry);
+                paperIds.add(paperId);
+                papersInfo.put(paperId, toPaperInfo(entry, paperId));
+            }
+            savePapers(topicDir, papersInfo);
+
+            start += response.getEntries().size();
+            int total = Math.min(maxResults, response.getTotalResults());
+            listener.onPage(List.copyOf(papersInfo.keySet()), start, Math.max(total, start));
+            if (start >= total) {
+                break;
+            }
         }
 
-        // Search arXiv API using the Feign client
-        ArxivResponse response = arxivClient.searchPapers("all:" + topic, 0, maxResults);
+        return paperIds;
+    }
+
+    /**
+     * Save papers obtained other than from a search, such as from a metadata snapshot, to a topic.
+     * The indexes built over the store are left alone: bulk imports hand what they saved to
+     * {@link #indexPapers(Map)} in large batches, and papers never handed over are indexed from the store
+     * on the next start.
+     *
+     * @param topic  The topic to save the papers to
+     * @param papers Map of paper IDs to paper information
+     */
+    public void importPapers(String topic, Map<String, PaperInfo> papers) {
+        String topicDir = formatTopicDirectory(topic);
+        paperStore.savePapers(topicDir, papers);
+        topicMarkdownRenderer.invalidate(topicDir);
+    }
+
+    /**
+     * Add imported papers of any number of topics to the local and autocomplete indexes in one pass, so that
+     * each index takes its write lock once for the whole batch. Embedding them for semantic search would
+     * bound the import by the embedder, so they are left to {@link #backfillSemanticIndex()}.
+     *
+     * @param topicPapers Map of topics to the papers imported into them
+     */
+    public void indexPapers(Map<String, Map<String, PaperInfo>> topicPapers) {
+        Map<String, PaperInfo> papers = new LinkedHashMap<>();
+        topicPapers.values().forEach(papers::putAll);
+        localSearchIndex.add(papers);
+        topicPapers.forEach((topic, imported) -> autocompleteIndex.add(formatTopicDirectory(topic), imported));
+    }
+
+    /**
+     * Embed the stored papers that have no vector yet, such as those of a finished import, on a background
+     * thread. Until then semantic search leaves them out.
+     *
+     * @return Completes once they are embedded
+     */
+    public CompletableFuture<Void> backfillSemanticIndex() {
+        return semanticSearchIndex.backfill();
+    }
 
+    /**
+     * Search arXiv for the papers of a topic submitted since it was last searched. Results are walked newest
+     * first and the walk stops at the first paper already stored for the topic, in any version. New papers are
+     * saved like those of {@link #searchPapers(String, int)}, and the rendered topic is cached again.
+     *
+     * @param topic       The topic to search for
+     * @param maxResults  Maximum number of new papers to retrieve
+     * @param maxRequests Maximum number of requests to send to the arXiv API
+     * @return The new papers and the number of requests sent
+     */
+    public NewPapers searchNewPapers(String topic, int maxResults, int maxRequests) {
+        log.info("Searching for new papers on topic: {} with max results: {}", topic, maxResults);
+
+        String topicDir = formatTopicDirectory(topic);
+        Set<String> known = new HashSet<>();
+        for (String paperId : paperStore.getTopicPaperIds(topicDir)) {
+            known.add(VERSION_SUFFIX.matcher(paperId).replaceFirst(""));
+        }
         List<String> paperIds = new ArrayList<>();
-        Map<String, PaperInfo> papersInfo = new HashMap<>();
+        int pageSize = properties.getSearch().getPageSize();
+        int requests = 0;
+        int start = 0;
+        boolean caughtUp = false;
+        while (!caughtUp && paperIds.size() < maxResults && requests < maxRequests) {
+            int pageResults = Math.min(pageSize, maxResults - paperIds.size());
+            ArxivResponse response = arxivClient.searchNewest("all:" + topic, start, pageResults);
+            requests++;
+            if (response == null || response.getEntries() == null || response.getEntries().isEmpty()) {
+                break;
+            }
 
-        if (response != null && response.getEntries() != null) {
+            Map<String, PaperInfo> papersInfo = new LinkedHashMap<>();
             for (ArxivEntry entry : response.getEntries()) {
-                // Extract paper ID from the entry ID (which is a URL)
-                String entryId = entry.getId();
-                String paperId = entryId.substring(entryId.lastIndexOf('/') + 1);
-                paperIds.add(paperId);
+                String paperId = getPaperId(entry);
+                if (known.contains(VERSION_SUFFIX.matcher(paperId).replaceFirst(""))) {
+                    caughtUp = true;
+                    break;
+                }
+                papersInfo.put(paperId, toPaperInfo(entry, paperId));
+            }
+            if (!papersInfo.isEmpty()) {
+                savePapers(topicDir, papersInfo);
+                paperIds.addAll(papersInfo.keySet());
+            }
 
-                // Find PDF URL
-                String pdfUrl = getPdfUrl(entry, paperId);
+            start += response.getEntries().size();
+            if (response.getEntries().size() < pageResults || start >= response.getTotalResults()) {
+                break;
+            }
+        }
 
-                // Extract authors
-                List<String> authors = new ArrayList<>();
-                if (entry.getAuthors() != null) {
-                    authors = entry.getAuthors().stream()
-                            .map(ArxivAuthor::getName)
-                            .collect(Collectors.toList());
-                }
+        if (!known.isEmpty() || !paperIds.isEmpty()) {
+            topicMarkdownRenderer.render(topicDir);
+        }
+        log.info("Found {} new papers on topic: {} in {} requests", paperIds.size(), topic, requests);
+        return new NewPapers(paperIds, requests);
+    }
 
-                PaperInfo paperInfo = PaperInfo.builder()
-                        .title(entry.getTitle())
-                        .authors(authors)
-                        .summary(entry.getSummary())
-                        .pdfUrl(pdfUrl)
-                        .published(entry.getPublished())
-                        .build();
+    /**
+     * Count an interactive read or search of a topic. Background work does not count.
+     */
+    private void recordAccess(String topicDir) {
+        if (RequestPriority.current() == RequestPriority.INTERACTIVE) {
+            topicAccesses.computeIfAbsent(topicDir, key -> new LongAdder()).increment();
+        }
+    }
 
-                papersInfo.put(paperId, paperInfo);
+    /**
+     * Take the number of interactive reads and searches of each topic since the previous call.
+     *
+     * @return Map of formatted topic names to access counts
+     */
+    public Map<String, Long> takeTopicAccesses() {
+        Map<String, Long> accesses = new HashMap<>();
+        for (String topicDir : topicAccesses.keySet()) {
+            // An access counted while its counter is removed is lost, which statistics can afford
+            LongAdder counter = topicAccesses.remove(topicDir);
+            if (counter != null) {
+                accesses.put(topicDir, counter.sum());
             }
         }
+        return accesses;
+    }
 
-        // Save papers info to a JSON file
-        Path filePath = path.resolve("papers_info.json");
-        try {
-            // Try to load existing papers info
-            Map<String, PaperInfo> existingPapersInfo = new HashMap<>();
-            if (Files.exists(filePath)) {
-                existingPapersInfo = objectMapper.readValue(filePath.toFile(), new TypeReference<>() {});
-            }
+    /**
+     * Save papers to a topic and to the indexes and caches built over the store.
+     * Also used by {@link ReactiveArxivService} for the pages it fetched.
+     */
+    void savePapers(String topicDir, Map<String, PaperInfo> papersInfo) {
+        paperStore.savePapers(topicDir, papersInfo);
+        localSearchIndex.add(papersInfo);
+        semanticSearchIndex.add(papersInfo);
+        autocompleteIndex.add(topicDir, papersInfo);
+        topicMarkdownRenderer.invalidate(topicDir);
+    }
+
+    /**
+     * Answer a search that arXiv failed with the papers stored locally: those saved for the topic, or else
+     * the best matches of the local full-text index.
+     *
+     * Also used by {@link ReactiveArxivService}.
+     *
+     * @throws RuntimeException If no stored paper answers the search
+     */
+    List<String> searchLocally(String topic, int maxResults, Throwable failure) {
+        List<String> paperIds;
+        try (Stream<Map.Entry<String, PaperInfo>> papers = paperStore.streamTopicPapers(formatTopicDirectory(topic), 0)) {
+            paperIds = papers.limit(maxResults).map(Map.Entry::getKey).toList();
+        }
+        if (paperIds.isEmpty()) {
+            paperIds = localSearchIndex.search(topic, maxResults).stream().map(LocalSearchHit::getPaperId).toList();
+        }
+        if (paperIds.isEmpty()) {
+            log.error("Error searching arXiv for topic: {}", topic, failure);
+            throw new RuntimeException("Error searching arXiv for topic: " + topic, failure);
+        }
+        log.warn("arXiv search for topic: {} failed, returning {} papers stored locally: {}", topic, paperIds.size(),
+                failure.getMessage());
+        return paperIds;
+    }
 
-            // Merge with new papers info
-            existingPapersInfo.putAll(papersInfo);
+    /**
+     * Extract the paper ID from an entry ID (which is a URL).
+     */
+    static String getPaperId(ArxivEntry entry) {
+        String entryId = entry.getId();
+        return entryId.substring(entryId.lastIndexOf('/') + 1);
+    }
 
-            // Write to file
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(filePath.toFile(), existingPapersInfo);
-            log.info("Results are saved in: {}", filePath);
-        } catch (IOException e) {
-            log.error("Error writing papers info to file: {}", filePath, e);
-            throw new RuntimeException("Error writing papers info to file", e);
+    static PaperInfo toPaperInfo(ArxivEntry entry, String paperId) {
+        List<String> authors = new ArrayList<>();
+        if (entry.getAuthors() != null) {
+            authors = entry.getAuthors().stream()
+                    .map(ArxivAuthor::getName)
+                    .collect(Collectors.toList());
         }
 
-        return paperIds;
+        return PaperInfo.builder()
+                .title(entry.getTitle())
+                .authors(authors)
+                .summary(entry.getSummary())
+                .pdfUrl(getPdfUrl(entry, paperId))
+                .published(entry.getPublished())
+                .updated(entry.getUpdated())
+                .version(getVersion(paperId))
+                .fetchedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * @return The version of the vN suffix of a paper ID, or null if the ID has none
+     */
+    static Integer getVersion(String paperId) {
+        Matcher matcher = VERSION_SUFFIX.matcher(paperId);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
     }
 
     private static String getPdfUrl(ArxivEntry entry, String paperId) {
@@ -139,26 +365,14 @@ public class ArxivService {
     public PaperInfo extractPaperInfo(String paperId) {
         log.info("Extracting info for paper: {}", paperId);
 
-        // First, try to find the paper in the local cache
-        File papersDirFile = new File(papersDirectory);
-        if (papersDirFile.exists() && papersDirFile.isDirectory()) {
-            for (File topicDir : Objects.requireNonNull(papersDirFile.listFiles(File::isDirectory))) {
-                File papersInfoFile = new File(topicDir, "papers_info.json");
-                if (papersInfoFile.exists() && papersInfoFile.isFile()) {
-                    try {
-                        Map<String, PaperInfo> papersInfo = objectMapper.readValue(papersInfoFile,
-                                new TypeReference<>() {
-                                });
-
-                        if (papersInfo.containsKey(paperId)) {
-                            log.info("Found paper info in local cache: {}", paperId);
-                            return papersInfo.get(paperId);
-                        }
-                    } catch (IOException e) {
-                        log.error("Error reading papers info file: {}", papersInfoFile, e);
-                    }
-                }
+        // First, try to find the paper in the local store
+        PaperInfo stored = paperStore.getPaper(paperId);
+        if (stored != null) {
+            log.info("Found paper info in local cache: {}", paperId);
+            if (isStale(stored.getFetchedAt(), properties.getFreshness().getPaperTtl())) {
+                refreshPapers(List.of(paperId));
             }
+            return stored;
         }
 
         // If not found in local cache, fetch from arXiv API
@@ -167,32 +381,172 @@ public class ArxivService {
             ArxivResponse response = arxivClient.getPaper(paperId);
 
             if (response != null && response.getEntries() != null && !response.getEntries().isEmpty()) {
-                ArxivEntry entry = response.getEntries().getFirst();
+                return toPaperInfo(response.getEntries().getFirst(), paperId);
+            }
+        } catch (Exception e) {
+            log.error("Error fetching paper info from arXiv API: {}", paperId, e);
+        }
+
+        log.warn("No information found for paper: {}", paperId);
+        return null;
+    }
+
+    /**
+     * Extract information about several papers at once.
+     * Papers held locally are served from the store, the rest are fetched from the arXiv API
+     * with comma-joined id_list requests of at most {@code arxiv.batch.chunk-size} IDs each.
+     *
+     * @param paperIds The IDs of the papers to look for
+     * @return Lookup result per requested paper ID, in request order
+     */
+    public Map<String, PaperLookupResult> extractPapersInfo(List<String> paperIds) {
+        log.info("Extracting info for {} papers", paperIds.size());
+
+        Map<String, PaperLookupResult> results = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        for (String paperId : new LinkedHashSet<>(paperIds)) {
+            PaperInfo stored = paperStore.getPaper(paperId);
+            if (stored != null) {
+                results.put(paperId, PaperLookupResult.found(paperId, stored));
+                if (isStale(stored.getFetchedAt(), properties.getFreshness().getPaperTtl())) {
+                    stale.add(paperId);
+                }
+            } else {
+                results.put(paperId, null);
+                missing.add(paperId);
+            }
+        }
 
-                String pdfUrl = getPdfUrl(entry, paperId);
+        int chunkSize = properties.getBatch().getChunkSize();
+        for (int from = 0; from < stale.size(); from += chunkSize) {
+            refreshPapers(List.copyOf(stale.subList(from, Math.min(from + chunkSize, stale.size()))));
+        }
+        for (int from = 0; from < missing.size(); from += chunkSize) {
+            List<String> chunk = missing.subList(from, Math.min(from + chunkSize, missing.size()));
+            fetchChunk(chunk).forEach(result -> results.put(result.getPaperId(), result));
+        }
+        return results;
+    }
 
-                // Extract authors
-                List<String> authors = new ArrayList<>();
-                if (entry.getAuthors() != null) {
-                    authors = entry.getAuthors().stream()
-                            .map(ArxivAuthor::getName)
-                            .collect(Collectors.toList());
+    /**
+     * Search a stored topic again in the background once its most recently fetched paper is older than
+     * {@code arxiv.freshness.topic-ttl}; older papers are refreshed as they are read. Finding the newest
+     * fetch time walks the topic, so a fresh topic is not walked again until it can have gone stale, and a
+     * stale one not until {@code arxiv.freshness.resolution} has passed. Imported category topics are not
+     * searched again, see {@link #isCategoryTopic(String)}.
+     */
+    private void refreshTopicIfStale(String topicDir) {
+        long now = System.currentTimeMillis();
+        Long freshUntil = topicsFreshUntil.get(topicDir);
+        if (!properties.getFreshness().isEnabled() || freshUntil != null && now < freshUntil || isCategoryTopic(topicDir)) {
+            return;
+        }
+        Duration ttl = properties.getFreshness().getTopicTtl();
+        int count = 0;
+        Long newest = null;
+        try (Stream<Map.Entry<String, PaperInfo>> papers = paperStore.streamTopicPapers(topicDir, 0)) {
+            for (Iterator<Map.Entry<String, PaperInfo>> it = papers.iterator(); it.hasNext(); count++) {
+                Long fetchedAt = it.next().getValue().getFetchedAt();
+                if (fetchedAt != null && (newest == null || fetchedAt > newest)) {
+                    newest = fetchedAt;
                 }
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        if (isStale(newest, ttl)) {
+            int maxResults = Math.min(count, properties.getSearch().getPageSize());
+            paperRefresher.submit("topic:" + topicDir, () -> searchPapers(topicDir.replace('_', ' '), maxResults));
+            topicsFreshUntil.put(topicDir, now + properties.getFreshness().getResolution().toMillis());
+        } else {
+            topicsFreshUntil.put(topicDir, newest + ttl.toMillis());
+        }
+    }
+
+    private boolean isStale(Long fetchedAt, Duration ttl) {
+        return properties.getFreshness().isEnabled()
+                && (fetchedAt == null || System.currentTimeMillis() - fetchedAt >= ttl.toMillis());
+    }
 
-                return PaperInfo.builder()
-                        .title(entry.getTitle())
-                        .authors(authors)
-                        .summary(entry.getSummary())
-                        .pdfUrl(pdfUrl)
-                        .published(entry.getPublished())
-                        .build();
+    /**
+     * Queue a background refresh of stored papers, saved again to every topic holding them.
+     * The papers are requested without their version suffix so that the refresh picks up a newer version,
+     * which is then stored under the ID the paper was stored with.
+     */
+    private void refreshPapers(List<String> paperIds) {
+        paperRefresher.submit("papers:" + String.join(",", paperIds), () -> {
+            log.info("Refreshing {} stale papers", paperIds.size());
+            Map<String, List<String>> storedIds = new LinkedHashMap<>();
+            for (String paperId : paperIds) {
+                String latestId = VERSION_SUFFIX.matcher(paperId).replaceFirst("");
+                storedIds.computeIfAbsent(latestId, key -> new ArrayList<>()).add(paperId);
             }
+            List<String> latestIds = List.copyOf(storedIds.keySet());
+            ArxivResponse response = arxivClient.getPapers(String.join(",", latestIds), latestIds.size());
+            Map<String, Map<String, PaperInfo>> byTopic = new HashMap<>();
+            for (PaperLookupResult result : matchChunk(latestIds, response)) {
+                if (result.getPaper() == null) {
+                    continue;
+                }
+                for (String paperId : storedIds.get(result.getPaperId())) {
+                    for (String topicDir : paperStore.getPaperTopics(paperId)) {
+                        byTopic.computeIfAbsent(topicDir, key -> new LinkedHashMap<>()).put(paperId, result.getPaper());
+                    }
+                }
+            }
+            byTopic.forEach(this::savePapers);
+        });
+    }
+
+    private List<PaperLookupResult> fetchChunk(List<String> chunk) {
+        log.info("Fetching {} papers from arXiv API", chunk.size());
+        ArxivResponse response;
+        try {
+            response = arxivClient.getPapers(String.join(",", chunk), chunk.size());
         } catch (Exception e) {
-            log.error("Error fetching paper info from arXiv API: {}", paperId, e);
+            log.error("Error fetching papers from arXiv API: {}", chunk, e);
+            return failedChunk(chunk, e);
         }
+        return matchChunk(chunk, response);
+    }
 
-        log.warn("No information found for paper: {}", paperId);
-        return null;
+    static List<PaperLookupResult> failedChunk(List<String> chunk, Exception e) {
+        return chunk.stream()
+                .map(paperId -> PaperLookupResult.failed(paperId, "Error fetching paper from arXiv API: " + e.getMessage()))
+                .toList();
+    }
+
+    /**
+     * Match the entries of an id_list response to the requested IDs.
+     *
+     * @param chunk    The requested paper IDs
+     * @param response The arXiv API response, may be null
+     * @return Lookup result per requested paper ID, in request order
+     */
+    static List<PaperLookupResult> matchChunk(List<String> chunk, ArxivResponse response) {
+        Map<String, PaperLookupResult> found = new HashMap<>();
+        String apiError = null;
+        if (response != null && response.getEntries() != null) {
+            for (ArxivEntry entry : response.getEntries()) {
+                if (entry.getId() != null && entry.getId().contains("/api/errors")) {
+                    // arXiv answers a malformed id_list with a single error entry
+                    apiError = entry.getSummary();
+                    continue;
+                }
+                String entryPaperId = getPaperId(entry);
+                String paperId = chunk.contains(entryPaperId) ? entryPaperId : entryPaperId.replaceFirst("v\\d+$", "");
+                if (chunk.contains(paperId)) {
+                    found.put(paperId, PaperLookupResult.found(paperId, toPaperInfo(entry, entryPaperId)));
+                }
+            }
+        }
+
+        String notFound = apiError != null ? apiError : "No information found for paper";
+        return chunk.stream()
+                .map(paperId -> found.getOrDefault(paperId, PaperLookupResult.failed(paperId, notFound)))
+                .toList();
     }
 
     /**
@@ -203,17 +557,7 @@ public class ArxivService {
 
     public List<String> getAvailableFolders() {
         log.info("Getting available folders");
-
-        File papersDirFile = new File(papersDirectory);
-        if (!papersDirFile.exists() || !papersDirFile.isDirectory()) {
-            log.warn("Papers directory does not exist: {}", papersDirectory);
-            return Collections.emptyList();
-        }
-
-        return Arrays.stream(Objects.requireNonNull(papersDirFile.listFiles(File::isDirectory)))
-                .filter(dir -> new File(dir, "papers_info.json").exists())
-                .map(File::getName)
-                .collect(Collectors.toList());
+        return paperStore.getTopics();
     }
 
     /**
@@ -224,23 +568,104 @@ public class ArxivService {
      */
     public Map<String, PaperInfo> getTopicPapers(String topic) {
         log.info("Getting papers for topic: {}", topic);
-
         String topicDir = formatTopicDirectory(topic);
-        Path papersInfoPath = Paths.get(papersDirectory, topicDir, "papers_info.json");
+        recordAccess(topicDir);
+        refreshTopicIfStale(topicDir);
+        return paperStore.getTopicPapers(topicDir);
+    }
+
+    /**
+     * Get papers for a specific topic rendered as Markdown.
+     *
+     * @param topic The research topic to retrieve papers for
+     * @return The rendered topic, served from the cache until the topic changes,
+     * or null if the topic is too large to be rendered whole
+     */
+    public TopicMarkdownRenderer.RenderedTopic getTopicMarkdown(String topic) {
+        log.info("Getting markdown for topic: {}", topic);
+        recordAccess(formatTopicDirectory(topic));
+        refreshTopicIfStale(formatTopicDirectory(topic));
+        return topicMarkdownRenderer.render(topic);
+    }
 
-        if (!Files.exists(papersInfoPath)) {
-            log.warn("No papers info file found for topic: {}", topic);
-            return Collections.emptyMap();
+    /**
+     * Get one page of the papers of a topic rendered as Markdown.
+     *
+     * @param topic  The research topic to retrieve papers for
+     * @param offset Position of the first paper of the page
+     * @return The page and the cursor of the next one
+     */
+    public TopicMarkdownRenderer.RenderedPage getTopicMarkdownPage(String topic, int offset) {
+        log.info("Getting markdown page for topic: {}, offset={}", topic, offset);
+        if (offset == 0) {
+            // A topic read page by page counts once
+            recordAccess(formatTopicDirectory(topic));
+            refreshTopicIfStale(formatTopicDirectory(topic));
         }
+        return topicMarkdownRenderer.renderPage(topic, offset);
+    }
 
-        try {
-            return objectMapper.readValue(papersInfoPath.toFile(),
-                    new TypeReference<>() {
-                    });
-        } catch (IOException e) {
-            log.error("Error reading papers info file: {}", papersInfoPath, e);
-            throw new RuntimeException("Error reading papers info file", e);
+    /**
+     * Write papers of a topic as Markdown one paper at a time.
+     *
+     * @param topic  The research topic to retrieve papers for
+     * @param offset Position of the first paper to write
+     * @param limit  Maximum number of papers to write
+     * @param out    The stream to write to
+     * @throws IOException If writing to the stream fails
+     */
+    public void writeTopicMarkdown(String topic, int offset, int limit, OutputStream out) throws IOException {
+        topicMarkdownRenderer.write(topic, offset, limit, out);
+    }
+
+    /**
+     * Count the papers stored for a topic.
+     *
+     * @param topic The research topic
+     * @return Number of papers in the topic
+     */
+    public int countTopicPapers(String topic) {
+        refreshTopicIfStale(formatTopicDirectory(topic));
+        return paperStore.countTopicPapers(formatTopicDirectory(topic));
+    }
+
+    /**
+     * Stream the papers of a topic in insertion order, reading each paper only when it is consumed.
+     * The stream must be closed.
+     *
+     * @param topic  The research topic
+     * @param offset Number of papers to skip
+     * @return Entries of paper ID and paper information
+     */
+    public Stream<Map.Entry<String, PaperInfo>> streamTopicPapers(String topic, int offset) {
+        if (offset == 0) {
+            refreshTopicIfStale(formatTopicDirectory(topic));
         }
+        return paperStore.streamTopicPapers(formatTopicDirectory(topic), offset);
+    }
+
+    /**
+     * Search the papers held in the local store by title, summary and authors.
+     *
+     * @param query      Terms, "quoted phrases" and prefix* terms that must all match
+     * @param maxResults Maximum number of results to return
+     * @return Matching papers ordered by relevance
+     */
+    public List<LocalSearchHit> localSearch(String query, int maxResults) {
+        log.info("Searching local papers: query={}, maxResults={}", query, maxResults);
+        return localSearchIndex.search(query, maxResults);
+    }
+
+    /**
+     * Search the papers held in the local store by meaning rather than by exact terms.
+     *
+     * @param query      Free text describing the papers to find
+     * @param maxResults Maximum number of results to return
+     * @return Matching papers ordered by similarity to the query
+     */
+    public List<LocalSearchHit> semanticSearch(String query, int maxResults) {
+        log.info("Searching papers semantically: query={}, maxResults={}", query, maxResults);
+        return semanticSearchIndex.search(query, maxResults);
     }
 
     /**
@@ -249,7 +674,16 @@ public class ArxivService {
      * @param topic The topic string
      * @return Formatted topic string
      */
-    private String formatTopicDirectory(String topic) {
+    /**
+     * Whether a topic directory is named after an arXiv category, as snapshot imports name them. Searching
+     * the name as a topic would match papers mentioning it rather than the papers of the category, so
+     * such topics are only filled by imports.
+     */
+    static boolean isCategoryTopic(String topicDir) {
+        return CATEGORY_TOPIC.matcher(topicDir).matches();
+    }
+
+    static String formatTopicDirectory(String topic) {
         return topic.toLowerCase().replace(" ", "_");
     }
 }
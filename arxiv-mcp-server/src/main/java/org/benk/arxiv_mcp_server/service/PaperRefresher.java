@@ -0,0 +1,108 @@
+package org.benk.arxiv_mcp_server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.client.RequestPriority;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded background refresher of stale papers and topics, behind the stale-while-revalidate reads of
+ * {@link ArxivService}.
+ * <p>
+ * Refreshes run on {@code arxiv.freshness.workers} virtual threads, with at most
+ * {@code arxiv.freshness.max-pending} waiting; a refresh submitted to a full queue is dropped, and the
+ * next stale read submits it again. A refresh already pending under the same key is not queued twice.
+ * Refreshes send their arXiv requests at {@link RequestPriority#BACKGROUND} priority, so the rate limiter
+ * serves waiting tool calls first. Metrics: {@code arxiv.refresh.tasks} (per outcome) and
+ * {@code arxiv.refresh.pending}.
+ */
+@Slf4j
+@Component
+public class PaperRefresher {
+
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public PaperRefresher(ArxivProperties properties, MeterRegistry meterRegistry) {
+        int workers = Math.max(1, properties.getFreshness().getWorkers());
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getFreshness().getMaxPending())),
+                Thread.ofVirtual().name("arxiv-refresher-", 0).factory());
+        this.succeeded = tasks(meterRegistry, "success");
+        this.failed = tasks(meterRegistry, "failure");
+        this.dropped = tasks(meterRegistry, "dropped");
+        Gauge.builder("arxiv.refresh.pending", pending, Set::size)
+                .description("Refreshes of stale papers and topics queued or running")
+                .register(meterRegistry);
+    }
+
+    private static Counter tasks(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("arxiv.refresh.tasks")
+                .description("Background refreshes of stale papers and topics")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a refresh unless one with the same key is already pending.
+     *
+     * @param key     Identifies what is refreshed, such as a paper ID
+     * @param refresh The refresh, run on a background thread
+     * @return Whether the refresh was queued
+     */
+    public boolean submit(String key, Runnable refresh) {
+        if (!pending.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(key, refresh));
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            dropped.increment();
+            log.debug("Refresh queue is full, dropping refresh of {}", key);
+            return false;
+        }
+    }
+
+    private void run(String key, Runnable refresh) {
+        try {
+            RequestPriority.background(() -> {
+                refresh.run();
+                return null;
+            });
+            succeeded.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Error refreshing {}: {}", key, e.getMessage());
+        } finally {
+            pending.remove(key);
+        }
+    }
+
+    /**
+     * @return The number of refreshes queued or running
+     */
+    public int pending() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
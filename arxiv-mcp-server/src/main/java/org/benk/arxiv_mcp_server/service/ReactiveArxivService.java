@@ -0,0 +1,231 @@
+package org.benk.arxiv_mcp_server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.client.ReactiveArxivClient;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.PaperLookupResult;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.search.LocalSearchIndex;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive counterpart of {@link ArxivService}.
+ * arXiv is called through the non-blocking {@link ReactiveArxivClient}; the paper store does file I/O,
+ * so store calls are moved to the bounded elastic scheduler to keep them off the event loop. Fetched papers
+ * are saved, and failed searches answered locally, by the same methods as in {@link ArxivService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveArxivService {
+
+    private final ReactiveArxivClient arxivClient;
+    private final ArxivService arxivService;
+    private final ArxivProperties properties;
+    private final PaperStore paperStore;
+    private final LocalSearchIndex localSearchIndex;
+    private final SemanticSearchIndex semanticSearchIndex;
+    private final TopicMarkdownRenderer topicMarkdownRenderer;
+
+    /**
+     * Search for papers on arXiv based on a topic.
+     *
+     * @param topic      The topic to search for
+     * @param maxResults Maximum number of results to retrieve
+     * @return IDs of the papers found in the search
+     */
+    public Flux<String> searchPapers(String topic, int maxResults) {
+        return searchPages(topic, maxResults).concatMapIterable(SearchPage::paperIds);
+    }
+
+    /**
+     * Search for papers on arXiv based on a topic, walking the results in pages of
+     * {@code arxiv.search.page-size} entries. Each page is saved to the store before it is emitted
+     * and before the next one is requested.
+     * <p>
+     * When arXiv fails, the pages already found are kept; when it fails on the first page, the search is
+     * answered from the papers stored locally for the topic, or else from the local full-text index.
+     *
+     * @param topic      The topic to search for
+     * @param maxResults Maximum number of results to retrieve
+     * @return The saved pages, in order
+     */
+    public Flux<SearchPage> searchPages(String topic, int maxResults) {
+        log.info("Searching for papers on topic: {} with max results: {}", topic, maxResults);
+        if (maxResults <= 0) {
+            return Flux.empty();
+        }
+        return fetchPage(topic, 0, maxResults)
+                .onErrorResume(e -> callStore(() -> arxivService.searchLocally(topic, maxResults, e))
+                        .map(paperIds -> new SearchPage(paperIds, paperIds.size(), paperIds.size())))
+                .expand(page -> page.fetched() < page.total()
+                        ? fetchPage(topic, page.fetched(), maxResults).onErrorResume(e -> {
+                            log.warn("arXiv search for topic: {} failed after {} papers, returning those: {}",
+                                    topic, page.fetched(), e.getMessage());
+                            return Mono.empty();
+                        })
+                        : Mono.empty());
+    }
+
+    private Mono<SearchPage> fetchPage(String topic, int start, int maxResults) {
+        int pageSize = properties.getSearch().getPageSize();
+        return arxivClient.searchPapers("all:" + topic, start, Math.min(pageSize, maxResults - start))
+                .filter(response -> response.getEntries() != null && !response.getEntries().isEmpty())
+                .flatMap(response -> {
+                    Map<String, PaperInfo> papersInfo = new LinkedHashMap<>();
+                    for (ArxivEntry entry : response.getEntries()) {
+                        String paperId = ArxivService.getPaperId(entry);
+                        papersInfo.put(paperId, ArxivService.toPaperInfo(entry, paperId));
+                    }
+                    int fetched = start + response.getEntries().size();
+                    int total = Math.max(Math.min(maxResults, response.getTotalResults()), fetched);
+                    return runStore(() -> arxivService.savePapers(ArxivService.formatTopicDirectory(topic), papersInfo))
+                            .thenReturn(new SearchPage(List.copyOf(papersInfo.keySet()), fetched, total));
+                });
+    }
+
+    /**
+     * Extract information about a specific paper.
+     *
+     * @param paperId The ID of the paper to look for
+     * @return Paper information, empty if not found
+     */
+    public Mono<PaperInfo> extractPaperInfo(String paperId) {
+        log.info("Extracting info for paper: {}", paperId);
+        return callStore(() -> paperStore.getPaper(paperId))
+                .switchIfEmpty(Mono.defer(() -> arxivClient.getPaper(paperId)
+                        .filter(response -> response.getEntries() != null && !response.getEntries().isEmpty())
+                        .map(response -> ArxivService.toPaperInfo(response.getEntries().getFirst(), paperId))
+                        .onErrorResume(e -> {
+                            log.error("Error fetching paper info from arXiv API: {}", paperId, e);
+                            return Mono.empty();
+                        })));
+    }
+
+    /**
+     * Extract information about several papers at once.
+     * Papers held locally are served from the store, the rest are fetched from the arXiv API
+     * with comma-joined id_list requests of at most {@code arxiv.batch.chunk-size} IDs each, one chunk at a time.
+     *
+     * @param paperIds The IDs of the papers to look for
+     * @return Lookup result per requested paper ID, in request order
+     */
+    public Mono<Map<String, PaperLookupResult>> extractPapersInfo(List<String> paperIds) {
+        log.info("Extracting info for {} papers", paperIds.size());
+        Map<String, PaperLookupResult> results = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        return runStore(() -> {
+            for (String paperId : new LinkedHashSet<>(paperIds)) {
+                PaperInfo stored = paperStore.getPaper(paperId);
+                results.put(paperId, stored != null ? PaperLookupResult.found(paperId, stored) : null);
+                if (stored == null) {
+                    missing.add(paperId);
+                }
+            }
+        }).thenMany(Flux.defer(() -> {
+            int chunkSize = properties.getBatch().getChunkSize();
+            List<List<String>> chunks = new ArrayList<>();
+            for (int from = 0; from < missing.size(); from += chunkSize) {
+                chunks.add(missing.subList(from, Math.min(from + chunkSize, missing.size())));
+            }
+            return Flux.fromIterable(chunks).concatMap(this::fetchChunk);
+        })).doOnNext(result -> results.put(result.getPaperId(), result))
+                .then(Mono.fromSupplier(() -> results));
+    }
+
+    private Flux<PaperLookupResult> fetchChunk(List<String> chunk) {
+        log.info("Fetching {} papers from arXiv API", chunk.size());
+        return arxivClient.getPapers(String.join(",", chunk), chunk.size())
+                .map(response -> ArxivService.matchChunk(chunk, response))
+                .defaultIfEmpty(ArxivService.matchChunk(chunk, null))
+                .onErrorResume(Exception.class, e -> {
+                    log.error("Error fetching papers from arXiv API: {}", chunk, e);
+                    return Mono.just(ArxivService.failedChunk(chunk, e));
+                })
+                .flatMapIterable(results -> results);
+    }
+
+    /**
+     * Get all available topic folders.
+     *
+     * @return List of available topic folders
+     */
+    public Mono<List<String>> getAvailableFolders() {
+        return callStore(paperStore::getTopics);
+    }
+
+    /**
+     * Get papers for a specific topic.
+     *
+     * @param topic The research topic to retrieve papers for
+     * @return Map of paper IDs to paper information
+     */
+    public Mono<Map<String, PaperInfo>> getTopicPapers(String topic) {
+        return callStore(() -> paperStore.getTopicPapers(ArxivService.formatTopicDirectory(topic)));
+    }
+
+    /**
+     * Get papers for a specific topic rendered as Markdown.
+     *
+     * @param topic The research topic to retrieve papers for
+     * @return The rendered topic, served from the cache until the topic changes,
+     * or empty if the topic is too large to be rendered whole
+     */
+    public Mono<TopicMarkdownRenderer.RenderedTopic> getTopicMarkdown(String topic) {
+        return callStore(() -> topicMarkdownRenderer.render(topic));
+    }
+
+    /**
+     * Get one page of the papers of a topic rendered as Markdown.
+     *
+     * @param topic  The research topic to retrieve papers for
+     * @param offset Position of the first paper of the page
+     * @return The page and the cursor of the next one
+     */
+    public Mono<TopicMarkdownRenderer.RenderedPage> getTopicMarkdownPage(String topic, int offset) {
+        return callStore(() -> topicMarkdownRenderer.renderPage(topic, offset));
+    }
+
+    /**
+     * Search the papers held in the local store by title, summary and authors.
+     *
+     * @param query      Terms, "quoted phrases" and prefix* terms that must all match
+     * @param maxResults Maximum number of results to return
+     * @return Matching papers ordered by relevance
+     */
+    public Mono<List<LocalSearchHit>> localSearch(String query, int maxResults) {
+        // Searches wait on the index lock while a large batch is added
+        return callStore(() -> localSearchIndex.search(query, maxResults));
+    }
+
+    /**
+     * Search the papers held in the local store by meaning rather than by exact terms.
+     *
+     * @param query      Free text describing the papers to find
+     * @param maxResults Maximum number of results to return
+     * @return Matching papers ordered by similarity to the query
+     */
+    public Mono<List<LocalSearchHit>> semanticSearch(String query, int maxResults) {
+        // Paper lookups may hit the store on disk
+        return callStore(() -> semanticSearchIndex.search(query, maxResults));
+    }
+
+    private static <T> Mono<T> callStore(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<Void> runStore(Runnable call) {
+        return Mono.fromRunnable(call).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+}
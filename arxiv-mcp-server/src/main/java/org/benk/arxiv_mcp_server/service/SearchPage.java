@@ -0,0 +1,13 @@
+package org.benk.arxiv_mcp_server.service;
+
+import java.util.List;
+
+/**
+ * One saved page of a topic search.
+ *
+ * @param paperIds IDs of the papers on this page
+ * @param fetched  Number of papers fetched so far, including this page
+ * @param total    Number of papers the search is expected to return
+ */
+public record SearchPage(List<String> paperIds, int fetched, int total) {
+}
@@ -0,0 +1,20 @@
+package org.benk.arxiv_mcp_server.service;
+
+import java.util.List;
+
+/**
+ * Callback notified after each page of a paginated search has been saved.
+ */
+@FunctionalInterface
+public interface SearchProgressListener {
+
+    SearchProgressListener NONE = (paperIds, fetched, total) -> {
+    };
+
+    /**
+     * @param paperIds The IDs of the papers on this page
+     * @param fetched  Number of entries fetched so far
+     * @param total    Number of entries expected in total
+     */
+    void onPage(List<String> paperIds, int fetched, int total);
+}
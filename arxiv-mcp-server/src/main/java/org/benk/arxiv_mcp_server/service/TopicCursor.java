@@ -0,0 +1,50 @@
+package org.benk.arxiv_mcp_server.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for paging through the papers of a topic.
+ * A cursor encodes the position of the next paper; since papers are only ever appended to a topic,
+ * a cursor stays valid while the topic grows.
+ */
+public final class TopicCursor {
+
+    private static final String PREFIX = "offset:";
+
+    private TopicCursor() {
+    }
+
+    /**
+     * @param offset Position of the next paper in the topic
+     * @return The cursor, safe to use in URLs and URIs
+     */
+    public static String encode(int offset) {
+        byte[] text = (PREFIX + offset).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text);
+    }
+
+    /**
+     * @param cursor A cursor returned by {@link #encode(int)}, or null for the start of the topic
+     * @return Position of the next paper in the topic
+     * @throws IllegalArgumentException If the cursor is malformed
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!text.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            int offset = Integer.parseInt(text.substring(PREFIX.length()));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Negative offset");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.benk.arxiv_mcp_server.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Renders the papers of a topic as the Markdown document served by the {@code papers://{topic}} resource
+ * and the {@code /topic/{topic}/markdown} endpoint.
+ * <p>
+ * Rendered topics are kept in a size-bounded cache, both as a String and as UTF-8 bytes, together with
+ * an ETag derived from the content. Writers call {@link #invalidate(String)} after saving papers to a topic.
+ * A render that overlaps a write is dropped by the invalidation, so the cache never keeps a stale document.
+ * Like {@code CachingArxivClient}, a miss is rendered on the calling thread without holding a lock.
+ * <p>
+ * Topics above {@code arxiv.markdown.stream-threshold} papers are never rendered whole. They are written
+ * to an output stream one paper at a time with {@link #write}, or rendered a page at a time with
+ * {@link #renderPage}, reading papers lazily from the store.
+ */
+@Component
+public class TopicMarkdownRenderer {
+
+    static final int SUMMARY_LENGTH = 500;
+
+    private static final int OBJECT_OVERHEAD = 64;
+
+    private final PaperStore paperStore;
+    private final ArxivProperties.Markdown properties;
+    private final AsyncCache<String, RenderedTopic> cache;
+
+    public TopicMarkdownRenderer(PaperStore paperStore, ArxivProperties properties, MeterRegistry meterRegistry) {
+        this.paperStore = paperStore;
+        this.properties = properties.getMarkdown();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMarkdown().getCacheMaxSize().toBytes())
+                .weigher((String topic, RenderedTopic rendered) -> rendered.weight())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "topic.markdown");
+    }
+
+    /**
+     * Get the rendered Markdown of a topic, rendering it on a cache miss.
+     *
+     * @param topic The research topic
+     * @return The rendered topic, or null if the topic has too many papers to be rendered whole
+     */
+    public RenderedTopic render(String topic) {
+        String topicDir = ArxivService.formatTopicDirectory(topic);
+        CompletableFuture<RenderedTopic> created = new CompletableFuture<>();
+        CompletableFuture<RenderedTopic> rendered = cache.get(topicDir, (key, executor) -> created);
+        if (rendered == created) {
+            try {
+                // A null value is not kept by the cache, so a topic is re-counted until it is small enough
+                boolean tooLarge = paperStore.countTopicPapers(topicDir) > properties.getStreamThreshold();
+                created.complete(tooLarge ? null : render(topicDir, paperStore.getTopicPapers(topicDir)));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return rendered.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Render one page of a topic. The first page starts with the topic header.
+     *
+     * @param topic  The research topic
+     * @param offset Position of the first paper of the page
+     * @return The page and the cursor of the next one
+     */
+    public RenderedPage renderPage(String topic, int offset) {
+        String topicDir = ArxivService.formatTopicDirectory(topic);
+        int total = paperStore.countTopicPapers(topicDir);
+        StringBuilder content = new StringBuilder(256 + properties.getPageSize() * 1024);
+        if (offset == 0) {
+            appendHeader(content, topicDir, total);
+        }
+        int rendered = 0;
+        try (Stream<Map.Entry<String, PaperInfo>> papers = paperStore.streamTopicPapers(topicDir, offset)) {
+            Iterator<Map.Entry<String, PaperInfo>> iterator = papers.limit(properties.getPageSize()).iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, PaperInfo> entry = iterator.next();
+                appendPaper(content, entry.getKey(), entry.getValue());
+                rendered++;
+            }
+        }
+        boolean more = rendered > 0 && offset + rendered < total;
+        return new RenderedPage(content.toString(), more ? TopicCursor.encode(offset + rendered) : null);
+    }
+
+    /**
+     * Write the Markdown of a topic to a stream one paper at a time, without rendering the whole document.
+     * The output starts with the topic header when writing from the first paper.
+     *
+     * @param topic  The research topic
+     * @param offset Position of the first paper to write
+     * @param limit  Maximum number of papers to write
+     * @param out    The stream to write UTF-8 Markdown to; it is flushed but not closed
+     * @throws IOException If writing to the stream fails
+     */
+    public void write(String topic, int offset, int limit, OutputStream out) throws IOException {
+        String topicDir = ArxivService.formatTopicDirectory(topic);
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        StringBuilder content = new StringBuilder(2048);
+        char[] chars = new char[2048];
+        if (offset == 0) {
+            appendHeader(content, topicDir, paperStore.countTopicPapers(topicDir));
+        }
+        try (Stream<Map.Entry<String, PaperInfo>> papers = paperStore.streamTopicPapers(topicDir, offset)) {
+            Iterator<Map.Entry<String, PaperInfo>> iterator = papers.limit(limit).iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, PaperInfo> entry = iterator.next();
+                appendPaper(content, entry.getKey(), entry.getValue());
+                chars = drain(content, chars, writer);
+            }
+        }
+        drain(content, chars, writer);
+        writer.flush();
+    }
+
+    /**
+     * Move the rendered text to the writer through a reused char buffer, so no String is created per paper.
+     */
+    private static char[] drain(StringBuilder content, char[] chars, Writer writer) throws IOException {
+        if (chars.length < content.length()) {
+            chars = new char[Math.max(content.length(), chars.length * 2)];
+        }
+        content.getChars(0, content.length(), chars, 0);
+        writer.write(chars, 0, content.length());
+        content.setLength(0);
+        return chars;
+    }
+
+    /**
+     * Drop the rendered Markdown of a topic after its papers changed.
+     *
+     * @param topic The research topic
+     */
+    public void invalidate(String topic) {
+        cache.synchronous().invalidate(ArxivService.formatTopicDirectory(topic));
+    }
+
+    static RenderedTopic render(String topicDir, Map<String, PaperInfo> papers) {
+        StringBuilder content = new StringBuilder(256 + papers.size() * 1024);
+        appendHeader(content, topicDir, papers.size());
+        for (Map.Entry<String, PaperInfo> entry : papers.entrySet()) {
+            appendPaper(content, entry.getKey(), entry.getValue());
+        }
+        String markdown = content.toString();
+        byte[] bytes = markdown.getBytes(StandardCharsets.UTF_8);
+        return new RenderedTopic(papers.size(), markdown, bytes, etag(bytes));
+    }
+
+    static void appendHeader(StringBuilder content, String topicDir, int papers) {
+        String title = topicDir.replace('_', ' ');
+        content.append("# Papers on ");
+        if (!title.isEmpty()) {
+            content.append(Character.toUpperCase(title.charAt(0))).append(title, 1, title.length());
+        }
+        content.append("\n\nTotal papers: ").append(papers).append("\n\n");
+    }
+
+    static void appendPaper(StringBuilder content, String paperId, PaperInfo paperInfo) {
+        content.append("## ").append(paperInfo.getTitle()).append('\n');
+        content.append("- **Paper ID**: ").append(paperId).append('\n');
+        content.append("- **Authors**: ");
+        if (paperInfo.getAuthors() != null) {
+            for (int i = 0; i < paperInfo.getAuthors().size(); i++) {
+                content.append(i == 0 ? "" : ", ").append(paperInfo.getAuthors().get(i));
+            }
+        }
+        content.append('\n');
+        content.append("- **Published**: ").append(paperInfo.getPublished()).append('\n');
+        content.append("- **PDF URL**: [").append(paperInfo.getPdfUrl()).append("](")
+                .append(paperInfo.getPdfUrl()).append(")\n\n");
+        content.append("### Summary\n");
+        String summary = paperInfo.getSummary() == null ? "" : paperInfo.getSummary();
+        if (summary.length() > SUMMARY_LENGTH) {
+            // Do not cut a surrogate pair in half
+            int end = Character.isHighSurrogate(summary.charAt(SUMMARY_LENGTH - 1)) ? SUMMARY_LENGTH - 1 : SUMMARY_LENGTH;
+            content.append(summary, 0, end).append("...");
+        } else {
+            content.append(summary);
+        }
+        content.append("\n\n---\n\n");
+    }
+
+    private static String etag(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(bytes.length) + "\"";
+    }
+
+    /**
+     * One page of the rendered Markdown of a topic.
+     *
+     * @param markdown   The Markdown of the papers on the page
+     * @param nextCursor Cursor of the next page, or null on the last page
+     */
+    public record RenderedPage(String markdown, String nextCursor) {
+    }
+
+    /**
+     * The rendered Markdown of a topic.
+     *
+     * @param papers   The number of papers in the topic
+     * @param markdown The Markdown document
+     * @param bytes    The Markdown document encoded as UTF-8
+     * @param etag     Strong entity tag of the document, quoted
+     */
+    public record RenderedTopic(int papers, String markdown, byte[] bytes, String etag) {
+
+        int weight() {
+            // The String is counted at two bytes per character, its size without compact strings
+            return (int) Math.min(OBJECT_OVERHEAD + (long) bytes.length + 2L * markdown.length(), Integer.MAX_VALUE);
+        }
+    }
+}
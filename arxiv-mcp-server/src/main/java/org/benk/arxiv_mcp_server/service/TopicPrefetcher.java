@@ -0,0 +1,191 @@
+package org.benk.arxiv_mcp_server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.client.ArxivRateLimiter;
+import org.benk.arxiv_mcp_server.client.RequestPriority;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background scheduler keeping watched topics up to date, so that the first read of a topic in a day does
+ * not pay for a search on arXiv.
+ * <p>
+ * The watch list holds the topics of {@code arxiv.prefetch.topics}, then the topics read and searched most
+ * often, then the stored topics, up to {@code arxiv.prefetch.max-topics}. Access counts come from
+ * {@link ArxivService#takeTopicAccesses()} and weigh half as much every {@code arxiv.prefetch.access-half-life}.
+ * Topics named after an arXiv category by snapshot imports are only watched if configured, since a search
+ * for the name would not find the papers of the category.
+ * <p>
+ * Every {@code arxiv.prefetch.check-interval}, a run starts if the previous one is older than
+ * {@code arxiv.prefetch.interval} and no interactive request asked the {@link ArxivRateLimiter} for a permit
+ * for {@code arxiv.prefetch.quiet-period}. A run fetches the papers submitted to each watched topic since it was
+ * last searched with {@link ArxivService#searchNewPapers(String, int, int)}, which also updates the indexes and
+ * the rendered topic. Requests are sent at {@link RequestPriority#BACKGROUND} priority, at most
+ * {@code arxiv.prefetch.request-budget} per run, and the run stops when interactive requests come back.
+ * Metrics: {@code arxiv.prefetch.runs}, {@code arxiv.prefetch.requests} and {@code arxiv.prefetch.papers}.
+ */
+@Slf4j
+@Component
+public class TopicPrefetcher {
+
+    private final ArxivService arxivService;
+    private final ArxivRateLimiter rateLimiter;
+    private final ArxivProperties.Prefetch properties;
+    private final Counter runs;
+    private final Counter requests;
+    private final Counter papers;
+    private final Map<String, Double> scores = new HashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private long scoredAt = System.currentTimeMillis();
+    private long lastRunAt = -1;
+
+    public TopicPrefetcher(ArxivService arxivService,
+                           ArxivRateLimiter rateLimiter,
+                           ArxivProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.arxivService = arxivService;
+        this.rateLimiter = rateLimiter;
+        this.properties = properties.getPrefetch();
+        this.runs = Counter.builder("arxiv.prefetch.runs")
+                .description("Runs searching watched topics for new papers")
+                .register(meterRegistry);
+        this.requests = Counter.builder("arxiv.prefetch.requests")
+                .description("Requests sent to the arXiv API by prefetch runs")
+                .register(meterRegistry);
+        this.papers = Counter.builder("arxiv.prefetch.papers")
+                .description("New papers saved by prefetch runs")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-topic-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, properties.getInitialDelay().toMillis(),
+                properties.getCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Update the access scores and start a run if one is due and the arXiv API is quiet.
+     */
+    synchronized void check() {
+        try {
+            updateScores();
+            boolean due = lastRunAt < 0 || System.currentTimeMillis() - lastRunAt >= properties.getInterval().toMillis();
+            if (due && isQuiet()) {
+                prefetch();
+            }
+        } catch (RuntimeException e) {
+            // Keep the schedule alive, the next check tries again
+            log.error("Error prefetching topics", e);
+        }
+    }
+
+    private boolean isQuiet() {
+        return rateLimiter.queueDepth() == 0
+                && rateLimiter.sinceLastInteractive().compareTo(properties.getQuietPeriod()) >= 0;
+    }
+
+    /**
+     * Search every watched topic for new papers, within the request budget of a run.
+     *
+     * @return The number of new papers saved
+     */
+    public synchronized int prefetch() {
+        List<String> topics = watchList();
+        log.info("Prefetching new papers for {} topics", topics.size());
+        runs.increment();
+        lastRunAt = System.currentTimeMillis();
+        int budget = properties.getRequestBudget();
+        int found = 0;
+        for (int i = 0; i < topics.size(); i++) {
+            if (budget <= 0) {
+                log.info("Prefetch request budget spent, {} topics left for the next run", topics.size() - i);
+                break;
+            }
+            if (rateLimiter.sinceLastInteractive().compareTo(properties.getQuietPeriod()) < 0) {
+                log.info("Interactive requests came back, {} topics left for the next run", topics.size() - i);
+                break;
+            }
+            String topic = topics.get(i);
+            int maxRequests = budget;
+            try {
+                ArxivService.NewPapers newPapers = RequestPriority.background(
+                        () -> arxivService.searchNewPapers(topic, properties.getMaxNewPerTopic(), maxRequests));
+                budget -= newPapers.requests();
+                requests.increment(newPapers.requests());
+                found += newPapers.paperIds().size();
+                papers.increment(newPapers.paperIds().size());
+            } catch (RuntimeException e) {
+                // The failed request still counts against the budget
+                budget--;
+                requests.increment();
+                log.warn("Error prefetching topic: {}: {}", topic, e.getMessage());
+            }
+        }
+        log.info("Prefetched {} new papers", found);
+        return found;
+    }
+
+    /**
+     * @return The topics to search for new papers, most wanted first
+     */
+    public synchronized List<String> watchList() {
+        updateScores();
+        // Keyed on the topic directory, valued by the topic as searched
+        Map<String, String> topics = new LinkedHashMap<>();
+        for (String topic : properties.getTopics()) {
+            topics.putIfAbsent(ArxivService.formatTopicDirectory(topic), topic);
+        }
+        scores.entrySet().stream()
+                .filter(score -> !ArxivService.isCategoryTopic(score.getKey()))
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .forEach(score -> topics.putIfAbsent(score.getKey(), score.getKey().replace('_', ' ')));
+        for (String topicDir : arxivService.getAvailableFolders()) {
+            if (!ArxivService.isCategoryTopic(topicDir)) {
+                topics.putIfAbsent(topicDir, topicDir.replace('_', ' '));
+            }
+        }
+        return new ArrayList<>(topics.values()).subList(0, Math.min(topics.size(), properties.getMaxTopics()));
+    }
+
+    /**
+     * Decay the access scores by the time elapsed since the last update and add the new accesses.
+     */
+    private void updateScores() {
+        long now = System.currentTimeMillis();
+        double decay = Math.pow(0.5, (double) (now - scoredAt) / Math.max(1, properties.getAccessHalfLife().toMillis()));
+        scoredAt = now;
+        scores.replaceAll((topicDir, score) -> score * decay);
+        // Topics no longer read fall out of the statistics
+        scores.values().removeIf(score -> score < 0.01);
+        arxivService.takeTopicAccesses().forEach((topicDir, count) -> scores.merge(topicDir, (double) count, Double::sum));
+    }
+}
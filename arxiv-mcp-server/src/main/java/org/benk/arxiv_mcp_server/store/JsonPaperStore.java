@@ -0,0 +1,239 @@
+package org.benk.arxiv_mcp_server.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Paper store keeping one pretty-printed papers_info.json file per topic directory.
+ * Paper lookups by ID are served from an in-memory {@link PaperIndex}.
+ * <p>
+ * With the journal enabled, writes append only the new papers to a per-topic papers_journal.jsonl
+ * and a background compactor folds the journal back into the snapshot once it grows past
+ * {@code arxiv.store.journal.compact-threshold} or gets older than {@code arxiv.store.journal.max-age}.
+ * <p>
+ * Writes and compactions of a topic serialize on a per-topic striped lock, and snapshots are replaced
+ * atomically. {@link #getTopicPapers(String)} returns the immutable in-memory snapshot of the topic
+ * held by the index, so reads never block on writers.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "arxiv.store.type", havingValue = "json", matchIfMissing = true)
+public class JsonPaperStore implements PaperStore {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ArxivProperties properties;
+    private final TopicLocks topicLocks;
+    private final PaperIndex paperIndex;
+    private final StoreMetrics metrics;
+
+    private ScheduledExecutorService compactor;
+
+    public JsonPaperStore(ArxivProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.metrics = new StoreMetrics(meterRegistry, "json");
+        this.topicLocks = new TopicLocks(properties.getStore().getLockStripes());
+        this.paperIndex = new PaperIndex(properties, topicLocks, metrics);
+    }
+
+    @PostConstruct
+    public void start() {
+        paperIndex.start();
+        ArxivProperties.Journal journal = properties.getStore().getJournal();
+        if (journal.isEnabled()) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "paper-journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = journal.getCompactInterval().toMillis();
+            compactor.scheduleWithFixedDelay(() -> compactJournals(false), interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (compactor != null) {
+            compactor.shutdown();
+            compactJournals(true);
+        }
+        paperIndex.stop();
+    }
+
+    @Override
+    public PaperInfo getPaper(String paperId) {
+        long start = System.nanoTime();
+        PaperInfo paper = paperIndex.get(paperId);
+        metrics.recordGetPaper(start);
+        return paper;
+    }
+
+    @Override
+    public Map<String, PaperInfo> getTopicPapers(String topic) {
+        long start = System.nanoTime();
+        Map<String, PaperInfo> papers = paperIndex.getTopic(topic);
+        metrics.recordGetTopic(start);
+        if (papers == null) {
+            log.warn("No papers info file found for topic: {}", topic);
+            return Collections.emptyMap();
+        }
+        return papers;
+    }
+
+    @Override
+    public List<String> getTopics() {
+        File papersDirFile = new File(properties.getPapersDirectory());
+        if (!papersDirFile.exists() || !papersDirFile.isDirectory()) {
+            log.warn("Papers directory does not exist: {}", properties.getPapersDirectory());
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(Objects.requireNonNull(papersDirFile.listFiles(File::isDirectory)))
+                .filter(dir -> TopicFiles.exists(dir.toPath()))
+                .map(File::getName)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void savePapers(String topic, Map<String, PaperInfo> fetchedPapers) {
+        long start = System.nanoTime();
+        Map<String, PaperInfo> papers = changedPapers(topic, fetchedPapers);
+        if (papers.isEmpty()) {
+            metrics.recordSave(start);
+            return;
+        }
+        // Create a directory for this topic
+        Path path = Paths.get(properties.getPapersDirectory(), topic);
+        try {
+            Files.createDirectories(path);
+        } catch (IOException e) {
+            log.error("Error creating directory: {}", path, e);
+            throw new RuntimeException("Error creating directory", e);
+        }
+
+        ReentrantLock lock = topicLocks.get(topic);
+        lock.lock();
+        try {
+            if (properties.getStore().getJournal().isEnabled()) {
+                // Only the new papers are written; the compactor folds them into the snapshot later
+                metrics.recordWrite(TopicFiles.appendJournal(objectMapper, path, papers));
+                paperIndex.addToTopic(topic, papers);
+                paperIndex.recordWrite(path);
+                log.info("Results are appended to: {}", path.resolve(TopicFiles.JOURNAL_FILE));
+            } else {
+                metrics.recordRead(TopicFiles.size(path));
+                Map<String, PaperInfo> existingPapersInfo = TopicFiles.read(objectMapper, path);
+                existingPapersInfo.putAll(papers);
+                metrics.recordWrite(TopicFiles.writeSnapshot(objectMapper, path, existingPapersInfo));
+                paperIndex.indexTopic(topic, existingPapersInfo);
+                paperIndex.recordWrite(path);
+                log.info("Results are saved in: {}", path.resolve(TopicFiles.SNAPSHOT_FILE));
+            }
+        } catch (IOException e) {
+            log.error("Error writing papers info to file: {}", path, e);
+            throw new RuntimeException("Error writing papers info to file", e);
+        } finally {
+            lock.unlock();
+            metrics.recordSave(start);
+        }
+    }
+
+    /**
+     * @param topic The topic directory name
+     * @return The lock serializing writes and compactions of the topic
+     */
+    ReentrantLock topicLock(String topic) {
+        return topicLocks.get(topic);
+    }
+
+    /**
+     * Leave out the papers the topic already holds with the same content and a recent enough fetch time,
+     * so that searching the same papers again writes nothing.
+     */
+    private Map<String, PaperInfo> changedPapers(String topic, Map<String, PaperInfo> papers) {
+        Map<String, PaperInfo> stored = paperIndex.getTopic(topic);
+        if (stored == null) {
+            return papers;
+        }
+        Duration resolution = properties.getFreshness().getResolution();
+        Map<String, PaperInfo> changed = new LinkedHashMap<>();
+        papers.forEach((paperId, paper) -> {
+            if (!PaperFreshness.isUnchanged(stored.get(paperId), paper, resolution)) {
+                changed.put(paperId, paper);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Fold the journal of every topic that is due for compaction into its snapshot.
+     *
+     * @param all Whether to compact every non-empty journal regardless of size and age
+     */
+    void compactJournals(boolean all) {
+        Path root = Paths.get(properties.getPapersDirectory());
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        ArxivProperties.Journal journal = properties.getStore().getJournal();
+        Instant maxAge = Instant.now().minus(journal.getMaxAge());
+        try (Stream<Path> topicDirs = Files.list(root)) {
+            for (Path topicDir : topicDirs.filter(Files::isDirectory).toList()) {
+                Path journalFile = topicDir.resolve(TopicFiles.JOURNAL_FILE);
+                if (!Files.exists(journalFile)) {
+                    continue;
+                }
+                boolean due = all
+                        || Files.size(journalFile) >= journal.getCompactThreshold().toBytes()
+                        || Files.getLastModifiedTime(journalFile).toInstant().isBefore(maxAge);
+                if (due) {
+                    compact(topicDir);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error compacting paper journals in: {}", root, e);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error compacting paper journals", e);
+        }
+    }
+
+    private void compact(Path topicDir) throws IOException {
+        ReentrantLock lock = topicLocks.get(topicDir.getFileName().toString());
+        lock.lock();
+        try {
+            Path journalFile = topicDir.resolve(TopicFiles.JOURNAL_FILE);
+            if (!Files.exists(journalFile)) {
+                return;
+            }
+            metrics.recordRead(TopicFiles.size(topicDir));
+            Map<String, PaperInfo> papers = TopicFiles.read(objectMapper, topicDir);
+            metrics.recordWrite(TopicFiles.writeSnapshot(objectMapper, topicDir, papers));
+            Files.delete(journalFile);
+            paperIndex.recordWrite(topicDir);
+            log.info("Compacted {} papers into: {}", papers.size(), topicDir.resolve(TopicFiles.SNAPSHOT_FILE));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.benk.arxiv_mcp_server.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * One-time migration of the per-topic JSON layout (snapshot plus journal) into another {@link PaperStore}.
+ * The JSON files are left in place.
+ */
+@Slf4j
+public class JsonStoreMigrator {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Copy every topic found under the papers directory into the target store.
+     *
+     * @param papersDirectory Root directory holding one sub-directory per topic
+     * @param target          The store to copy the papers into
+     * @return Number of topics migrated
+     */
+    public int migrate(Path papersDirectory, PaperStore target) {
+        if (!Files.isDirectory(papersDirectory)) {
+            return 0;
+        }
+
+        List<Path> topicDirs;
+        try (Stream<Path> dirs = Files.list(papersDirectory)) {
+            topicDirs = dirs.filter(Files::isDirectory).filter(TopicFiles::exists).toList();
+        } catch (IOException e) {
+            log.error("Error listing papers directory: {}", papersDirectory, e);
+            throw new RuntimeException("Error listing papers directory", e);
+        }
+
+        int papers = 0;
+        for (Path topicDir : topicDirs) {
+            try {
+                Map<String, PaperInfo> topicPapers = TopicFiles.read(objectMapper, topicDir);
+                target.savePapers(topicDir.getFileName().toString(), topicPapers);
+                papers += topicPapers.size();
+            } catch (IOException e) {
+                log.error("Error reading papers of topic directory, skipping topic: {}", topicDir, e);
+            }
+        }
+        log.info("Migrated {} papers from {} topics in {}", papers, topicDirs.size(), papersDirectory);
+        return topicDirs.size();
+    }
+}
@@ -0,0 +1,369 @@
+package org.benk.arxiv_mcp_server.store;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Paper store backed by a single append-only log file.
+ * <p>
+ * The log holds three kinds of records: a paper record with the binary encoding of a {@link PaperInfo},
+ * written once per distinct paper content, a membership record linking a topic to a paper ID, and a freshness
+ * record carrying a newer fetch time for a paper whose content did not change.
+ * Each record is framed as {@code [payload length][type][payload][crc32]}. On startup the log is replayed
+ * into an in-memory table of paper ID to record offset and a topic to paper IDs table; a torn record at
+ * the tail is truncated. Paper lookups then cost one positional read.
+ * <p>
+ * When the log file does not exist yet, the per-topic papers_info.json layout is migrated into it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "arxiv.store.type", havingValue = "log")
+public class LogPaperStore implements PaperStore {
+
+    private static final int MAGIC = 0x41525850; // "ARXP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int FRAME_OVERHEAD = 4 + 1 + 4;
+
+    private final ArxivProperties properties;
+    private final StoreMetrics metrics;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> topics = new ConcurrentHashMap<>();
+    /**
+     * Serializes appends to the log, and opening and closing it. A lock rather than a monitor, so that a virtual
+     * thread writing the log does not pin its carrier.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private FileChannel channel;
+    private long size;
+
+    public LogPaperStore(ArxivProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.metrics = new StoreMetrics(meterRegistry, "log");
+    }
+
+    @PostConstruct
+    public void start() {
+        writeLock.lock();
+        try {
+            Path root = Paths.get(properties.getPapersDirectory());
+            Path logFile = root.resolve(properties.getStore().getLogFile());
+            try {
+                Files.createDirectories(root);
+                boolean fresh = !Files.exists(logFile);
+                channel = FileChannel.open(logFile, CREATE, READ, WRITE);
+                if (channel.size() == 0) {
+                    writeHeader();
+                } else {
+                    replay(logFile);
+                }
+                log.info("Opened paper log {} with {} papers in {} topics", logFile, slots.size(), topics.size());
+                if (fresh) {
+                    new JsonStoreMigrator().migrate(root, this);
+                }
+            } catch (IOException e) {
+                log.error("Error opening paper log: {}", logFile, e);
+                throw new RuntimeException("Error opening paper log", e);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        writeLock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public PaperInfo getPaper(String paperId) {
+        Slot slot = slots.get(paperId);
+        if (slot == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        ByteBuffer payload = ByteBuffer.allocate(slot.length());
+        try {
+            readFully(payload, slot.offset() + 5);
+        } catch (IOException e) {
+            log.error("Error reading paper {} from paper log", paperId, e);
+            throw new RuntimeException("Error reading paper log", e);
+        }
+        PaperInfo paper = PaperRecords.decodePaper(payload.flip());
+        if (slot.fetchedAt() != null) {
+            paper.setFetchedAt(slot.fetchedAt());
+        }
+        metrics.recordRead(slot.length());
+        metrics.recordGetPaper(start);
+        return paper;
+    }
+
+    @Override
+    public Map<String, PaperInfo> getTopicPapers(String topic) {
+        Set<String> members = topics.get(topic);
+        if (members == null) {
+            log.warn("No papers found for topic: {}", topic);
+            return Collections.emptyMap();
+        }
+        long start = System.nanoTime();
+        List<String> paperIds;
+        synchronized (members) {
+            paperIds = List.copyOf(members);
+        }
+        Map<String, PaperInfo> papers = new LinkedHashMap<>();
+        for (String paperId : paperIds) {
+            papers.put(paperId, getPaper(paperId));
+        }
+        metrics.recordGetTopic(start);
+        return papers;
+    }
+
+    @Override
+    public int countTopicPapers(String topic) {
+        Set<String> members = topics.get(topic);
+        return members == null ? 0 : members.size();
+    }
+
+    @Override
+    public Set<String> getTopicPaperIds(String topic) {
+        Set<String> members = topics.get(topic);
+        if (members == null) {
+            return Set.of();
+        }
+        synchronized (members) {
+            return Set.copyOf(members);
+        }
+    }
+
+    @Override
+    public Stream<Map.Entry<String, PaperInfo>> streamTopicPapers(String topic, int offset) {
+        Set<String> members = topics.get(topic);
+        if (members == null) {
+            return Stream.empty();
+        }
+        List<String> paperIds;
+        synchronized (members) {
+            paperIds = List.copyOf(members);
+        }
+        // Each paper costs one positional read, done only when the stream reaches it
+        return paperIds.stream().skip(offset).map(paperId -> Map.entry(paperId, getPaper(paperId)));
+    }
+
+    @Override
+    public List<String> getTopics() {
+        return new ArrayList<>(topics.keySet());
+    }
+
+    @Override
+    public List<String> getPaperTopics(String paperId) {
+        // Membership is held in memory, unlike the papers a topic lookup would read
+        List<String> paperTopics = new ArrayList<>();
+        topics.forEach((topic, members) -> {
+            if (members.contains(paperId)) {
+                paperTopics.add(topic);
+            }
+        });
+        return paperTopics;
+    }
+
+    @Override
+    public void savePapers(String topic, Map<String, PaperInfo> papers) {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            Set<String> members = topics.computeIfAbsent(topic, key -> Collections.synchronizedSet(new LinkedHashSet<>()));
+
+            List<byte[]> frames = new ArrayList<>();
+            Map<String, Slot> newSlots = new HashMap<>();
+            long offset = size;
+            Duration resolution = properties.getFreshness().getResolution();
+            for (Map.Entry<String, PaperInfo> entry : papers.entrySet()) {
+                String paperId = entry.getKey();
+                PaperInfo paper = entry.getValue();
+                byte[] payload = PaperRecords.encodePaper(paperId, paper);
+                Slot slot = paperSlot(offset, payload, 0, payload.length);
+                Slot existing = slots.get(paperId);
+                // Papers are deduplicated by ID and content: an unchanged paper is not written again
+                if (existing == null || existing.checksum() != slot.checksum() || existing.length() != payload.length) {
+                    frames.add(frame(PaperRecords.PAPER, payload, checksum(PaperRecords.PAPER, payload)));
+                    newSlots.put(paperId, slot);
+                    offset += FRAME_OVERHEAD + payload.length;
+                } else if (PaperFreshness.advances(paper.getFetchedAt(), existing.fetchedAt(), resolution)) {
+                    byte[] freshness = PaperRecords.encodeFreshness(paperId, paper.getFetchedAt());
+                    frames.add(frame(PaperRecords.FRESHNESS, freshness, checksum(PaperRecords.FRESHNESS, freshness)));
+                    newSlots.put(paperId, existing.withFetchedAt(paper.getFetchedAt()));
+                    offset += FRAME_OVERHEAD + freshness.length;
+                }
+                if (!members.contains(paperId)) {
+                    byte[] membership = PaperRecords.encodeMembership(topic, paperId);
+                    frames.add(frame(PaperRecords.MEMBERSHIP, membership, checksum(PaperRecords.MEMBERSHIP, membership)));
+                    offset += FRAME_OVERHEAD + membership.length;
+                }
+            }
+            if (frames.isEmpty()) {
+                metrics.recordSave(start);
+                return;
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate((int) (offset - size));
+                frames.forEach(buffer::put);
+                buffer.flip();
+                long position = size;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                if (properties.getStore().isFsync()) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                log.error("Error appending to paper log", e);
+                throw new RuntimeException("Error appending to paper log", e);
+            }
+            metrics.recordWrite(offset - size);
+            size = offset;
+            slots.putAll(newSlots);
+            members.addAll(papers.keySet());
+            metrics.recordSave(start);
+            log.info("Appended {} records for topic {} to paper log", frames.size(), topic);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        channel.write(header, 0);
+        size = HEADER_SIZE;
+    }
+
+    private void replay(Path logFile) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            throw new IOException("Not a paper log or unsupported format version: " + logFile);
+        }
+
+        long fileSize = channel.size();
+        long position = HEADER_SIZE;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        while (position + FRAME_OVERHEAD <= fileSize) {
+            lengthBuffer.clear();
+            readFully(lengthBuffer, position);
+            int length = lengthBuffer.flip().getInt();
+            if (length < 0 || position + FRAME_OVERHEAD + length > fileSize) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(1 + length + 4);
+            readFully(record, position + 4);
+            record.flip();
+            byte type = record.get();
+            ByteBuffer payload = ByteBuffer.wrap(record.array(), 1, length).slice();
+            long checksum = Integer.toUnsignedLong(record.getInt(1 + length));
+            if (checksum != checksum(type, record.array(), 1, length)) {
+                break;
+            }
+            if (type == PaperRecords.PAPER) {
+                slots.put(PaperRecords.readPaperId(payload), paperSlot(position, record.array(), 1, length));
+            } else if (type == PaperRecords.FRESHNESS) {
+                PaperRecords.Freshness freshness = PaperRecords.decodeFreshness(payload);
+                slots.computeIfPresent(freshness.paperId(), (paperId, slot) -> slot.withFetchedAt(freshness.fetchedAt()));
+            } else if (type == PaperRecords.MEMBERSHIP) {
+                PaperRecords.Membership membership = PaperRecords.decodeMembership(payload);
+                topics.computeIfAbsent(membership.topic(), key -> Collections.synchronizedSet(new LinkedHashSet<>()))
+                        .add(membership.paperId());
+            }
+            position += FRAME_OVERHEAD + length;
+        }
+
+        if (position < fileSize) {
+            log.warn("Truncating {} bytes of incomplete records at the end of {}", fileSize - position, logFile);
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of paper log");
+            }
+            position += read;
+        }
+    }
+
+    private static byte[] frame(byte type, byte[] payload, long checksum) {
+        return ByteBuffer.allocate(FRAME_OVERHEAD + payload.length)
+                .putInt(payload.length)
+                .put(type)
+                .put(payload)
+                .putInt((int) checksum)
+                .array();
+    }
+
+    private static long checksum(byte type, byte[] payload) {
+        return checksum(type, payload, 0, payload.length);
+    }
+
+    private static long checksum(byte type, byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(bytes, offset, length);
+        return crc.getValue();
+    }
+
+    /**
+     * Slot of a paper record, with a checksum of its content that leaves out the trailing fetch time.
+     */
+    private static Slot paperSlot(long position, byte[] bytes, int offset, int length) {
+        int fetchedAtOffset = PaperRecords.fetchedAtOffset(ByteBuffer.wrap(bytes, offset, length));
+        if (fetchedAtOffset < 0) {
+            return new Slot(position, length, checksum(PaperRecords.PAPER, bytes, offset, length), null);
+        }
+        long fetchedAt = ByteBuffer.wrap(bytes).getLong(offset + fetchedAtOffset);
+        return new Slot(position, length, checksum(PaperRecords.PAPER, bytes, offset, fetchedAtOffset),
+                fetchedAt < 0 ? null : fetchedAt);
+    }
+
+    /**
+     * Location of the latest paper record for a paper ID, and the latest fetch time recorded for it.
+     */
+    private record Slot(long offset, int length, long checksum, Long fetchedAt) {
+
+        Slot withFetchedAt(Long fetchedAt) {
+            return new Slot(offset, length, checksum, fetchedAt);
+        }
+    }
+}
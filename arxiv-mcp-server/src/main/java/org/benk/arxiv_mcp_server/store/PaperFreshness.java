@@ -0,0 +1,38 @@
+package org.benk.arxiv_mcp_server.store;
+
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides whether a fetched paper is worth writing to a store that already holds it.
+ * Searches, refreshes and prefetches fetch the same unchanged papers over and over; only a change of content,
+ * or a fetch time newer than the stored one by at least the resolution, is recorded.
+ */
+final class PaperFreshness {
+
+    private PaperFreshness() {
+    }
+
+    /**
+     * @param stored     The stored paper, or null if there is none
+     * @param fetched    The fetched paper
+     * @param resolution Smallest advance of the fetch time that is recorded
+     * @return Whether storing the fetched paper would change neither its content nor its recorded freshness
+     */
+    static boolean isUnchanged(PaperInfo stored, PaperInfo fetched, Duration resolution) {
+        return stored != null && Objects.equals(stored, fetched)
+                && !advances(fetched.getFetchedAt(), stored.getFetchedAt(), resolution);
+    }
+
+    /**
+     * @param fetchedAt       Fetch time of the new copy, in epoch milliseconds, or null
+     * @param storedFetchedAt Fetch time of the stored copy, in epoch milliseconds, or null
+     * @param resolution      Smallest advance of the fetch time that is recorded
+     * @return Whether the new fetch time is worth recording over the stored one
+     */
+    static boolean advances(Long fetchedAt, Long storedFetchedAt, Duration resolution) {
+        return fetchedAt != null && (storedFetchedAt == null || fetchedAt - storedFetchedAt >= resolution.toMillis());
+    }
+}
@@ -0,0 +1,298 @@
+package org.benk.arxiv_mcp_server.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * In-memory index of paper ID to paper information and of each topic's papers.
+ * The index is built once at startup from the topic directories, updated on every write
+ * and kept in sync with changes made to the snapshot and journal files on disk.
+ * Updates to a topic take its lock from {@link TopicLocks}; reads never lock.
+ * <p>
+ * The watcher also sees the store's own writes, which are already applied to the index. After each of them
+ * the store records the size and modification time of the topic files, and a change event that finds the files
+ * as recorded is ignored, so only changes made outside the store cause a topic to be read again.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class PaperIndex {
+
+    private final ArxivProperties properties;
+    private final TopicLocks topicLocks;
+    private final StoreMetrics metrics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, PaperInfo> papers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, PaperInfo>> topics = new ConcurrentHashMap<>();
+    private final Map<String, FileState> indexedFiles = new ConcurrentHashMap<>();
+    /**
+     * Serializes rebuilds, which read every topic file; a lock rather than a monitor so that the reads do not pin
+     * the carrier of a virtual thread.
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private WatchService watchService;
+
+    /**
+     * Build the index from disk and start watching the papers directory for changes.
+     */
+    public void start() {
+        rebuild();
+        try {
+            Path root = Files.createDirectories(Paths.get(properties.getPapersDirectory()));
+            watchService = root.getFileSystem().newWatchService();
+            root.register(watchService, ENTRY_CREATE, ENTRY_DELETE);
+            try (Stream<Path> topicDirs = Files.list(root)) {
+                topicDirs.filter(Files::isDirectory).forEach(this::watchTopic);
+            }
+            Thread watcher = new Thread(() -> watch(root), "paper-index-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            log.error("Error watching papers directory: {}", properties.getPapersDirectory(), e);
+        }
+    }
+
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Look up a paper by its ID.
+     *
+     * @param paperId The ID of the paper
+     * @return Paper information, or null if the paper is not indexed
+     */
+    public PaperInfo get(String paperId) {
+        return papers.get(paperId);
+    }
+
+    /**
+     * Get the papers of a topic without locking.
+     * The returned map is an immutable snapshot; later writes publish a new map instead of changing it.
+     *
+     * @param topicDir The topic directory name
+     * @return Map of paper IDs to paper information, or null if the topic is not indexed
+     */
+    public Map<String, PaperInfo> getTopic(String topicDir) {
+        return topics.get(topicDir);
+    }
+
+    /**
+     * Replace the indexed content of a topic.
+     *
+     * @param topicDir    The topic directory name
+     * @param topicPapers All papers currently stored for the topic
+     */
+    public void indexTopic(String topicDir, Map<String, PaperInfo> topicPapers) {
+        ReentrantLock lock = topicLocks.get(topicDir);
+        lock.lock();
+        try {
+            Map<String, PaperInfo> previous = publish(topicDir, new LinkedHashMap<>(topicPapers));
+            if (previous != null) {
+                previous.keySet().stream()
+                        .filter(paperId -> !topicPapers.containsKey(paperId))
+                        .forEach(this::removeIfOrphaned);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add papers to the indexed content of a topic.
+     *
+     * @param topicDir    The topic directory name
+     * @param topicPapers Papers newly written for the topic
+     */
+    public void addToTopic(String topicDir, Map<String, PaperInfo> topicPapers) {
+        ReentrantLock lock = topicLocks.get(topicDir);
+        lock.lock();
+        try {
+            Map<String, PaperInfo> merged = new LinkedHashMap<>(topics.getOrDefault(topicDir, Map.of()));
+            merged.putAll(topicPapers);
+            publish(topicDir, merged);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record the state of a topic's files after the store wrote them and updated the index,
+     * so that the change events of the write do not read the topic again; the caller holds the topic lock.
+     *
+     * @param topicDir The topic directory
+     */
+    public void recordWrite(Path topicDir) throws IOException {
+        indexedFiles.put(topicDir.getFileName().toString(), FileState.of(topicDir));
+    }
+
+    /**
+     * Drop a topic from the index.
+     *
+     * @param topicDir The topic directory name
+     */
+    public void removeTopic(String topicDir) {
+        ReentrantLock lock = topicLocks.get(topicDir);
+        lock.lock();
+        try {
+            indexedFiles.remove(topicDir);
+            Map<String, PaperInfo> previous = topics.remove(topicDir);
+            if (previous != null) {
+                previous.keySet().forEach(this::removeIfOrphaned);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reload every topic directory on disk and drop topics whose files are gone.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            Path root = Paths.get(properties.getPapersDirectory());
+            Set<String> onDisk = new HashSet<>();
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> topicDirs = Files.list(root)) {
+                    topicDirs.filter(Files::isDirectory).forEach(topicDir -> {
+                        onDisk.add(topicDir.getFileName().toString());
+                        reloadTopic(topicDir);
+                    });
+                } catch (IOException e) {
+                    log.error("Error listing papers directory: {}", root, e);
+                }
+            }
+            topics.keySet().stream()
+                    .filter(topic -> !onDisk.contains(topic))
+                    .toList()
+                    .forEach(this::removeTopic);
+            log.info("Indexed {} papers from {} topics", papers.size(), topics.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Publish a new immutable snapshot of a topic; the caller holds the topic lock.
+     * The topic map is replaced before the papers are added, so a concurrent orphan check on
+     * another topic always sees the new references.
+     */
+    private Map<String, PaperInfo> publish(String topicDir, Map<String, PaperInfo> topicPapers) {
+        Map<String, PaperInfo> snapshot = Collections.unmodifiableMap(topicPapers);
+        Map<String, PaperInfo> previous = topics.put(topicDir, snapshot);
+        papers.putAll(snapshot);
+        return previous;
+    }
+
+    private void removeIfOrphaned(String paperId) {
+        // The check runs inside compute so that it is atomic with a concurrent put of the same paper
+        papers.compute(paperId, (id, paper) ->
+                topics.values().stream().anyMatch(topicPapers -> topicPapers.containsKey(id)) ? paper : null);
+    }
+
+    private void reloadTopic(Path topicDir) {
+        String topic = topicDir.getFileName().toString();
+        ReentrantLock lock = topicLocks.get(topic);
+        lock.lock();
+        try {
+            if (!TopicFiles.exists(topicDir)) {
+                removeTopic(topic);
+                return;
+            }
+            FileState state = FileState.of(topicDir);
+            if (state.equals(indexedFiles.get(topic))) {
+                return;
+            }
+            metrics.recordRead(TopicFiles.size(topicDir));
+            indexTopic(topic, TopicFiles.read(objectMapper, topicDir));
+            indexedFiles.put(topic, state);
+        } catch (IOException e) {
+            // The journal may be in the middle of an append; the next modify event reloads it.
+            log.warn("Error reading papers of topic directory: {}", topicDir, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void watchTopic(Path topicDir) {
+        try {
+            topicDir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        } catch (IOException e) {
+            log.error("Error watching topic directory: {}", topicDir, e);
+        }
+    }
+
+    private void watch(Path root) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        rebuild();
+                        continue;
+                    }
+                    Path changed = dir.resolve((Path) event.context());
+                    if (dir.equals(root)) {
+                        if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed)) {
+                            watchTopic(changed);
+                            reloadTopic(changed);
+                        } else if (event.kind() == ENTRY_DELETE) {
+                            removeTopic(changed.getFileName().toString());
+                        }
+                    } else if (TopicFiles.SNAPSHOT_FILE.equals(changed.getFileName().toString())
+                            || TopicFiles.JOURNAL_FILE.equals(changed.getFileName().toString())) {
+                        reloadTopic(dir);
+                    }
+                }
+                if (!key.reset() && !dir.equals(root)) {
+                    removeTopic(dir.getFileName().toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Paper index watcher stopped");
+        }
+    }
+
+    /**
+     * Size and modification time of the snapshot and journal of a topic; -1 and null for a missing file.
+     */
+    private record FileState(long snapshotSize, FileTime snapshotModified, long journalSize, FileTime journalModified) {
+
+        static FileState of(Path topicDir) throws IOException {
+            BasicFileAttributes snapshot = attributes(topicDir.resolve(TopicFiles.SNAPSHOT_FILE));
+            BasicFileAttributes journal = attributes(topicDir.resolve(TopicFiles.JOURNAL_FILE));
+            return new FileState(
+                    snapshot != null ? snapshot.size() : -1, snapshot != null ? snapshot.lastModifiedTime() : null,
+                    journal != null ? journal.size() : -1, journal != null ? journal.lastModifiedTime() : null);
+        }
+
+        private static BasicFileAttributes attributes(Path file) throws IOException {
+            try {
+                return Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.benk.arxiv_mcp_server.store;
+
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of the records written to the paper log.
+ * Strings are stored as a length-prefixed UTF-8 byte sequence, with a length of -1 for null.
+ * The freshness fields of a paper come last and are absent from records written before they existed.
+ * The fetch time is the very last field, so the content of a paper record is everything before it.
+ */
+final class PaperRecords {
+
+    static final byte PAPER = 1;
+    static final byte MEMBERSHIP = 2;
+    static final byte FRESHNESS = 3;
+
+    private PaperRecords() {
+    }
+
+    static byte[] encodePaper(String paperId, PaperInfo paper) {
+        return encode(out -> {
+            writeString(out, paperId);
+            writeString(out, paper.getTitle());
+            List<String> authors = paper.getAuthors();
+            out.writeInt(authors == null ? -1 : authors.size());
+            if (authors != null) {
+                for (String author : authors) {
+                    writeString(out, author);
+                }
+            }
+            writeString(out, paper.getSummary());
+            writeString(out, paper.getPdfUrl());
+            writeString(out, paper.getPublished());
+            writeString(out, paper.getUpdated());
+            out.writeInt(paper.getVersion() == null ? -1 : paper.getVersion());
+            out.writeLong(paper.getFetchedAt() == null ? -1 : paper.getFetchedAt());
+        });
+    }
+
+    static byte[] encodeMembership(String topic, String paperId) {
+        return encode(out -> {
+            writeString(out, topic);
+            writeString(out, paperId);
+        });
+    }
+
+    /**
+     * A newer fetch time for an unchanged paper, written instead of the whole paper again.
+     */
+    static byte[] encodeFreshness(String paperId, long fetchedAt) {
+        return encode(out -> {
+            writeString(out, paperId);
+            out.writeLong(fetchedAt);
+        });
+    }
+
+    /**
+     * Read the paper ID at the start of a paper, membership or freshness payload.
+     */
+    static String readPaperId(ByteBuffer payload) {
+        return readString(payload);
+    }
+
+    static PaperInfo decodePaper(ByteBuffer payload) {
+        readString(payload);
+        String title = readString(payload);
+        int authorCount = payload.getInt();
+        List<String> authors = null;
+        if (authorCount >= 0) {
+            authors = new ArrayList<>(authorCount);
+            for (int i = 0; i < authorCount; i++) {
+                authors.add(readString(payload));
+            }
+        }
+        PaperInfo paper = PaperInfo.builder()
+                .title(title)
+                .authors(authors)
+                .summary(readString(payload))
+                .pdfUrl(readString(payload))
+                .published(readString(payload))
+                .build();
+        if (payload.hasRemaining()) {
+            paper.setUpdated(readString(payload));
+            int version = payload.getInt();
+            long fetchedAt = payload.getLong();
+            paper.setVersion(version < 0 ? null : version);
+            paper.setFetchedAt(fetchedAt < 0 ? null : fetchedAt);
+        }
+        return paper;
+    }
+
+    static Membership decodeMembership(ByteBuffer payload) {
+        return new Membership(readString(payload), readString(payload));
+    }
+
+    static Freshness decodeFreshness(ByteBuffer payload) {
+        return new Freshness(readString(payload), payload.getLong());
+    }
+
+    /**
+     * Find the fetch time in a paper payload without decoding it, by skipping over the fields before it.
+     *
+     * @return The offset of the fetch time in the payload, or -1 for a record written before it existed
+     */
+    static int fetchedAtOffset(ByteBuffer payload) {
+        ByteBuffer fields = payload.duplicate();
+        skipString(fields);
+        skipString(fields);
+        int authorCount = fields.getInt();
+        for (int i = 0; i < authorCount; i++) {
+            skipString(fields);
+        }
+        skipString(fields);
+        skipString(fields);
+        skipString(fields);
+        if (!fields.hasRemaining()) {
+            return -1;
+        }
+        skipString(fields);
+        fields.getInt();
+        return fields.position() - payload.position();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void skipString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length > 0) {
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    private static byte[] encode(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    record Membership(String topic, String paperId) {
+    }
+
+    record Freshness(String paperId, long fetchedAt) {
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
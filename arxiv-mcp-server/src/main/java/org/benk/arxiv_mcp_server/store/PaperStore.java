@@ -0,0 +1,91 @@
+package org.benk.arxiv_mcp_server.store;
+
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Local persistence for papers and their topic membership.
+ * Topics are identified by their formatted directory name (lower case, underscores).
+ */
+public interface PaperStore {
+
+    /**
+     * Look up a paper by its ID.
+     *
+     * @param paperId The ID of the paper
+     * @return Paper information, or null if the paper is not stored
+     */
+    PaperInfo getPaper(String paperId);
+
+    /**
+     * Get all papers stored for a topic.
+     *
+     * @param topic The formatted topic name
+     * @return Map of paper IDs to paper information, empty if the topic is unknown
+     */
+    Map<String, PaperInfo> getTopicPapers(String topic);
+
+    /**
+     * Count the papers stored for a topic.
+     *
+     * @param topic The formatted topic name
+     * @return Number of papers, 0 if the topic is unknown
+     */
+    default int countTopicPapers(String topic) {
+        return getTopicPapers(topic).size();
+    }
+
+    /**
+     * Get the IDs of the papers stored for a topic, without reading the papers where the store can avoid it.
+     *
+     * @param topic The formatted topic name
+     * @return Set of paper IDs, empty if the topic is unknown
+     */
+    default Set<String> getTopicPaperIds(String topic) {
+        return Set.copyOf(getTopicPapers(topic).keySet());
+    }
+
+    /**
+     * Stream the papers of a topic in the order they were first saved, starting at an offset.
+     * Papers saved later are appended, so an offset keeps pointing at the same position across writes.
+     * Stores that do not hold papers in memory read each paper only when the stream reaches it.
+     *
+     * @param topic  The formatted topic name
+     * @param offset Number of papers to skip
+     * @return Stream of paper IDs to paper information, to be closed by the caller
+     */
+    default Stream<Map.Entry<String, PaperInfo>> streamTopicPapers(String topic, int offset) {
+        return getTopicPapers(topic).entrySet().stream().skip(offset);
+    }
+
+    /**
+     * Get all topics that have papers stored.
+     *
+     * @return List of formatted topic names
+     */
+    List<String> getTopics();
+
+    /**
+     * Get the topics a paper is stored for.
+     *
+     * @param paperId The ID of the paper
+     * @return List of formatted topic names, empty if the paper is not stored
+     */
+    default List<String> getPaperTopics(String paperId) {
+        return getTopics().stream()
+                .filter(topic -> getTopicPapers(topic).containsKey(paperId))
+                .toList();
+    }
+
+    /**
+     * Add or replace papers and record them as members of a topic.
+     *
+     * @param topic  The formatted topic name
+     * @param papers Map of paper IDs to paper information
+     */
+    void savePapers(String topic, Map<String, PaperInfo> papers);
+}
@@ -0,0 +1,69 @@
+package org.benk.arxiv_mcp_server.store;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters shared by the paper stores: the latency of each store operation as {@code arxiv.store.operations},
+ * and the bytes moved to and from disk as {@code arxiv.store.bytes}. Tags are limited to the store type,
+ * the operation and the direction, so the number of series stays fixed.
+ * <p>
+ * The meters are registered once; recording costs a clock read, which is all that remains when the meters
+ * are disabled with {@code management.metrics.enable.arxiv.store=false}.
+ */
+class StoreMetrics {
+
+    private final Timer getPaper;
+    private final Timer getTopic;
+    private final Timer save;
+    private final DistributionSummary bytesRead;
+    private final DistributionSummary bytesWritten;
+
+    StoreMetrics(MeterRegistry meterRegistry, String store) {
+        this.getPaper = timer(meterRegistry, store, "get_paper");
+        this.getTopic = timer(meterRegistry, store, "get_topic");
+        this.save = timer(meterRegistry, store, "save");
+        this.bytesRead = bytes(meterRegistry, store, "read");
+        this.bytesWritten = bytes(meterRegistry, store, "write");
+    }
+
+    void recordGetPaper(long startNanos) {
+        getPaper.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordGetTopic(long startNanos) {
+        getTopic.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordSave(long startNanos) {
+        save.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordRead(long bytes) {
+        bytesRead.record(bytes);
+    }
+
+    void recordWrite(long bytes) {
+        bytesWritten.record(bytes);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String store, String operation) {
+        return Timer.builder("arxiv.store.operations")
+                .description("Latency of paper store operations")
+                .tag("store", store)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary bytes(MeterRegistry meterRegistry, String store, String direction) {
+        return DistributionSummary.builder("arxiv.store.bytes")
+                .description("Bytes read from or written to disk by paper store operations")
+                .baseUnit("bytes")
+                .tag("store", store)
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
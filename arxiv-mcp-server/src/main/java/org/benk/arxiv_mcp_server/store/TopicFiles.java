@@ -0,0 +1,132 @@
+package org.benk.arxiv_mcp_server.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Reads and writes the files of a topic directory in the JSON store layout:
+ * a pretty-printed papers_info.json snapshot and a papers_journal.jsonl journal
+ * holding one JSON line per paper written since the last compaction.
+ */
+@Slf4j
+final class TopicFiles {
+
+    static final String SNAPSHOT_FILE = "papers_info.json";
+    static final String JOURNAL_FILE = "papers_journal.jsonl";
+
+    private TopicFiles() {
+    }
+
+    /**
+     * @return true if the directory holds a snapshot or a journal
+     */
+    static boolean exists(Path topicDir) {
+        return Files.exists(topicDir.resolve(SNAPSHOT_FILE)) || Files.exists(topicDir.resolve(JOURNAL_FILE));
+    }
+
+    /**
+     * Read the snapshot and replay the journal on top of it.
+     *
+     * @return Map of paper IDs to paper information, empty if the topic has no files
+     */
+    static Map<String, PaperInfo> read(ObjectMapper objectMapper, Path topicDir) throws IOException {
+        Map<String, PaperInfo> papers = readSnapshot(objectMapper, topicDir);
+        Path journal = topicDir.resolve(JOURNAL_FILE);
+        if (Files.exists(journal)) {
+            try (BufferedReader reader = Files.newBufferedReader(journal)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+                        papers.put(entry.paperId(), entry.paper());
+                    } catch (IOException e) {
+                        // A torn last line from an interrupted append is skipped
+                        log.warn("Skipping unreadable journal line in {}", journal);
+                    }
+                }
+            }
+        }
+        return papers;
+    }
+
+    static Map<String, PaperInfo> readSnapshot(ObjectMapper objectMapper, Path topicDir) throws IOException {
+        Path snapshot = topicDir.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return new LinkedHashMap<>();
+        }
+        return objectMapper.readValue(snapshot.toFile(), new TypeReference<LinkedHashMap<String, PaperInfo>>() {});
+    }
+
+    /**
+     * @return The combined size in bytes of the snapshot and journal of a topic
+     */
+    static long size(Path topicDir) throws IOException {
+        long size = 0;
+        for (String file : new String[]{SNAPSHOT_FILE, JOURNAL_FILE}) {
+            Path path = topicDir.resolve(file);
+            if (Files.exists(path)) {
+                size += Files.size(path);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Write the snapshot to a temporary file and move it over the previous one,
+     * so readers see either the old or the new snapshot but never a partial file.
+     *
+     * @return The size in bytes of the snapshot written
+     */
+    static long writeSnapshot(ObjectMapper objectMapper, Path topicDir, Map<String, PaperInfo> papers) throws IOException {
+        Path temp = Files.createTempFile(topicDir, SNAPSHOT_FILE, ".tmp");
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), papers);
+            long size = Files.size(temp);
+            try {
+                Files.move(temp, topicDir.resolve(SNAPSHOT_FILE), ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, topicDir.resolve(SNAPSHOT_FILE), REPLACE_EXISTING);
+            }
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Append papers to the journal in a single write.
+     *
+     * @return The number of bytes appended
+     */
+    static int appendJournal(ObjectMapper objectMapper, Path topicDir, Map<String, PaperInfo> papers) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(papers.size() * 1024);
+        for (Map.Entry<String, PaperInfo> entry : papers.entrySet()) {
+            lines.write(objectMapper.writeValueAsBytes(new JournalEntry(entry.getKey(), entry.getValue())));
+            lines.write('\n');
+        }
+        Files.write(topicDir.resolve(JOURNAL_FILE), lines.toByteArray(), CREATE, APPEND);
+        return lines.size();
+    }
+
+    record JournalEntry(String paperId, PaperInfo paper) {
+    }
+}
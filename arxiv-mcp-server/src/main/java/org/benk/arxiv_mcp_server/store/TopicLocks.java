@@ -0,0 +1,29 @@
+package org.benk.arxiv_mcp_server.store;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks striped over topic names.
+ * Writes to the same topic serialize on one lock while writes to different topics
+ * only contend when their names hash to the same stripe.
+ */
+final class TopicLocks {
+
+    private final ReentrantLock[] stripes;
+
+    TopicLocks(int stripeCount) {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @param topic The topic directory name
+     * @return The lock guarding the files and index entry of the topic
+     */
+    ReentrantLock get(String topic) {
+        int hash = topic.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+}
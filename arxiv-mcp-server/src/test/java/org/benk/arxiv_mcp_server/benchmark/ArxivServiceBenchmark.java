@@ -0,0 +1,101 @@
+package org.benk.arxiv_mcp_server.benchmark;
+
+import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.ArxivServiceFixture;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lookups of {@link ArxivService} against a store of growing size, for both store types.
+ * The store holds {@code storeSize} generated papers in ten topics, so topics grow with the store.
+ * The arXiv client is a mock that is never reached: every looked up paper is stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ArxivServiceBenchmark {
+
+    private static final int TOPICS = 10;
+
+    @Param({"1000", "10000", "100000"})
+    public int storeSize;
+
+    @Param({"json", "log"})
+    public String store;
+
+    private Path papersDirectory;
+    private PaperStore paperStore;
+    private ArxivService arxivService;
+
+    @Setup
+    public void setUp() throws IOException {
+        papersDirectory = Files.createTempDirectory("arxiv-benchmark");
+        ArxivProperties properties = BenchmarkStores.properties(papersDirectory, store);
+        properties.getSemantic().setEnabled(false);
+        paperStore = BenchmarkStores.open(properties);
+
+        Iterator<Map.Entry<String, PaperInfo>> papers = Corpus.papers(storeSize, 42).entrySet().iterator();
+        for (int topic = 0; topic < TOPICS; topic++) {
+            Map<String, PaperInfo> batch = new LinkedHashMap<>();
+            for (int i = 0; i < storeSize / TOPICS && papers.hasNext(); i++) {
+                Map.Entry<String, PaperInfo> paper = papers.next();
+                batch.put(paper.getKey(), paper.getValue());
+                if (batch.size() == 1000) {
+                    paperStore.savePapers(topic(topic), batch);
+                    batch.clear();
+                }
+            }
+            paperStore.savePapers(topic(topic), batch);
+        }
+
+        // Lookups do not touch the indexes, which are left empty
+        arxivService = ArxivServiceFixture.builder(mock(ArxivClient.class), properties, paperStore).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkStores.close(paperStore, papersDirectory);
+    }
+
+    @Benchmark
+    public PaperInfo extractPaperInfo() {
+        return arxivService.extractPaperInfo(Corpus.paperId(ThreadLocalRandom.current().nextInt(storeSize)));
+    }
+
+    @Benchmark
+    public Map<String, PaperInfo> getTopicPapers() {
+        return arxivService.getTopicPapers(topic(ThreadLocalRandom.current().nextInt(TOPICS)));
+    }
+
+    private static String topic(int topic) {
+        return "benchmark_topic_" + topic;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ArxivServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
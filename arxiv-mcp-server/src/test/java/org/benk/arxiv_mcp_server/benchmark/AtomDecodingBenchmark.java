@@ -0,0 +1,99 @@
+package org.benk.arxiv_mcp_server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.client.ArxivClientMetrics;
+import org.benk.arxiv_mcp_server.client.AtomFeedDecoder;
+import org.benk.arxiv_mcp_server.client.AtomFeedReader;
+import org.benk.arxiv_mcp_server.client.AtomFeeds;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Jackson XML binding of {@link ArxivResponse} with the streaming {@link AtomFeedReader},
+ * alone and behind the Feign {@link AtomFeedDecoder}.
+ * Run with the GC profiler; bytes allocated per entry are {@code gc.alloc.rate.norm / entries}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtomDecodingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int entries;
+
+    private byte[] feed;
+    private ObjectReader jacksonReader;
+    private AtomFeedDecoder feignDecoder;
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        feed = AtomFeeds.feed(entries, entries * 10);
+        jacksonReader = new XmlMapper().readerFor(ArxivResponse.class);
+        feignDecoder = new AtomFeedDecoder(new ArxivClientMetrics(new SimpleMeterRegistry()));
+        request = Request.create(Request.HttpMethod.GET, "http://export.arxiv.org/api/query", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+    }
+
+    @Benchmark
+    public ArxivResponse jacksonBinding() throws IOException {
+        return jacksonReader.readValue(feed);
+    }
+
+    @Benchmark
+    public ArxivResponse staxReadResponse() {
+        try (AtomFeedReader reader = new AtomFeedReader(new ByteArrayInputStream(feed))) {
+            return reader.readResponse();
+        }
+    }
+
+    /**
+     * The Feign decoding path, with the byte counting and timing of {@link ArxivClientMetrics}.
+     */
+    @Benchmark
+    public Object feignDecoder() throws IOException {
+        Response response = Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of())
+                .body(feed)
+                .build();
+        return feignDecoder.decode(response, ArxivResponse.class);
+    }
+
+    @Benchmark
+    public void staxPerEntry(Blackhole blackhole) {
+        try (AtomFeedReader reader = new AtomFeedReader(new ByteArrayInputStream(feed))) {
+            while (reader.hasNext()) {
+                ArxivEntry entry = reader.next();
+                blackhole.consume(entry);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AtomDecodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package org.benk.arxiv_mcp_server.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
+import org.benk.arxiv_mcp_server.store.LogPaperStore;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Opens and disposes of the paper stores the benchmarks run against, each in its own temporary directory.
+ */
+final class BenchmarkStores {
+
+    private BenchmarkStores() {
+    }
+
+    static ArxivProperties properties(Path papersDirectory, String store) {
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getStore().setType(store);
+        properties.getCache().setEnabled(false);
+        return properties;
+    }
+
+    static PaperStore open(ArxivProperties properties) {
+        return switch (properties.getStore().getType()) {
+            case "json" -> {
+                JsonPaperStore store = new JsonPaperStore(properties, new SimpleMeterRegistry());
+                store.start();
+                yield store;
+            }
+            case "log" -> {
+                LogPaperStore store = new LogPaperStore(properties, new SimpleMeterRegistry());
+                store.start();
+                yield store;
+            }
+            default -> throw new IllegalArgumentException("Unknown store type: " + properties.getStore().getType());
+        };
+    }
+
+    static void close(PaperStore store, Path papersDirectory) throws IOException {
+        if (store instanceof JsonPaperStore json) {
+            json.stop();
+        } else if (store instanceof LogPaperStore log) {
+            log.stop();
+        }
+        try (Stream<Path> paths = Files.walk(papersDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.benk.arxiv_mcp_server.benchmark;
+
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivAuthor;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivLink;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+
+import java.util.*;
+
+/**
+ * Generates papers shaped like real arXiv metadata for the benchmarks and the arXiv simulator: titles of
+ * about ten words, two to six authors with some non-ASCII names, and abstracts of about 150 words drawn from
+ * a Zipf distribution over an academic vocabulary. The same seed always yields the same corpus.
+ */
+public final class Corpus {
+
+    private static final String[] VOCABULARY = ("the of and a to in we is for that on with this are by as our an "
+            + "model models learning language large neural network networks data training method methods results "
+            + "show propose approach performance task tasks based using which can from these be two paper new "
+            + "deep attention transformer representation representations inference benchmark benchmarks dataset "
+            + "datasets state art baseline baselines evaluation experiments empirical theoretical analysis framework "
+            + "algorithm algorithms optimization gradient stochastic convergence loss objective function features "
+            + "semantic retrieval generation reasoning agents reinforcement policy reward scaling laws parameters "
+            + "efficient sparse mixture experts fine tuning pretraining pretrained zero shot few contrastive "
+            + "supervised unsupervised self graph graphs quantum physics galaxy stellar dark matter energy field "
+            + "equation equations spectral manifold topology invariant bound bounds lower upper proof theorem").split(" ");
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Grace", "Emmy", "Kurt", "Sofia", "Jürgen", "Zoë",
+            "Hiroshi", "Amélie", "Wei", "Priya", "Olu", "Łukasz", "Marie", "Niels"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Turing", "Hopper", "Noether", "Gödel", "Kovalevskaya",
+            "Schmidhuber", "Nakamura", "Dubois", "Zhang", "Raman", "Adeyemi", "Kaiser", "Curie", "Bohr", "Müller"};
+
+    private Corpus() {
+    }
+
+    /**
+     * @param count Number of papers
+     * @param seed  Seed of the generator
+     * @return Map of paper IDs to paper information, in ID order
+     */
+    public static Map<String, PaperInfo> papers(int count, long seed) {
+        Random random = new Random(seed);
+        double[] cumulative = zipf(VOCABULARY.length);
+        Map<String, PaperInfo> papers = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String paperId = paperId(i);
+            List<String> authors = new ArrayList<>();
+            for (int a = 2 + random.nextInt(5); a > 0; a--) {
+                authors.add(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            }
+            String title = words(random, cumulative, 8 + random.nextInt(6));
+            papers.put(paperId, PaperInfo.builder()
+                    .title(Character.toUpperCase(title.charAt(0)) + title.substring(1))
+                    .authors(authors)
+                    .summary(words(random, cumulative, 120 + random.nextInt(60)) + ".")
+                    .published("20%02d-%02d-%02dT18:00:00Z".formatted(15 + i % 11, 1 + i % 12, 1 + i % 28))
+                    .pdfUrl("http://arxiv.org/pdf/" + paperId)
+                    // Fetched just now, so that reads are served fresh from the store
+                    .fetchedAt(System.currentTimeMillis())
+                    .build());
+        }
+        return papers;
+    }
+
+    /**
+     * Wrap papers in an arXiv API response, as the Atom decoder would return it.
+     *
+     * @param papers       Map of paper IDs to paper information
+     * @param totalResults Value of opensearch:totalResults
+     * @return The response with one entry per paper
+     */
+    public static ArxivResponse response(Map<String, PaperInfo> papers, int totalResults) {
+        List<ArxivEntry> entries = new ArrayList<>(papers.size());
+        papers.forEach((paperId, paper) -> entries.add(new ArxivEntry(
+                "http://arxiv.org/abs/" + paperId,
+                paper.getTitle(),
+                paper.getSummary(),
+                paper.getPublished(),
+                paper.getPublished(),
+                paper.getAuthors().stream().map(ArxivAuthor::new).toList(),
+                List.of(new ArxivLink("http://arxiv.org/abs/" + paperId, "alternate", "text/html", null),
+                        new ArxivLink(paper.getPdfUrl(), "related", "pdf", "pdf")))));
+        return new ArxivResponse(totalResults, 0, entries.size(), entries);
+    }
+
+    /**
+     * @param index Position of the paper in the corpus
+     * @return An arXiv-style paper ID
+     */
+    public static String paperId(int index) {
+        return "%02d%02d.%05dv1".formatted(15 + index / 1_200_000 % 11, 1 + index / 100_000 % 12, index % 100_000);
+    }
+
+    private static String words(Random random, double[] cumulative, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            text.append(i == 0 ? "" : " ").append(VOCABULARY[Math.min(rank < 0 ? -rank - 1 : rank, VOCABULARY.length - 1)]);
+        }
+        return text.toString();
+    }
+
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+}
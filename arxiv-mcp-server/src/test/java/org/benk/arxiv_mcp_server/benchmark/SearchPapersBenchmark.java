@@ -0,0 +1,140 @@
+package org.benk.arxiv_mcp_server.benchmark;
+
+import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.benk.arxiv_mcp_server.search.AutocompleteIndex;
+import org.benk.arxiv_mcp_server.search.HashingEmbedder;
+import org.benk.arxiv_mcp_server.search.LocalSearchIndex;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.ArxivServiceFixture;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ArxivService#searchPapers(String, int)} with a stub client answering instantly with
+ * pre-decoded pages, so the benchmark measures what the service does with a response: mapping entries,
+ * saving them and updating the local, semantic and autocomplete indexes and the Markdown cache.
+ * <p>
+ * Every invocation searches the same topic again, so past the first one the papers are known:
+ * this is the steady state of repeated searches, where stores and indexes should skip unchanged papers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SearchPapersBenchmark {
+
+    @Param({"10", "100"})
+    public int maxResults;
+
+    @Param({"json", "log"})
+    public String store;
+
+    private Path papersDirectory;
+    private PaperStore paperStore;
+    private SemanticSearchIndex semanticSearchIndex;
+    private ArxivService arxivService;
+
+    @Setup
+    public void setUp() throws IOException {
+        papersDirectory = Files.createTempDirectory("arxiv-benchmark");
+        ArxivProperties properties = BenchmarkStores.properties(papersDirectory, store);
+        paperStore = BenchmarkStores.open(properties);
+
+        LocalSearchIndex localSearchIndex = new LocalSearchIndex(paperStore);
+        semanticSearchIndex = new SemanticSearchIndex(properties, paperStore,
+                new HashingEmbedder(properties.getSemantic().getDimensions()));
+        AutocompleteIndex autocompleteIndex = new AutocompleteIndex(paperStore);
+        localSearchIndex.start();
+        semanticSearchIndex.start();
+        autocompleteIndex.start();
+
+        StubArxivClient arxivClient = new StubArxivClient(Corpus.papers(maxResults, 7),
+                properties.getSearch().getPageSize(), maxResults * 10);
+        arxivService = ArxivServiceFixture.builder(arxivClient, properties, paperStore)
+                .localSearchIndex(localSearchIndex)
+                .semanticSearchIndex(semanticSearchIndex)
+                .autocompleteIndex(autocompleteIndex)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        semanticSearchIndex.stop();
+        BenchmarkStores.close(paperStore, papersDirectory);
+    }
+
+    @Benchmark
+    public List<String> searchPapers() {
+        return arxivService.searchPapers("large language models", maxResults);
+    }
+
+    /**
+     * Answers searches with pages cut from a fixed corpus.
+     */
+    private static class StubArxivClient implements ArxivClient {
+
+        private final Map<Integer, ArxivResponse> pages = new HashMap<>();
+
+        StubArxivClient(Map<String, PaperInfo> papers, int pageSize, int totalResults) {
+            Map<String, PaperInfo> page = new LinkedHashMap<>();
+            int start = 0;
+            for (Map.Entry<String, PaperInfo> paper : papers.entrySet()) {
+                page.put(paper.getKey(), paper.getValue());
+                if (page.size() == pageSize) {
+                    pages.put(start, Corpus.response(page, totalResults));
+                    start += page.size();
+                    page = new LinkedHashMap<>();
+                }
+            }
+            if (!page.isEmpty()) {
+                pages.put(start, Corpus.response(page, totalResults));
+            }
+        }
+
+        @Override
+        public ArxivResponse searchPapers(String search, int start, int maxResults) {
+            return pages.get(start);
+        }
+
+        @Override
+        public ArxivResponse searchNewest(String search, int start, int maxResults) {
+            return null;
+        }
+
+        @Override
+        public ArxivResponse getPaper(String id) {
+            return null;
+        }
+
+        @Override
+        public ArxivResponse getPapers(String idList, int maxResults) {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SearchPapersBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package org.benk.arxiv_mcp_server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.ingest.SnapshotImporter;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.search.AutocompleteIndex;
+import org.benk.arxiv_mcp_server.search.HashingEmbedder;
+import org.benk.arxiv_mcp_server.search.LocalSearchIndex;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.ArxivServiceFixture;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link SnapshotImporter#importSnapshots(List)} of a generated Kaggle snapshot into an empty store, with the
+ * local and autocomplete indexes started, with and without the semantic index, for both store types. Papers
+ * are spread over ten categories. Scores are per imported paper, so the import throughput is their inverse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(SnapshotImportBenchmark.PAPERS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SnapshotImportBenchmark {
+
+    static final int PAPERS = 20_000;
+    private static final int CATEGORIES = 10;
+
+    @Param({"json", "log"})
+    public String store;
+
+    @Param({"true", "false"})
+    public boolean semantic;
+
+    private Path snapshotDirectory;
+    private Path snapshot;
+    private Path papersDirectory;
+    private PaperStore paperStore;
+    private SemanticSearchIndex semanticSearchIndex;
+    private SnapshotImporter importer;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        snapshotDirectory = Files.createTempDirectory("arxiv-snapshot");
+        snapshot = snapshotDirectory.resolve("arxiv-metadata-oai-snapshot.json");
+        ObjectMapper objectMapper = new ObjectMapper();
+        DateTimeFormatter created = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+        int i = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(snapshot)) {
+            for (Map.Entry<String, PaperInfo> entry : Corpus.papers(PAPERS, 42).entrySet()) {
+                PaperInfo paper = entry.getValue();
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("id", entry.getKey().substring(0, entry.getKey().length() - 2));
+                record.put("title", paper.getTitle());
+                record.put("abstract", paper.getSummary());
+                record.put("authors", String.join(", ", paper.getAuthors()));
+                record.put("authors_parsed", paper.getAuthors().stream()
+                        .map(author -> List.of(author.substring(author.indexOf(' ') + 1),
+                                author.substring(0, author.indexOf(' ')), ""))
+                        .toList());
+                record.put("categories", "cs.C" + i++ % CATEGORIES + " stat.ML");
+                record.put("versions", List.of(Map.of("version", "v1",
+                        "created", created.format(Instant.parse(paper.getPublished())))));
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.newLine();
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        papersDirectory = Files.createTempDirectory("arxiv-benchmark");
+        ArxivProperties properties = BenchmarkStores.properties(papersDirectory, store);
+        properties.getSemantic().setEnabled(semantic);
+        paperStore = BenchmarkStores.open(properties);
+
+        LocalSearchIndex localSearchIndex = new LocalSearchIndex(paperStore);
+        semanticSearchIndex = new SemanticSearchIndex(properties, paperStore,
+                new HashingEmbedder(properties.getSemantic().getDimensions()));
+        AutocompleteIndex autocompleteIndex = new AutocompleteIndex(paperStore);
+        localSearchIndex.start();
+        semanticSearchIndex.start();
+        autocompleteIndex.start();
+
+        ArxivService arxivService = ArxivServiceFixture.builder(mock(ArxivClient.class), properties, paperStore)
+                .localSearchIndex(localSearchIndex)
+                .semanticSearchIndex(semanticSearchIndex)
+                .autocompleteIndex(autocompleteIndex)
+                .build();
+        importer = new SnapshotImporter(arxivService, properties, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        semanticSearchIndex.stop();
+        BenchmarkStores.close(paperStore, papersDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(snapshotDirectory);
+    }
+
+    @Benchmark
+    public SnapshotImporter.ImportResult importSnapshot() {
+        return importer.importSnapshots(List.of(snapshot));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SnapshotImportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
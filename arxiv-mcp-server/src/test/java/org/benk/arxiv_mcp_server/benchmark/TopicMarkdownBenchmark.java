@@ -0,0 +1,82 @@
+package org.benk.arxiv_mcp_server.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.service.TopicMarkdownRenderer;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Markdown rendering of a topic by {@link TopicMarkdownRenderer}: a full uncached render, a cache hit,
+ * and the streaming write used for topics above the stream threshold, which reads papers from the store
+ * one at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TopicMarkdownBenchmark {
+
+    private static final String TOPIC = "large_language_models";
+
+    @Param({"100", "1000", "10000"})
+    public int papers;
+
+    @Param({"json", "log"})
+    public String store;
+
+    private Path papersDirectory;
+    private PaperStore paperStore;
+    private TopicMarkdownRenderer renderer;
+
+    @Setup
+    public void setUp() throws IOException {
+        papersDirectory = Files.createTempDirectory("arxiv-benchmark");
+        ArxivProperties properties = BenchmarkStores.properties(papersDirectory, store);
+        // Keep every size cacheable, so the cache hit is measured at all sizes
+        properties.getMarkdown().setStreamThreshold(Integer.MAX_VALUE);
+        paperStore = BenchmarkStores.open(properties);
+        paperStore.savePapers(TOPIC, Corpus.papers(papers, 42));
+        renderer = new TopicMarkdownRenderer(paperStore, properties, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkStores.close(paperStore, papersDirectory);
+    }
+
+    @Benchmark
+    public TopicMarkdownRenderer.RenderedTopic render() {
+        renderer.invalidate(TOPIC);
+        return renderer.render(TOPIC);
+    }
+
+    @Benchmark
+    public TopicMarkdownRenderer.RenderedTopic cached() {
+        return renderer.render(TOPIC);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        renderer.write(TOPIC, 0, Integer.MAX_VALUE, OutputStream.nullOutputStream());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TopicMarkdownBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.benchmark.Corpus;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArxivHttpTransportTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ArxivProperties properties = new ArxivProperties();
+    private FakeArxivServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeArxivServer(Corpus.papers(500, 42));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    private ArxivClient client(String transport) {
+        properties.getHttp().setTransport(transport);
+        return server.feignClient(properties, new ArxivClientMetrics(meterRegistry));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hc5", "jdk"})
+    void testDecodesCompressedFeedsOverKeptAliveConnections(String transport) {
+        ArxivClient client = client(transport);
+
+        for (int start = 0; start < 50; start += 10) {
+            ArxivResponse response = client.searchPapers("all:model", start, 10);
+            assertEquals(10, response.getEntries().size());
+        }
+
+        assertEquals(5, server.compressed());
+        // The JDK client returns a connection to its pool asynchronously, so a request may rarely beat it
+        assertTrue(server.connections() <= 2, server.connections() + " connections for 5 requests");
+        // The decoder sees the decompressed feed
+        assertTrue(meterRegistry.get("arxiv.response.size").summary().mean() > 10 * 1000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hc5", "jdk"})
+    void testSendsUncompressedRequestsWhenCompressionIsDisabled(String transport) {
+        properties.getHttp().setCompression(false);
+        ArxivClient client = client(transport);
+
+        assertEquals(1, client.getPaper(Corpus.paperId(1)).getEntries().size());
+        assertEquals(0, server.compressed());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hc5", "jdk"})
+    void testAppliesReadTimeoutsPerOperation(String transport) {
+        properties.getHttp().setReadTimeout(Duration.ofSeconds(5));
+        properties.getHttp().getOperationReadTimeouts().put("getpaper", Duration.ofMillis(100));
+        ArxivClient client = client(transport);
+        server.setLatency(Duration.ofMillis(400));
+
+        assertThrows(RetryableException.class, () -> client.getPaper(Corpus.paperId(1)));
+        assertEquals(1, client.getPapers(Corpus.paperId(1), 1).getEntries().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hc5", "jdk"})
+    void testRejectsUnknownTransports(String transport) {
+        properties.getHttp().setTransport(transport + "-unknown");
+
+        assertThrows(IllegalArgumentException.class, () -> new ArxivHttpTransport(properties.getHttp(), meterRegistry));
+    }
+}
@@ -0,0 +1,111 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArxivRateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ArxivRateLimiter rateLimiter;
+
+    private ArxivRateLimiter rateLimiter(Duration interval, int burst) {
+        ArxivProperties.RateLimit properties = new ArxivProperties.RateLimit();
+        properties.setInterval(interval);
+        properties.setBurst(burst);
+        rateLimiter = new ArxivRateLimiter(properties, meterRegistry);
+        return rateLimiter;
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter.close();
+    }
+
+    @Test
+    void testPermitsAreSpacedByInterval() {
+        ArxivRateLimiter limiter = rateLimiter(Duration.ofMillis(100), 1);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(RequestPriority.INTERACTIVE).join();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // The first permit is immediate, the next three are earned one interval apart
+        assertTrue(elapsed >= 280, "elapsed " + elapsed + " ms");
+        assertEquals(4, meterRegistry.get("arxiv.ratelimiter.wait").tag("priority", "interactive").timer().count());
+    }
+
+    @Test
+    void testBurstIsServedImmediately() {
+        ArxivRateLimiter limiter = rateLimiter(Duration.ofSeconds(10), 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire(RequestPriority.BACKGROUND).isDone());
+        }
+        assertFalse(limiter.acquire(RequestPriority.BACKGROUND).isDone());
+        assertEquals(1.0, meterRegistry.get("arxiv.ratelimiter.queue").gauge().value());
+    }
+
+    @Test
+    void testInteractiveRequestsOvertakeQueuedBackgroundWork() {
+        ArxivRateLimiter limiter = rateLimiter(Duration.ofMillis(50), 1);
+        limiter.acquire(RequestPriority.BACKGROUND).join();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<?> background1 = limiter.acquire(RequestPriority.BACKGROUND).thenRun(() -> order.add("background-1"));
+        CompletableFuture<?> background2 = limiter.acquire(RequestPriority.BACKGROUND).thenRun(() -> order.add("background-2"));
+        CompletableFuture<?> interactive = limiter.acquire(RequestPriority.INTERACTIVE).thenRun(() -> order.add("interactive"));
+        CompletableFuture.allOf(background1, background2, interactive).join();
+
+        assertEquals(List.of("interactive", "background-1", "background-2"), order);
+    }
+
+    @Test
+    void testCancelledWaiterGivesUpItsPlace() {
+        ArxivRateLimiter limiter = rateLimiter(Duration.ofMillis(50), 1);
+        limiter.acquire(RequestPriority.INTERACTIVE).join();
+
+        CompletableFuture<Void> cancelled = limiter.acquire(RequestPriority.INTERACTIVE);
+        CompletableFuture<Void> next = limiter.acquire(RequestPriority.BACKGROUND);
+        cancelled.cancel(false);
+
+        long started = System.nanoTime();
+        next.join();
+        // The next permit goes to the background waiter instead of being spent on the cancelled one
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 95);
+        assertEquals(0, limiter.queueDepth());
+    }
+
+    @Test
+    void testOnlyInteractiveRequestsEndTheQuietPeriod() throws Exception {
+        ArxivRateLimiter limiter = rateLimiter(Duration.ofMillis(1), 10);
+        Thread.sleep(50);
+
+        limiter.acquire(RequestPriority.BACKGROUND).join();
+        assertTrue(limiter.sinceLastInteractive().toMillis() >= 50);
+        limiter.acquire(RequestPriority.INTERACTIVE).join();
+        assertTrue(limiter.sinceLastInteractive().toMillis() < 50);
+    }
+
+    @Test
+    void testDisabledLimiterNeverWaits() {
+        ArxivProperties.RateLimit properties = new ArxivProperties.RateLimit();
+        properties.setEnabled(false);
+        rateLimiter = new ArxivRateLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.acquire(RequestPriority.INTERACTIVE).isDone());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.benk.arxiv_mcp_server.client;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomFeedReaderTests {
+
+    @Test
+    void testReadResponseMatchesJacksonBinding() throws Exception {
+        byte[] feed = AtomFeeds.feed(5, 1234);
+
+        ArxivResponse expected = new XmlMapper().readValue(feed, ArxivResponse.class);
+        ArxivResponse actual;
+        try (AtomFeedReader reader = new AtomFeedReader(new ByteArrayInputStream(feed))) {
+            actual = reader.readResponse();
+        }
+
+        assertEquals(expected, actual);
+        assertEquals(1234, actual.getTotalResults());
+        assertEquals(5, actual.getEntries().size());
+    }
+
+    @Test
+    void testEntriesAreReadOneAtATime() {
+        try (AtomFeedReader reader = new AtomFeedReader(new ByteArrayInputStream(AtomFeeds.feed(2, 2)))) {
+            assertEquals(2, reader.getItemsPerPage());
+
+            assertTrue(reader.hasNext());
+            ArxivEntry first = reader.next();
+            assertEquals("http://arxiv.org/abs/2501.00000v1", first.getId());
+            assertEquals(2, first.getAuthors().size());
+            assertEquals("Ada Lovelace", first.getAuthors().getFirst().getName());
+            assertEquals("application/pdf", first.getLinks().get(1).getType());
+
+            assertTrue(reader.hasNext());
+            assertEquals("http://arxiv.org/abs/2501.00001v1", reader.next().getId());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testEmptyFeed() {
+        try (AtomFeedReader reader = new AtomFeedReader(new ByteArrayInputStream(AtomFeeds.feed(0, 0)))) {
+            ArxivResponse response = reader.readResponse();
+            assertEquals(0, response.getTotalResults());
+            assertTrue(response.getEntries().isEmpty());
+        }
+    }
+}
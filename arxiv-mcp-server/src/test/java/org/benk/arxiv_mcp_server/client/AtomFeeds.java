@@ -0,0 +1,66 @@
+package org.benk.arxiv_mcp_server.client;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates arXiv Atom feeds shaped like real export.arxiv.org responses.
+ */
+public final class AtomFeeds {
+
+    private AtomFeeds() {
+    }
+
+    /**
+     * @param entries      Number of entries in the feed
+     * @param totalResults Value of opensearch:totalResults
+     * @return The feed as UTF-8 bytes
+     */
+    public static byte[] feed(int entries, int totalResults) {
+        StringBuilder xml = new StringBuilder(2048 + entries * 2048);
+        xml.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <feed xmlns="http://www.w3.org/2005/Atom">
+                  <link href="http://arxiv.org/api/query?search_query%%3Dall%%3Allm" rel="self" type="application/atom+xml"/>
+                  <title type="html">ArXiv Query: search_query=all:llm&amp;id_list=&amp;start=0&amp;max_results=10</title>
+                  <id>http://arxiv.org/api/cHxbiOdZaP56ODnBPIenZhzg5f8</id>
+                  <updated>2025-06-01T00:00:00-04:00</updated>
+                  <opensearch:totalResults xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">%d</opensearch:totalResults>
+                  <opensearch:startIndex xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">0</opensearch:startIndex>
+                  <opensearch:itemsPerPage xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">%d</opensearch:itemsPerPage>
+                """.formatted(totalResults, entries));
+        for (int i = 0; i < entries; i++) {
+            String paperId = "2501.%05dv1".formatted(i);
+            xml.append("""
+                      <entry>
+                        <id>http://arxiv.org/abs/%1$s</id>
+                        <updated>2025-01-%2$02dT18:59:59Z</updated>
+                        <published>2025-01-%2$02dT18:59:59Z</published>
+                        <title>Scaling Laws for Sparse Mixture-of-Experts Language Models, Part %3$d</title>
+                        <summary>  %4$s
+                        </summary>
+                        <author>
+                          <name>Ada Lovelace</name>
+                          <arxiv:affiliation xmlns:arxiv="http://arxiv.org/schemas/atom">Analytical Engine Lab</arxiv:affiliation>
+                        </author>
+                        <author>
+                          <name>Alan Turing</name>
+                        </author>
+                        <arxiv:comment xmlns:arxiv="http://arxiv.org/schemas/atom">12 pages, 4 figures</arxiv:comment>
+                        <link href="http://arxiv.org/abs/%1$s" rel="alternate" type="text/html"/>
+                        <link title="pdf" href="http://arxiv.org/pdf/%1$s" rel="related" type="application/pdf"/>
+                        <arxiv:primary_category xmlns:arxiv="http://arxiv.org/schemas/atom" term="cs.CL" scheme="http://arxiv.org/schemas/atom"/>
+                        <category term="cs.CL" scheme="http://arxiv.org/schemas/atom"/>
+                        <category term="cs.LG" scheme="http://arxiv.org/schemas/atom"/>
+                      </entry>
+                    """.formatted(paperId, i % 28 + 1, i, summary(i)));
+        }
+        xml.append("</feed>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String summary(int seed) {
+        String sentence = "We study how the loss of sparse mixture-of-experts models scales with the number of experts, "
+                + "the routing granularity and the amount of training compute (variant " + seed + "). ";
+        return sentence.repeat(6).trim();
+    }
+}
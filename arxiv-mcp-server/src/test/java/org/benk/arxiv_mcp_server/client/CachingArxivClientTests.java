@@ -0,0 +1,90 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CachingArxivClientTests {
+
+    private ArxivClient delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingArxivClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ArxivClient.class);
+        when(delegate.searchPapers(anyString(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> new ArxivResponse(1, 0, 1, List.of()));
+        when(delegate.getPaper(anyString()))
+                .thenAnswer(invocation -> new ArxivResponse(1, 0, 1, List.of()));
+        meterRegistry = new SimpleMeterRegistry();
+        client = new CachingArxivClient(delegate, new ArxivProperties.Cache(), meterRegistry);
+    }
+
+    @Test
+    void testRepeatedSearchIsServedFromCache() {
+        ArxivResponse first = client.searchPapers("all:llm", 0, 10);
+        ArxivResponse second = client.searchPapers("all:llm", 0, 10);
+
+        assertSame(first, second);
+        verify(delegate, times(1)).searchPapers("all:llm", 0, 10);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testDistinctKeysAreFetchedSeparately() {
+        client.searchPapers("all:llm", 0, 10);
+        client.searchPapers("all:llm", 10, 10);
+        client.getPaper("2101.01v1");
+        client.getPaper("2101.01v1");
+
+        verify(delegate).searchPapers("all:llm", 0, 10);
+        verify(delegate).searchPapers("all:llm", 10, 10);
+        verify(delegate, times(1)).getPaper("2101.01v1");
+    }
+
+    @Test
+    void testConcurrentMissesShareOneFetch() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getPaper("2101.01v1")).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await();
+            return new ArxivResponse(1, 0, 1, List.of());
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ArxivResponse> first = executor.submit(() -> client.getPaper("2101.01v1"));
+            fetching.await();
+            Future<ArxivResponse> second = executor.submit(() -> client.getPaper("2101.01v1"));
+            release.countDown();
+            assertSame(first.get(), second.get());
+        }
+        verify(delegate, times(1)).getPaper("2101.01v1");
+    }
+
+    @Test
+    void testFailedFetchIsNotCached() {
+        when(delegate.getPaper("2101.01v1"))
+                .thenThrow(new IllegalStateException("arXiv unavailable"))
+                .thenAnswer(invocation -> new ArxivResponse(1, 0, 1, List.of()));
+
+        assertThrows(IllegalStateException.class, () -> client.getPaper("2101.01v1"));
+        assertEquals(1, client.getPaper("2101.01v1").getTotalResults());
+    }
+}
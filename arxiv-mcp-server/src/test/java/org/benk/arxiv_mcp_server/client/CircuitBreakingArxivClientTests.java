@@ -0,0 +1,104 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CircuitBreakingArxivClientTests {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "http://localhost/api/query",
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    private ArxivClient delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakingArxivClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ArxivClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ArxivProperties.CircuitBreaker properties = new ArxivProperties.CircuitBreaker();
+        properties.setWindowSize(4);
+        properties.setMinCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setOpenDuration(Duration.ofMillis(200));
+        properties.setHalfOpenCalls(1);
+        client = new CircuitBreakingArxivClient(delegate, properties, meterRegistry);
+    }
+
+    private static FeignException unavailable() {
+        return new FeignException.ServiceUnavailable("503 Service Unavailable", REQUEST, null, Map.of());
+    }
+
+    private double transitions(String from, String to) {
+        return meterRegistry.get("arxiv.circuit.transitions").tag("from", from).tag("to", to).counter().count();
+    }
+
+    private void open() {
+        when(delegate.getPaper(anyString())).thenReturn(new ArxivResponse(1, 0, 1, List.of()));
+        client.getPaper("2101.01");
+        client.getPaper("2101.01");
+        when(delegate.getPaper(anyString())).thenThrow(unavailable());
+        assertThrows(FeignException.class, () -> client.getPaper("2101.01"));
+        assertEquals(ArxivCircuitBreaker.State.CLOSED, client.state());
+        assertThrows(FeignException.class, () -> client.getPaper("2101.01"));
+    }
+
+    @Test
+    void testOpensAtFailureRateAndFailsFast() {
+        open();
+
+        assertEquals(ArxivCircuitBreaker.State.OPEN, client.state());
+        assertThrows(ArxivUnavailableException.class, () -> client.searchPapers("all:llm", 0, 10));
+        verify(delegate, never()).searchPapers(anyString(), anyInt(), anyInt());
+        assertEquals(1, meterRegistry.get("arxiv.circuit.rejected").counter().count());
+        assertEquals(2, meterRegistry.get("arxiv.circuit.state").gauge().value());
+        assertEquals(1, transitions("closed", "open"));
+    }
+
+    @Test
+    void testTrialCallsReopenOrCloseTheCircuit() throws Exception {
+        open();
+
+        Thread.sleep(250);
+        assertThrows(FeignException.class, () -> client.getPaper("2101.01"));
+        assertEquals(ArxivCircuitBreaker.State.OPEN, client.state());
+
+        Thread.sleep(250);
+        ArxivResponse response = new ArxivResponse(1, 0, 1, List.of());
+        doReturn(response).when(delegate).getPaper(anyString());
+        assertSame(response, client.getPaper("2101.01"));
+
+        assertEquals(ArxivCircuitBreaker.State.CLOSED, client.state());
+        assertEquals(2, transitions("open", "half-open"));
+        assertEquals(1, transitions("half-open", "open"));
+        assertEquals(1, transitions("half-open", "closed"));
+        assertEquals(0, meterRegistry.get("arxiv.circuit.state").gauge().value());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenTheCircuit() {
+        when(delegate.getPaper(anyString()))
+                .thenThrow(new FeignException.BadRequest("400 Bad Request", REQUEST, null, Map.of()));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(FeignException.BadRequest.class, () -> client.getPaper("bad"));
+        }
+
+        assertEquals(ArxivCircuitBreaker.State.CLOSED, client.state());
+        verify(delegate, times(10)).getPaper("bad");
+    }
+}
@@ -0,0 +1,422 @@
+package org.benk.arxiv_mcp_server.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivFeignConfig;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded stand-in for the export.arxiv.org Atom API, serving a fixed corpus on a local port.
+ * <p>
+ * Supports {@code search_query} (all terms must appear in the title, summary or authors; field prefixes
+ * such as {@code all:} and {@code ti:} are accepted and ignored), {@code id_list} with or without versions,
+ * {@code start} and {@code max_results}. A malformed ID is answered with an error entry, as arXiv does.
+ * <p>
+ * Each request waits {@link #setLatency latency} plus a uniformly distributed {@link #setJitter jitter},
+ * then fails with HTTP 500 with probability {@link #setErrorRate errorRate}, or is throttled with HTTP 503
+ * and a {@code Retry-After} header with probability {@link #setThrottleRate throttleRate}.
+ * Requests are handled on virtual threads, so the simulated latency does not limit concurrency.
+ * Feeds are gzip-compressed for clients accepting it, and the connections requests arrive on are counted
+ * to observe connection reuse.
+ */
+@Slf4j
+public class FakeArxivServer implements AutoCloseable {
+
+    /**
+     * Largest slice arXiv returns for a single request.
+     */
+    static final int MAX_RESULTS = 2000;
+
+    private static final Pattern PAPER_ID = Pattern.compile("\\d{4}\\.\\d{4,5}(v\\d+)?");
+    private static final Pattern VERSION = Pattern.compile("v\\d+$");
+    private static final Pattern FIELD_PREFIX = Pattern.compile("\\b(all|ti|abs|au|cat|co|jr|rn|id):");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final List<String> paperIds;
+    private final List<PaperInfo> papers;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<ArxivHttpTransport> transports = new CopyOnWriteArrayList<>();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration jitter = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile double throttleRate;
+    private volatile Duration retryAfter = Duration.ofSeconds(3);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicInteger throttled = new AtomicInteger();
+    private final AtomicInteger compressed = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    /**
+     * Start serving a corpus on an ephemeral port of the loopback interface.
+     *
+     * @param corpus Map of paper IDs to paper information; search results follow its iteration order
+     * @throws IOException If the server cannot be bound
+     */
+    public FakeArxivServer(Map<String, PaperInfo> corpus) throws IOException {
+        this.paperIds = List.copyOf(corpus.keySet());
+        this.papers = List.copyOf(corpus.values());
+        for (int i = 0; i < papers.size(); i++) {
+            PaperInfo paper = papers.get(i);
+            positions.put(VERSION.matcher(paperIds.get(i)).replaceFirst(""), i);
+            index(i, paper.getTitle());
+            index(i, paper.getSummary());
+            if (paper.getAuthors() != null) {
+                for (String author : paper.getAuthors()) {
+                    index(i, author);
+                }
+            }
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/query", this::handle);
+        server.start();
+    }
+
+    private void index(int position, String text) {
+        for (String term : terms(text)) {
+            postings.computeIfAbsent(term, key -> new BitSet()).set(position);
+        }
+    }
+
+    private static List<String> terms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    /**
+     * @return URL of the query endpoint, to use as {@code arxiv.api.url}
+     */
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/query";
+    }
+
+    /**
+     * Build a Feign {@link ArxivClient} for this server with the default HTTP settings.
+     *
+     * @param metrics Metrics recorded by the client and the decoder
+     * @return The client
+     */
+    public ArxivClient feignClient(ArxivClientMetrics metrics) {
+        return feignClient(new ArxivProperties(), metrics);
+    }
+
+    /**
+     * Build a Feign {@link ArxivClient} for this server with the application's Feign configuration:
+     * the configured HTTP transport and timeouts, the metered HTTP client, the streaming Atom decoder
+     * and no retries. Its transport is closed with the server.
+     *
+     * @param properties Properties holding the HTTP settings
+     * @param metrics    Metrics recorded by the client and the decoder
+     * @return The client
+     */
+    public ArxivClient feignClient(ArxivProperties properties, ArxivClientMetrics metrics) {
+        ArxivFeignConfig config = new ArxivFeignConfig();
+        ArxivHttpTransport transport = config.arxivHttpTransport(properties, new SimpleMeterRegistry());
+        transports.add(transport);
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .client(config.arxivHttpClient(transport, metrics))
+                .decoder(config.arxivDecoder(metrics))
+                .options(config.arxivRequestOptions(properties))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(ArxivClient.class, url());
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setJitter(Duration jitter) {
+        this.jitter = jitter;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public void setThrottleRate(double throttleRate) {
+        this.throttleRate = throttleRate;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return Number of requests received, including failed ones
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    /**
+     * @return Number of requests answered with HTTP 500
+     */
+    public int errors() {
+        return errors.get();
+    }
+
+    /**
+     * @return Number of requests answered with HTTP 503
+     */
+    public int throttled() {
+        return throttled.get();
+    }
+
+    /**
+     * @return Number of feeds sent gzip-compressed
+     */
+    public int compressed() {
+        return compressed.get();
+    }
+
+    /**
+     * @return Largest number of requests handled at once
+     */
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * @return Number of distinct client connections requests arrived on
+     */
+    public int connections() {
+        return connections.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            connections.add(exchange.getRemoteAddress());
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                simulateLatency();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                send(exchange, 500, "text/plain", "Internal Server Error".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (random.nextDouble() < throttleRate) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", Long.toString(retryAfter.toSeconds()));
+                send(exchange, 503, "text/plain", "Rate exceeded.".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", new byte[0]);
+                return;
+            }
+            byte[] feed = query(parameters(exchange));
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                compressed.incrementAndGet();
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                feed = gzip(feed);
+            }
+            send(exchange, 200, "application/atom+xml; charset=UTF-8", feed);
+        } catch (RuntimeException e) {
+            log.error("Error answering simulated arXiv request: {}", exchange.getRequestURI(), e);
+            throw e;
+        }
+    }
+
+    private void simulateLatency() {
+        long nanos = latency.toNanos();
+        if (!jitter.isZero()) {
+            nanos += ThreadLocalRandom.current().nextLong(jitter.toNanos());
+        }
+        if (nanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(nanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> parameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                            URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private byte[] query(Map<String, String> parameters) {
+        int start = Math.max(0, parseInt(parameters.get("start"), 0));
+        int maxResults = Math.min(MAX_RESULTS, Math.max(0, parseInt(parameters.get("max_results"), 10)));
+        String idList = parameters.getOrDefault("id_list", "");
+        if (!idList.isBlank()) {
+            List<Integer> matches = new ArrayList<>();
+            for (String paperId : idList.split(",")) {
+                String trimmed = paperId.trim();
+                if (!PAPER_ID.matcher(trimmed).matches()) {
+                    return errorFeed("incorrect id format for " + trimmed);
+                }
+                Integer position = positions.get(VERSION.matcher(trimmed).replaceFirst(""));
+                if (position != null) {
+                    matches.add(position);
+                }
+            }
+            return feed(matches, start, maxResults);
+        }
+        return feed(search(parameters.getOrDefault("search_query", "")), start, maxResults);
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private List<Integer> search(String searchQuery) {
+        BitSet matches = null;
+        for (String term : terms(FIELD_PREFIX.matcher(searchQuery.toLowerCase(Locale.ROOT)).replaceAll(" "))) {
+            if (term.equals("and")) {
+                continue;
+            }
+            BitSet posting = postings.getOrDefault(term, new BitSet());
+            if (matches == null) {
+                matches = (BitSet) posting.clone();
+            } else {
+                matches.and(posting);
+            }
+        }
+        return matches == null ? List.of() : matches.stream().boxed().toList();
+    }
+
+    private byte[] feed(List<Integer> matches, int start, int maxResults) {
+        int from = Math.min(start, matches.size());
+        int to = Math.min(matches.size(), from + maxResults);
+        StringBuilder xml = new StringBuilder(1024 + (to - from) * 2048);
+        appendHeader(xml, matches.size(), start, to - from);
+        for (int position : matches.subList(from, to)) {
+            appendEntry(xml, paperIds.get(position), papers.get(position));
+        }
+        xml.append("</feed>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] errorFeed(String message) {
+        StringBuilder xml = new StringBuilder(1024);
+        appendHeader(xml, 1, 0, 1);
+        xml.append("  <entry>\n    <id>http://arxiv.org/api/errors#").append(escape(message)).append("</id>\n")
+                .append("    <title>Error</title>\n    <summary>").append(escape(message)).append("</summary>\n")
+                .append("    <link href=\"http://arxiv.org/api/errors#").append(escape(message))
+                .append("\" rel=\"alternate\" type=\"text/html\"/>\n  </entry>\n</feed>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendHeader(StringBuilder xml, int totalResults, int start, int itemsPerPage) {
+        xml.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <feed xmlns="http://www.w3.org/2005/Atom">
+                  <title type="html">ArXiv Query</title>
+                  <id>http://arxiv.org/api/simulated</id>
+                  <opensearch:totalResults xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">%d</opensearch:totalResults>
+                  <opensearch:startIndex xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">%d</opensearch:startIndex>
+                  <opensearch:itemsPerPage xmlns:opensearch="http://a9.com/-/spec/opensearch/1.1/">%d</opensearch:itemsPerPage>
+                """.formatted(totalResults, start, itemsPerPage));
+    }
+
+    private static void appendEntry(StringBuilder xml, String paperId, PaperInfo paper) {
+        xml.append("  <entry>\n    <id>http://arxiv.org/abs/").append(paperId).append("</id>\n");
+        xml.append("    <updated>").append(escape(paper.getPublished())).append("</updated>\n");
+        xml.append("    <published>").append(escape(paper.getPublished())).append("</published>\n");
+        xml.append("    <title>").append(escape(paper.getTitle())).append("</title>\n");
+        xml.append("    <summary>").append(escape(paper.getSummary())).append("</summary>\n");
+        if (paper.getAuthors() != null) {
+            for (String author : paper.getAuthors()) {
+                xml.append("    <author>\n      <name>").append(escape(author)).append("</name>\n    </author>\n");
+            }
+        }
+        xml.append("    <link href=\"http://arxiv.org/abs/").append(paperId)
+                .append("\" rel=\"alternate\" type=\"text/html\"/>\n");
+        xml.append("    <link title=\"pdf\" href=\"").append(escape(paper.getPdfUrl()))
+                .append("\" rel=\"related\" type=\"application/pdf\"/>\n");
+        xml.append("  </entry>\n");
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    @Override
+    public void close() {
+        for (ArxivHttpTransport transport : transports) {
+            transport.close();
+        }
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,99 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.benchmark.Corpus;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FakeArxivServerTests {
+
+    private final Map<String, PaperInfo> corpus = Corpus.papers(500, 42);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeArxivServer server;
+    private ArxivClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeArxivServer(corpus);
+        client = server.feignClient(new ArxivClientMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void testPagesThroughSearchResults() {
+        ArxivResponse first = client.searchPapers("all:neural network", 0, 10);
+        int total = first.getTotalResults();
+        assertTrue(total > 10 && total < corpus.size(), "expected a selective search, got " + total);
+
+        List<String> paperIds = new ArrayList<>();
+        for (int start = 0; start < total; start += 10) {
+            client.searchPapers("all:neural network", start, 10).getEntries()
+                    .forEach(entry -> paperIds.add(entry.getId().substring(entry.getId().lastIndexOf('/') + 1)));
+        }
+        assertEquals(total, paperIds.size());
+        assertEquals(total, paperIds.stream().distinct().count());
+        PaperInfo paper = corpus.get(paperIds.getFirst());
+        String text = (paper.getTitle() + " " + paper.getSummary()).toLowerCase();
+        assertTrue(text.contains("neural") && text.contains("network"));
+
+        assertEquals(0, client.searchPapers("all:unknownterm", 0, 10).getTotalResults());
+        assertEquals(total / 10 + 3, meterRegistry.get("arxiv.requests").tags("operation", "searchPapers", "status", "200")
+                .timer().count());
+    }
+
+    @Test
+    void testLooksUpIdListWithAndWithoutVersions() {
+        String first = Corpus.paperId(3);
+        String second = Corpus.paperId(7).replaceFirst("v1$", "");
+
+        ArxivResponse response = client.getPapers(first + "," + second + ",9912.99999", 10);
+
+        assertEquals(List.of("http://arxiv.org/abs/" + first, "http://arxiv.org/abs/" + Corpus.paperId(7)),
+                response.getEntries().stream().map(ArxivEntry::getId).toList());
+        assertEquals(corpus.get(first).getAuthors().getFirst(),
+                response.getEntries().getFirst().getAuthors().getFirst().getName());
+
+        ArxivEntry error = client.getPaper("not-an-id").getEntries().getFirst();
+        assertTrue(error.getId().contains("/api/errors"));
+        assertEquals("incorrect id format for not-an-id", error.getSummary());
+    }
+
+    @Test
+    void testInjectsLatencyErrorsAndThrottling() {
+        server.setLatency(Duration.ofMillis(50));
+        long started = System.nanoTime();
+        client.getPaper(Corpus.paperId(1));
+        assertTrue(System.nanoTime() - started >= Duration.ofMillis(50).toNanos());
+
+        server.setLatency(Duration.ZERO);
+        server.setThrottleRate(1);
+        server.setRetryAfter(Duration.ofSeconds(5));
+        RetryableException throttled = assertThrows(RetryableException.class, () -> client.getPaper(Corpus.paperId(1)));
+        assertEquals(503, throttled.status());
+        assertNotNull(throttled.retryAfter());
+
+        server.setThrottleRate(0);
+        server.setErrorRate(1);
+        assertEquals(500, assertThrows(FeignException.class, () -> client.getPaper(Corpus.paperId(1))).status());
+        assertEquals(3, server.requests());
+        assertEquals(1, server.throttled());
+        assertEquals(1, server.errors());
+    }
+}
@@ -0,0 +1,140 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitedArxivClientTests {
+
+    private ArxivClient delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private ArxivProperties.RateLimit properties;
+    private ArxivRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ArxivClient.class);
+        when(delegate.getPaper(anyString())).thenAnswer(invocation -> new ArxivResponse(1, 0, 1, List.of()));
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ArxivProperties.RateLimit();
+        properties.setInterval(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter.close();
+    }
+
+    private RateLimitedArxivClient client() {
+        rateLimiter = new ArxivRateLimiter(properties, meterRegistry);
+        return new RateLimitedArxivClient(delegate, rateLimiter, properties, meterRegistry);
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneCall() throws Exception {
+        RateLimitedArxivClient client = client();
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.searchPapers("all:llm", 0, 10)).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await();
+            return new ArxivResponse(1, 0, 1, List.of());
+        });
+
+        List<Future<ArxivResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            responses.add(executor.submit(() -> client.searchPapers("all:llm", 0, 10)));
+            fetching.await();
+            for (int i = 0; i < 7; i++) {
+                responses.add(executor.submit(() -> client.searchPapers("all:llm", 0, 10)));
+            }
+            while (meterRegistry.get("arxiv.requests.coalesced").counter().count() < 7) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<ArxivResponse> response : responses) {
+                assertSame(responses.getFirst().get(), response.get());
+            }
+        }
+        verify(delegate, times(1)).searchPapers("all:llm", 0, 10);
+    }
+
+    @Test
+    void testInteractiveCallerJoiningAQueuedBackgroundRequestPromotesIt() throws Exception {
+        properties.setBurst(1);
+        RateLimitedArxivClient client = client();
+        List<String> sent = new CopyOnWriteArrayList<>();
+        List<RequestPriority> priorities = new CopyOnWriteArrayList<>();
+        when(delegate.getPaper(anyString())).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            priorities.add(RequestPriority.current());
+            return new ArxivResponse(1, 0, 1, List.of());
+        });
+        client.getPaper("2101.01v1");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> older = executor.submit(() -> RequestPriority.background(() -> client.getPaper("2101.02v1")));
+            while (rateLimiter.queueDepth() < 1) {
+                Thread.sleep(1);
+            }
+            Future<?> joined = executor.submit(() -> RequestPriority.background(() -> client.getPaper("2101.03v1")));
+            while (rateLimiter.queueDepth() < 2) {
+                Thread.sleep(1);
+            }
+            Future<?> interactive = executor.submit(() -> client.getPaper("2101.03v1"));
+            while (meterRegistry.get("arxiv.requests.coalesced").counter().count() < 1) {
+                Thread.sleep(1);
+            }
+            older.get();
+            joined.get();
+            interactive.get();
+        }
+
+        // The joined request overtook the older background request and ran as interactive
+        assertEquals(List.of("2101.01v1", "2101.03v1", "2101.02v1"), sent);
+        assertEquals(List.of(RequestPriority.INTERACTIVE, RequestPriority.INTERACTIVE, RequestPriority.BACKGROUND),
+                priorities);
+        verify(delegate, times(1)).getPaper("2101.03v1");
+    }
+
+    @Test
+    void testCompletedRequestsAreNotShared() {
+        RateLimitedArxivClient client = client();
+
+        ArxivResponse first = client.getPaper("2101.01v1");
+        ArxivResponse second = client.getPaper("2101.01v1");
+
+        assertNotSame(first, second);
+        verify(delegate, times(2)).getPaper("2101.01v1");
+    }
+
+    @Test
+    void testRequestFailsWhenRateLimitWaitExceedsMaxWait() {
+        properties.setInterval(Duration.ofSeconds(10));
+        properties.setMaxWait(Duration.ofMillis(50));
+        RateLimitedArxivClient client = client();
+        client.getPaper("2101.01v1");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.getPaper("2101.02v1"));
+
+        assertEquals("Timed out waiting for the arXiv rate limit", e.getMessage());
+        verify(delegate, never()).getPaper("2101.02v1");
+        assertEquals(0, rateLimiter.queueDepth());
+    }
+}
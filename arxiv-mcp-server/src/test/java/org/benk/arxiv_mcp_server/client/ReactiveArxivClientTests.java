@@ -0,0 +1,121 @@
+package org.benk.arxiv_mcp_server.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveArxivClientTests {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ArxivProperties properties = new ArxivProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.getRateLimit().setEnabled(false);
+    }
+
+    private ReactiveArxivClient client(HttpStatus status, byte[] body) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://export.arxiv.org/api/query")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/atom+xml")
+                            .body(new String(body, StandardCharsets.UTF_8))
+                            .build());
+                })
+                .build();
+        return new ReactiveArxivClient(webClient, new ArxivRateLimiter(properties.getRateLimit(), meterRegistry),
+                new ArxivClientMetrics(meterRegistry), new ArxivResponseCache(properties.getCache(), meterRegistry),
+                new ArxivCircuitBreaker(properties.getCircuitBreaker(), meterRegistry), properties);
+    }
+
+    @Test
+    void testSearchPapersDecodesFeed() {
+        ReactiveArxivClient client = client(HttpStatus.OK, AtomFeeds.feed(3, 42));
+
+        ArxivResponse response = client.searchPapers("all:large language models", 10, 3).block();
+
+        assertNotNull(response);
+        assertEquals(42, response.getTotalResults());
+        assertEquals(3, response.getEntries().size());
+        assertEquals(2, response.getEntries().getFirst().getAuthors().size());
+        String query = requests.getFirst().url().getRawQuery();
+        assertEquals("search_query=all%3Alarge%20language%20models&start=10&max_results=3", query);
+
+        assertEquals(1, meterRegistry.get("arxiv.requests").tags("operation", "searchPapers", "status", "200").timer().count());
+        assertEquals(1, meterRegistry.get("arxiv.decode").timer().count());
+        assertEquals(AtomFeeds.feed(3, 42).length, meterRegistry.get("arxiv.response.size").summary().totalAmount());
+    }
+
+    @Test
+    void testNotFoundCompletesEmpty() {
+        ReactiveArxivClient client = client(HttpStatus.NOT_FOUND, new byte[0]);
+
+        assertNull(client.getPaper("2501.00001").block());
+        assertEquals(1, meterRegistry.get("arxiv.requests").tags("operation", "getPaper", "status", "404").timer().count());
+    }
+
+    @Test
+    void testServerErrorIsSignalled() {
+        ReactiveArxivClient client = client(HttpStatus.SERVICE_UNAVAILABLE, new byte[0]);
+
+        assertThrows(WebClientResponseException.ServiceUnavailable.class,
+                () -> client.getPapers("2501.00001,2501.00002", 2).block());
+    }
+
+    @Test
+    void testRepeatedRequestIsServedFromCache() {
+        ReactiveArxivClient client = client(HttpStatus.OK, AtomFeeds.feed(3, 42));
+
+        ArxivResponse first = client.searchPapers("all:llm", 0, 3).block();
+        ArxivResponse second = client.searchPapers("all:llm", 0, 3).block();
+
+        assertSame(first, second);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testOpenCircuitFailsFast() {
+        properties.getCache().setEnabled(false);
+        properties.getCircuitBreaker().setWindowSize(2);
+        properties.getCircuitBreaker().setMinCalls(2);
+        ReactiveArxivClient client = client(HttpStatus.SERVICE_UNAVAILABLE, new byte[0]);
+
+        assertThrows(WebClientResponseException.class, () -> client.getPaper("2501.00001").block());
+        assertThrows(WebClientResponseException.class, () -> client.getPaper("2501.00001").block());
+        assertThrows(ArxivUnavailableException.class, () -> client.getPaper("2501.00001").block());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void testGivesUpWaitingForTheRateLimitAfterMaxWait() {
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setInterval(Duration.ofMinutes(1));
+        properties.getRateLimit().setMaxWait(Duration.ofMillis(100));
+        ReactiveArxivClient client = client(HttpStatus.OK, AtomFeeds.feed(1, 1));
+
+        assertNotNull(client.getPaper("2501.00001").block());
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.getPaper("2501.00002").block());
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(1, requests.size());
+    }
+}
@@ -0,0 +1,152 @@
+package org.benk.arxiv_mcp_server.client;
+
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RetryingArxivClientTests {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "http://localhost/api/query",
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    private ArxivClient delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private ArxivProperties properties;
+    private ArxivRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ArxivClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ArxivProperties();
+        properties.getRateLimit().setEnabled(false);
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        properties.getHedge().setEnabled(false);
+        rateLimiter = new ArxivRateLimiter(properties.getRateLimit(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter.close();
+    }
+
+    private RetryingArxivClient client() {
+        return new RetryingArxivClient(delegate, rateLimiter, properties, meterRegistry);
+    }
+
+    private static ArxivResponse response() {
+        return new ArxivResponse(1, 0, 1, List.of());
+    }
+
+    private static FeignException serverError() {
+        return new FeignException.InternalServerError("500 Internal Server Error", REQUEST, null, Map.of());
+    }
+
+    private static RetryableException throttled(Duration retryAfter) {
+        return new RetryableException(503, "503 Service Unavailable", Request.HttpMethod.GET,
+                System.currentTimeMillis() + retryAfter.toMillis(), REQUEST);
+    }
+
+    private double retries(String operation) {
+        return meterRegistry.get("arxiv.retries").tag("operation", operation).counter().count();
+    }
+
+    @Test
+    void testRetriesTransientFailuresUntilSuccess() {
+        ArxivResponse response = response();
+        when(delegate.getPaper("2101.01")).thenThrow(serverError(), serverError()).thenReturn(response);
+
+        assertSame(response, client().getPaper("2101.01"));
+
+        verify(delegate, times(3)).getPaper("2101.01");
+        assertEquals(2, retries("getPaper"));
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        FeignException failure = serverError();
+        when(delegate.searchPapers("all:llm", 0, 10)).thenThrow(failure);
+
+        assertSame(failure, assertThrows(FeignException.class, () -> client().searchPapers("all:llm", 0, 10)));
+
+        verify(delegate, times(3)).searchPapers("all:llm", 0, 10);
+        assertEquals(2, retries("searchPapers"));
+    }
+
+    @Test
+    void testWaitsAtLeastRetryAfter() {
+        ArxivResponse response = response();
+        when(delegate.getPaper("2101.01")).thenThrow(throttled(Duration.ofMillis(300))).thenReturn(response);
+
+        long started = System.nanoTime();
+        assertSame(response, client().getPaper("2101.01"));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofMillis(250)) >= 0);
+    }
+
+    @Test
+    void testDoesNotRetryClientErrorsOrLongRetryAfter() {
+        when(delegate.getPaper("bad")).thenThrow(new FeignException.BadRequest("400 Bad Request", REQUEST, null, Map.of()));
+        when(delegate.getPaper("2101.01")).thenThrow(throttled(Duration.ofMinutes(10)));
+        RetryingArxivClient client = client();
+
+        assertThrows(FeignException.BadRequest.class, () -> client.getPaper("bad"));
+        assertThrows(RetryableException.class, () -> client.getPaper("2101.01"));
+
+        verify(delegate, times(1)).getPaper("bad");
+        verify(delegate, times(1)).getPaper("2101.01");
+        assertEquals(0, retries("getPaper"));
+    }
+
+    @Test
+    void testHedgesRequestsSlowerThanRecentOnes() throws Exception {
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setMinSamples(5);
+        properties.getHedge().setMinDelay(Duration.ofMillis(50));
+        ArxivResponse slow = response();
+        ArxivResponse fast = response();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.getPaper(anyString())).thenAnswer(invocation -> {
+            // The sixth request hangs until the end of the test; its hedge is answered at once
+            if (calls.incrementAndGet() == 6) {
+                release.await();
+                return slow;
+            }
+            return fast;
+        });
+        RetryingArxivClient client = client();
+        for (int i = 0; i < 5; i++) {
+            client.getPaper("2101.01");
+        }
+
+        try {
+            long started = System.nanoTime();
+            assertSame(fast, client.getPaper("2101.01"));
+            assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(5)) < 0);
+        } finally {
+            release.countDown();
+        }
+
+        verify(delegate, times(7)).getPaper("2101.01");
+        assertEquals(1, meterRegistry.get("arxiv.hedges").tag("operation", "getPaper").tag("outcome", "sent").counter().count());
+        assertEquals(1, meterRegistry.get("arxiv.hedges").tag("operation", "getPaper").tag("outcome", "won").counter().count());
+    }
+}
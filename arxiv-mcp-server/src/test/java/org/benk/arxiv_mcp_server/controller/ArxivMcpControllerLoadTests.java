@@ -0,0 +1,113 @@
+package org.benk.arxiv_mcp_server.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.ArxivMcpServerApplication;
+import org.benk.arxiv_mcp_server.client.FakeArxivServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test of the search endpoint of the running application, with {@code spring.threads.virtual.enabled}
+ * off and on, against a {@link FakeArxivServer} that answers after a fixed latency. The peak number of
+ * searches in flight against arXiv at once is read on the fake server.
+ * <p>
+ * With platform threads Tomcat handles at most {@code server.tomcat.threads.max} requests at once, so that
+ * is also the most searches waiting on arXiv. With virtual threads that cap goes away. Rate limiting,
+ * caching and hedging are disabled so that each request sends exactly one arXiv call, and the HTTP client to
+ * arXiv gets a connection per call. Both applications run in this JVM, one after the other.
+ */
+@Slf4j
+class ArxivMcpControllerLoadTests {
+
+    private static final int CALLS = 1000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration ARXIV_LATENCY = Duration.ofSeconds(1);
+    private static final String REACTOR_VIRTUAL_THREADS = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    @TempDir
+    Path papersDirectory;
+
+    @Test
+    void testVirtualThreadsLiftTheCapOfTheTomcatWorkerPool() throws Exception {
+        boolean reactorOnVirtualThreads = System.getProperty(REACTOR_VIRTUAL_THREADS) != null;
+        int platformPeak;
+        int virtualPeak;
+        try {
+            platformPeak = runLoad(false);
+            virtualPeak = runLoad(true);
+        } finally {
+            // Set by the application started with virtual threads; later tests expect the default
+            if (!reactorOnVirtualThreads) {
+                System.clearProperty(REACTOR_VIRTUAL_THREADS);
+            }
+        }
+
+        assertTrue(platformPeak <= TOMCAT_MAX_THREADS,
+                "platform threads should cap in-flight calls at the worker pool size, peak was " + platformPeak);
+        assertTrue(virtualPeak > TOMCAT_MAX_THREADS,
+                "virtual threads should not be capped by the worker pool size, peak was " + virtualPeak);
+    }
+
+    private int runLoad(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (FakeArxivServer arxiv = new FakeArxivServer(Map.of());
+             ConfigurableApplicationContext application = new SpringApplicationBuilder(ArxivMcpServerApplication.class)
+                     .run(
+                             "--server.port=0",
+                             // The component scan of org.springframework.ai.mcp registers the MCP annotation
+                             // specification configurations a second time
+                             "--spring.main.allow-bean-definition-overriding=true",
+                             "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                             "--spring.threads.virtual.enabled=" + virtualThreads,
+                             "--arxiv.api.url=" + arxiv.url(),
+                             "--arxiv.papers-directory=" + papersDirectory.resolve(mode),
+                             "--arxiv.http.max-connections=" + CALLS,
+                             "--arxiv.rate-limit.enabled=false",
+                             "--arxiv.cache.enabled=false",
+                             "--arxiv.hedge.enabled=false",
+                             "--arxiv.retry.max-attempts=1",
+                             "--arxiv.semantic.enabled=false",
+                             "--arxiv.prefetch.enabled=false",
+                             "--arxiv.freshness.enabled=false")) {
+            arxiv.setLatency(ARXIV_LATENCY);
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            long started = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> calls = new ArrayList<>(CALLS);
+            for (int i = 0; i < CALLS; i++) {
+                // Distinct topics, so that no call joins another one in flight
+                calls.add(client.sendAsync(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + "/api/arxiv/search?maxResults=1&topic=load" + i))
+                        .timeout(Duration.ofMinutes(1))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(), HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> call : calls) {
+                assertEquals(200, call.join().statusCode());
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            log.info("{} threads: {} searches in {} ms, peak {} in-flight arXiv calls, {} calls/s",
+                    mode, CALLS, elapsed.toMillis(), arxiv.peakInFlight(), CALLS * 1000L / Math.max(1, elapsed.toMillis()));
+            assertEquals(CALLS, arxiv.requests());
+            return arxiv.peakInFlight();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.benk.arxiv_mcp_server.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
+import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.TopicCursor;
+import org.benk.arxiv_mcp_server.service.TopicMarkdownRenderer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ArxivMcpControllerTests {
+
+    private static final String ETAG = "\"1f2e3d4c-2a\"";
+
+    private ArxivService arxivService;
+    private PdfService pdfService;
+    private ArxivMcpController controller;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        arxivService = mock(ArxivService.class);
+        pdfService = mock(PdfService.class);
+        ArxivProperties properties = new ArxivProperties();
+        properties.getMarkdown().setPageSize(2);
+        controller = new ArxivMcpController(arxivService, pdfService, properties, new ObjectMapper());
+        byte[] bytes = "# Papers on Physics\n".getBytes(StandardCharsets.UTF_8);
+        when(arxivService.getTopicMarkdown("physics"))
+                .thenReturn(new TopicMarkdownRenderer.RenderedTopic(1, "# Papers on Physics\n", bytes, ETAG));
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testServesRenderedBytesWithETag() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = controller.getTopicPapersMarkdown("physics", null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals("# Papers on Physics\n", body(response));
+    }
+
+    @Test
+    void testAnswersNotModifiedForMatchingETag() {
+        ResponseEntity<StreamingResponseBody> response =
+                controller.getTopicPapersMarkdown("physics", null, null, "\"other\", W/" + ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+
+        assertEquals(HttpStatus.OK, controller.getTopicPapersMarkdown("physics", null, null, "\"other\"").getStatusCode());
+    }
+
+    @Test
+    void testWritesPdfThroughFileChannelOrHandsItToSendfile() throws Exception {
+        byte[] content = new byte[200_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(directory.resolve("pdf"), content);
+        when(pdfService.getPdf("2101.00001v1")).thenReturn(new PdfService.CachedPdf("2101.00001v1", "ab12", file, content.length));
+
+        ResponseEntity<StreamingResponseBody> response = controller.getPaperPdf("2101.00001v1", null, new MockHttpServletRequest());
+        assertEquals("application/pdf", response.getHeaders().getContentType().toString());
+        assertEquals(content.length, response.getHeaders().getContentLength());
+        assertEquals("\"ab12\"", response.getHeaders().getETag());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        assertArrayEquals(content, out.toByteArray());
+
+        MockHttpServletRequest sendfile = new MockHttpServletRequest();
+        sendfile.setAttribute(ArxivMcpController.SENDFILE_SUPPORT, true);
+        response = controller.getPaperPdf("2101.00001v1", null, sendfile);
+        assertNull(response.getBody());
+        assertEquals(file.toAbsolutePath().toString(), sendfile.getAttribute(ArxivMcpController.SENDFILE_FILENAME));
+        assertEquals((long) content.length, sendfile.getAttribute(ArxivMcpController.SENDFILE_END));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getPaperPdf("2101.00001v1", "\"ab12\"", new MockHttpServletRequest()).getStatusCode());
+        when(pdfService.getPdf("bogus")).thenThrow(new IllegalArgumentException("Invalid arXiv paper ID: bogus"));
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getPaperPdf("bogus", null, new MockHttpServletRequest()).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getPaperPdf("2101.99999", null, new MockHttpServletRequest()).getStatusCode());
+    }
+
+    @Test
+    void testExplainsEmptyTopics() throws Exception {
+        when(arxivService.getTopicMarkdown("chemistry"))
+                .thenReturn(new TopicMarkdownRenderer.RenderedTopic(0, "", new byte[0], "\"0-0\""));
+
+        ResponseEntity<StreamingResponseBody> response = controller.getTopicPapersMarkdown("chemistry", null, null, null);
+
+        assertTrue(body(response).startsWith("# No papers found for topic: chemistry"));
+    }
+
+    @Test
+    void testStreamsMarkdownOfLargeTopicsInPages() throws Exception {
+        when(arxivService.getTopicMarkdown("biology")).thenReturn(null);
+        when(arxivService.countTopicPapers("biology")).thenReturn(5);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("page".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(arxivService).writeTopicMarkdown(eq("biology"), anyInt(), anyInt(), any());
+
+        ResponseEntity<StreamingResponseBody> whole = controller.getTopicPapersMarkdown("biology", null, null, null);
+        assertEquals("page", body(whole));
+        verify(arxivService).writeTopicMarkdown(eq("biology"), eq(0), eq(Integer.MAX_VALUE), any());
+        assertNull(whole.getHeaders().getETag());
+        assertFalse(whole.getHeaders().containsKey(ArxivMcpController.NEXT_CURSOR));
+
+        ResponseEntity<StreamingResponseBody> page = controller.getTopicPapersMarkdown("biology", TopicCursor.encode(2), null, null);
+        body(page);
+        verify(arxivService).writeTopicMarkdown(eq("biology"), eq(2), eq(2), any());
+        assertEquals(TopicCursor.encode(4), page.getHeaders().getFirst(ArxivMcpController.NEXT_CURSOR));
+
+        ResponseEntity<StreamingResponseBody> last = controller.getTopicPapersMarkdown("biology", TopicCursor.encode(4), null, null);
+        assertFalse(last.getHeaders().containsKey(ArxivMcpController.NEXT_CURSOR));
+    }
+
+    @Test
+    void testStreamsTopicPapersAsJson() throws Exception {
+        Map<String, PaperInfo> papers = new LinkedHashMap<>();
+        papers.put("2401.00001v1", PaperInfo.builder().title("First").build());
+        papers.put("2401.00002v1", PaperInfo.builder().title("Second").build());
+        papers.put("2401.00003v1", PaperInfo.builder().title("Third").build());
+        when(arxivService.countTopicPapers("physics")).thenReturn(3);
+        when(arxivService.streamTopicPapers(eq("physics"), anyInt())).thenAnswer(invocation ->
+                papers.entrySet().stream().skip(invocation.<Integer>getArgument(1)));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        ResponseEntity<StreamingResponseBody> whole = controller.getTopicPapers("physics", null, null);
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(papers)), objectMapper.readTree(body(whole)));
+
+        ResponseEntity<StreamingResponseBody> first = controller.getTopicPapers("physics", null, 2);
+        assertEquals(2, objectMapper.readTree(body(first)).size());
+        String next = first.getHeaders().getFirst(ArxivMcpController.NEXT_CURSOR);
+        ResponseEntity<StreamingResponseBody> second = controller.getTopicPapers("physics", next, 2);
+        assertEquals("Third", objectMapper.readTree(body(second)).get("2401.00003v1").get("title").asText());
+        assertFalse(second.getHeaders().containsKey(ArxivMcpController.NEXT_CURSOR));
+    }
+
+    @Test
+    void testRejectsInvalidPagesAndUnknownTopics() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getTopicPapers("physics", "not a cursor", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getTopicPapers("physics", null, 0).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getTopicPapers("chemistry", null, null).getStatusCode());
+    }
+}
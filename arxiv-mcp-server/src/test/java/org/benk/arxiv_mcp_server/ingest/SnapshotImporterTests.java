@@ -0,0 +1,206 @@
+package org.benk.arxiv_mcp_server.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SnapshotImporterTests {
+
+    private static final String OAI_PMH = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <OAI-PMH xmlns="http://www.openarchives.org/OAI/2.0/">
+              <ListRecords>
+                <record>
+                  <header><identifier>oai:arXiv.org:0704.0001</identifier><setSpec>physics:hep-ph</setSpec></header>
+                  <metadata>
+                    <arXiv xmlns="http://arxiv.org/OAI/arXiv/">
+                      <id>0704.0001</id><created>2007-04-02</created><updated>2008-11-13</updated>
+                      <authors>
+                        <author><keyname>Balazs</keyname><forenames>C.</forenames></author>
+                        <author><keyname>Berger</keyname><forenames>E. L.</forenames></author>
+                      </authors>
+                      <title>Calculation of prompt diphoton production cross sections at Tevatron and
+                        LHC energies</title>
+                      <categories>hep-ph</categories>
+                      <abstract>  A fully differential calculation in perturbative quantum chromodynamics.</abstract>
+                    </arXiv>
+                  </metadata>
+                </record>
+                <record>
+                  <header status="deleted"><identifier>oai:arXiv.org:0704.0002</identifier></header>
+                </record>
+                <record>
+                  <header><identifier>oai:arXiv.org:2101.00003</identifier></header>
+                  <metadata>
+                    <arXivRaw xmlns="http://arxiv.org/OAI/arXivRaw/">
+                      <id>2101.00003</id>
+                      <version version="v1"><date>Mon, 4 Jan 2021 18:00:00 GMT</date></version>
+                      <version version="v2"><date>Tue, 9 Feb 2021 10:30:00 GMT</date></version>
+                      <title>Attention for graphs</title>
+                      <authors>Ada Lovelace and Alan Turing</authors>
+                      <categories>cs.LG stat.ML</categories>
+                      <abstract>Graphs, attended.</abstract>
+                    </arXivRaw>
+                  </metadata>
+                </record>
+                <resumptionToken cursor="0" completeListSize="3"/>
+              </ListRecords>
+            </OAI-PMH>
+            """;
+
+    @TempDir
+    Path papersDirectory;
+
+    private ArxivProperties properties;
+    private Map<String, Map<String, PaperInfo>> topics;
+    private List<Map<String, Map<String, PaperInfo>>> indexed;
+    private SnapshotImporter importer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getIngest().setWorkers(3);
+        properties.getIngest().setChunkSize(DataSize.ofBytes(1024));
+        topics = new ConcurrentHashMap<>();
+        ArxivService arxivService = mock(ArxivService.class);
+        doAnswer(invocation -> {
+            topics.computeIfAbsent(invocation.getArgument(0), key -> new ConcurrentHashMap<>())
+                    .putAll(invocation.getArgument(1, Map.class));
+            return null;
+        }).when(arxivService).importPapers(anyString(), any());
+        indexed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            indexed.add(Map.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(arxivService).indexPapers(any());
+        importer = new SnapshotImporter(arxivService, properties, new SimpleMeterRegistry());
+    }
+
+    private static String kaggleRecord(int i, String categories) {
+        return """
+                {"id":"2101.%05d","submitter":"Ada","authors":"A. Lovelace","title":"Paper %d on\\n  language models",\
+                "comments":null,"categories":"%s","abstract":"  An abstract\\nover two lines.\\n",\
+                "versions":[{"version":"v1","created":"Mon, 4 Jan 2021 18:00:00 GMT"},\
+                {"version":"v2","created":"Tue, 9 Feb 2021 10:30:00 GMT"}],\
+                "update_date":"2021-02-09","authors_parsed":[["Lovelace","Ada",""],["Turing","Alan","Jr"]]}
+                """.formatted(i, i, categories);
+    }
+
+    @Test
+    void testJsonLinesAreImportedInChunksAndResumed() throws Exception {
+        StringBuilder snapshot = new StringBuilder();
+        for (int i = 1; i <= 40; i++) {
+            snapshot.append(kaggleRecord(i, i == 7 ? "math.CO" : "cs.CL cs.LG"));
+            if (i == 20) {
+                snapshot.append("{\"id\": \"broken\n");
+            }
+        }
+        Path file = Files.writeString(papersDirectory.resolve("arxiv-metadata-oai-snapshot.json"), snapshot);
+        properties.getIngest().setCategories(List.of("cs."));
+
+        SnapshotImporter.ImportResult result = importer.importSnapshots(List.of(file));
+
+        assertEquals(new SnapshotImporter.ImportResult(39, 1, 1, 0), result);
+        assertEquals(39, topics.get("cs.CL").size());
+        PaperInfo paper = topics.get("cs.CL").get("2101.00001v2");
+        assertEquals("Paper 1 on language models", paper.getTitle());
+        assertEquals("An abstract over two lines.", paper.getSummary());
+        assertEquals(List.of("Ada Lovelace", "Alan Turing Jr"), paper.getAuthors());
+        assertEquals("2021-01-04T18:00:00Z", paper.getPublished());
+        assertEquals("2021-02-09T10:30:00Z", paper.getUpdated());
+        assertEquals(2, paper.getVersion());
+        assertEquals("https://arxiv.org/pdf/2101.00001v2.pdf", paper.getPdfUrl());
+
+        // Papers appended to a snapshot imported whole are not picked up; a new snapshot file is
+        Files.writeString(file, kaggleRecord(41, "cs.CL"), StandardOpenOption.APPEND);
+        assertEquals(0, importer.importSnapshots(List.of(file)).imported());
+        Files.writeString(papersDirectory.resolve("next.jsonl"), kaggleRecord(42, "cs.AI"));
+        assertEquals(1, importer.importSnapshots(List.of(papersDirectory)).imported());
+        assertTrue(topics.get("cs.AI").containsKey("2101.00042v2"));
+    }
+
+    @Test
+    void testInterruptedJsonLinesImportResumesAfterTheSavedChunks() throws Exception {
+        StringBuilder snapshot = new StringBuilder();
+        for (int i = 1; i <= 30; i++) {
+            snapshot.append(kaggleRecord(i, "cs.CL"));
+        }
+        Path file = Files.writeString(papersDirectory.resolve("snapshot.jsonl"), snapshot);
+        // Progress of an import that saved the first ten lines before it stopped
+        long tenLines = String.join("", snapshot.toString().lines().limit(10).map(line -> line + "\n").toList()).length();
+        new IngestCheckpoint(papersDirectory.resolve("ingest.checkpoint")).save(file, tenLines);
+
+        assertEquals(20, importer.importSnapshots(List.of(file)).imported());
+        assertFalse(topics.get("cs.CL").containsKey("2101.00010v2"));
+        assertTrue(topics.get("cs.CL").containsKey("2101.00011v2"));
+    }
+
+    @Test
+    void testSavedPapersAreIndexedInBatches() throws Exception {
+        StringBuilder snapshot = new StringBuilder();
+        for (int i = 1; i <= 30; i++) {
+            snapshot.append(kaggleRecord(i, i % 2 == 0 ? "cs.CL" : "cs.LG"));
+        }
+        Path file = Files.writeString(papersDirectory.resolve("snapshot.jsonl"), snapshot);
+        properties.getIngest().setIndexBatchSize(10);
+
+        assertEquals(30, importer.importSnapshots(List.of(file)).imported());
+
+        // Units of a couple of papers each are gathered into batches of at least ten, but for the last one
+        assertTrue(indexed.size() > 1 && indexed.size() <= 3, "Batches: " + indexed.size());
+        for (Map<String, Map<String, PaperInfo>> batch : indexed.subList(0, indexed.size() - 1)) {
+            assertTrue(batch.values().stream().mapToInt(Map::size).sum() >= 10);
+        }
+        Map<String, Map<String, PaperInfo>> indexedTopics = new HashMap<>();
+        indexed.forEach(batch -> batch.forEach((topic, papers) ->
+                indexedTopics.computeIfAbsent(topic, key -> new HashMap<>()).putAll(papers)));
+        assertEquals(topics, indexedTopics);
+    }
+
+    @Test
+    void testOaiPmhPagesAreImportedWholeOrStreamed() throws Exception {
+        Path small = Files.writeString(papersDirectory.resolve("page-0001.xml"), OAI_PMH);
+        properties.getIngest().setChunkSize(DataSize.ofMegabytes(1));
+
+        assertEquals(new SnapshotImporter.ImportResult(2, 0, 0, 1), importer.importSnapshots(List.of(small)));
+        PaperInfo diphoton = topics.get("hep-ph").get("0704.0001");
+        assertEquals("Calculation of prompt diphoton production cross sections at Tevatron and LHC energies", diphoton.getTitle());
+        assertEquals(List.of("C. Balazs", "E. L. Berger"), diphoton.getAuthors());
+        assertEquals("2007-04-02T00:00:00Z", diphoton.getPublished());
+        assertNull(diphoton.getVersion());
+        PaperInfo attention = topics.get("cs.LG").get("2101.00003v2");
+        assertEquals(List.of("Ada Lovelace", "Alan Turing"), attention.getAuthors());
+        assertEquals("2021-02-09T10:30:00Z", attention.getUpdated());
+
+        // A page larger than a chunk is streamed and saved in batches
+        topics.clear();
+        Path large = Files.writeString(papersDirectory.resolve("page-0002.xml"), OAI_PMH);
+        properties.getIngest().setChunkSize(DataSize.ofBytes(1024));
+        properties.getIngest().setBatchSize(1);
+        assertEquals(new SnapshotImporter.ImportResult(2, 0, 0, 1), importer.importSnapshots(List.of(small, large)));
+        assertEquals(1, topics.get("hep-ph").size());
+        assertEquals(1, topics.get("cs.LG").size());
+    }
+}
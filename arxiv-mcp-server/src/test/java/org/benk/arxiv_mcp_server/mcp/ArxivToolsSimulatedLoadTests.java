@@ -0,0 +1,253 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.benchmark.Corpus;
+import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.client.ArxivClientMetrics;
+import org.benk.arxiv_mcp_server.client.ArxivRateLimiter;
+import org.benk.arxiv_mcp_server.client.CircuitBreakingArxivClient;
+import org.benk.arxiv_mcp_server.client.FakeArxivServer;
+import org.benk.arxiv_mcp_server.client.RateLimitedArxivClient;
+import org.benk.arxiv_mcp_server.client.RetryingArxivClient;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
+import org.benk.arxiv_mcp_server.search.HashingEmbedder;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.ArxivServiceFixture;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Load tests driving the sync MCP tool specifications, as the MCP server invokes them with JSON arguments, through the
+ * service, the resilient, rate-limited Feign client and HTTP to a {@link FakeArxivServer}. Each run logs p50 and p99
+ * latency and throughput per tool.
+ */
+@Slf4j
+class ArxivToolsSimulatedLoadTests {
+
+    private static final int CORPUS_SIZE = 2000;
+    private static final int CALLS = 600;
+    private static final int CONCURRENCY = 64;
+    /**
+     * The tool callbacks pass the exchange on in their tool context, which takes no null value.
+     */
+    private static final McpSyncServerExchange EXCHANGE = mock(McpSyncServerExchange.class);
+    private static final List<String> TOPICS = List.of("neural network", "language model", "quantum", "dark matter",
+            "reinforcement learning", "graph", "sparse experts", "convergence", "spectral", "manifold topology");
+
+    @TempDir
+    Path papersDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeArxivServer server;
+    private SemanticSearchIndex semanticSearchIndex;
+    private JsonPaperStore paperStore;
+    private Map<String, SyncToolSpecification> tools;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeArxivServer(Corpus.papers(CORPUS_SIZE, 42));
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getCache().setEnabled(false);
+        properties.getRateLimit().setEnabled(false);
+        properties.getSemantic().setEnabled(false);
+        paperStore = new JsonPaperStore(properties, meterRegistry);
+        paperStore.start();
+        semanticSearchIndex = new SemanticSearchIndex(properties, paperStore, new HashingEmbedder(64));
+
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(20));
+        // Assembled as in ArxivClientConfig, without the cache
+        ArxivRateLimiter rateLimiter = new ArxivRateLimiter(properties.getRateLimit(), meterRegistry);
+        ArxivClient arxivClient = new RetryingArxivClient(server.feignClient(new ArxivClientMetrics(meterRegistry)),
+                rateLimiter, properties, meterRegistry);
+        arxivClient = new RateLimitedArxivClient(arxivClient, rateLimiter, properties.getRateLimit(), meterRegistry);
+        arxivClient = new CircuitBreakingArxivClient(arxivClient, properties.getCircuitBreaker(), meterRegistry);
+        ArxivService arxivService = ArxivServiceFixture.builder(arxivClient, properties, paperStore)
+                .semanticSearchIndex(semanticSearchIndex)
+                .meterRegistry(meterRegistry)
+                .build();
+        // Assembled as in ArxivMcpServerApplication, then converted to specifications as by the MCP server
+        ArxivTools arxivTools = new ArxivTools(arxivService, mock(PdfService.class), new ObjectMapper());
+        McpMetrics mcpMetrics = new McpMetrics(meterRegistry);
+        List<SyncToolSpecification> specifications = new ArrayList<>(McpToolUtils.toSyncToolSpecification(List.of(
+                mcpMetrics.tools(MethodToolCallbackProvider.builder().toolObjects(arxivTools).build()).getToolCallbacks())));
+        specifications.addAll(mcpMetrics.syncTools(List.of(arxivTools.searchPapersSpecification())));
+        tools = new HashMap<>();
+        for (SyncToolSpecification tool : specifications) {
+            tools.put(tool.tool().name(), tool);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        paperStore.stop();
+        server.close();
+    }
+
+    @Test
+    void testReportsLatencyAndThroughputAgainstHealthyArxiv() throws Exception {
+        server.setLatency(Duration.ofMillis(20));
+        server.setJitter(Duration.ofMillis(30));
+
+        Map<String, Report> reports = runLoad("healthy");
+
+        reports.values().forEach(report -> assertEquals(0, report.failures.get(), report.tool + " failed"));
+        // Every call reached the simulator, so no tool can answer faster than its latency
+        Report search = reports.get("searchPapers");
+        assertTrue(search.percentile(50).compareTo(Duration.ofMillis(20)) >= 0, "p50 was " + search.percentile(50));
+        assertEquals(CALLS, reports.values().stream().mapToInt(Report::calls).sum());
+        assertEquals(CALLS, (int) meterRegistry.find("mcp.tool.calls").tag("outcome", "success").timers()
+                .stream().mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void testToolsDegradeGracefullyUnderErrorsAndThrottling() throws Exception {
+        server.setLatency(Duration.ofMillis(5));
+        server.setJitter(Duration.ofMillis(10));
+        server.setErrorRate(0.05);
+        server.setThrottleRate(0.1);
+        server.setRetryAfter(Duration.ZERO);
+
+        Map<String, Report> reports = runLoad("degraded");
+
+        int injected = server.errors() + server.throttled();
+        assertTrue(injected > 0, "the simulator should have injected failures");
+        assertEquals(server.throttled(), meterRegistry.find("arxiv.requests").tag("status", "503").timers()
+                .stream().mapToLong(timer -> timer.count()).sum());
+        // Retries absorb most failures, and the circuit stays closed at this failure rate
+        double retries = meterRegistry.find("arxiv.retries").counters().stream().mapToDouble(counter -> counter.count()).sum();
+        assertTrue(retries > 0);
+        int failures = reports.values().stream().mapToInt(report -> report.failures.get()).sum();
+        assertTrue(failures < injected / 4, failures + " calls failed out of " + injected + " failed requests");
+        assertEquals(0, meterRegistry.find("arxiv.circuit.rejected").counter().count());
+        // Lookups turn arXiv failures into per-paper errors rather than failing the call
+        assertEquals(0, reports.get("extractPapersInfo").failures.get());
+    }
+
+    /**
+     * Run {@link #CALLS} tool calls, at most {@link #CONCURRENCY} at once, mixing searches with single and
+     * batched lookups of papers in the simulated corpus.
+     */
+    private Map<String, Report> runLoad(String scenario) throws Exception {
+        Random random = new Random(7);
+        Map<String, Report> reports = new ConcurrentHashMap<>();
+        Semaphore slots = new Semaphore(CONCURRENCY);
+        List<Future<?>> calls = new ArrayList<>(CALLS);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLS; i++) {
+                String tool;
+                String arguments;
+                switch (i % 3) {
+                    case 0 -> {
+                        tool = "searchPapers";
+                        arguments = "{\"topic\":\"%s\",\"maxResults\":%d}"
+                                .formatted(TOPICS.get(random.nextInt(TOPICS.size())), 10 + random.nextInt(41));
+                    }
+                    case 1 -> {
+                        tool = "extractPaperInfo";
+                        arguments = "{\"paperId\":\"%s\"}".formatted(Corpus.paperId(random.nextInt(CORPUS_SIZE)));
+                    }
+                    default -> {
+                        tool = "extractPapersInfo";
+                        StringJoiner paperIds = new StringJoiner("\",\"", "[\"", "\"]");
+                        for (int p = 0; p < 5; p++) {
+                            paperIds.add(Corpus.paperId(random.nextInt(CORPUS_SIZE)));
+                        }
+                        arguments = "{\"paperIds\":%s}".formatted(paperIds);
+                    }
+                }
+                Report report = reports.computeIfAbsent(tool, Report::new);
+                slots.acquire();
+                calls.add(executor.submit(() -> {
+                    try {
+                        report.record(() -> tools.get(tool).callHandler().apply(EXCHANGE, new CallToolRequest(tool, arguments)));
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get(60, TimeUnit.SECONDS);
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        log.info("{}: {} tool calls in {} ms, {} calls/s, {} arXiv requests ({} errors, {} throttled)", scenario, CALLS,
+                elapsed.toMillis(), CALLS * 1000L / Math.max(1, elapsed.toMillis()), server.requests(), server.errors(),
+                server.throttled());
+        reports.values().stream().sorted(Comparator.comparing(report -> report.tool)).forEach(report ->
+                log.info("{} {}: {} calls, {} failed, p50 {} ms, p99 {} ms, {} calls/s", scenario, report.tool,
+                        report.calls(), report.failures.get(), report.percentile(50).toMillis(),
+                        report.percentile(99).toMillis(), report.calls() * 1000L / Math.max(1, elapsed.toMillis())));
+        return reports;
+    }
+
+    /**
+     * Latencies and failures of the calls to one tool.
+     */
+    private static class Report {
+
+        private final String tool;
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Report(String tool) {
+            this.tool = tool;
+        }
+
+        void record(Supplier<CallToolResult> call) {
+            long started = System.nanoTime();
+            try {
+                if (Boolean.TRUE.equals(call.get().isError())) {
+                    failures.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+            } finally {
+                latencies.add(System.nanoTime() - started);
+            }
+        }
+
+        int calls() {
+            return latencies.size();
+        }
+
+        Duration percentile(int percentile) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, rank)]);
+        }
+    }
+}
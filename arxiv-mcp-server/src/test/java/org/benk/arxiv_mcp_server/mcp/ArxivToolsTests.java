@@ -0,0 +1,75 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ProgressNotification;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
+import org.benk.arxiv_mcp_server.service.ArxivService;
+import org.benk.arxiv_mcp_server.service.SearchProgressListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ArxivToolsTests {
+
+    private final ArxivService arxivService = mock(ArxivService.class);
+    private final McpSyncServerExchange exchange = mock(McpSyncServerExchange.class);
+    private final ArxivTools tools = new ArxivTools(arxivService, mock(PdfService.class), new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        when(arxivService.searchPapers(eq("graphs"), eq(3), any())).thenAnswer(invocation -> {
+            SearchProgressListener listener = invocation.getArgument(2);
+            listener.onPage(List.of("2101.00001v1", "2101.00002v1"), 2, 3);
+            listener.onPage(List.of("2101.00003v1"), 3, 3);
+            return List.of("2101.00001v1", "2101.00002v1", "2101.00003v1");
+        });
+    }
+
+    @Test
+    void testSearchReportsProgressWithTheTokenOfTheRequest() {
+        CallToolRequest request = new CallToolRequest("searchPapers", Map.of("topic", "graphs", "maxResults", 3),
+                Map.of("progressToken", "client-token-7"));
+
+        CallToolResult result = tools.searchPapersSpecification().callHandler().apply(exchange, request);
+
+        assertTrue(((TextContent) result.content().getFirst()).text().contains("2101.00003v1"));
+        ArgumentCaptor<ProgressNotification> notifications = ArgumentCaptor.forClass(ProgressNotification.class);
+        verify(exchange, times(2)).progressNotification(notifications.capture());
+        assertEquals(List.of("client-token-7", "client-token-7"),
+                notifications.getAllValues().stream().map(ProgressNotification::progressToken).toList());
+        assertEquals(List.of(2.0, 3.0), notifications.getAllValues().stream().map(ProgressNotification::progress).toList());
+    }
+
+    @Test
+    void testSearchSendsNoProgressWithoutAToken() {
+        CallToolRequest request = new CallToolRequest("searchPapers", Map.of("topic", "graphs", "maxResults", 3));
+
+        CallToolResult result = tools.searchPapers(exchange, request);
+
+        assertFalse(result.isError());
+        verify(exchange, never()).progressNotification(any());
+    }
+
+    @Test
+    void testFailedSearchIsAnErrorResult() {
+        when(arxivService.searchPapers(eq("outage"), eq(3), any())).thenThrow(new RuntimeException("Failed to search papers"));
+
+        CallToolResult result = tools.searchPapers(exchange,
+                new CallToolRequest("searchPapers", Map.of("topic", "outage", "maxResults", 3)));
+
+        assertTrue(result.isError());
+        assertEquals("Failed to search papers", ((TextContent) result.content().getFirst()).text());
+    }
+}
@@ -0,0 +1,109 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema.CompleteReference;
+import io.modelcontextprotocol.spec.McpSchema.CompleteRequest;
+import io.modelcontextprotocol.spec.McpSchema.CompleteRequest.CompleteArgument;
+import io.modelcontextprotocol.spec.McpSchema.CompleteResult;
+import io.modelcontextprotocol.spec.McpSchema.PromptReference;
+import io.modelcontextprotocol.spec.McpSchema.ResourceReference;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.search.AutocompleteIndex;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocompleteProviderTests {
+
+    @TempDir
+    Path papersDirectory;
+
+    private AutocompleteIndex index;
+    private AutocompleteProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getStore().getJournal().setEnabled(false);
+        JsonPaperStore paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        paperStore.savePapers("machine_learning", Map.of(
+                "2401.00001v1", paper("Attention Is All You Need", "Ashish Vaswani"),
+                "2401.00002v1", paper("Scaling Laws for Neural Language Models", "Jared Kaplan")));
+        paperStore.savePapers("machine_vision", Map.of(
+                "2401.00003v1", paper("Masked Autoencoders Are Scalable Vision Learners", "Kaiming He")));
+
+        // Stored papers are loaded on startup
+        index = new AutocompleteIndex(paperStore);
+        index.start();
+        provider = new AutocompleteProvider(index);
+    }
+
+    @Test
+    void testCompletesTopicsForPapersResource() {
+        CompleteResult result = provider.completeTopic(request(new ResourceReference("papers://{topic}"), "topic", "mach"));
+
+        assertEquals(List.of("machine_learning", "machine_vision"), result.completion().values());
+        assertFalse(result.completion().hasMore());
+        assertTrue(provider.completeTopic(request(new ResourceReference("papers://{topic}"), "topic", "phys"))
+                .completion().values().isEmpty());
+    }
+
+    @Test
+    void testCompletesSearchTopicFromTopicsAuthorsAndTitles() {
+        PromptReference prompt = new PromptReference("generate-search-prompt");
+
+        assertEquals(List.of("machine learning", "machine vision", "Masked Autoencoders Are Scalable Vision Learners"),
+                provider.completeSearchPrompt(request(prompt, "topic", "ma")).completion().values());
+        assertEquals(List.of("Jared Kaplan"), provider.completeSearchPrompt(request(prompt, "topic", "kap")).completion().values());
+        assertEquals(List.of("5", "50"), provider.completeSearchPrompt(request(prompt, "numPapers", "5")).completion().values());
+    }
+
+    @Test
+    void testCompletesNewlyAddedPapers() {
+        index.add("reinforcement_learning", Map.of("2401.00004v1", paper("Playing Atari with Deep RL", "Volodymyr Mnih")));
+
+        ReactiveAutocompleteProvider reactiveProvider = new ReactiveAutocompleteProvider(index);
+        CompleteResult authors = reactiveProvider.completeSearchPrompt(
+                request(new PromptReference("generate-search-prompt"), "topic", "mni")).block();
+        assertEquals(List.of("Volodymyr Mnih"), authors.completion().values());
+        CompleteResult topics = reactiveProvider.completeTopic(
+                request(new ResourceReference("papers://{topic}"), "topic", "re")).block();
+        assertEquals(List.of("reinforcement_learning"), topics.completion().values());
+    }
+
+    @Test
+    void testTopicsAreWeightedByTheirOwnPapers() {
+        // Papers already stored under another topic still count towards this one, and only once
+        index.add("machine_vision", Map.of(
+                "2401.00001v1", paper("Attention Is All You Need", "Ashish Vaswani"),
+                "2401.00002v1", paper("Scaling Laws for Neural Language Models", "Jared Kaplan")));
+        index.add("machine_vision", Map.of("2401.00001v1", paper("Attention Is All You Need", "Ashish Vaswani")));
+
+        CompleteResult result = provider.completeTopic(request(new ResourceReference("papers://{topic}"), "topic", "mach"));
+        assertEquals(List.of("machine_vision", "machine_learning"), result.completion().values());
+        assertEquals(List.of("Ashish Vaswani"), provider.completeSearchPrompt(
+                request(new PromptReference("generate-search-prompt"), "topic", "vasw")).completion().values());
+    }
+
+    private static CompleteRequest request(CompleteReference reference, String argument, String value) {
+        return new CompleteRequest(reference, new CompleteArgument(argument, value));
+    }
+
+    private static PaperInfo paper(String title, String author) {
+        return PaperInfo.builder()
+                .title(title)
+                .authors(List.of(author))
+                .summary("Summary of " + title)
+                .published("2024-01-01")
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncResourceSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ReadResourceRequest;
+import io.modelcontextprotocol.spec.McpSchema.ReadResourceResult;
+import io.modelcontextprotocol.spec.McpSchema.Resource;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpMetricsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final McpMetrics metrics = new McpMetrics(meterRegistry);
+
+    @Test
+    void testTimesResourceReadsByUriTemplate() {
+        Resource resource = Resource.builder()
+                .uri("papers://{topic}")
+                .name("Papers by Topic")
+                .description("")
+                .mimeType("text/plain")
+                .build();
+        SyncResourceSpecification specification = metrics.syncResources(List.of(new SyncResourceSpecification(resource,
+                (exchange, request) -> {
+                    if (request.uri().endsWith("broken")) {
+                        throw new IllegalStateException("broken");
+                    }
+                    return new ReadResourceResult(List.of());
+                }))).getFirst();
+
+        specification.readHandler().apply(null, new ReadResourceRequest("papers://physics"));
+        specification.readHandler().apply(null, new ReadResourceRequest("papers://chemistry"));
+        assertThrows(IllegalStateException.class,
+                () -> specification.readHandler().apply(null, new ReadResourceRequest("papers://broken")));
+
+        assertEquals(2, meterRegistry.get("mcp.resource.reads")
+                .tags("resource", "papers://{topic}", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("mcp.resource.reads")
+                .tags("resource", "papers://{topic}", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testCountsToolErrorResultsAsErrors() {
+        Tool tool = Tool.builder().name("searchPapers").description("").inputSchema("{\"type\":\"object\"}").build();
+        AsyncToolSpecification specification = metrics.asyncTools(List.of(AsyncToolSpecification.builder()
+                .tool(tool)
+                .callHandler((exchange, request) -> Mono.just(new CallToolResult(
+                        List.of(new TextContent("result")), request.arguments().containsKey("fail"))))
+                .build())).getFirst();
+
+        specification.callHandler().apply(null, new CallToolRequest("searchPapers", Map.of())).block();
+        specification.callHandler().apply(null, new CallToolRequest("searchPapers", Map.of("fail", true))).block();
+
+        assertEquals(1, meterRegistry.get("mcp.tool.calls").tags("tool", "searchPapers", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("mcp.tool.calls").tags("tool", "searchPapers", "outcome", "error").timer().count());
+    }
+}
@@ -0,0 +1,63 @@
+package org.benk.arxiv_mcp_server.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ProgressNotification;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
+import org.benk.arxiv_mcp_server.service.ReactiveArxivService;
+import org.benk.arxiv_mcp_server.service.SearchPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveArxivToolsTests {
+
+    private final ReactiveArxivService arxivService = mock(ReactiveArxivService.class);
+    private final McpAsyncServerExchange exchange = mock(McpAsyncServerExchange.class);
+    private final ReactiveArxivTools tools = new ReactiveArxivTools(arxivService, mock(PdfService.class), new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        when(arxivService.searchPages("graphs", 3)).thenAnswer(invocation -> Flux.just(
+                new SearchPage(List.of("2101.00001v1", "2101.00002v1"), 2, 3),
+                new SearchPage(List.of("2101.00003v1"), 3, 3)));
+        when(exchange.progressNotification(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void testSearchReportsProgressWithTheTokenOfTheRequest() {
+        CallToolRequest request = new CallToolRequest("searchPapers", Map.of("topic", "graphs", "maxResults", 3),
+                Map.of("progressToken", "client-token-7"));
+
+        CallToolResult result = tools.searchPapers(exchange, request).block();
+
+        assertTrue(((TextContent) result.content().getFirst()).text().contains("2101.00003v1"));
+        ArgumentCaptor<ProgressNotification> notifications = ArgumentCaptor.forClass(ProgressNotification.class);
+        verify(exchange, times(2)).progressNotification(notifications.capture());
+        assertEquals(List.of("client-token-7", "client-token-7"),
+                notifications.getAllValues().stream().map(ProgressNotification::progressToken).toList());
+        assertEquals(List.of(2.0, 3.0), notifications.getAllValues().stream().map(ProgressNotification::progress).toList());
+    }
+
+    @Test
+    void testSearchSendsNoProgressWithoutAToken() {
+        CallToolRequest request = new CallToolRequest("searchPapers", Map.of("topic", "graphs", "maxResults", 3));
+
+        CallToolResult result = tools.searchPapers(exchange, request).block();
+
+        assertFalse(result.isError());
+        verify(exchange, never()).progressNotification(any());
+    }
+}
@@ -0,0 +1,29 @@
+package org.benk.arxiv_mcp_server.pdf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaperTextTests {
+
+    @Test
+    void testRomanNumberedHeadingsAreFoundAndOutOfOrderNumbersIgnored() {
+        PaperText text = PaperText.of("2101.00001", """
+                Title
+                I. INTRODUCTION
+                Results are given in Table 1.
+                1 Baseline 0.71 0.64
+                II. RELATED WORK
+                IV. NOT A HEADING
+                III. EXPERIMENTS
+                3 Ablation study
+                Acknowledgments
+                """);
+
+        assertEquals(4, text.sections().size());
+        assertEquals(new PaperText.Section("III", "EXPERIMENTS", 1,
+                text.text().indexOf("III."), text.text().indexOf("Acknowledgments")), text.sections().get(2));
+        assertTrue(text.section("ii").contains("IV. NOT A HEADING"));
+        assertTrue(text.section("Experiments").endsWith("3 Ablation study\n"));
+    }
+}
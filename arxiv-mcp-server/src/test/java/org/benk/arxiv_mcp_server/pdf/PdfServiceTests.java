@@ -0,0 +1,237 @@
+package org.benk.arxiv_mcp_server.pdf;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.benk.arxiv_mcp_server.client.ArxivRateLimiter;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfServiceTests {
+
+    @TempDir
+    Path papersDirectory;
+
+    private final Map<String, byte[]> pdfs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private HttpServer server;
+    private ArxivProperties properties;
+    private ArxivRateLimiter rateLimiter;
+    private PdfService pdfService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/pdf/", exchange -> {
+            String paperId = exchange.getRequestURI().getPath().substring("/pdf/".length());
+            requests.computeIfAbsent(paperId, id -> new AtomicInteger()).incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = pdfs.get(paperId);
+            exchange.sendResponseHeaders(body != null ? 200 : 404, body != null ? body.length : -1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (body != null) {
+                    out.write(body);
+                }
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getPdf().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/pdf/");
+        properties.getPdf().setExtractWorkers(2);
+        properties.getRateLimit().setEnabled(false);
+        rateLimiter = new ArxivRateLimiter(properties.getRateLimit(), new SimpleMeterRegistry());
+        pdfService = new PdfService(properties, rateLimiter, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pdfService.stop();
+        rateLimiter.close();
+        server.stop(0);
+    }
+
+    private static byte[] pdf(String... lines) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
+                content.setLeading(14);
+                content.newLineAtOffset(50, 740);
+                for (String line : lines) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] paper(String title) throws IOException {
+        return pdf(title, "Ada Lovelace",
+                "Abstract",
+                "We revisit attention on graphs.",
+                "1 Introduction",
+                "Graphs are everywhere.",
+                "2 Method",
+                "Our method has two parts:",
+                "1 Sample the neighbours.",
+                "2.1 Model",
+                "The model attends over neighbours.",
+                "2.2 Training",
+                "We train it end to end.",
+                "3 Conclusion",
+                "It works.",
+                "References",
+                "[1] A. Turing. Computing machinery and intelligence.");
+    }
+
+    private int requests(String paperId) {
+        AtomicInteger count = requests.get(paperId);
+        return count != null ? count.get() : 0;
+    }
+
+    private long cachedPdfs() throws IOException {
+        try (Stream<Path> files = Files.walk(papersDirectory.resolve("pdfs"))) {
+            return files.filter(file -> file.toString().endsWith(".pdf")).count();
+        }
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneDownloadAndTextIsSplitIntoSections() throws Exception {
+        pdfs.put("2101.00001v1", paper("Graph Attention Revisited"));
+        release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<PaperText>> texts = Stream.generate(() -> callers.submit(() -> pdfService.getText("2101.00001v1")))
+                    .limit(4)
+                    .toList();
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<PaperText> text : texts) {
+                assertTrue(text.get(10, TimeUnit.SECONDS).text().contains("Graphs are everywhere."));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, requests("2101.00001v1"));
+
+        PaperText text = pdfService.getText("2101.00001v1");
+        assertEquals("""
+                - Abstract
+                - 1 Introduction
+                - 2 Method
+                  - 2.1 Model
+                  - 2.2 Training
+                - 3 Conclusion
+                - References
+                """, text.outline());
+        String method = text.section("2");
+        assertTrue(method.startsWith("2 Method"));
+        assertTrue(method.contains("1 Sample the neighbours."));
+        assertTrue(method.contains("We train it end to end."));
+        assertFalse(method.contains("3 Conclusion"));
+        assertTrue(text.section("training").startsWith("2.2 Training"));
+        assertTrue(text.section("Conclusion").contains("It works."));
+        assertNull(text.section("Experiments"));
+        assertEquals(1, requests("2101.00001v1"));
+    }
+
+    @Test
+    void testPdfsAreStoredByContentAndKeptAcrossRestarts() throws Exception {
+        byte[] content = paper("Graph Attention Revisited");
+        pdfs.put("2101.00002", content);
+        pdfs.put("2101.00002v1", content);
+
+        PdfService.CachedPdf latest = pdfService.getPdf("2101.00002");
+        PdfService.CachedPdf first = pdfService.getPdf("2101.00002v1");
+        assertEquals(latest.hash(), first.hash());
+        assertEquals(content.length, first.size());
+        assertArrayEquals(content, Files.readAllBytes(first.path()));
+        assertEquals(1, cachedPdfs());
+        String text = pdfService.getText("2101.00002").text();
+
+        pdfService.stop();
+        pdfService = new PdfService(properties, rateLimiter, new SimpleMeterRegistry());
+        assertEquals(text, pdfService.getText("2101.00002v1").text());
+        assertEquals(1, requests("2101.00002"));
+        assertEquals(1, requests("2101.00002v1"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedPdfsAreEvictedBeyondTheMaximumSize() throws Exception {
+        pdfs.put("2101.00001", paper("First paper"));
+        pdfs.put("2101.00002", paper("Second paper"));
+        pdfs.put("2101.00003", paper("Third paper"));
+        properties.getPdf().setMaxCacheSize(DataSize.ofBytes(pdfs.get("2101.00001").length * 5L / 2));
+        pdfService.stop();
+        pdfService = new PdfService(properties, rateLimiter, new SimpleMeterRegistry());
+
+        pdfService.getPdf("2101.00001");
+        pdfService.getPdf("2101.00002");
+        pdfService.getPdf("2101.00001");
+        pdfService.getPdf("2101.00003");
+        assertEquals(2, cachedPdfs());
+
+        pdfService.getPdf("2101.00001");
+        pdfService.getPdf("2101.00003");
+        assertEquals(1, requests("2101.00001"));
+        assertEquals(1, requests("2101.00003"));
+        pdfService.getPdf("2101.00002");
+        assertEquals(2, requests("2101.00002"));
+    }
+
+    @Test
+    void testRejectsInvalidIdsMissingPapersAndResponsesThatAreNoPdf() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> pdfService.getPdf("../../etc/passwd"));
+        assertNull(pdfService.getPdf("2101.99999"));
+        assertNull(pdfService.getText("2101.99999"));
+
+        pdfs.put("2101.00004", "<html>Paper withdrawn</html>".getBytes());
+        assertThrows(RuntimeException.class, () -> pdfService.getPdf("2101.00004"));
+        assertEquals(0, cachedPdfs());
+        try (Stream<Path> files = Files.list(papersDirectory.resolve("pdfs").resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+}
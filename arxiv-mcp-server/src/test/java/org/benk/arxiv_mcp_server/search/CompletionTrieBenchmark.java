@@ -0,0 +1,82 @@
+package org.benk.arxiv_mcp_server.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup and insert latency of a {@link CompletionTrie} holding generated author-like names.
+ * Names share a small pool of first names and surnames, so short prefixes match large subtrees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CompletionTrieBenchmark {
+
+    private static final String[] SYLLABLES = {"ka", "li", "mo", "ne", "ru", "sa", "ta", "vo", "zhe", "an", "er", "in"};
+
+    @Param({"100000", "1000000"})
+    public int entries;
+
+    private CompletionTrie trie;
+    private Random random;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        trie = new CompletionTrie(true);
+        for (int i = 0; i < entries; i++) {
+            trie.add(name(random), 1 + random.nextInt(100));
+        }
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = name(random);
+            prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(6, name.length())));
+        }
+    }
+
+    @Benchmark
+    public CompletionTrie.Completions complete() {
+        return trie.complete(prefixes[next++ & (prefixes.length - 1)], 10);
+    }
+
+    @Benchmark
+    public CompletionTrie.Completions completeAll() {
+        return trie.complete("", 10);
+    }
+
+    @Benchmark
+    public void add() {
+        trie.add(name(random), 1);
+    }
+
+    private static String name(Random random) {
+        return word(random, 3) + " " + word(random, 3);
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompletionTrieBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package org.benk.arxiv_mcp_server.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionTrieTests {
+
+    @Test
+    void testCompletesByPrefixInWeightOrder() {
+        CompletionTrie trie = new CompletionTrie(false);
+        trie.add("Transformers in Vision", 1);
+        trie.add("Transformer Circuits", 5);
+        trie.add("Translation Models", 3);
+        trie.add("Attention Is All You Need", 10);
+
+        assertEquals(List.of("Transformer Circuits", "Translation Models", "Transformers in Vision"),
+                trie.complete("tra", 10).values());
+        assertEquals(List.of("Transformer Circuits", "Transformers in Vision"), trie.complete("TRANSFORMER", 10).values());
+        assertEquals(List.of("Attention Is All You Need", "Transformer Circuits"), trie.complete("", 2).values());
+        assertTrue(trie.complete("", 2).hasMore());
+        assertTrue(trie.complete("graph", 10).values().isEmpty());
+    }
+
+    @Test
+    void testNormalizesSeparatorsAndCase() {
+        CompletionTrie trie = new CompletionTrie(false);
+        trie.add("machine_learning", 1);
+        trie.add("Machine-Vision", 1);
+
+        assertEquals(List.of("machine_learning"), trie.complete("Machine L", 10).values());
+        assertEquals(2, trie.complete("machine ", 10).values().size());
+        assertTrue(trie.complete("machinel", 10).values().isEmpty());
+    }
+
+    @Test
+    void testAddingAnExistingValueIncreasesItsWeight() {
+        CompletionTrie trie = new CompletionTrie(false);
+        trie.add("Yann LeCun", 1);
+        trie.add("Yoshua Bengio", 2);
+        trie.add("yann lecun", 2);
+
+        assertEquals(2, trie.size());
+        assertEquals(List.of("Yann LeCun", "Yoshua Bengio"), trie.complete("y", 10).values());
+    }
+
+    @Test
+    void testWordMatchingCompletesFromLaterWords() {
+        CompletionTrie trie = new CompletionTrie(true);
+        trie.add("Geoffrey E. Hinton", 3);
+        trie.add("Hinton", 1);
+        trie.add("Ashish Vaswani", 2);
+
+        assertEquals(List.of("Geoffrey E. Hinton", "Hinton"), trie.complete("hin", 10).values());
+        assertEquals(List.of("Geoffrey E. Hinton"), trie.complete("e hinton", 10).values());
+        assertEquals(List.of("Ashish Vaswani"), trie.complete("vas", 10).values());
+        // A value reached through several of its words is returned once
+        trie.add("Hinton Hinton", 4);
+        assertEquals(List.of("Hinton Hinton", "Geoffrey E. Hinton", "Hinton"), trie.complete("hinton", 10).values());
+    }
+
+    @Test
+    void testMatchesNonAsciiPrefixes() {
+        CompletionTrie trie = new CompletionTrie(true);
+        trie.add("Paul Erdős", 1);
+        trie.add("Łukasz Kaiser", 1);
+
+        assertEquals(List.of("Paul Erdős"), trie.complete("erdő", 10).values());
+        assertEquals(List.of("Łukasz Kaiser"), trie.complete("ł", 10).values());
+    }
+
+    @Test
+    void testMatchesBruteForceOnRandomValues() {
+        Random random = new Random(7);
+        CompletionTrie trie = new CompletionTrie(false);
+        List<String> values = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String value = randomWord(random) + " " + randomWord(random);
+            if (values.contains(value)) {
+                continue;
+            }
+            // Distinct weights, so the expected order has no ties
+            int weight = random.nextInt(1000) * 4096 + i;
+            values.add(value);
+            weights.add(weight);
+            trie.add(value, weight);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String prefix = randomWord(random).substring(0, 1 + random.nextInt(2));
+            List<Integer> expected = new ArrayList<>();
+            for (int j = 0; j < values.size(); j++) {
+                if (values.get(j).startsWith(prefix)) {
+                    expected.add(j);
+                }
+            }
+            expected.sort(Comparator.comparing((Integer j) -> -weights.get(j)));
+            List<String> top = expected.stream().limit(5).map(values::get).toList();
+            assertEquals(top, trie.complete(prefix, 5).values(), "prefix " + prefix);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(5)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(word);
+    }
+}
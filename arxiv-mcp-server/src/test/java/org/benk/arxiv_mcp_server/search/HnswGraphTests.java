@@ -0,0 +1,78 @@
+package org.benk.arxiv_mcp_server.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswGraphTests {
+
+    private static final int DIMENSIONS = 32;
+
+    @TempDir
+    Path directory;
+
+    private VectorStore vectors;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vectors = new VectorStore(directory.resolve("vectors.bin"), DIMENSIONS, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vectors.close();
+    }
+
+    @Test
+    void testRecallAgainstExactSearch() throws Exception {
+        Random random = new Random(7);
+        HnswGraph graph = new HnswGraph(vectors, 16, 100);
+        for (int i = 0; i < 5000; i++) {
+            graph.add(vectors.add(VectorFixtures.clustered(random, DIMENSIONS, 50)));
+        }
+
+        double recall = VectorFixtures.recall(graph, vectors, random, 50, 100, 10, 64);
+
+        assertTrue(recall >= 0.9, "recall@10 " + recall);
+    }
+
+    @Test
+    void testNearestNeighbourOfStoredVectorIsItself() throws Exception {
+        Random random = new Random(11);
+        HnswGraph graph = new HnswGraph(vectors, 8, 50);
+        for (int i = 0; i < 500; i++) {
+            graph.add(vectors.add(VectorFixtures.clustered(random, DIMENSIONS, 10)));
+        }
+
+        for (int node = 0; node < 500; node += 50) {
+            List<HnswGraph.Neighbour> neighbours = graph.search(vectors.get(node), 1, 32);
+            assertEquals(node, neighbours.getFirst().node());
+            assertEquals(1.0f, neighbours.getFirst().similarity(), 1e-4);
+        }
+    }
+
+    @Test
+    void testVectorsSurviveReopening() throws Exception {
+        float[] vector = VectorFixtures.clustered(new Random(3), DIMENSIONS, 1);
+        vectors.add(new float[DIMENSIONS]);
+        vectors.add(vector);
+        vectors.close();
+
+        vectors = new VectorStore(directory.resolve("vectors.bin"), DIMENSIONS, 2);
+
+        assertArrayEquals(vector, vectors.get(1));
+        assertEquals(2, vectors.add(vector));
+    }
+
+    @Test
+    void testEmptyGraphFindsNothing() {
+        assertEquals(List.of(), new HnswGraph(vectors, 16, 100).search(new float[DIMENSIONS], 10, 64));
+    }
+}
@@ -0,0 +1,115 @@
+package org.benk.arxiv_mcp_server.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the {@link LocalSearchIndex} over a generated corpus.
+ * Words are drawn from a Zipf distribution over a synthetic vocabulary, so common query terms
+ * have long postings lists like real abstracts do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class LocalSearchBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    @Param({"10000", "100000"})
+    public int papers;
+
+    private LocalSearchIndex index;
+    private String phrase;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] cumulative = zipf(VOCABULARY);
+        index = new LocalSearchIndex(new JsonPaperStore(new ArxivProperties(), new SimpleMeterRegistry()));
+        Map<String, PaperInfo> batch = new LinkedHashMap<>();
+        for (int i = 0; i < papers; i++) {
+            String summary = words(random, cumulative, 150);
+            if (i == papers / 2) {
+                List<String> tokens = Arrays.asList(summary.split(" "));
+                phrase = String.join(" ", tokens.subList(20, 23));
+            }
+            batch.put(String.format("24%02d.%05dv1", i / 100_000, i % 100_000), PaperInfo.builder()
+                    .title(words(random, cumulative, 10))
+                    .authors(List.of("author" + random.nextInt(30_000), "author" + random.nextInt(30_000)))
+                    .summary(summary)
+                    .build());
+            if (batch.size() == 1000) {
+                index.add(batch);
+                batch.clear();
+            }
+        }
+        index.add(batch);
+    }
+
+    @Benchmark
+    public List<LocalSearchHit> commonTerm() {
+        return index.search(word(10), 10);
+    }
+
+    @Benchmark
+    public List<LocalSearchHit> twoTerms() {
+        return index.search(word(50) + " " + word(200), 10);
+    }
+
+    @Benchmark
+    public List<LocalSearchHit> phrase() {
+        return index.search("\"" + phrase + "\"", 10);
+    }
+
+    @Benchmark
+    public List<LocalSearchHit> prefix() {
+        return index.search(word(100) + " w1a*", 10);
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 36);
+    }
+
+    private static String words(Random random, double[] cumulative, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            text.append(i == 0 ? "" : " ").append(word(rank < 0 ? -rank - 1 : rank));
+        }
+        return text.toString();
+    }
+
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LocalSearchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package org.benk.arxiv_mcp_server.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSearchIndexTests {
+
+    @TempDir
+    Path papersDirectory;
+
+    private JsonPaperStore paperStore;
+    private LocalSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getStore().getJournal().setEnabled(false);
+        paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        index = new LocalSearchIndex(paperStore);
+
+        Map<String, PaperInfo> papers = new LinkedHashMap<>();
+        papers.put("2401.00001v1", paper("Attention Is All You Need", List.of("Ashish Vaswani", "Noam Shazeer"),
+                "We propose the Transformer, a network architecture based solely on attention mechanisms."));
+        papers.put("2401.00002v1", paper("Scaling Laws for Neural Language Models", List.of("Jared Kaplan"),
+                "We study empirical scaling laws for language model performance on the cross-entropy loss."));
+        papers.put("2401.00003v1", paper("Language Models are Few-Shot Learners", List.of("Tom Brown", "Jared Kaplan"),
+                "Large language models trained on text show strong few-shot performance. The model has 175B parameters."));
+        papers.put("2401.00004v1", paper("A Survey of Transformers", List.of("Tianyang Lin"),
+                "Transformers have achieved great success in many fields; this survey reviews model variants."));
+        index.add(papers);
+    }
+
+    @Test
+    void testTitleMatchesRankAboveSummaryMatches() {
+        List<LocalSearchHit> hits = index.search("transformers", 10);
+
+        assertEquals(List.of("2401.00004v1"), paperIds(hits));
+        assertTrue(hits.getFirst().getScore() > 0);
+
+        hits = index.search("attention", 10);
+        assertEquals(List.of("2401.00001v1"), paperIds(hits));
+    }
+
+    @Test
+    void testAllTermsMustMatch() {
+        assertEquals(Set.of("2401.00002v1", "2401.00003v1"), Set.copyOf(paperIds(index.search("language kaplan", 10))));
+        assertEquals(List.of(), paperIds(index.search("language vaswani", 10)));
+    }
+
+    @Test
+    void testPhraseQueryRequiresAdjacentTerms() {
+        assertEquals(List.of("2401.00003v1"), paperIds(index.search("\"large language models\"", 10)));
+        // Both terms occur in the abstract, but not next to each other
+        assertEquals(List.of(), paperIds(index.search("\"models large\"", 10)));
+        // Words joined by punctuation are matched as a phrase
+        assertEquals(List.of("2401.00003v1"), paperIds(index.search("few-shot", 10)));
+    }
+
+    @Test
+    void testPhraseDoesNotSpanAuthors() {
+        assertEquals(List.of(), paperIds(index.search("\"vaswani noam\"", 10)));
+        assertEquals(List.of("2401.00001v1"), paperIds(index.search("\"noam shazeer\"", 10)));
+    }
+
+    @Test
+    void testPrefixQuery() {
+        assertEquals(List.of("2401.00004v1", "2401.00001v1"), paperIds(index.search("transform*", 10)));
+        assertEquals(List.of("2401.00001v1"), paperIds(index.search("transform* attent*", 10)));
+    }
+
+    @Test
+    void testMaxResultsLimitsHits() {
+        List<LocalSearchHit> hits = index.search("model*", 2);
+
+        assertEquals(2, hits.size());
+        assertTrue(hits.get(0).getScore() >= hits.get(1).getScore());
+    }
+
+    @Test
+    void testUpdatedPaperIsReindexed() {
+        index.add(Map.of("2401.00004v1", paper("A Survey of State Space Models", List.of("Tianyang Lin"),
+                "State space models are an alternative to attention.")));
+
+        assertEquals(List.of(), paperIds(index.search("survey transformers", 10)));
+        assertEquals(List.of("2401.00004v1"), paperIds(index.search("\"state space\" survey", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testStartIndexesStoredPapers() {
+        paperStore.savePapers("llm", Map.of("2401.00005v1", paper("Retrieval-Augmented Generation",
+                List.of("Patrick Lewis"), "Combining parametric and non-parametric memory.")));
+        LocalSearchIndex restarted = new LocalSearchIndex(paperStore);
+
+        restarted.start();
+
+        assertEquals(1, restarted.size());
+        assertEquals(List.of("2401.00005v1"), paperIds(restarted.search("retrieval augmented", 10)));
+    }
+
+    private static PaperInfo paper(String title, List<String> authors, String summary) {
+        return PaperInfo.builder()
+                .title(title)
+                .authors(authors)
+                .summary(summary)
+                .pdfUrl("https://arxiv.org/pdf/" + title.hashCode() + ".pdf")
+                .published("2024-01-01")
+                .build();
+    }
+
+    private static List<String> paperIds(List<LocalSearchHit> hits) {
+        return hits.stream().map(LocalSearchHit::getPaperId).toList();
+    }
+}
@@ -0,0 +1,124 @@
+package org.benk.arxiv_mcp_server.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * k-NN latency of the {@link HnswGraph} against an exact scan of the memory-mapped vectors.
+ * Recall@10 of the graph against the exact scan is reported with the latency of {@code hnsw} as the
+ * {@code hits} and {@code misses} counters; recall is hits / (hits + misses). The build time is logged.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SemanticSearchBenchmark {
+
+    private static final int DIMENSIONS = 128;
+    private static final int CLUSTERS = 1000;
+    private static final int K = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    public int vectors;
+
+    @Param({"64"})
+    public int ef;
+
+    private Path directory;
+    private VectorStore store;
+    private HnswGraph graph;
+    private float[][] queries;
+    private List<Set<Integer>> expected;
+    private int next;
+
+    /**
+     * Neighbours of the exact top K found and missed by the graph searches of an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Recall {
+
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("semantic-benchmark");
+        store = new VectorStore(directory.resolve("vectors.bin"), DIMENSIONS, 0);
+        graph = new HnswGraph(store, 16, 100);
+        Random random = new Random(42);
+        long started = System.nanoTime();
+        for (int i = 0; i < vectors; i++) {
+            graph.add(store.add(VectorFixtures.clustered(random, DIMENSIONS, CLUSTERS)));
+        }
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        log.info("{} vectors: graph built in {} ms", vectors, buildMillis);
+
+        queries = new float[100][];
+        expected = new ArrayList<>(queries.length);
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = VectorFixtures.clustered(random, DIMENSIONS, CLUSTERS);
+            expected.add(VectorFixtures.exact(store, queries[i], K));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public List<HnswGraph.Neighbour> hnsw(Recall recall) {
+        int query = next++ % queries.length;
+        List<HnswGraph.Neighbour> neighbours = graph.search(queries[query], K, ef);
+        int hits = 0;
+        for (HnswGraph.Neighbour neighbour : neighbours) {
+            if (expected.get(query).contains(neighbour.node())) {
+                hits++;
+            }
+        }
+        recall.hits += hits;
+        recall.misses += K - hits;
+        return neighbours;
+    }
+
+    @Benchmark
+    public Set<Integer> exactScan() {
+        return VectorFixtures.exact(store, queries[next++ % queries.length], K);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SemanticSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,182 @@
+package org.benk.arxiv_mcp_server.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemanticSearchIndexTests {
+
+    @TempDir
+    Path papersDirectory;
+
+    private ArxivProperties properties;
+    private JsonPaperStore paperStore;
+    private CountingEmbedder embedder;
+    private SemanticSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getStore().getJournal().setEnabled(false);
+        paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        paperStore.start();
+        paperStore.savePapers("llm", Map.of(
+                "2401.00001v1", paper("Attention Is All You Need",
+                        "We propose the Transformer, a network architecture based solely on attention mechanisms."),
+                "2401.00002v1", paper("Protein Structure Prediction",
+                        "Highly accurate protein folding predictions from amino acid sequences."),
+                "2401.00003v1", paper("Galaxy Rotation Curves",
+                        "Observations of spiral galaxies and the distribution of dark matter.")));
+        embedder = new CountingEmbedder(new HashingEmbedder(256));
+        index = start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.stop();
+        paperStore.stop();
+    }
+
+    private SemanticSearchIndex start() throws Exception {
+        SemanticSearchIndex started = new SemanticSearchIndex(properties, paperStore, embedder);
+        started.start();
+        started.built().get(5, TimeUnit.SECONDS);
+        return started;
+    }
+
+    @Test
+    void testStoredPapersAreEmbeddedOnStart() {
+        assertEquals(3, index.size());
+        assertEquals(3, embedder.calls.get());
+    }
+
+    @Test
+    void testRelatedWordsMatch() {
+        List<LocalSearchHit> hits = index.search("transformers with attention", 3);
+
+        assertEquals("2401.00001v1", hits.getFirst().getPaperId());
+        assertEquals("Attention Is All You Need", hits.getFirst().getPaper().getTitle());
+        assertTrue(hits.getFirst().getScore() > hits.get(1).getScore());
+
+        assertEquals("2401.00003v1", index.search("galactic dark matter", 1).getFirst().getPaperId());
+    }
+
+    @Test
+    void testVectorsAreReusedAfterRestart() throws Exception {
+        index.stop();
+        embedder.calls.set(0);
+
+        index = start();
+
+        assertEquals(3, index.size());
+        assertEquals(0, embedder.calls.get());
+        assertEquals("2401.00002v1", index.search("protein folding", 1).getFirst().getPaperId());
+    }
+
+    @Test
+    void testOnlyPapersWithoutAVectorAreEmbeddedOnRestart() throws Exception {
+        index.stop();
+        embedder.calls.set(0);
+        paperStore.savePapers("biology", Map.of("2401.00004v1",
+                paper("Gene Regulatory Networks", "Inferring gene regulation from expression data.")));
+
+        index = new SemanticSearchIndex(properties, paperStore, embedder);
+        index.start();
+        // Served by scanning the vectors until the graph is rebuilt
+        assertEquals("2401.00002v1", index.search("protein folding", 1).getFirst().getPaperId());
+        index.built().get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, index.size());
+        // The new paper and the query
+        assertEquals(2, embedder.calls.get());
+        assertEquals("2401.00004v1", index.search("gene regulation", 1).getFirst().getPaperId());
+    }
+
+    @Test
+    void testBackfillEmbedsPapersSavedWithoutAVector() throws Exception {
+        paperStore.savePapers("biology", Map.of("2401.00004v1",
+                paper("Gene Regulatory Networks", "Inferring gene regulation from expression data.")));
+        embedder.calls.set(0);
+
+        index.backfill().get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, index.size());
+        assertEquals(1, embedder.calls.get());
+        assertEquals("2401.00004v1", index.search("gene regulation", 1).getFirst().getPaperId());
+    }
+
+    @Test
+    void testChangedPaperIsReembedded() {
+        PaperInfo changed = paper("Protein Language Models", "Transformer language models trained on protein sequences.");
+        paperStore.savePapers("llm", Map.of("2401.00002v1", changed));
+        index.add(Map.of("2401.00002v1", changed));
+        index.add(Map.of("2401.00002v1", changed));
+
+        assertEquals(4, embedder.calls.get());
+        List<LocalSearchHit> hits = index.search("protein language models", 3);
+        assertEquals("2401.00002v1", hits.getFirst().getPaperId());
+        // The superseded vector is not returned a second time
+        assertEquals(1, hits.stream().filter(hit -> hit.getPaperId().equals("2401.00002v1")).count());
+    }
+
+    @Test
+    void testVectorsOfAnotherEmbedderAreDiscarded() throws Exception {
+        index.stop();
+        embedder = new CountingEmbedder(new HashingEmbedder(128));
+
+        index = start();
+
+        assertEquals(3, index.size());
+        assertEquals(3, embedder.calls.get());
+    }
+
+    private static PaperInfo paper(String title, String summary) {
+        return PaperInfo.builder()
+                .title(title)
+                .authors(List.of("Author"))
+                .summary(summary)
+                .published("2024-01-01")
+                .build();
+    }
+
+    private static final class CountingEmbedder implements Embedder {
+
+        private final Embedder delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingEmbedder(Embedder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String id() {
+            return delegate.id();
+        }
+
+        @Override
+        public int dimensions() {
+            return delegate.dimensions();
+        }
+
+        @Override
+        public float[] embed(String text) {
+            calls.incrementAndGet();
+            return delegate.embed(text);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.benk.arxiv_mcp_server.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generated vectors for HNSW tests and benchmarks.
+ */
+final class VectorFixtures {
+
+    private VectorFixtures() {
+    }
+
+    /**
+     * A unit vector near one of a fixed set of cluster centres, which is closer to real embeddings
+     * than uniformly random vectors are.
+     */
+    static float[] clustered(Random random, int dimensions, int clusters) {
+        Random centres = new Random(random.nextInt(clusters) * 7919L);
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) (centres.nextGaussian() + random.nextGaussian());
+        }
+        return normalize(vector);
+    }
+
+    static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    /**
+     * The k stored vectors most similar to a query, by scanning them all.
+     */
+    static Set<Integer> exact(VectorStore vectors, float[] query, int k) {
+        NodeQueue top = NodeQueue.furthestFirst();
+        for (int node = 0; node < vectors.size(); node++) {
+            float similarity = vectors.dot(query, node);
+            if (top.size() < k || similarity > top.topSimilarity()) {
+                top.push(node, similarity);
+                if (top.size() > k) {
+                    top.pop();
+                }
+            }
+        }
+        Set<Integer> nodes = new HashSet<>();
+        while (!top.isEmpty()) {
+            nodes.add(top.pop());
+        }
+        return nodes;
+    }
+
+    /**
+     * Average recall@k of the graph over generated queries.
+     */
+    static double recall(HnswGraph graph, VectorStore vectors, Random random, int clusters, int queries, int k, int ef) {
+        int found = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = clustered(random, vectors.dimensions(), clusters);
+            Set<Integer> expected = exact(vectors, query, k);
+            List<HnswGraph.Neighbour> neighbours = graph.search(query, k, ef);
+            for (HnswGraph.Neighbour neighbour : neighbours) {
+                if (expected.contains(neighbour.node())) {
+                    found++;
+                }
+            }
+        }
+        return (double) found / (queries * k);
+    }
+}
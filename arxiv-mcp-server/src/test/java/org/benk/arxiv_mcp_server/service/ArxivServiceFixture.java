@@ -0,0 +1,77 @@
+package org.benk.arxiv_mcp_server.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.search.AutocompleteIndex;
+import org.benk.arxiv_mcp_server.search.HashingEmbedder;
+import org.benk.arxiv_mcp_server.search.LocalSearchIndex;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+
+/**
+ * Assembles the {@link ArxivService} of tests and benchmarks, so that a new collaborator of the service is
+ * added here rather than at every call site.
+ * <p>
+ * Collaborators that are not set are created over the paper store: empty local and autocomplete indexes,
+ * a renderer, a refresher and a semantic index on a {@link HashingEmbedder}. That semantic index is not
+ * started, which only suits {@code arxiv.semantic.enabled=false} or services that never save papers;
+ * the caller starts and stops one it sets itself.
+ */
+public final class ArxivServiceFixture {
+
+    private final ArxivClient arxivClient;
+    private final ArxivProperties properties;
+    private final PaperStore paperStore;
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalSearchIndex localSearchIndex;
+    private SemanticSearchIndex semanticSearchIndex;
+    private AutocompleteIndex autocompleteIndex;
+    private PaperRefresher paperRefresher;
+
+    private ArxivServiceFixture(ArxivClient arxivClient, ArxivProperties properties, PaperStore paperStore) {
+        this.arxivClient = arxivClient;
+        this.properties = properties;
+        this.paperStore = paperStore;
+    }
+
+    public static ArxivServiceFixture builder(ArxivClient arxivClient, ArxivProperties properties, PaperStore paperStore) {
+        return new ArxivServiceFixture(arxivClient, properties, paperStore);
+    }
+
+    public ArxivServiceFixture meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    public ArxivServiceFixture localSearchIndex(LocalSearchIndex localSearchIndex) {
+        this.localSearchIndex = localSearchIndex;
+        return this;
+    }
+
+    public ArxivServiceFixture semanticSearchIndex(SemanticSearchIndex semanticSearchIndex) {
+        this.semanticSearchIndex = semanticSearchIndex;
+        return this;
+    }
+
+    public ArxivServiceFixture autocompleteIndex(AutocompleteIndex autocompleteIndex) {
+        this.autocompleteIndex = autocompleteIndex;
+        return this;
+    }
+
+    public ArxivServiceFixture paperRefresher(PaperRefresher paperRefresher) {
+        this.paperRefresher = paperRefresher;
+        return this;
+    }
+
+    public ArxivService build() {
+        return new ArxivService(arxivClient, properties, paperStore,
+                localSearchIndex != null ? localSearchIndex : new LocalSearchIndex(paperStore),
+                semanticSearchIndex != null ? semanticSearchIndex : new SemanticSearchIndex(properties, paperStore,
+                        new HashingEmbedder(properties.getSemantic().getDimensions())),
+                autocompleteIndex != null ? autocompleteIndex : new AutocompleteIndex(paperStore),
+                new TopicMarkdownRenderer(paperStore, properties, meterRegistry),
+                paperRefresher != null ? paperRefresher : new PaperRefresher(properties, meterRegistry));
+    }
+}
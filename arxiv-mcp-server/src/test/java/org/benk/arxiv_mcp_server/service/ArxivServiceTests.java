@@ -1,27 +1,48 @@
 package org.benk.arxiv_mcp_server.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema.TextResourceContents;
 import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.client.ArxivUnavailableException;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.controller.ArxivMcpController;
+import org.benk.arxiv_mcp_server.mcp.ArxivResourceProvider;
+import org.benk.arxiv_mcp_server.model.LocalSearchHit;
 import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.PaperLookupResult;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivAuthor;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivLink;
 import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.benk.arxiv_mcp_server.pdf.PdfService;
+import org.benk.arxiv_mcp_server.search.HashingEmbedder;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ArxivServiceTests {
@@ -29,19 +50,50 @@ class ArxivServiceTests {
     @Mock
     private ArxivClient arxivClient;
 
-    @InjectMocks
+    @TempDir
+    Path papersDirectory;
+
     private ArxivService arxivService;
+    private SemanticSearchIndex semanticSearchIndex;
+    private JsonPaperStore paperStore;
+    private PaperRefresher paperRefresher;
     private AutoCloseable mocks;
 
     @BeforeEach
     void setUp() {
         mocks = MockitoAnnotations.openMocks(this);
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        semanticSearchIndex = new SemanticSearchIndex(properties, paperStore, new HashingEmbedder(64));
+        semanticSearchIndex.start();
+        paperRefresher = new PaperRefresher(properties, new SimpleMeterRegistry());
+        arxivService = service(properties);
         when(arxivClient.searchPapers(anyString(), anyInt(), anyInt())).thenReturn(searchPapers("test", 0, 3));
         when(arxivClient.getPaper(anyString())).thenReturn(getPaper("2101.01v1"));
+        when(arxivClient.getPapers(anyString(), anyInt())).thenAnswer(invocation -> {
+            // Simulate arXiv: known IDs come back with a version suffix, unknown IDs are omitted
+            List<ArxivEntry> entries = new ArrayList<>();
+            for (String id : invocation.getArgument(0, String.class).split(",")) {
+                if (id.startsWith("2202.")) {
+                    entries.addAll(getPaper(id + "v2").getEntries());
+                }
+            }
+            return new ArxivResponse(entries.size(), 0, entries.size(), entries);
+        });
+    }
+
+    private ArxivService service(ArxivProperties properties) {
+        return ArxivServiceFixture.builder(arxivClient, properties, paperStore)
+                .semanticSearchIndex(semanticSearchIndex)
+                .paperRefresher(paperRefresher)
+                .build();
     }
 
     @AfterEach
     void tearDown() throws Exception {
+        semanticSearchIndex.stop();
+        paperRefresher.stop();
         if (mocks != null) {
             mocks.close();
         }
@@ -65,6 +117,7 @@ class ArxivServiceTests {
                     "Sample Paper " + i + " on " + search,
                     "This is a sample summary for paper " + i + " on the topic of " + search,
                     LocalDate.now().format(DateTimeFormatter.ISO_DATE),
+                    LocalDate.now().format(DateTimeFormatter.ISO_DATE),
                     authors,
                     links
             );
@@ -96,6 +149,7 @@ class ArxivServiceTests {
                 "Sample Paper on Requested Topic",
                 "This is a sample summary for the requested paper",
                 LocalDate.now().format(DateTimeFormatter.ISO_DATE),
+                LocalDate.now().format(DateTimeFormatter.ISO_DATE),
                 authors,
                 links
         );
@@ -170,4 +224,282 @@ class ArxivServiceTests {
             assertNotNull(entry.getValue().getPublished());
         }
     }
+
+    @Test
+    void testExtractPaperInfoUsesIndexAfterRestart() throws Exception {
+        arxivService.searchPapers("deep learning", 2);
+
+        // A fresh index built from disk should serve the lookup without calling arXiv
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        JsonPaperStore paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        paperStore.start();
+        try {
+            ArxivService restarted = service(properties);
+
+            PaperInfo paperInfo = restarted.extractPaperInfo("2101.01v1");
+
+            assertNotNull(paperInfo);
+            assertEquals("Sample Paper 1 on test", paperInfo.getTitle());
+            verify(arxivClient, never()).getPaper(anyString());
+        } finally {
+            paperStore.stop();
+        }
+    }
+
+    @Test
+    void testExtractPapersInfo() {
+        arxivService.searchPapers("transformers", 1);
+
+        Map<String, PaperLookupResult> results =
+                arxivService.extractPapersInfo(List.of("2101.01v1", "2202.00001", "2202.00002", "9999.99999"));
+
+        assertEquals(List.of("2101.01v1", "2202.00001", "2202.00002", "9999.99999"), List.copyOf(results.keySet()));
+        assertEquals("Sample Paper 1 on test", results.get("2101.01v1").getPaper().getTitle());
+        assertNotNull(results.get("2202.00001").getPaper());
+        assertNotNull(results.get("2202.00002").getPaper());
+        assertNull(results.get("9999.99999").getPaper());
+        assertNotNull(results.get("9999.99999").getError());
+
+        // Local hits are not requested, the remaining IDs go out in one id_list request
+        verify(arxivClient).getPapers("2202.00001,2202.00002,9999.99999", 3);
+    }
+
+    @Test
+    void testSearchedPapersAreSearchableLocally() {
+        arxivService.searchPapers("machine learning", 3);
+
+        List<LocalSearchHit> hits = arxivService.localSearch("\"paper 2\" sampl*", 10);
+
+        assertEquals(1, hits.size());
+        assertEquals("2101.02v1", hits.getFirst().getPaperId());
+        assertEquals("Sample Paper 2 on test", hits.getFirst().getPaper().getTitle());
+    }
+
+    @Test
+    void testTopicMarkdownIsCachedUntilTheTopicChanges() {
+        arxivService.searchPapers("machine learning", 3);
+
+        TopicMarkdownRenderer.RenderedTopic rendered = arxivService.getTopicMarkdown("machine learning");
+        assertEquals(3, rendered.papers());
+        assertTrue(rendered.markdown().startsWith("# Papers on Machine learning\n\nTotal papers: 3\n\n"));
+        assertSame(rendered, arxivService.getTopicMarkdown("Machine Learning"));
+
+        when(arxivClient.searchPapers(anyString(), anyInt(), anyInt())).thenReturn(searchPapers("test", 0, 4));
+        arxivService.searchPapers("machine learning", 4);
+
+        TopicMarkdownRenderer.RenderedTopic updated = arxivService.getTopicMarkdown("machine learning");
+        assertEquals(4, updated.papers());
+        assertNotEquals(rendered.etag(), updated.etag());
+    }
+
+    @Test
+    void testSearchedPapersAreSearchableSemantically() {
+        arxivService.searchPapers("machine learning", 3);
+
+        List<LocalSearchHit> hits = arxivService.semanticSearch("paper 2", 2);
+
+        assertEquals(2, hits.size());
+        assertEquals("2101.02v1", hits.getFirst().getPaperId());
+        assertTrue(hits.get(0).getScore() >= hits.get(1).getScore());
+    }
+
+    @Test
+    void testSearchPapersWalksPagesUntilTotalResults() {
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getSearch().setPageSize(2);
+        JsonPaperStore paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        ArxivService pagingService = service(properties);
+
+        // arXiv reports 3 matches in total, served two per page
+        when(arxivClient.searchPapers(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int start = invocation.getArgument(1);
+            int count = Math.min(invocation.<Integer>getArgument(2), 3 - start);
+            ArxivResponse page = searchPapers("paging", start, count);
+            page.getEntries().forEach(entry -> entry.setId(entry.getId() + "-" + start));
+            page.setTotalResults(3);
+            return page;
+        });
+        List<Integer> progress = new ArrayList<>();
+
+        List<String> paperIds = pagingService.searchPapers("paging", 10, (ids, fetched, total) -> progress.add(fetched));
+
+        assertEquals(3, paperIds.size());
+        assertEquals(List.of(2, 3), progress);
+        assertEquals(3, pagingService.getTopicPapers("paging").size());
+        verify(arxivClient).searchPapers("all:paging", 0, 2);
+        verify(arxivClient).searchPapers("all:paging", 2, 2);
+    }
+
+    @Test
+    void testSearchPapersFallsBackToLocalPapersWhenArxivFails() {
+        arxivService.searchPapers("machine learning", 3);
+        when(arxivClient.searchPapers(anyString(), anyInt(), anyInt()))
+                .thenThrow(new ArxivUnavailableException("circuit open"));
+        List<Integer> progress = new ArrayList<>();
+
+        // Papers stored for the topic come first, then matches of the local index for other topics
+        assertEquals(List.of("2101.01v1", "2101.02v1"),
+                arxivService.searchPapers("machine learning", 2, (ids, fetched, total) -> progress.add(fetched)));
+        assertEquals(List.of(2), progress);
+        assertEquals(3, arxivService.searchPapers("sample paper", 10).size());
+        RuntimeException e = assertThrows(RuntimeException.class, () -> arxivService.searchPapers("quantum", 10));
+        assertInstanceOf(ArxivUnavailableException.class, e.getCause());
+    }
+
+    @Test
+    void testSearchPapersKeepsPagesFetchedBeforeArxivFails() {
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getSearch().setPageSize(2);
+        JsonPaperStore paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        ArxivService pagingService = service(properties);
+        ArxivResponse firstPage = searchPapers("paging", 0, 2);
+        firstPage.setTotalResults(10);
+        when(arxivClient.searchPapers(anyString(), anyInt(), anyInt()))
+                .thenReturn(firstPage)
+                .thenThrow(new RuntimeException("arXiv is down"));
+
+        assertEquals(List.of("2101.01v1", "2101.02v1"), pagingService.searchPapers("paging", 10));
+    }
+
+    private void awaitRefreshes() throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (paperRefresher.pending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, paperRefresher.pending());
+    }
+
+    @Test
+    void testStalePaperIsServedAndRefreshedInBackground() throws Exception {
+        // Stored before fetch times were recorded
+        paperStore.savePapers("older_topic", Map.of("2202.05", PaperInfo.builder().title("Old title").build()));
+
+        assertEquals("Old title", arxivService.extractPaperInfo("2202.05").getTitle());
+        awaitRefreshes();
+
+        PaperInfo refreshed = paperStore.getPaper("2202.05");
+        assertEquals("Sample Paper on Requested Topic", refreshed.getTitle());
+        assertEquals(2, refreshed.getVersion());
+        assertNotNull(refreshed.getFetchedAt());
+        assertEquals(1, arxivService.localSearch("requested", 10).size());
+    }
+
+    @Test
+    void testRefreshPicksUpANewerVersion() throws Exception {
+        paperStore.savePapers("older_topic", Map.of("2202.07v1",
+                PaperInfo.builder().title("Old title").version(1).fetchedAt(0L).build()));
+
+        arxivService.extractPaperInfo("2202.07v1");
+        awaitRefreshes();
+
+        verify(arxivClient).getPapers("2202.07", 1);
+        PaperInfo refreshed = paperStore.getPaper("2202.07v1");
+        assertEquals("Sample Paper on Requested Topic", refreshed.getTitle());
+        assertEquals(2, refreshed.getVersion());
+        assertEquals(List.of("2202.07v1"), List.copyOf(paperStore.getTopicPapers("older_topic").keySet()));
+    }
+
+    @Test
+    void testFreshPapersAreNotRefreshed() throws Exception {
+        List<String> paperIds = arxivService.searchPapers("machine learning", 3);
+
+        arxivService.extractPaperInfo(paperIds.getFirst());
+        arxivService.extractPapersInfo(paperIds);
+        arxivService.getTopicPapers("machine learning");
+        awaitRefreshes();
+
+        verify(arxivClient, never()).getPapers(anyString(), anyInt());
+        verify(arxivClient, times(1)).searchPapers(anyString(), anyInt(), anyInt());
+        assertEquals(1, paperStore.getPaper(paperIds.getFirst()).getVersion());
+    }
+
+    @Test
+    void testStaleTopicReadAsResourceIsSearchedAgain() throws Exception {
+        paperStore.savePapers("older_topic", Map.of(
+                "2101.01v1", PaperInfo.builder().title("Old title").build(),
+                "2101.02v1", PaperInfo.builder().title("Old title").build()));
+        ArxivResourceProvider resources = new ArxivResourceProvider(arxivService, mock(PdfService.class));
+        // Hold the refresh until the stale topic was served, so that it cannot be saved before the read
+        CountDownLatch served = new CountDownLatch(1);
+        ArxivResponse response = searchPapers("test", 0, 3);
+        when(arxivClient.searchPapers(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            served.await();
+            return response;
+        });
+
+        assertTrue(((TextResourceContents) resources.getTopicPapers("older topic").contents().getFirst())
+                .text().contains("Old title"));
+        served.countDown();
+        awaitRefreshes();
+
+        verify(arxivClient).searchPapers("all:older topic", 0, 2);
+        assertEquals("Sample Paper 1 on test", paperStore.getPaper("2101.01v1").getTitle());
+
+        // Fresh now, so reading it again searches nothing
+        resources.getTopicPapers("older topic");
+        resources.getTopicPapersPage("older topic", TopicCursor.encode(0));
+        awaitRefreshes();
+        verify(arxivClient, times(1)).searchPapers(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testStaleTopicReadThroughTheControllerIsSearchedAgain() throws Exception {
+        paperStore.savePapers("older_topic", Map.of("2101.01v1", PaperInfo.builder().title("Old title").build()));
+        ArxivMcpController controller = new ArxivMcpController(arxivService, mock(PdfService.class),
+                new ArxivProperties(), new ObjectMapper());
+
+        assertEquals(HttpStatus.OK, controller.getTopicPapers("older topic", null, null).getStatusCode());
+        awaitRefreshes();
+
+        verify(arxivClient).searchPapers("all:older topic", 0, 1);
+    }
+
+    @Test
+    void testStaleCategoryTopicIsNotSearchedByItsName() throws Exception {
+        paperStore.savePapers("cs.cl", Map.of("2101.01v1", PaperInfo.builder().title("Old title").build()));
+
+        assertTrue(arxivService.getTopicMarkdown("cs.cl").markdown().contains("Old title"));
+        awaitRefreshes();
+
+        verify(arxivClient, never()).searchPapers(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testImportedPapersAreSearchableOnceIndexed() throws Exception {
+        Map<String, PaperInfo> papers = Map.of("0704.0001",
+                PaperInfo.builder().title("Prompt diphoton production").summary("Cross sections at the LHC.").build());
+
+        arxivService.importPapers("hep-ph", papers);
+        assertEquals(papers, paperStore.getTopicPapers("hep-ph"));
+        assertTrue(arxivService.localSearch("diphoton", 10).isEmpty());
+
+        arxivService.indexPapers(Map.of("hep-ph", papers));
+        assertEquals("0704.0001", arxivService.localSearch("diphoton", 10).getFirst().getPaperId());
+
+        arxivService.backfillSemanticIndex().get(5, TimeUnit.SECONDS);
+        assertEquals("0704.0001", arxivService.semanticSearch("diphoton production", 1).getFirst().getPaperId());
+    }
+
+    @Test
+    void testSearchNewPapersStopsAtTheFirstKnownPaper() {
+        arxivService.searchPapers("large models", 3);
+        List<ArxivEntry> newest = new ArrayList<>();
+        for (String paperId : List.of("2101.05v1", "2101.04v1", "2101.03v2", "2101.02v1")) {
+            newest.addAll(getPaper(paperId).getEntries());
+        }
+        when(arxivClient.searchNewest(anyString(), anyInt(), anyInt())).thenReturn(new ArxivResponse(50, 0, 4, newest));
+
+        ArxivService.NewPapers newPapers = arxivService.searchNewPapers("large models", 10, 5);
+
+        // A new version of a stored paper is not a new paper
+        assertEquals(List.of("2101.05v1", "2101.04v1"), newPapers.paperIds());
+        assertEquals(1, newPapers.requests());
+        verify(arxivClient).searchNewest("all:large models", 0, 10);
+        assertEquals(5, paperStore.getTopicPapers("large_models").size());
+        assertEquals(Map.of("large_models", 1L), arxivService.takeTopicAccesses());
+        assertTrue(arxivService.takeTopicAccesses().isEmpty());
+    }
 }
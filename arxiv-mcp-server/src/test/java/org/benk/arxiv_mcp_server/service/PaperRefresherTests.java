@@ -0,0 +1,70 @@
+package org.benk.arxiv_mcp_server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.client.RequestPriority;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaperRefresherTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaperRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ArxivProperties properties = new ArxivProperties();
+        properties.getFreshness().setWorkers(1);
+        properties.getFreshness().setMaxPending(1);
+        refresher = new PaperRefresher(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.stop();
+    }
+
+    private double tasks(String outcome) {
+        return meterRegistry.get("arxiv.refresh.tasks").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testRefreshesRunInTheBackgroundOncePerKey() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<RequestPriority> priority = new CompletableFuture<>();
+        assertTrue(refresher.submit("a", () -> {
+            priority.complete(RequestPriority.current());
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        assertEquals(RequestPriority.BACKGROUND, priority.get(5, TimeUnit.SECONDS));
+        assertFalse(refresher.submit("a", () -> fail("already pending")));
+        // One running on the only worker and one queued fill the refresher
+        assertTrue(refresher.submit("b", () -> { }));
+        assertFalse(refresher.submit("c", () -> fail("queue is full")));
+        assertEquals(1, tasks("dropped"));
+
+        release.countDown();
+        while (refresher.pending() > 0) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, tasks("success"));
+        assertTrue(refresher.submit("a", () -> { throw new IllegalStateException("arXiv is down"); }));
+        while (refresher.pending() > 0) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, tasks("failure"));
+    }
+}
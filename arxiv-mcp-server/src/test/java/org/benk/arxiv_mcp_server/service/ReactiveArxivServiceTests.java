@@ -0,0 +1,142 @@
+package org.benk.arxiv_mcp_server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.client.ArxivClient;
+import org.benk.arxiv_mcp_server.client.ReactiveArxivClient;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.model.PaperLookupResult;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivAuthor;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivEntry;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivLink;
+import org.benk.arxiv_mcp_server.model.arxiv.ArxivResponse;
+import org.benk.arxiv_mcp_server.search.HashingEmbedder;
+import org.benk.arxiv_mcp_server.search.LocalSearchIndex;
+import org.benk.arxiv_mcp_server.search.SemanticSearchIndex;
+import org.benk.arxiv_mcp_server.store.JsonPaperStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReactiveArxivServiceTests {
+
+    @TempDir
+    Path papersDirectory;
+
+    private ReactiveArxivClient arxivClient;
+    private ReactiveArxivService arxivService;
+
+    @BeforeEach
+    void setUp() {
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getSearch().setPageSize(2);
+        arxivClient = mock(ReactiveArxivClient.class);
+        properties.getSemantic().setEnabled(false);
+        JsonPaperStore paperStore = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        LocalSearchIndex localSearchIndex = new LocalSearchIndex(paperStore);
+        SemanticSearchIndex semanticSearchIndex = new SemanticSearchIndex(properties, paperStore, new HashingEmbedder(64));
+        ArxivService blockingService = ArxivServiceFixture.builder(mock(ArxivClient.class), properties, paperStore)
+                .localSearchIndex(localSearchIndex)
+                .semanticSearchIndex(semanticSearchIndex)
+                .build();
+        arxivService = new ReactiveArxivService(arxivClient, blockingService, properties, paperStore, localSearchIndex,
+                semanticSearchIndex, new TopicMarkdownRenderer(paperStore, properties, new SimpleMeterRegistry()));
+
+        // arXiv reports 3 matches in total, served two per page
+        when(arxivClient.searchPapers(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int start = invocation.getArgument(1);
+            int count = Math.min(invocation.<Integer>getArgument(2), 3 - start);
+            List<ArxivEntry> entries = new ArrayList<>();
+            for (int i = start; i < start + count; i++) {
+                entries.add(entry("2501.0000" + i + "v1"));
+            }
+            return Mono.just(new ArxivResponse(3, start, count, entries));
+        });
+        when(arxivClient.getPapers(anyString(), anyInt())).thenAnswer(invocation -> {
+            List<ArxivEntry> entries = new ArrayList<>();
+            for (String id : invocation.getArgument(0, String.class).split(",")) {
+                if (id.startsWith("2202.")) {
+                    entries.add(entry(id + "v2"));
+                }
+            }
+            return Mono.just(new ArxivResponse(entries.size(), 0, entries.size(), entries));
+        });
+    }
+
+    private static ArxivEntry entry(String paperId) {
+        return new ArxivEntry("http://arxiv.org/abs/" + paperId, "Paper " + paperId, "Summary of " + paperId,
+                "2025-01-01T00:00:00Z", "2025-01-01T00:00:00Z", List.of(new ArxivAuthor("Ada Lovelace")),
+                List.of(new ArxivLink("http://arxiv.org/pdf/" + paperId, "related", "application/pdf", "pdf")));
+    }
+
+    @Test
+    void testSearchPagesSavesEachPage() {
+        List<SearchPage> pages = arxivService.searchPages("Neural Networks", 10).collectList().block();
+
+        assertNotNull(pages);
+        assertEquals(List.of(2, 3), pages.stream().map(SearchPage::fetched).toList());
+        assertEquals(List.of("2501.00000v1", "2501.00001v1", "2501.00002v1"),
+                pages.stream().flatMap(page -> page.paperIds().stream()).toList());
+        Map<String, PaperInfo> stored = arxivService.getTopicPapers("Neural Networks").block();
+        assertNotNull(stored);
+        assertEquals(3, stored.size());
+        verify(arxivClient).searchPapers("all:Neural Networks", 0, 2);
+        verify(arxivClient).searchPapers("all:Neural Networks", 2, 2);
+    }
+
+    @Test
+    void testFailedSearchIsAnsweredFromStoredPapers() {
+        arxivService.searchPapers("Neural Networks", 3).blockLast();
+        when(arxivClient.searchPapers(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.error(new IllegalStateException("arXiv unavailable")));
+
+        assertEquals(List.of("2501.00000v1", "2501.00001v1"),
+                arxivService.searchPapers("Neural Networks", 2).collectList().block());
+        assertThrows(RuntimeException.class, () -> arxivService.searchPapers("unknown topic", 2).blockLast());
+    }
+
+    @Test
+    void testSearchFailingAfterTheFirstPageKeepsThePagesFound() {
+        when(arxivClient.searchPapers("all:Neural Networks", 2, 1))
+                .thenReturn(Mono.error(new IllegalStateException("arXiv unavailable")));
+
+        assertEquals(List.of("2501.00000v1", "2501.00001v1"),
+                arxivService.searchPapers("Neural Networks", 3).collectList().block());
+    }
+
+    @Test
+    void testExtractPapersInfoServesStoredPapersLocally() {
+        arxivService.searchPapers("transformers", 1).blockLast();
+
+        Map<String, PaperLookupResult> results =
+                arxivService.extractPapersInfo(List.of("2501.00000v1", "2202.00001", "9999.99999")).block();
+
+        assertNotNull(results);
+        assertEquals(List.of("2501.00000v1", "2202.00001", "9999.99999"), List.copyOf(results.keySet()));
+        assertEquals("Paper 2501.00000v1", results.get("2501.00000v1").getPaper().getTitle());
+        assertNotNull(results.get("2202.00001").getPaper());
+        assertNotNull(results.get("9999.99999").getError());
+        verify(arxivClient).getPapers("2202.00001,9999.99999", 2);
+    }
+
+    @Test
+    void testExtractPaperInfoFallsBackToArxiv() {
+        when(arxivClient.getPaper("2501.99999")).thenReturn(Mono.error(new IllegalStateException("arXiv unavailable")));
+        when(arxivClient.getPaper("2202.00001")).thenReturn(Mono.just(new ArxivResponse(1, 0, 1, List.of(entry("2202.00001v1")))));
+
+        assertNull(arxivService.extractPaperInfo("2501.99999").block());
+        assertEquals("Paper 2202.00001v1", arxivService.extractPaperInfo("2202.00001").block().getTitle());
+    }
+}
@@ -0,0 +1,26 @@
+package org.benk.arxiv_mcp_server.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicCursorTests {
+
+    @Test
+    void testRoundTripsOffsets() {
+        for (int offset : new int[]{0, 1, 100, Integer.MAX_VALUE}) {
+            String cursor = TopicCursor.encode(offset);
+            assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+            assertEquals(offset, TopicCursor.decode(cursor));
+        }
+        assertEquals(0, TopicCursor.decode(null));
+        assertEquals(0, TopicCursor.decode(""));
+    }
+
+    @Test
+    void testRejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> TopicCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> TopicCursor.decode("MTIz"));
+        assertThrows(IllegalArgumentException.class, () -> TopicCursor.decode(TopicCursor.encode(-1)));
+    }
+}
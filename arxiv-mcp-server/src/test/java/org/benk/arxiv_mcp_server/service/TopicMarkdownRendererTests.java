@@ -0,0 +1,124 @@
+package org.benk.arxiv_mcp_server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.benk.arxiv_mcp_server.store.PaperStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TopicMarkdownRendererTests {
+
+    private PaperStore paperStore;
+    private TopicMarkdownRenderer renderer;
+    private Map<String, PaperInfo> papers;
+
+    @BeforeEach
+    void setUp() {
+        paperStore = mock(PaperStore.class);
+        papers = new LinkedHashMap<>();
+        papers.put("2401.00001v1", PaperInfo.builder()
+                .title("Attention Is All You Need")
+                .authors(List.of("Ashish Vaswani", "Noam Shazeer"))
+                .summary("The dominant sequence transduction models are based on recurrent networks.")
+                .published("2017-06-12")
+                .pdfUrl("http://arxiv.org/pdf/2401.00001v1")
+                .build());
+        when(paperStore.getTopicPapers("machine_learning")).thenAnswer(invocation -> Map.copyOf(papers));
+        renderer = new TopicMarkdownRenderer(paperStore, new ArxivProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRendersTopicDocument() {
+        TopicMarkdownRenderer.RenderedTopic rendered = renderer.render("Machine Learning");
+
+        assertEquals("""
+                # Papers on Machine learning
+
+                Total papers: 1
+
+                ## Attention Is All You Need
+                - **Paper ID**: 2401.00001v1
+                - **Authors**: Ashish Vaswani, Noam Shazeer
+                - **Published**: 2017-06-12
+                - **PDF URL**: [http://arxiv.org/pdf/2401.00001v1](http://arxiv.org/pdf/2401.00001v1)
+
+                ### Summary
+                The dominant sequence transduction models are based on recurrent networks.
+
+                ---
+
+                """, rendered.markdown());
+        assertArrayEquals(rendered.markdown().getBytes(StandardCharsets.UTF_8), rendered.bytes());
+        assertTrue(rendered.etag().startsWith("\"") && rendered.etag().endsWith("\""));
+    }
+
+    @Test
+    void testTruncatesLongSummaries() {
+        // The cut falls between the two halves of a surrogate pair, which must stay together
+        String summary = "a".repeat(TopicMarkdownRenderer.SUMMARY_LENGTH - 1) + "𝐀" + "b".repeat(100);
+        papers.get("2401.00001v1").setSummary(summary);
+
+        String markdown = renderer.render("machine_learning").markdown();
+
+        assertTrue(markdown.contains("### Summary\n" + "a".repeat(TopicMarkdownRenderer.SUMMARY_LENGTH - 1) + "...\n"));
+    }
+
+    @Test
+    void testServesCachedRenderUntilInvalidated() {
+        TopicMarkdownRenderer.RenderedTopic first = renderer.render("machine_learning");
+        assertSame(first, renderer.render("machine learning"));
+        verify(paperStore, times(1)).getTopicPapers("machine_learning");
+
+        papers.put("2401.00002v1", PaperInfo.builder().title("Scaling Laws").authors(List.of("Jared Kaplan"))
+                .summary("Power laws.").build());
+        assertSame(first, renderer.render("machine_learning"));
+
+        renderer.invalidate("Machine Learning");
+        TopicMarkdownRenderer.RenderedTopic second = renderer.render("machine_learning");
+        assertEquals(2, second.papers());
+        assertNotEquals(first.etag(), second.etag());
+        verify(paperStore, times(2)).getTopicPapers("machine_learning");
+    }
+
+    @Test
+    void testPagesAndStreamsTopicsAboveTheThreshold() throws Exception {
+        for (int i = 2; i <= 5; i++) {
+            papers.put("2401.0000" + i + "v1", PaperInfo.builder().title("Paper " + i).build());
+        }
+        when(paperStore.countTopicPapers("machine_learning")).thenAnswer(invocation -> papers.size());
+        when(paperStore.streamTopicPapers(eq("machine_learning"), anyInt())).thenAnswer(invocation ->
+                papers.entrySet().stream().skip(invocation.<Integer>getArgument(1)));
+        ArxivProperties properties = new ArxivProperties();
+        properties.getMarkdown().setStreamThreshold(4);
+        properties.getMarkdown().setPageSize(2);
+        renderer = new TopicMarkdownRenderer(paperStore, properties, new SimpleMeterRegistry());
+
+        assertNull(renderer.render("machine_learning"));
+        verify(paperStore, never()).getTopicPapers("machine_learning");
+
+        TopicMarkdownRenderer.RenderedPage first = renderer.renderPage("machine_learning", 0);
+        assertTrue(first.markdown().startsWith("# Papers on Machine learning\n\nTotal papers: 5\n\n## Attention"));
+        assertTrue(first.markdown().contains("## Paper 2\n"));
+        assertFalse(first.markdown().contains("## Paper 3\n"));
+        TopicMarkdownRenderer.RenderedPage second = renderer.renderPage("machine_learning", TopicCursor.decode(first.nextCursor()));
+        assertTrue(second.markdown().startsWith("## Paper 3\n"));
+        TopicMarkdownRenderer.RenderedPage last = renderer.renderPage("machine_learning", TopicCursor.decode(second.nextCursor()));
+        assertTrue(last.markdown().startsWith("## Paper 5\n"));
+        assertNull(last.nextCursor());
+
+        // Streaming the whole topic writes the same document a full render would
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.write("machine_learning", 0, Integer.MAX_VALUE, out);
+        assertEquals(TopicMarkdownRenderer.render("machine_learning", papers).markdown(), out.toString(StandardCharsets.UTF_8));
+    }
+}
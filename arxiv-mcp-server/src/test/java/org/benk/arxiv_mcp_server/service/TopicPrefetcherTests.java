@@ -0,0 +1,97 @@
+package org.benk.arxiv_mcp_server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.client.ArxivRateLimiter;
+import org.benk.arxiv_mcp_server.client.RequestPriority;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TopicPrefetcherTests {
+
+    private ArxivService arxivService;
+    private ArxivRateLimiter rateLimiter;
+    private ArxivProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TopicPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        arxivService = mock(ArxivService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ArxivProperties();
+        properties.getPrefetch().setTopics(List.of("Large Language Models"));
+        properties.getPrefetch().setMaxTopics(3);
+        properties.getPrefetch().setQuietPeriod(Duration.ZERO);
+        properties.getPrefetch().setRequestBudget(5);
+        rateLimiter = new ArxivRateLimiter(properties.getRateLimit(), meterRegistry);
+        prefetcher = new TopicPrefetcher(arxivService, rateLimiter, properties, meterRegistry);
+        when(arxivService.getAvailableFolders()).thenReturn(List.of("graph_networks", "large_language_models", "robotics"));
+        Map<String, Long> accesses = Map.of("robotics", 3L, "vision", 5L);
+        when(arxivService.takeTopicAccesses()).thenReturn(accesses).thenReturn(Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter.close();
+    }
+
+    @Test
+    void testWatchListPutsConfiguredThenMostAccessedThenStoredTopics() {
+        assertEquals(List.of("Large Language Models", "vision", "robotics"), prefetcher.watchList());
+    }
+
+    @Test
+    void testWatchListLeavesOutImportedCategoryTopics() {
+        when(arxivService.getAvailableFolders()).thenReturn(List.of("cs.cl", "hep-th", "robotics"));
+        when(arxivService.takeTopicAccesses()).thenReturn(Map.of("cs.cl", 9L, "vision", 5L));
+
+        assertEquals(List.of("Large Language Models", "vision", "robotics"), prefetcher.watchList());
+    }
+
+    @Test
+    void testRunStaysWithinTheRequestBudget() {
+        List<RequestPriority> priorities = new ArrayList<>();
+        when(arxivService.searchNewPapers(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            priorities.add(RequestPriority.current());
+            return new ArxivService.NewPapers(List.of("2501.01v1", "2501.02v1"), 3);
+        });
+
+        assertEquals(4, prefetcher.prefetch());
+
+        verify(arxivService).searchNewPapers("Large Language Models", 100, 5);
+        verify(arxivService).searchNewPapers("vision", 100, 2);
+        verify(arxivService, never()).searchNewPapers(eq("robotics"), anyInt(), anyInt());
+        assertEquals(List.of(RequestPriority.BACKGROUND, RequestPriority.BACKGROUND), priorities);
+        assertEquals(6, meterRegistry.get("arxiv.prefetch.requests").counter().count());
+        assertEquals(4, meterRegistry.get("arxiv.prefetch.papers").counter().count());
+    }
+
+    @Test
+    void testRunsOnlyWhenDueAndQuiet() {
+        when(arxivService.searchNewPapers(anyString(), anyInt(), anyInt())).thenReturn(new ArxivService.NewPapers(List.of(), 1));
+        properties.getPrefetch().setQuietPeriod(Duration.ofMinutes(1));
+        rateLimiter.acquire(RequestPriority.INTERACTIVE).join();
+
+        prefetcher.check();
+        verify(arxivService, never()).searchNewPapers(anyString(), anyInt(), anyInt());
+
+        properties.getPrefetch().setQuietPeriod(Duration.ZERO);
+        prefetcher.check();
+        prefetcher.check();
+        // The second check comes before the interval has elapsed
+        verify(arxivService, times(3)).searchNewPapers(anyString(), anyInt(), anyInt());
+        assertEquals(1, meterRegistry.get("arxiv.prefetch.runs").counter().count());
+    }
+}
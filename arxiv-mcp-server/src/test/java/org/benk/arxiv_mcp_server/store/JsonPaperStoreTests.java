@@ -0,0 +1,247 @@
+package org.benk.arxiv_mcp_server.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.benk.arxiv_mcp_server.store.LogPaperStoreTests.paper;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class JsonPaperStoreTests {
+
+    @TempDir
+    Path papersDirectory;
+
+    private ArxivProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private JsonPaperStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        store = new JsonPaperStore(properties, meterRegistry);
+        store.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.stop();
+    }
+
+    @Test
+    void testWritesAppendOnlyTheDeltaToTheJournal() throws Exception {
+        Path topicDir = papersDirectory.resolve("llm");
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a"), "2501.00002v1", paper("b")));
+        store.compactJournals(true);
+        long snapshotSize = Files.size(topicDir.resolve(TopicFiles.SNAPSHOT_FILE));
+
+        store.savePapers("llm", Map.of("2501.00003v1", paper("c")));
+
+        // The snapshot is untouched and the journal holds a single line
+        assertEquals(snapshotSize, Files.size(topicDir.resolve(TopicFiles.SNAPSHOT_FILE)));
+        assertEquals(1, Files.readAllLines(topicDir.resolve(TopicFiles.JOURNAL_FILE)).size());
+        // Readers see snapshot and journal merged
+        assertEquals(3, store.getTopicPapers("llm").size());
+        assertEquals(paper("c"), store.getPaper("2501.00003v1"));
+    }
+
+    @Test
+    void testUnchangedPapersFetchedAgainAreNotRewritten() throws Exception {
+        Path journalFile = papersDirectory.resolve("llm").resolve(TopicFiles.JOURNAL_FILE);
+        PaperInfo fetched = paper("a");
+        fetched.setFetchedAt(1_750_000_000_000L);
+        store.savePapers("llm", Map.of("2501.00001v1", fetched));
+        long journalSize = Files.size(journalFile);
+
+        PaperInfo refetched = paper("a");
+        refetched.setFetchedAt(fetched.getFetchedAt() + Duration.ofMinutes(5).toMillis());
+        store.savePapers("llm", Map.of("2501.00001v1", refetched));
+        assertEquals(journalSize, Files.size(journalFile));
+
+        // A fetch newer than the resolution is recorded
+        refetched.setFetchedAt(fetched.getFetchedAt() + Duration.ofHours(2).toMillis());
+        store.savePapers("llm", Map.of("2501.00001v1", refetched));
+        assertEquals(2, Files.readAllLines(journalFile).size());
+        assertEquals(refetched.getFetchedAt(), store.getPaper("2501.00001v1").getFetchedAt());
+    }
+
+    @Test
+    void testCompactionFoldsJournalIntoSnapshot() throws Exception {
+        Path topicDir = papersDirectory.resolve("llm");
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a")));
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a2"), "2501.00002v1", paper("b")));
+
+        store.compactJournals(true);
+
+        assertFalse(Files.exists(topicDir.resolve(TopicFiles.JOURNAL_FILE)));
+        Map<String, ?> snapshot = TopicFiles.readSnapshot(new com.fasterxml.jackson.databind.ObjectMapper(), topicDir);
+        assertEquals(Map.of("2501.00001v1", paper("a2"), "2501.00002v1", paper("b")), snapshot);
+        assertEquals(List.of("llm"), store.getTopics());
+    }
+
+    @Test
+    void testTornJournalLineIsSkipped() throws Exception {
+        Path topicDir = papersDirectory.resolve("llm");
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a")));
+        Files.writeString(topicDir.resolve(TopicFiles.JOURNAL_FILE), "{\"paperId\":\"2501.0000",
+                java.nio.file.StandardOpenOption.APPEND);
+
+        assertEquals(Map.of("2501.00001v1", paper("a")), store.getTopicPapers("llm"));
+    }
+
+    @Test
+    void testOnlyChangesMadeOutsideTheStoreAreReadBack() throws Exception {
+        Path topicDir = papersDirectory.resolve("llm");
+        for (int i = 0; i < 20; i++) {
+            store.savePapers("llm", Map.of(paperId(0, i), paper("p" + i)));
+        }
+        store.compactJournals(true);
+
+        // Another process replaces the snapshot
+        Map<String, PaperInfo> edited = new LinkedHashMap<>(store.getTopicPapers("llm"));
+        edited.put("2501.99999v1", paper("outside"));
+        TopicFiles.writeSnapshot(new ObjectMapper(), topicDir, edited);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (store.getPaper("2501.99999v1") == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(paper("outside"), store.getPaper("2501.99999v1"));
+        assertEquals(21, store.getTopicPapers("llm").size());
+        // Besides the compaction, the topic was read for the outside change only, not for the store's own writes
+        Thread.sleep(200);
+        assertEquals(2, reads());
+    }
+
+    private long reads() {
+        return meterRegistry.get("arxiv.store.bytes").tag("direction", "read").summary().count();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testConcurrentWritesToOneTopicLoseNoUpdates(boolean journal) throws Exception {
+        properties.getStore().getJournal().setEnabled(journal);
+        int writers = 8;
+        int writesPerWriter = 50;
+
+        runConcurrently(writers, writer -> {
+            for (int i = 0; i < writesPerWriter; i++) {
+                store.savePapers("llm", Map.of(paperId(writer, i), paper(writer + "-" + i)));
+                if (journal && i % 10 == 0) {
+                    store.compactJournals(true);
+                }
+                // Readers never see a partial topic: each writer's own papers are all visible
+                for (int j = 0; j <= i; j++) {
+                    assertNotNull(store.getTopicPapers("llm").get(paperId(writer, j)));
+                }
+            }
+        });
+
+        assertEquals(writers * writesPerWriter, store.getTopicPapers("llm").size());
+        store.stop();
+        store = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+        assertEquals(writers * writesPerWriter, store.getTopicPapers("llm").size());
+    }
+
+    @Test
+    void testWriterBlockedOnOneTopicDoesNotBlockAnother() throws Exception {
+        String blocked = "topic0";
+        String other = "topic1";
+        assertNotSame(store.topicLock(blocked), store.topicLock(other));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReentrantLock lock = store.topicLock(blocked);
+        lock.lock();
+        try {
+            Future<?> blockedWrite = executor.submit(() -> store.savePapers(blocked, Map.of(paperId(0, 0), paper("a"))));
+            Future<?> otherWrite = executor.submit(() -> store.savePapers(other, Map.of(paperId(1, 0), paper("b"))));
+
+            // The write to the other topic completes while the first one still waits for its topic lock
+            otherWrite.get(10, TimeUnit.SECONDS);
+            assertFalse(blockedWrite.isDone());
+            assertEquals(1, store.getTopicPapers(other).size());
+
+            lock.unlock();
+            blockedWrite.get(10, TimeUnit.SECONDS);
+            assertEquals(1, store.getTopicPapers(blocked).size());
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentWritesToDistinctTopicsLoseNoUpdates() throws Exception {
+        int writers = 8;
+        int writesPerWriter = 50;
+
+        long started = System.nanoTime();
+        runConcurrently(writers, writer -> {
+            for (int i = 0; i < writesPerWriter; i++) {
+                store.savePapers("topic" + writer, Map.of(paperId(writer, i), paper(writer + "-" + i)));
+            }
+        });
+        log.info("{} writes to {} topics in {} ms", writers * writesPerWriter, writers,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+
+        for (int writer = 0; writer < writers; writer++) {
+            assertEquals(writesPerWriter, store.getTopicPapers("topic" + writer).size());
+        }
+        assertEquals(writers, store.getTopics().size());
+    }
+
+    private static String paperId(int writer, int i) {
+        return String.format("2501.%02d%03dv1", writer, i);
+    }
+
+    private static void runConcurrently(int threads, Writer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    writer.write(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(int writer) throws Exception;
+    }
+}
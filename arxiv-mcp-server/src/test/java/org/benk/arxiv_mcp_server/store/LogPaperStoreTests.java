@@ -0,0 +1,191 @@
+package org.benk.arxiv_mcp_server.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogPaperStoreTests {
+
+    @TempDir
+    Path papersDirectory;
+
+    private ArxivProperties properties;
+    private LogPaperStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        properties.getStore().setType("log");
+        store = new LogPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.stop();
+    }
+
+    static PaperInfo paper(String title) {
+        return PaperInfo.builder()
+                .title(title)
+                .authors(List.of("Ada Lovelace", "Alan Turing"))
+                .summary("Summary of " + title + " with non-ASCII text: Schrödinger, 量子")
+                .pdfUrl("https://arxiv.org/pdf/" + title + ".pdf")
+                .published("2025-01-01T00:00:00Z")
+                .build();
+    }
+
+    @Test
+    void testPapersSurviveRestart() throws Exception {
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a"), "2501.00002v1", paper("b")));
+        store.savePapers("agents", Map.of("2501.00002v1", paper("b")));
+        store.stop();
+
+        store = new LogPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+
+        assertEquals(paper("a"), store.getPaper("2501.00001v1"));
+        assertEquals(Map.of("2501.00002v1", paper("b")), store.getTopicPapers("agents"));
+        assertEquals(2, store.getTopicPapers("llm").size());
+        assertEquals(List.of("llm", "agents"), store.getTopics());
+    }
+
+    @Test
+    void testTopicPapersAreStreamedInInsertionOrder() {
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a")));
+        store.savePapers("llm", Map.of("2501.00002v1", paper("b")));
+        store.savePapers("llm", Map.of("2501.00003v1", paper("c")));
+
+        assertEquals(3, store.countTopicPapers("llm"));
+        assertEquals(0, store.countTopicPapers("agents"));
+        try (Stream<Map.Entry<String, PaperInfo>> papers = store.streamTopicPapers("llm", 1)) {
+            assertEquals(List.of(Map.entry("2501.00002v1", paper("b")), Map.entry("2501.00003v1", paper("c"))),
+                    papers.toList());
+        }
+    }
+
+    @Test
+    void testPapersAreDeduplicatedById() throws Exception {
+        Path logFile = papersDirectory.resolve("papers.log");
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a")));
+        long sizeAfterFirstWrite = Files.size(logFile);
+
+        // The same paper in another topic only adds a membership record
+        store.savePapers("agents", Map.of("2501.00001v1", paper("a")));
+        long sizeAfterSecondTopic = Files.size(logFile);
+        store.savePapers("agents", Map.of("2501.00001v1", paper("a")));
+
+        assertTrue(sizeAfterSecondTopic - sizeAfterFirstWrite < 64);
+        assertEquals(sizeAfterSecondTopic, Files.size(logFile));
+
+        // A changed paper replaces the stored version
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a2")));
+        assertEquals("a2", store.getPaper("2501.00001v1").getTitle());
+    }
+
+    @Test
+    void testUnchangedPaperFetchedAgainOnlyRecordsItsFreshness() throws Exception {
+        Path logFile = papersDirectory.resolve("papers.log");
+        PaperInfo fetched = paper("a");
+        fetched.setFetchedAt(1_750_000_000_000L);
+        store.savePapers("llm", Map.of("2501.00001v1", fetched));
+        long sizeAfterFirstWrite = Files.size(logFile);
+
+        // Within the resolution nothing is written
+        PaperInfo refetched = paper("a");
+        refetched.setFetchedAt(fetched.getFetchedAt() + Duration.ofMinutes(5).toMillis());
+        store.savePapers("llm", Map.of("2501.00001v1", refetched));
+        assertEquals(sizeAfterFirstWrite, Files.size(logFile));
+        assertEquals(fetched.getFetchedAt(), store.getPaper("2501.00001v1").getFetchedAt());
+
+        // Beyond it only a freshness record is appended, not the paper again
+        refetched.setFetchedAt(fetched.getFetchedAt() + Duration.ofHours(2).toMillis());
+        store.savePapers("llm", Map.of("2501.00001v1", refetched));
+        assertTrue(Files.size(logFile) - sizeAfterFirstWrite < 40);
+        store.stop();
+        store = new LogPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+
+        assertEquals(refetched.getFetchedAt(), store.getPaper("2501.00001v1").getFetchedAt());
+        assertEquals(paper("a"), store.getPaper("2501.00001v1"));
+    }
+
+    @Test
+    void testTornTailIsTruncated() throws Exception {
+        Path logFile = papersDirectory.resolve("papers.log");
+        store.savePapers("llm", Map.of("2501.00001v1", paper("a")));
+        store.savePapers("llm", Map.of("2501.00002v1", paper("b")));
+        long fullSize = Files.size(logFile);
+        store.stop();
+
+        // Cut into the last record, the membership of the second paper
+        try (FileChannel channel = FileChannel.open(logFile, WRITE)) {
+            channel.truncate(fullSize - 3);
+        }
+        store = new LogPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+
+        assertEquals(List.of("2501.00001v1"), List.copyOf(store.getTopicPapers("llm").keySet()));
+        assertTrue(Files.size(logFile) < fullSize - 3);
+
+        // The log stays appendable after recovery
+        store.savePapers("llm", Map.of("2501.00002v1", paper("b")));
+        assertEquals(2, store.getTopicPapers("llm").size());
+    }
+
+    @Test
+    void testJsonLayoutIsMigratedOnFirstStart() throws Exception {
+        store.stop();
+        Files.delete(papersDirectory.resolve("papers.log"));
+        Path topicDir = Files.createDirectories(papersDirectory.resolve("neural_networks"));
+        new ObjectMapper().writeValue(topicDir.resolve("papers_info.json").toFile(),
+                Map.of("2501.00003v1", paper("c")));
+
+        store = new LogPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+
+        assertEquals(paper("c"), store.getPaper("2501.00003v1"));
+        assertEquals(List.of("neural_networks"), store.getTopics());
+    }
+
+    @Test
+    void testFreshnessSurvivesRestartAndOlderRecordsStillDecode() throws Exception {
+        PaperInfo fresh = paper("a");
+        fresh.setUpdated("2025-02-01T00:00:00Z");
+        fresh.setVersion(2);
+        fresh.setFetchedAt(1_750_000_000_000L);
+        store.savePapers("llm", Map.of("2501.00001v2", fresh));
+        store.savePapers("agents", Map.of("2501.00001v2", fresh));
+        store.stop();
+        store = new LogPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+
+        assertEquals(fresh, store.getPaper("2501.00001v2"));
+        assertEquals(fresh.getFetchedAt(), store.getPaper("2501.00001v2").getFetchedAt());
+        assertEquals(List.of("llm", "agents"), store.getPaperTopics("2501.00001v2"));
+        // Records written before the freshness fields end after the publication date
+        byte[] payload = PaperRecords.encodePaper("2501.00001v1", paper("b"));
+        PaperInfo older = PaperRecords.decodePaper(ByteBuffer.wrap(Arrays.copyOf(payload, payload.length - 16)));
+        assertEquals(paper("b"), older);
+        assertNull(older.getFetchedAt());
+    }
+}
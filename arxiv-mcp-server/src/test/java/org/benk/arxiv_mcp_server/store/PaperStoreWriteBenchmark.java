@@ -0,0 +1,88 @@
+package org.benk.arxiv_mcp_server.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.benk.arxiv_mcp_server.config.ArxivProperties;
+import org.benk.arxiv_mcp_server.model.PaperInfo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures {@link JsonPaperStore#savePapers} throughput with writers sharing one topic or each writing its own.
+ * Run with 1, 2, 4 and 8 threads: distinct topics should scale with the thread count while a shared topic
+ * stays flat, since writes to one topic serialize on its lock.
+ * Lives in the store package because the store's test hooks are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PaperStoreWriteBenchmark {
+
+    @Param({"shared", "distinct"})
+    public String topics;
+
+    private final AtomicInteger writerCount = new AtomicInteger();
+
+    private Path papersDirectory;
+    private JsonPaperStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        papersDirectory = Files.createTempDirectory("paper-store-bench");
+        ArxivProperties properties = new ArxivProperties();
+        properties.setPapersDirectory(papersDirectory.toString());
+        store = new JsonPaperStore(properties, new SimpleMeterRegistry());
+        store.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.stop();
+        FileSystemUtils.deleteRecursively(papersDirectory);
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        String topic;
+        int sequence;
+
+        @Setup(Level.Trial)
+        public void setUp(PaperStoreWriteBenchmark benchmark) {
+            int writer = benchmark.writerCount.getAndIncrement();
+            topic = "shared".equals(benchmark.topics) ? "topic" : "topic" + writer;
+        }
+    }
+
+    @Benchmark
+    public void savePapers(Writer writer) {
+        String paperId = writer.topic + "." + Thread.currentThread().threadId() + "." + writer.sequence++;
+        store.savePapers(writer.topic, Map.of(paperId, PaperInfo.builder()
+                .title("Paper " + paperId)
+                .summary("Summary of paper " + paperId)
+                .pdfUrl("https://arxiv.org/pdf/" + paperId)
+                .published("2025-01-01T00:00:00Z")
+                .build()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            new Runner(new OptionsBuilder()
+                    .include(PaperStoreWriteBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}